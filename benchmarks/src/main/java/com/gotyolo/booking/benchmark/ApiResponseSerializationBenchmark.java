@@ -0,0 +1,51 @@
+package com.gotyolo.booking.benchmark;
+
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the ApiResponse envelope, the last step of every endpoint
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int tripCount;
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<BookingResponse> bookingEnvelope;
+    private ApiResponse<List<TripResponse>> tripListEnvelope;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        bookingEnvelope = ApiResponse.success("Booking created successfully", BenchmarkFixtures.bookingResponse());
+        tripListEnvelope = ApiResponse.success("Trips retrieved successfully", BenchmarkFixtures.tripResponses(tripCount));
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() {
+        return jsonMapper.writeValueAsBytes(bookingEnvelope);
+    }
+
+    @Benchmark
+    public byte[] serializeTripList() {
+        return jsonMapper.writeValueAsBytes(tripListEnvelope);
+    }
+
+    /**
+     * Includes building the envelope (LocalDateTime.now() + Lombok builder)
+     */
+    @Benchmark
+    public byte[] buildAndSerializeBooking() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success(bookingEnvelope.getData()));
+    }
+}
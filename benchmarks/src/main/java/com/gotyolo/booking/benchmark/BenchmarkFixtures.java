@@ -0,0 +1,125 @@
+package com.gotyolo.booking.benchmark;
+
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.entity.Booking;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.TripStatus;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Representative entities and DTOs shared by the benchmarks
+ */
+@UtilityClass
+public class BenchmarkFixtures {
+
+    public static Trip trip() {
+        return Trip.builder()
+                .id(UUID.randomUUID())
+                .title("Goa Beach Escape")
+                .destination("Goa")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(35))
+                .price(new BigDecimal("5000.00"))
+                .maxCapacity(40)
+                .availableSeats(12)
+                .status(TripStatus.PUBLISHED)
+                .refundableUntilDaysBefore(7)
+                .cancellationFeePercent(10)
+                .createdAt(LocalDateTime.now().minusDays(3))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static Booking booking(Trip trip, BookingState state) {
+        return Booking.builder()
+                .id(UUID.randomUUID())
+                .tripId(trip.getId())
+                .userId(UUID.randomUUID())
+                .numSeats(2)
+                .state(state)
+                .priceAtBooking(trip.getPrice().multiply(BigDecimal.valueOf(2)))
+                .paymentReference("pay-" + UUID.randomUUID())
+                .idempotencyKey("idem-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static BookingResponse bookingResponse() {
+        Trip trip = trip();
+        Booking booking = booking(trip, BookingState.CONFIRMED);
+        return new BookingResponse(
+                booking.getId(),
+                trip.getId(),
+                booking.getUserId().toString(),
+                booking.getNumSeats(),
+                booking.getState(),
+                booking.getPriceAtBooking(),
+                booking.getPaymentReference(),
+                booking.getIdempotencyKey(),
+                booking.getCreatedAt(),
+                booking.getExpiresAt(),
+                null,
+                null
+        );
+    }
+
+    public static List<TripResponse> tripResponses(int count) {
+        List<TripResponse> trips = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Trip trip = trip();
+            trips.add(new TripResponse(
+                    trip.getId(),
+                    trip.getTitle() + " #" + i,
+                    trip.getDestination(),
+                    trip.getStartDate(),
+                    trip.getEndDate(),
+                    trip.getPrice(),
+                    trip.getMaxCapacity(),
+                    trip.getAvailableSeats(),
+                    trip.getStatus(),
+                    trip.getRefundableUntilDaysBefore(),
+                    trip.getCancellationFeePercent(),
+                    trip.getCreatedAt()
+            ));
+        }
+        return trips;
+    }
+
+    public static CreateBookingRequest validBookingRequest() {
+        return new CreateBookingRequest(UUID.randomUUID().toString(), 2);
+    }
+
+    public static CreateBookingRequest invalidBookingRequest() {
+        return new CreateBookingRequest(null, 0);
+    }
+
+    public static CreateTripRequest validTripRequest() {
+        return new CreateTripRequest(
+                "Goa Beach Escape",
+                "Goa",
+                LocalDateTime.now().plusDays(30),
+                LocalDateTime.now().plusDays(35),
+                new BigDecimal("5000.00"),
+                40,
+                7,
+                10,
+                true
+        );
+    }
+
+    public static CreateTripRequest invalidTripRequest() {
+        return new CreateTripRequest(" ", null, null, null, BigDecimal.ZERO, 0, -1, 150, null);
+    }
+}
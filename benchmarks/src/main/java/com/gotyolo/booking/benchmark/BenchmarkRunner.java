@@ -0,0 +1,123 @@
+package com.gotyolo.booking.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler attached, so every result carries
+ * gc.alloc.rate.norm (bytes allocated per operation) next to the time score.
+ *
+ * Arguments: [include-regex] [-baseline <jmh-result.json>] [-threshold <percent>]
+ *
+ * With -baseline the run fails (exit 1) when any benchmark is slower or allocates more
+ * per operation than the baseline by more than the threshold (default 10%).
+ */
+@Slf4j
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "target/jmh-result.json";
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = "com.gotyolo.booking";
+        String baseline = null;
+        double thresholdPercent = 10.0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-baseline" -> baseline = args[++i];
+                case "-threshold" -> thresholdPercent = Double.parseDouble(args[++i]);
+                default -> include = args[i];
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .jvmArgsAppend("-Dbench.log.level=" + System.getProperty("bench.log.level", "INFO"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+
+        new Runner(options.build()).run();
+        log.info("Results written to {}", RESULT_FILE);
+
+        if (baseline != null) {
+            List<String> regressions = compare(new File(baseline), new File(RESULT_FILE), thresholdPercent);
+            if (!regressions.isEmpty()) {
+                regressions.forEach(regression -> log.error("REGRESSION {}", regression));
+                System.exit(1);
+            }
+            log.info("No regressions above {}% against {}", thresholdPercent, baseline);
+        }
+    }
+
+    static List<String> compare(File baselineFile, File currentFile, double thresholdPercent) {
+        JsonMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(currentFile));
+
+        List<String> regressions = new ArrayList<>();
+        current.forEach((key, result) -> {
+            JsonNode previous = baseline.get(key);
+            if (previous == null) {
+                return;
+            }
+            check(regressions, key, "score",
+                    previous.path("primaryMetric").path("score").asDouble(),
+                    result.path("primaryMetric").path("score").asDouble(),
+                    thresholdPercent);
+            check(regressions, key, ALLOC_METRIC,
+                    allocation(previous), allocation(result), thresholdPercent);
+        });
+        return regressions;
+    }
+
+    private static void check(List<String> regressions, String key, String metric,
+                              double before, double after, double thresholdPercent) {
+        // AverageTime and bytes/op: higher is worse. Ignore near-zero allocations (scalar replaced).
+        if (before <= 0.0 || after <= before) {
+            return;
+        }
+        double changePercent = (after - before) / before * 100.0;
+        if (changePercent > thresholdPercent && after - before > 1.0) {
+            regressions.add(String.format("%s %s %.2f -> %.2f (+%.1f%%)", key, metric, before, after, changePercent));
+        }
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode secondary = result.path("secondaryMetrics");
+        for (String name : secondary.propertyNames()) {
+            if (name.endsWith(ALLOC_METRIC)) {
+                return secondary.path(name).path("score").asDouble();
+            }
+        }
+        return 0.0;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new HashMap<>();
+        for (JsonNode result : results) {
+            byKey.put(result.path("benchmark").asString() + result.path("params").toString(), result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,88 @@
+package com.gotyolo.booking.benchmark;
+
+import com.gotyolo.booking.utils.NullSafeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions that run several times per request in controllers, services and mappers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class NullSafeUtilsBenchmark {
+
+    private UUID uuid;
+    private String uuidText;
+    private String invalidUuidText;
+    private Integer boxedInt;
+    private String numericText;
+    private BigDecimal price;
+    private LocalDateTime timestamp;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.randomUUID();
+        uuidText = uuid.toString();
+        invalidUuidText = "not-a-uuid";
+        boxedInt = 42;
+        numericText = "42";
+        price = new BigDecimal("5000.00");
+        timestamp = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public String safeToStringUuid() {
+        return NullSafeUtils.safeToString(uuid);
+    }
+
+    @Benchmark
+    public Integer safeToIntInteger() {
+        return NullSafeUtils.safeToInt(boxedInt);
+    }
+
+    @Benchmark
+    public Integer safeToIntString() {
+        return NullSafeUtils.safeToInt(numericText);
+    }
+
+    @Benchmark
+    public UUID safeParseUuidValid() {
+        return NullSafeUtils.safeParseUUID(uuidText);
+    }
+
+    /**
+     * Exception-driven path taken by malformed webhook booking ids
+     */
+    @Benchmark
+    public UUID safeParseUuidInvalid() {
+        return NullSafeUtils.safeParseUUID(invalidUuidText);
+    }
+
+    @Benchmark
+    public BigDecimal safeMultiply() {
+        return NullSafeUtils.safeMultiply(price, boxedInt);
+    }
+
+    @Benchmark
+    public Integer safeSubtract() {
+        return NullSafeUtils.safeSubtract(boxedInt, 3);
+    }
+
+    @Benchmark
+    public LocalDateTime safeGetLocalDateTimePresent() {
+        return NullSafeUtils.safeGetLocalDateTime(timestamp);
+    }
+
+    /**
+     * Null fallback calls LocalDateTime.now() - hit for every unset cancelledAt in BookingResponse
+     */
+    @Benchmark
+    public LocalDateTime safeGetLocalDateTimeNull() {
+        return NullSafeUtils.safeGetLocalDateTime(null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gotyolo.booking.benchmark;
+
+import com.gotyolo.booking.codec.BinaryFormatConfiguration;
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/v1/trips envelope in each negotiable wire format: write and read cost per call here,
+ * payload size logged once per trial (mappers configured as in BinaryFormatConfiguration)
+ */
+@Slf4j
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum WireFormat { JSON, CBOR, SMILE }
+
+    @Param({"10", "1000", "100000"})
+    public int tripCount;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public WireFormat format;
+
+    private ObjectMapper mapper;
+    private ApiResponse<List<TripResponse>> tripListEnvelope;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case JSON -> JsonMapper.builder().build();
+            case CBOR -> CBORMapper.builder().build();
+            case SMILE -> new BinaryFormatConfiguration().smileMapper();
+        };
+        tripListEnvelope = ApiResponse.success("Trips retrieved successfully", BenchmarkFixtures.tripResponses(tripCount));
+        payload = mapper.writeValueAsBytes(tripListEnvelope);
+        log.info("Payload | format={} | trips={} | bytes={} | bytesPerTrip={}",
+                format, tripCount, payload.length, payload.length / tripCount);
+    }
+
+    @Benchmark
+    public byte[] serializeTripList() {
+        return mapper.writeValueAsBytes(tripListEnvelope);
+    }
+
+    /**
+     * What an internal caller does with the response
+     */
+    @Benchmark
+    public TripListEnvelope deserializeTripList() {
+        return mapper.readValue(payload, TripListEnvelope.class);
+    }
+
+    public record TripListEnvelope(String status, String message, List<TripResponse> data, LocalDateTime timestamp) {}
+}
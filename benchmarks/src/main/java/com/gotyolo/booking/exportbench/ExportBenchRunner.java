@@ -0,0 +1,199 @@
+package com.gotyolo.booking.exportbench;
+
+import com.gotyolo.booking.GoTyoloBookingServiceApplication;
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.service.TripService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures GET /api/v1/admin/bookings/export end to end: starts the service in-process, seeds one
+ * trip with --rows bookings (once; later runs reuse them), streams the export over HTTP per format
+ * and reports rows/s, MB/s, time to first byte and the peak heap used while streaming.
+ * Run with a capped heap (-Xmx256m) to show that memory does not grow with the row count.
+ */
+@Slf4j
+public class ExportBenchRunner {
+
+    private static final int SEED_CHUNK = 1_000_000;
+    private static final String HEADER = String.format("%-7s %11s %9s %10s %9s %9s %13s",
+            "format", "rows", "seconds", "rows/s", "MB", "MB/s", "peak heap MB");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ExportBenchSettings settings = ExportBenchSettings.parse(args);
+
+        try (ConfigurableApplicationContext context = startApplication(settings)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            UUID tripId = seed(settings.rows(), jdbcTemplate, context.getBean(TripService.class));
+
+            HttpClient http = HttpClient.newHttpClient();
+            List<String> rows = new ArrayList<>();
+            for (String format : settings.formats()) {
+                String best = null;
+                double bestSeconds = Double.MAX_VALUE;
+                for (int run = 0; run < settings.runs(); run++) {
+                    Result result = export(http, baseUrl, tripId, format);
+                    int expected = format.equals("CSV") ? settings.rows() + 1 : settings.rows();
+                    if (result.lines != expected) {
+                        throw new IllegalStateException(format + " export returned " + result.lines
+                                + " lines, expected " + expected);
+                    }
+                    log.info("{} run {}: {}", format, run + 1, result.toRow(format, settings.rows()));
+                    if (result.seconds() < bestSeconds) {
+                        bestSeconds = result.seconds();
+                        best = result.toRow(format, settings.rows());
+                    }
+                }
+                rows.add(best);
+            }
+
+            StringBuilder report = new StringBuilder("\n").append(HEADER).append('\n');
+            rows.forEach(row -> report.append(row).append('\n'));
+            report.append(String.format("max heap %d MB, fetch size %s%n",
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024),
+                    context.getEnvironment().getProperty("app.bookings.export.fetch-size")));
+            log.info(report.toString());
+
+            if (settings.cleanup()) {
+                jdbcTemplate.update("DELETE FROM bookings WHERE trip_id = ?", tripId);
+                jdbcTemplate.update("DELETE FROM trips WHERE id = ?", tripId);
+                log.info("Removed export bench trip {}", tripId);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(ExportBenchSettings settings) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        if (settings.jdbcUrl() != null) {
+            args.add("--spring.datasource.url=" + settings.jdbcUrl());
+        }
+        if (settings.dbUser() != null) {
+            args.add("--spring.datasource.username=" + settings.dbUser());
+        }
+        if (settings.dbPassword() != null) {
+            args.add("--spring.datasource.password=" + settings.dbPassword());
+        }
+        args.addAll(settings.applicationArgs());
+
+        return SpringApplication.run(GoTyoloBookingServiceApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * Draft trip (never bookable) holding exactly {@code rows} bookings, spread over the current month
+     */
+    private static UUID seed(int rows, JdbcTemplate jdbcTemplate, TripService tripService) {
+        String title = "Export bench " + rows;
+        List<UUID> existing = jdbcTemplate.queryForList(
+                "SELECT id FROM trips WHERE title = ? AND status = 'DRAFT'", UUID.class, title);
+        for (UUID tripId : existing) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM bookings WHERE trip_id = ?", Integer.class, tripId);
+            if (count != null && count == rows) {
+                log.info("Reusing {} seeded bookings of trip {}", rows, tripId);
+                return tripId;
+            }
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(90).withNano(0);
+        UUID tripId = tripService.createTrip(new CreateTripRequest(title, "Goa", start, start.plusDays(5),
+                BigDecimal.valueOf(5000), 1, 7, 10, false)).id();
+
+        long seedStart = System.nanoTime();
+        for (int from = 1; from <= rows; from += SEED_CHUNK) {
+            int to = Math.min(rows, from + SEED_CHUNK - 1);
+            jdbcTemplate.update("""
+                    INSERT INTO bookings (id, trip_id, user_id, num_seats, state, price_at_booking,
+                                          payment_reference, created_at, refund_amount, cancelled_at, updated_at)
+                    SELECT gen_random_uuid(), ?, gen_random_uuid(), 1 + i % 4,
+                           CASE i % 10 WHEN 0 THEN 'CANCELLED' WHEN 1 THEN 'EXPIRED' ELSE 'CONFIRMED' END,
+                           (1 + i % 4) * 5000.00,
+                           CASE WHEN i % 10 = 1 THEN NULL ELSE 'pay-' || i END,
+                           date_trunc('month', now()) + (i % 28) * interval '1 day' + (i % 86400) * interval '1 second',
+                           CASE WHEN i % 10 = 0 THEN (1 + i % 4) * 4500.00 END,
+                           CASE WHEN i % 10 = 0 THEN now() END,
+                           now()
+                    FROM generate_series(?, ?) AS i
+                    """, tripId, from, to);
+            log.info("Seeded {} / {} bookings", to, rows);
+        }
+        jdbcTemplate.execute("ANALYZE bookings");
+        log.info("Seeded trip {} in {} s", tripId, (System.nanoTime() - seedStart) / 1_000_000_000);
+        return tripId;
+    }
+
+    private static Result export(HttpClient http, String baseUrl, UUID tripId, String format)
+            throws IOException, InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/admin/bookings/export?tripId="
+                + tripId + "&format=" + format.toLowerCase())).GET().build();
+        long start = System.nanoTime();
+        long bytes = 0;
+        long lines = 0;
+        long firstByteNanos;
+        try {
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            firstByteNanos = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Export returned HTTP " + response.statusCode());
+            }
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream body = response.body()) {
+                for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                    bytes += read;
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            lines++;
+                        }
+                    }
+                }
+            }
+        } finally {
+            sampler.shutdownNow();
+        }
+        return new Result(System.nanoTime() - start, firstByteNanos, bytes, lines, peakHeap.get());
+    }
+
+    private record Result(long nanos, long firstByteNanos, long bytes, long lines, long peakHeapBytes) {
+
+        double seconds() {
+            return nanos / 1e9;
+        }
+
+        String toRow(String format, int rows) {
+            double megabytes = bytes / (1024.0 * 1024.0);
+            return String.format("%-7s %11d %9.2f %10.0f %9.1f %9.1f %13.1f   (first byte %.0f ms)",
+                    format, rows, seconds(), rows / seconds(), megabytes, megabytes / seconds(),
+                    peakHeapBytes / (1024.0 * 1024.0), firstByteNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gotyolo.booking.exportbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line options of ExportBenchRunner. Unknown {@code --key=value} arguments are passed
+ * through to the Spring application (e.g. --app.bookings.export.fetch-size=5000).
+ */
+record ExportBenchSettings(
+        int rows,
+        List<String> formats,
+        int runs,
+        boolean cleanup,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        List<String> applicationArgs
+) {
+
+    static final String USAGE = """
+            Options:
+              --rows N                    bookings to export (default 10000000), seeded once and reused
+              --formats NDJSON,CSV        (default both)
+              --runs N                    exports per format, best reported (default 1)
+              --cleanup                   delete the seeded trip and bookings afterwards
+              --jdbc-url URL --db-user U --db-password P   (default: application.properties)
+              --<spring.property>=value   passed to the application
+            """;
+
+    static ExportBenchSettings parse(String[] args) {
+        int rows = 10_000_000;
+        List<String> formats = List.of("NDJSON", "CSV");
+        int runs = 1;
+        boolean cleanup = false;
+        String jdbcUrl = null;
+        String dbUser = null;
+        String dbPassword = null;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rows" -> rows = Integer.parseInt(args[++i]);
+                case "--formats" -> formats = Arrays.stream(args[++i].split(","))
+                        .map(format -> format.trim().toUpperCase(Locale.ROOT))
+                        .toList();
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--cleanup" -> cleanup = true;
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                default -> {
+                    if (!args[i].startsWith("--") || !args[i].contains("=")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i] + "\n" + USAGE);
+                    }
+                    applicationArgs.add(args[i]);
+                }
+            }
+        }
+
+        if (rows < 1 || runs < 1 || formats.isEmpty()) {
+            throw new IllegalArgumentException("Counts must be positive\n" + USAGE);
+        }
+
+        return new ExportBenchSettings(rows, formats, runs, cleanup, jdbcUrl, dbUser, dbPassword,
+                List.copyOf(applicationArgs));
+    }
+}
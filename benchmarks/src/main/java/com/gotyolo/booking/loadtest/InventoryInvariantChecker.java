@@ -0,0 +1,72 @@
+package com.gotyolo.booking.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verifies the oversell invariant straight from the tables:
+ * free seats + held (PENDING_PAYMENT) + confirmed seats = max_capacity, for every trip, where free
+ * seats are trips.available_seats plus the seats of its inventory shards (0 for unsharded trips).
+ */
+@Slf4j
+class InventoryInvariantChecker {
+
+    private static final String INVENTORY_SQL = """
+            SELECT t.id,
+                   t.max_capacity,
+                   t.available_seats,
+                   (SELECT COALESCE(SUM(s.available_seats), 0)
+                    FROM trip_inventory_shards s
+                    WHERE s.trip_id = t.id) AS shard_seats,
+                   COALESCE(SUM(b.num_seats) FILTER (WHERE b.state = 'PENDING_PAYMENT'), 0) AS held,
+                   COALESCE(SUM(b.num_seats) FILTER (WHERE b.state = 'CONFIRMED'), 0) AS confirmed
+            FROM trips t
+            LEFT JOIN bookings b ON b.trip_id = t.id
+            GROUP BY t.id, t.max_capacity, t.available_seats
+            """;
+
+    record TripInventory(UUID tripId, int maxCapacity, int availableSeats, long shardSeats, long held,
+                         long confirmed) {
+
+        long freeSeats() {
+            return availableSeats + shardSeats;
+        }
+
+        boolean isConsistent() {
+            return availableSeats >= 0 && freeSeats() + held + confirmed == maxCapacity;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    InventoryInvariantChecker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return trips violating the invariant (empty when inventory is consistent)
+     */
+    List<TripInventory> findViolations() {
+        List<TripInventory> inventory = jdbcTemplate.query(INVENTORY_SQL, (rs, rowNum) -> new TripInventory(
+                rs.getObject("id", UUID.class),
+                rs.getInt("max_capacity"),
+                rs.getInt("available_seats"),
+                rs.getLong("shard_seats"),
+                rs.getLong("held"),
+                rs.getLong("confirmed")));
+
+        List<TripInventory> violations = inventory.stream()
+                .filter(trip -> !trip.isConsistent())
+                .toList();
+
+        log.info("Invariant check: {} trips checked, {} violations", inventory.size(), violations.size());
+        violations.forEach(trip -> log.error(
+                "OVERSELL/LEAK tripId={} maxCapacity={} available={} shardSeats={} held={} confirmed={} (diff={})",
+                trip.tripId(), trip.maxCapacity(), trip.availableSeats(), trip.shardSeats(), trip.held(),
+                trip.confirmed(), trip.freeSeats() + trip.held() + trip.confirmed() - trip.maxCapacity()));
+        return violations;
+    }
+}
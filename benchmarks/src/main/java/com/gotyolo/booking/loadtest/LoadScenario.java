@@ -0,0 +1,22 @@
+package com.gotyolo.booking.loadtest;
+
+/**
+ * Traffic shapes replayed by LoadTestRunner
+ */
+public enum LoadScenario {
+
+    /** Every booker hits a single trip whose capacity is far below demand */
+    FLASH_SALE,
+
+    /** Bookings spread uniformly over many trips */
+    SPREAD,
+
+    /** Duplicate and mixed success/failed payment webhooks racing new bookings on the same trips */
+    WEBHOOK_STORM,
+
+    /** A large backlog of PENDING_PAYMENT bookings expires while new bookings keep arriving */
+    MASS_EXPIRY,
+
+    /** Edge traffic: mostly trip reads, some bookings, each accepted booking followed by its payment webhook */
+    EDGE_MIX
+}
@@ -0,0 +1,104 @@
+package com.gotyolo.booking.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Closed-loop HTTP driver: at most {@code concurrency} requests are in flight, each new request
+ * is sent as soon as a slot frees up. Latency is measured from send to full response body.
+ */
+@Slf4j
+class LoadTestClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int concurrency;
+    private final Semaphore inFlight;
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    LoadTestClient(String baseUrl, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.inFlight = new Semaphore(concurrency);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    record Response(int status, JsonNode body) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        String dataId() {
+            return body == null ? null : body.path("data").path("id").asString(null);
+        }
+    }
+
+    /**
+     * Sends a JSON POST, blocking the caller only while all concurrency slots are taken
+     */
+    CompletableFuture<Response> post(String operation, String path, Object body) {
+        return send(operation, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body))));
+    }
+
+    CompletableFuture<Response> get(String operation, String path) {
+        return send(operation, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    /**
+     * Requests sent and not yet answered
+     */
+    int inFlight() {
+        return concurrency - inFlight.availablePermits();
+    }
+
+    private CompletableFuture<Response> send(String operation, HttpRequest.Builder builder) {
+        OperationStats operationStats = stats.computeIfAbsent(operation, OperationStats::new);
+        HttpRequest request = builder.timeout(Duration.ofMinutes(2)).build();
+
+        inFlight.acquireUninterruptibly();
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long end = System.nanoTime();
+                    inFlight.release();
+                    if (error != null) {
+                        operationStats.record(start, end, OperationStats.TRANSPORT_ERROR);
+                        log.debug("{} {} failed: {}", operation, request.uri(), error.toString());
+                        return new Response(OperationStats.TRANSPORT_ERROR, null);
+                    }
+                    operationStats.record(start, end, response.statusCode());
+                    return new Response(response.statusCode(), parse(response.body()));
+                });
+    }
+
+    Collection<OperationStats> stats() {
+        return stats.values();
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return body == null || body.isEmpty() ? null : mapper.readTree(body);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.gotyolo.booking.loadtest;
+
+import com.gotyolo.booking.GoTyoloBookingServiceApplication;
+import com.gotyolo.booking.service.BookingExpiryScheduler;
+import com.gotyolo.booking.service.TripService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Starts the booking service in-process (on a random port) against a local or embedded Postgres,
+ * replays a LoadScenario over HTTP, prints throughput and latency percentiles per operation plus the
+ * resources held while doing so (see ResourceSampler), and finally checks that no trip was oversold
+ * or leaked seats. Exits 1 when the invariant is broken.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        EmbeddedPostgres embeddedPostgres = settings.embeddedPostgres() ? EmbeddedPostgres.start() : null;
+
+        int violations;
+        try (ConfigurableApplicationContext context = startApplication(settings, embeddedPostgres)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+
+            log.info("Running {} against {} (profiles={}, requests={}, concurrency={})",
+                    settings.scenario(), baseUrl, Arrays.toString(context.getEnvironment().getActiveProfiles()),
+                    settings.requests(), settings.concurrency());
+
+            LoadTestClient client = new LoadTestClient(baseUrl, settings.concurrency());
+            ResourceSampler sampler = new ResourceSampler(client, context.getBean(MeterRegistry.class));
+            sampler.start();
+            try {
+                new ScenarioDriver(client, settings, jdbcTemplate,
+                        context.getBean(BookingExpiryScheduler.class), context.getBean(TripService.class)).run();
+            } finally {
+                sampler.close();
+            }
+
+            printReport(client, sampler);
+            violations = new InventoryInvariantChecker(jdbcTemplate).findViolations().size();
+        } finally {
+            if (embeddedPostgres != null) {
+                embeddedPostgres.close();
+            }
+        }
+
+        if (violations > 0) {
+            log.error("Inventory invariant broken on {} trips", violations);
+            System.exit(1);
+        }
+        log.info("Inventory invariant holds for all trips");
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings,
+                                                                   EmbeddedPostgres embeddedPostgres) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        if (embeddedPostgres != null) {
+            String jdbcUrl = embeddedPostgres.getJdbcUrl("postgres", "postgres");
+            args.add("--spring.datasource.url=" + jdbcUrl);
+            addR2dbcUrl(args, settings, jdbcUrl);
+            args.add("--spring.datasource.username=postgres");
+            args.add("--spring.datasource.password=postgres");
+        } else {
+            if (settings.jdbcUrl() != null) {
+                args.add("--spring.datasource.url=" + settings.jdbcUrl());
+                addR2dbcUrl(args, settings, settings.jdbcUrl());
+            }
+            if (settings.dbUser() != null) {
+                args.add("--spring.datasource.username=" + settings.dbUser());
+            }
+            if (settings.dbPassword() != null) {
+                args.add("--spring.datasource.password=" + settings.dbPassword());
+            }
+        }
+        args.addAll(settings.applicationArgs());
+
+        return SpringApplication.run(GoTyoloBookingServiceApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * Points the reactive profile's R2DBC pool at the same database, unless --app.reactive.r2dbc.url is given
+     */
+    private static void addR2dbcUrl(List<String> args, LoadTestSettings settings, String jdbcUrl) {
+        if (settings.applicationArgs().stream().anyMatch(arg -> arg.startsWith("--app.reactive.r2dbc.url="))) {
+            return;
+        }
+        String url = jdbcUrl.replaceFirst("^jdbc:", "r2dbc:");
+        int query = url.indexOf('?');
+        args.add("--app.reactive.r2dbc.url=" + (query < 0 ? url : url.substring(0, query)));
+    }
+
+    private static void printReport(LoadTestClient client, ResourceSampler sampler) {
+        StringBuilder report = new StringBuilder("\n");
+        report.append(String.format("%-22s %8s %10s %9s %9s %9s %9s  %s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        client.stats().stream()
+                .sorted(Comparator.comparing(OperationStats::name))
+                .forEach(stats -> report.append(String.format("%-22s %8d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                        stats.name(),
+                        stats.count(),
+                        stats.throughputPerSecond(),
+                        stats.percentileMillis(50.0),
+                        stats.percentileMillis(99.0),
+                        stats.percentileMillis(99.9),
+                        stats.maxMillis(),
+                        stats.statuses())));
+        report.append('\n').append(sampler.report());
+        log.info(report.toString());
+    }
+}
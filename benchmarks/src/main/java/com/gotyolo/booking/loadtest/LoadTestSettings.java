@@ -0,0 +1,82 @@
+package com.gotyolo.booking.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line options of LoadTestRunner. Unknown {@code --key=value} arguments are passed
+ * through to the Spring application (e.g. --server.tomcat.threads.max=400).
+ */
+record LoadTestSettings(
+        LoadScenario scenario,
+        int requests,
+        int concurrency,
+        int trips,
+        int seatsPerTrip,
+        int maxSeatsPerBooking,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        boolean embeddedPostgres,
+        List<String> applicationArgs
+) {
+
+    static final String USAGE = """
+            Options:
+              --scenario FLASH_SALE|SPREAD|WEBHOOK_STORM|MASS_EXPIRY|EDGE_MIX   (default FLASH_SALE)
+              --requests N                measured requests (default 5000)
+              --concurrency N             max requests in flight (default 5000)
+              --trips N                   trips for every scenario but FLASH_SALE (default 20)
+              --seats N                   capacity per trip (default 100)
+              --max-seats-per-booking N   seats per booking drawn from 1..N (default 2)
+              --jdbc-url URL              Postgres to run against (default: application.properties)
+              --db-user USER / --db-password PASSWORD
+              --embedded-postgres         start a throwaway embedded Postgres instead
+              --<spring.property>=value   passed to the application
+                                          (--spring.profiles.active=reactive runs the WebFlux/R2DBC stack;
+                                          EDGE_MIX is the scenario both stacks serve in full)
+            """;
+
+    static LoadTestSettings parse(String[] args) {
+        LoadScenario scenario = LoadScenario.FLASH_SALE;
+        int requests = 5000;
+        int concurrency = 5000;
+        int trips = 20;
+        int seats = 100;
+        int maxSeats = 2;
+        String jdbcUrl = null;
+        String dbUser = null;
+        String dbPassword = null;
+        boolean embedded = false;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> scenario = LoadScenario.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                case "--requests" -> requests = Integer.parseInt(args[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--trips" -> trips = Integer.parseInt(args[++i]);
+                case "--seats" -> seats = Integer.parseInt(args[++i]);
+                case "--max-seats-per-booking" -> maxSeats = Integer.parseInt(args[++i]);
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                case "--embedded-postgres" -> embedded = true;
+                default -> {
+                    if (!args[i].startsWith("--") || !args[i].contains("=")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i] + "\n" + USAGE);
+                    }
+                    applicationArgs.add(args[i]);
+                }
+            }
+        }
+
+        if (requests < 1 || concurrency < 1 || trips < 1 || seats < 1 || maxSeats < 1) {
+            throw new IllegalArgumentException("Counts must be positive\n" + USAGE);
+        }
+
+        return new LoadTestSettings(scenario, requests, concurrency, trips, seats, maxSeats,
+                jdbcUrl, dbUser, dbPassword, embedded, List.copyOf(applicationArgs));
+    }
+}
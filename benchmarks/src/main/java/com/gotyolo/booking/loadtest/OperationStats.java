@@ -0,0 +1,73 @@
+package com.gotyolo.booking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status counts for one kind of request (book, webhook, ...).
+ * Throughput is measured between the first send and the last completion of that operation.
+ */
+class OperationStats {
+
+    /** HTTP status used for transport failures (connection refused, timeout, ...) */
+    static final int TRANSPORT_ERROR = -1;
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, long endNanos, int status) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos);
+        latencyMicros.recordValue(Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS));
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        firstStartNanos.accumulateAndGet(startNanos, Math::min);
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    String name() {
+        return name;
+    }
+
+    long count() {
+        return latencyMicros.getTotalCount();
+    }
+
+    long count(int status) {
+        LongAdder adder = statusCounts.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    double throughputPerSecond() {
+        long elapsed = lastEndNanos.get() - firstStartNanos.get();
+        return elapsed > 0 ? count() * 1_000_000_000.0 / elapsed : 0.0;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> sorted = new TreeMap<>();
+        statusCounts.forEach((status, adder) -> sorted.put(status, adder.sum()));
+        return sorted;
+    }
+}
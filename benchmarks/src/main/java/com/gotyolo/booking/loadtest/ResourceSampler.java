@@ -0,0 +1,111 @@
+package com.gotyolo.booking.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Samples, while a scenario runs, how much of each resource the service holds per request in flight:
+ * client requests outstanding, database connections checked out (Hikari + R2DBC pools) and waiting,
+ * and request-serving threads (Tomcat workers or Reactor Netty event loops).
+ */
+@Slf4j
+class ResourceSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MS = 50;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resource-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MeterRegistry registry;
+    private final List<Series> series;
+
+    ResourceSampler(LoadTestClient client, MeterRegistry registry) {
+        this.registry = registry;
+        this.series = List.of(
+                new Series("client in flight", client::inFlight),
+                new Series("db connections held",
+                        () -> gaugeSum("hikaricp.connections.active") + gaugeSum("gotyolo.r2dbc.pool.acquired")),
+                new Series("db connection waiters",
+                        () -> gaugeSum("hikaricp.connections.pending") + gaugeSum("gotyolo.r2dbc.pool.pending")),
+                new Series("server threads", this::serverThreads));
+    }
+
+    void start() {
+        scheduler.scheduleAtFixedRate(this::sample, 0, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    String report() {
+        StringBuilder report = new StringBuilder(String.format("%-22s %8s %8s%n", "resource", "mean", "peak"));
+        for (Series s : series) {
+            report.append(String.format("%-22s %8.1f %8d%n", s.name, s.mean(), s.peak));
+        }
+        return report.toString();
+    }
+
+    private void sample() {
+        try {
+            series.forEach(Series::sample);
+        } catch (RuntimeException e) {
+            log.debug("Resource sample failed: {}", e.toString());
+        }
+    }
+
+    private int gaugeSum(String name) {
+        return (int) registry.find(name).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private int serverThreads() {
+        int count = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && (info.getThreadName().startsWith("http-nio-")
+                    || info.getThreadName().startsWith("reactor-http-"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class Series {
+
+        private final String name;
+        private final IntSupplier source;
+        private long total;
+        private long samples;
+        private int peak;
+
+        Series(String name, IntSupplier source) {
+            this.name = name;
+            this.source = source;
+        }
+
+        void sample() {
+            int value = source.getAsInt();
+            total += value;
+            samples++;
+            peak = Math.max(peak, value);
+        }
+
+        double mean() {
+            return samples == 0 ? 0 : (double) total / samples;
+        }
+    }
+}
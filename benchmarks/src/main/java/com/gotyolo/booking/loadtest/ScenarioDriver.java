@@ -0,0 +1,241 @@
+package com.gotyolo.booking.loadtest;
+
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.service.BookingExpiryScheduler;
+import com.gotyolo.booking.service.TripService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Replays one LoadScenario through the public HTTP API.
+ * Trips are created in-process through TripService, so the blocking and reactive stacks get identical
+ * setup (the reactive profile serves no trip creation). Pre-seeded bookings are reported as setup traffic.
+ */
+@Slf4j
+class ScenarioDriver {
+
+    static final String SEED_BOOKING = "book (setup)";
+    static final String BOOK = "book";
+    static final String WEBHOOK = "webhook";
+    static final String TRIP_DETAILS = "trip-details";
+    static final String TRIP_LIST = "trip-list";
+
+    private static final double FAILED_PAYMENT_RATIO = 0.3;
+    private static final int MAX_WEBHOOK_DELIVERIES = 3;
+    private static final double EDGE_DETAIL_RATIO = 0.6;
+    private static final double EDGE_LIST_RATIO = 0.1;
+
+    private final LoadTestClient client;
+    private final LoadTestSettings settings;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingExpiryScheduler expiryScheduler;
+    private final TripService tripService;
+
+    ScenarioDriver(LoadTestClient client, LoadTestSettings settings, JdbcTemplate jdbcTemplate,
+                   BookingExpiryScheduler expiryScheduler, TripService tripService) {
+        this.client = client;
+        this.settings = settings;
+        this.jdbcTemplate = jdbcTemplate;
+        this.expiryScheduler = expiryScheduler;
+        this.tripService = tripService;
+    }
+
+    void run() {
+        switch (settings.scenario()) {
+            case FLASH_SALE -> flashSale();
+            case SPREAD -> spread();
+            case WEBHOOK_STORM -> webhookStorm();
+            case MASS_EXPIRY -> massExpiry();
+            case EDGE_MIX -> edgeMix();
+        }
+    }
+
+    private void flashSale() {
+        UUID tripId = createTrips(1).get(0);
+        log.info("Flash sale: {} bookers on trip {} with {} seats",
+                settings.requests(), tripId, settings.seatsPerTrip());
+
+        List<LoadTestClient.Response> responses = join(book(BOOK, settings.requests(), () -> tripId));
+
+        long sold = responses.stream().filter(LoadTestClient.Response::isSuccess).count();
+        Integer available = jdbcTemplate.queryForObject(
+                "SELECT available_seats FROM trips WHERE id = ?", Integer.class, tripId);
+        log.info("Flash sale done: {} bookings accepted, {} seats left of {}",
+                sold, available, settings.seatsPerTrip());
+    }
+
+    private void spread() {
+        List<UUID> trips = createTrips(settings.trips());
+        log.info("Spread: {} bookings over {} trips", settings.requests(), trips.size());
+        join(book(BOOK, settings.requests(), () -> randomOf(trips)));
+    }
+
+    private void webhookStorm() {
+        List<UUID> trips = createTrips(settings.trips());
+        List<String> pending = seedPendingBookings(trips);
+
+        List<Map<String, String>> deliveries = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (String bookingId : pending) {
+            String status = random.nextDouble() < FAILED_PAYMENT_RATIO ? "failed" : "success";
+            int copies = 1 + random.nextInt(MAX_WEBHOOK_DELIVERIES);
+            for (int i = 0; i < copies; i++) {
+                deliveries.add(Map.of(
+                        "bookingId", bookingId,
+                        "status", status,
+                        "idempotencyKey", "pay-" + bookingId));
+            }
+        }
+        Collections.shuffle(deliveries);
+        log.info("Webhook storm: {} deliveries for {} bookings, racing {} new bookings",
+                deliveries.size(), pending.size(), settings.requests());
+
+        // Failed payments release seats that the competing bookings immediately try to take
+        List<CompletableFuture<LoadTestClient.Response>> inFlight = new ArrayList<>();
+        int bookingsSent = 0;
+        for (int i = 0; i < deliveries.size() || bookingsSent < settings.requests(); i++) {
+            if (i < deliveries.size()) {
+                inFlight.add(client.post(WEBHOOK, "/api/v1/payments/webhook", deliveries.get(i)));
+            }
+            if (bookingsSent < settings.requests()) {
+                inFlight.add(bookOnce(BOOK, randomOf(trips)));
+                bookingsSent++;
+            }
+        }
+        join(inFlight);
+    }
+
+    private void massExpiry() {
+        List<UUID> trips = createTrips(settings.trips());
+        List<String> pending = seedPendingBookings(trips);
+
+        int backdated = 0;
+        for (UUID tripId : trips) {
+            backdated += jdbcTemplate.update(
+                    "UPDATE bookings SET expires_at = ? WHERE trip_id = ? AND state = 'PENDING_PAYMENT'",
+                    LocalDateTime.now().minusMinutes(1), tripId);
+        }
+        log.info("Mass expiry: {} of {} seeded bookings back-dated, {} new bookings during expiry",
+                backdated, pending.size(), settings.requests());
+
+        long expiryStart = System.nanoTime();
+        CompletableFuture<Void> expiry = CompletableFuture.runAsync(expiryScheduler::expirePendingBookings);
+        List<CompletableFuture<LoadTestClient.Response>> bookings =
+                book(BOOK, settings.requests(), () -> randomOf(trips));
+
+        expiry.join();
+        log.info("Expiry run finished in {} ms", (System.nanoTime() - expiryStart) / 1_000_000);
+        join(bookings);
+    }
+
+    private void edgeMix() {
+        List<UUID> trips = createTrips(settings.trips());
+        log.info("Edge mix: {} requests over {} trips ({}% detail, {}% list, rest bookings + webhooks)",
+                settings.requests(), trips.size(), (int) (EDGE_DETAIL_RATIO * 100), (int) (EDGE_LIST_RATIO * 100));
+
+        // Webhooks are sent from this thread, never from a response callback, so the client never blocks there
+        Queue<String> toPay = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<LoadTestClient.Response>> inFlight = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < settings.requests(); i++) {
+            double roll = random.nextDouble();
+            if (roll < EDGE_DETAIL_RATIO) {
+                inFlight.add(client.get(TRIP_DETAILS, "/api/v1/trips/" + randomOf(trips)));
+            } else if (roll < EDGE_DETAIL_RATIO + EDGE_LIST_RATIO) {
+                inFlight.add(client.get(TRIP_LIST, "/api/v1/trips"));
+            } else {
+                inFlight.add(bookOnce(BOOK, randomOf(trips)).whenComplete((response, error) -> {
+                    if (response != null && response.isSuccess()) {
+                        toPay.add(response.dataId());
+                    }
+                }));
+            }
+            String bookingId = toPay.poll();
+            if (bookingId != null) {
+                inFlight.add(payment(bookingId));
+            }
+        }
+
+        join(inFlight);
+        List<CompletableFuture<LoadTestClient.Response>> remaining = new ArrayList<>();
+        for (String bookingId = toPay.poll(); bookingId != null; bookingId = toPay.poll()) {
+            remaining.add(payment(bookingId));
+        }
+        join(remaining);
+    }
+
+    private CompletableFuture<LoadTestClient.Response> payment(String bookingId) {
+        return client.post(WEBHOOK, "/api/v1/payments/webhook", Map.of(
+                "bookingId", bookingId,
+                "status", "success",
+                "idempotencyKey", "pay-" + bookingId));
+    }
+
+    private List<UUID> createTrips(int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(90).withNano(0);
+        List<UUID> tripIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tripIds.add(tripService.createTrip(new CreateTripRequest(
+                    "Load test " + settings.scenario() + " #" + i,
+                    "Goa",
+                    start,
+                    start.plusDays(5),
+                    BigDecimal.valueOf(5000),
+                    settings.seatsPerTrip(),
+                    7,
+                    10,
+                    true)).id());
+        }
+        return tripIds;
+    }
+
+    /**
+     * Fills the trips with PENDING_PAYMENT bookings; returns the ids of those that were accepted
+     */
+    private List<String> seedPendingBookings(List<UUID> trips) {
+        int seedRequests = trips.size() * settings.seatsPerTrip();
+        List<String> bookingIds = join(book(SEED_BOOKING, seedRequests, () -> randomOf(trips))).stream()
+                .filter(LoadTestClient.Response::isSuccess)
+                .map(LoadTestClient.Response::dataId)
+                .toList();
+        log.info("Seeded {} pending bookings", bookingIds.size());
+        return bookingIds;
+    }
+
+    private List<CompletableFuture<LoadTestClient.Response>> book(String operation, int requests,
+                                                                  Supplier<UUID> tripPicker) {
+        List<CompletableFuture<LoadTestClient.Response>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(bookOnce(operation, tripPicker.get()));
+        }
+        return responses;
+    }
+
+    private CompletableFuture<LoadTestClient.Response> bookOnce(String operation, UUID tripId) {
+        Map<String, Object> body = Map.of(
+                "userId", UUID.randomUUID().toString(),
+                "numSeats", 1 + ThreadLocalRandom.current().nextInt(settings.maxSeatsPerBooking()));
+        return client.post(operation, "/api/v1/trips/" + tripId + "/book", body);
+    }
+
+    private static <T> T randomOf(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static List<LoadTestClient.Response> join(List<CompletableFuture<LoadTestClient.Response>> futures) {
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Serialises writers of a trip with pg_advisory_xact_lock(key) instead of a row lock; the trip row
+ * itself is read without locking. Released automatically at commit/rollback.
+ */
+class AdvisoryLockStrategy implements SeatLockStrategy {
+
+    @Override
+    public String name() {
+        return "ADVISORY";
+    }
+
+    @Override
+    public boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException {
+        lock(connection, tripId);
+        int available = LockBenchSql.availableSeats(connection, tripId, "");
+        if (available < seats) {
+            return false;
+        }
+        LockBenchSql.setAvailableSeats(connection, tripId, available - seats);
+        LockBenchSql.insertBooking(connection, bookingId, tripId, seats);
+        return true;
+    }
+
+    @Override
+    public int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException {
+        lock(connection, tripId);
+        int seats = LockBenchSql.cancelBooking(connection, bookingId);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    @Override
+    public int expire(Connection connection, UUID tripId, int limit) throws SQLException {
+        lock(connection, tripId);
+        int seats = LockBenchSql.expireBookings(connection, tripId, limit);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    private static void lock(Connection connection, UUID tripId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            statement.setLong(1, tripId.getMostSignificantBits() ^ tripId.getLeastSignificantBits());
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * One statement per operation: the seat check lives in the WHERE clause of the trip UPDATE and the
+ * booking row is written in the same data-modifying CTE, so the row lock is held for a single round trip.
+ */
+class GuardedUpdateStrategy implements SeatLockStrategy {
+
+    private static final String RESERVE = """
+            WITH reserved AS (
+                UPDATE lockbench.trips SET available_seats = available_seats - ?
+                WHERE id = ? AND available_seats >= ?
+                RETURNING id)
+            INSERT INTO lockbench.bookings (id, trip_id, num_seats, state, created_at)
+            SELECT ?, id, ?, 'HELD', now() FROM reserved
+            """;
+
+    private static final String CANCEL = """
+            WITH released AS (
+                UPDATE lockbench.bookings SET state = 'CANCELLED'
+                WHERE id = ? AND state = 'HELD'
+                RETURNING trip_id, num_seats)
+            UPDATE lockbench.trips t SET available_seats = t.available_seats + r.num_seats
+            FROM released r WHERE t.id = r.trip_id
+            RETURNING r.num_seats
+            """;
+
+    private static final String EXPIRE = """
+            WITH expired AS (
+                UPDATE lockbench.bookings SET state = 'EXPIRED'
+                WHERE id IN (SELECT id FROM lockbench.bookings
+                             WHERE trip_id = ? AND state = 'HELD'
+                             ORDER BY created_at
+                             LIMIT ?
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING num_seats),
+            total AS (SELECT COALESCE(SUM(num_seats), 0)::int AS seats FROM expired)
+            UPDATE lockbench.trips t SET available_seats = t.available_seats + total.seats
+            FROM total WHERE t.id = ? AND total.seats > 0
+            RETURNING total.seats
+            """;
+
+    @Override
+    public String name() {
+        return "GUARDED_UPDATE";
+    }
+
+    @Override
+    public boolean autoCommit() {
+        return true;
+    }
+
+    @Override
+    public boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE)) {
+            statement.setInt(1, seats);
+            statement.setObject(2, tripId);
+            statement.setInt(3, seats);
+            statement.setObject(4, bookingId);
+            statement.setInt(5, seats);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    @Override
+    public int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CANCEL)) {
+            statement.setObject(1, bookingId);
+            return firstInt(statement);
+        }
+    }
+
+    @Override
+    public int expire(Connection connection, UUID tripId, int limit) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(EXPIRE)) {
+            statement.setObject(1, tripId);
+            statement.setInt(2, limit);
+            statement.setObject(3, tripId);
+            return firstInt(statement);
+        }
+    }
+
+    private static int firstInt(PreparedStatement statement) throws SQLException {
+        try (var rs = statement.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gotyolo.booking.lockbench;
+
+/**
+ * Outcome of one (strategy, workload, clients) run; latencies in milliseconds
+ */
+record LockBenchResult(
+        String strategy,
+        Workload workload,
+        int clients,
+        long operations,
+        double throughputPerSecond,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        long rejected,
+        long retries,
+        long deadlocks,
+        long serializationFailures,
+        long aborted,
+        long errors,
+        long inconsistentTrips
+) {
+
+    static final String HEADER = String.format("%-15s %-9s %7s %9s %9s %8s %8s %8s %8s %8s %8s %9s %7s %6s %6s %9s",
+            "strategy", "workload", "clients", "ops", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+            "rejected", "retries", "deadlocks", "serial", "abort", "errors", "bad trips");
+
+    static final String CSV_HEADER = "strategy,workload,clients,operations,ops_per_second,p50_ms,p99_ms,p999_ms,max_ms,"
+            + "rejected,retries,deadlocks,serialization_failures,aborted,errors,inconsistent_trips";
+
+    String toRow() {
+        return String.format("%-15s %-9s %7d %9d %9.1f %8.2f %8.2f %8.2f %8.2f %8d %8d %9d %7d %6d %6d %9d",
+                strategy, workload, clients, operations, throughputPerSecond, p50Ms, p99Ms, p999Ms, maxMs,
+                rejected, retries, deadlocks, serializationFailures, aborted, errors, inconsistentTrips);
+    }
+
+    String toCsv() {
+        return String.join(",", strategy, workload.name(), String.valueOf(clients), String.valueOf(operations),
+                String.format("%.1f", throughputPerSecond), String.format("%.3f", p50Ms),
+                String.format("%.3f", p99Ms), String.format("%.3f", p999Ms), String.format("%.3f", maxMs),
+                String.valueOf(rejected), String.valueOf(retries), String.valueOf(deadlocks),
+                String.valueOf(serializationFailures), String.valueOf(aborted), String.valueOf(errors),
+                String.valueOf(inconsistentTrips));
+    }
+}
@@ -0,0 +1,210 @@
+package com.gotyolo.booking.lockbench;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@code clients} threads against one strategy for warmup + duration seconds.
+ * Every operation borrows a pooled connection (like a request in the service), so latency includes
+ * pool wait and all retries. Deadlocks (40P01) and serialization failures (40001) are retried.
+ */
+@Slf4j
+class LockBenchRun {
+
+    private static final int MAX_ATTEMPTS = 100;
+    private static final int EXPIRE_BATCH = 5;
+    private static final double MIXED_CREATE_RATIO = 0.60;
+    private static final double MIXED_CANCEL_RATIO = 0.25;
+    private static final String DEADLOCK = "40P01";
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    private record HeldBooking(UUID bookingId, UUID tripId) {
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        boolean apply(Connection connection) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final LockBenchSchema schema;
+    private final SeatLockStrategy strategy;
+    private final Workload workload;
+    private final Supplier<UUID> tripPicker;
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder serializationFailures = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile long measureFromNanos;
+
+    LockBenchRun(DataSource dataSource, LockBenchSchema schema, SeatLockStrategy strategy,
+                 Workload workload, Supplier<UUID> tripPicker) {
+        this.dataSource = dataSource;
+        this.schema = schema;
+        this.strategy = strategy;
+        this.workload = workload;
+        this.tripPicker = tripPicker;
+    }
+
+    LockBenchResult run(int clients, int warmupSeconds, int durationSeconds)
+            throws InterruptedException, SQLException {
+        long start = System.nanoTime();
+        measureFromNanos = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> clientLoop(endNanos), "lockbench-" + strategy.name() + "-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        return new LockBenchResult(
+                strategy.name(),
+                workload,
+                clients,
+                operations.sum(),
+                operations.sum() / (double) durationSeconds,
+                latencyMicros.getValueAtPercentile(50.0) / 1000.0,
+                latencyMicros.getValueAtPercentile(99.0) / 1000.0,
+                latencyMicros.getValueAtPercentile(99.9) / 1000.0,
+                latencyMicros.getMaxValue() / 1000.0,
+                rejected.sum(),
+                retries.sum(),
+                deadlocks.sum(),
+                serializationFailures.sum(),
+                aborted.sum(),
+                errors.sum(),
+                schema.countInconsistentTrips()
+        );
+    }
+
+    private void clientLoop(long endNanos) {
+        Deque<HeldBooking> held = new ArrayDeque<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < endNanos) {
+            double roll = workload == Workload.MIXED ? random.nextDouble() : 0.0;
+            long start = System.nanoTime();
+
+            if (roll < MIXED_CREATE_RATIO || (roll < MIXED_CREATE_RATIO + MIXED_CANCEL_RATIO && held.isEmpty())) {
+                UUID tripId = tripPicker.get();
+                UUID bookingId = UUID.randomUUID();
+                int seats = 1 + random.nextInt(2);
+                if (execute(connection -> strategy.reserve(connection, tripId, bookingId, seats), start)
+                        && workload == Workload.MIXED) {
+                    held.addLast(new HeldBooking(bookingId, tripId));
+                }
+            } else if (roll < MIXED_CREATE_RATIO + MIXED_CANCEL_RATIO) {
+                HeldBooking booking = held.pollFirst();
+                execute(connection -> {
+                    strategy.cancel(connection, booking.tripId(), booking.bookingId());
+                    return true;
+                }, start);
+            } else {
+                UUID tripId = tripPicker.get();
+                execute(connection -> {
+                    strategy.expire(connection, tripId, EXPIRE_BATCH);
+                    return true;
+                }, start);
+            }
+        }
+    }
+
+    /**
+     * @return true when the operation committed and was not rejected for lack of seats
+     */
+    private boolean execute(Operation operation, long startNanos) {
+        boolean succeeded = false;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(strategy.autoCommit());
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    boolean accepted = operation.apply(connection);
+                    if (!connection.getAutoCommit()) {
+                        connection.commit();
+                    }
+                    succeeded = accepted;
+                    count(accepted ? operations : rejected, startNanos, true);
+                    return succeeded;
+                } catch (RetryableConflictException e) {
+                    rollback(connection);
+                } catch (SQLException e) {
+                    rollback(connection);
+                    if (DEADLOCK.equals(e.getSQLState())) {
+                        count(deadlocks, startNanos, false);
+                    } else if (SERIALIZATION_FAILURE.equals(e.getSQLState())) {
+                        count(serializationFailures, startNanos, false);
+                    } else {
+                        log.debug("{} failed: {}", strategy.name(), e.getMessage());
+                        count(errors, startNanos, false);
+                        return false;
+                    }
+                }
+                count(retries, startNanos, false);
+                if (attempt >= MAX_ATTEMPTS) {
+                    count(aborted, startNanos, false);
+                    return false;
+                }
+                backoff(attempt);
+            }
+        } catch (SQLException e) {
+            log.debug("{} could not get a connection: {}", strategy.name(), e.getMessage());
+            count(errors, startNanos, false);
+            return succeeded;
+        }
+    }
+
+    private void count(LongAdder counter, long startNanos, boolean completed) {
+        if (startNanos < measureFromNanos) {
+            return;
+        }
+        counter.increment();
+        if (completed) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            latencyMicros.recordValue(Math.min(micros, latencyMicros.getHighestTrackableValue()));
+        }
+    }
+
+    private static void rollback(Connection connection) {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Rollback failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Jittered exponential backoff, capped at 5ms, so optimistic retries do not spin in lock-step
+     */
+    private static void backoff(int attempt) {
+        long ceilingNanos = Math.min(5_000_000L, 50_000L << Math.min(attempt, 7));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1, ceilingNanos));
+    }
+}
@@ -0,0 +1,114 @@
+package com.gotyolo.booking.lockbench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares ways of protecting trips.available_seats against a real Postgres: the current pessimistic
+ * row lock, @Version-style optimistic retries, a guarded single-statement UPDATE, advisory locks and
+ * seats sharded over N inventory rows (SHARDED_n, compare several n for scaling with shard count).
+ * Each (workload, clients, strategy) run starts from a freshly loaded {@code lockbench} schema and
+ * ends with a consistency check (available + held = capacity for every trip).
+ */
+@Slf4j
+public class LockBenchRunner {
+
+    private static final Map<String, SeatLockStrategy> STRATEGIES = Stream.of(
+                    new PessimisticLockStrategy(),
+                    new OptimisticVersionStrategy(),
+                    new GuardedUpdateStrategy(),
+                    new AdvisoryLockStrategy())
+            .collect(Collectors.toMap(SeatLockStrategy::name, Function.identity()));
+
+    public static void main(String[] args) throws SQLException, InterruptedException, IOException {
+        LockBenchSettings settings = LockBenchSettings.parse(args);
+        List<SeatLockStrategy> strategies = settings.strategies().stream()
+                .map(name -> {
+                    SeatLockStrategy strategy = name.startsWith(ShardedInventoryStrategy.PREFIX)
+                            ? ShardedInventoryStrategy.parse(name)
+                            : STRATEGIES.get(name);
+                    if (strategy == null) {
+                        throw new IllegalArgumentException("Unknown strategy: " + name + "\n" + LockBenchSettings.USAGE);
+                    }
+                    return strategy;
+                })
+                .toList();
+
+        List<LockBenchResult> results = new ArrayList<>();
+        try (HikariDataSource dataSource = dataSource(settings)) {
+            LockBenchSchema schema = new LockBenchSchema(dataSource);
+
+            for (Workload workload : settings.workloads()) {
+                for (int clients : settings.clients()) {
+                    log.info(LockBenchResult.HEADER);
+                    for (SeatLockStrategy strategy : strategies) {
+                        List<UUID> tripIds = schema.reset(workload == Workload.HOT_TRIP ? 1 : settings.trips(),
+                                settings.capacity());
+                        schema.prepare(strategy);
+                        Supplier<UUID> tripPicker = tripPicker(workload, tripIds, settings.zipfExponent());
+
+                        LockBenchResult result = new LockBenchRun(dataSource, schema, strategy, workload, tripPicker)
+                                .run(clients, settings.warmupSeconds(), settings.durationSeconds());
+                        results.add(result);
+                        log.info(result.toRow());
+                    }
+                }
+            }
+        }
+
+        StringBuilder summary = new StringBuilder("\n").append(LockBenchResult.HEADER).append('\n');
+        results.forEach(result -> summary.append(result.toRow()).append('\n'));
+        log.info(summary.toString());
+
+        if (settings.csvFile() != null) {
+            List<String> lines = new ArrayList<>();
+            lines.add(LockBenchResult.CSV_HEADER);
+            results.forEach(result -> lines.add(result.toCsv()));
+            Files.write(Path.of(settings.csvFile()), lines);
+            log.info("Results written to {}", settings.csvFile());
+        }
+
+        long inconsistent = results.stream().mapToLong(LockBenchResult::inconsistentTrips).sum();
+        if (inconsistent > 0) {
+            log.error("{} runs left inconsistent trips", results.stream().filter(r -> r.inconsistentTrips() > 0).count());
+            System.exit(1);
+        }
+    }
+
+    private static Supplier<UUID> tripPicker(Workload workload, List<UUID> tripIds, double zipfExponent) {
+        if (workload == Workload.HOT_TRIP) {
+            UUID hotTrip = tripIds.get(0);
+            return () -> hotTrip;
+        }
+        ZipfTripPicker zipf = new ZipfTripPicker(tripIds, zipfExponent);
+        log.info("{}: {} trips, hottest trip gets {}% of traffic",
+                workload, tripIds.size(), Math.round(zipf.hottestShare() * 1000) / 10.0);
+        return zipf::next;
+    }
+
+    private static HikariDataSource dataSource(LockBenchSettings settings) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(settings.jdbcUrl());
+        config.setUsername(settings.dbUser());
+        config.setPassword(settings.dbPassword());
+        config.setMaximumPoolSize(settings.poolSize());
+        config.setMinimumIdle(settings.poolSize());
+        config.setConnectionTimeout(60_000);
+        config.setPoolName("lockbench");
+        return new HikariDataSource(config);
+    }
+}
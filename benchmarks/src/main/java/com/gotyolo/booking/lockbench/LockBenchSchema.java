@@ -0,0 +1,111 @@
+package com.gotyolo.booking.lockbench;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Owns the isolated {@code lockbench} schema: trips with a version column, a minimal bookings table
+ * and the inventory shards used by the SHARDED_n strategies.
+ * The service tables are never touched.
+ */
+@Slf4j
+class LockBenchSchema {
+
+    private static final String CREATE = """
+            CREATE SCHEMA IF NOT EXISTS lockbench;
+            CREATE TABLE IF NOT EXISTS lockbench.trips (
+                id UUID PRIMARY KEY,
+                max_capacity INTEGER NOT NULL,
+                available_seats INTEGER NOT NULL,
+                version BIGINT NOT NULL DEFAULT 0
+            );
+            CREATE TABLE IF NOT EXISTS lockbench.bookings (
+                id UUID PRIMARY KEY,
+                trip_id UUID NOT NULL,
+                num_seats INTEGER NOT NULL,
+                state VARCHAR(20) NOT NULL,
+                created_at TIMESTAMP NOT NULL
+            );
+            CREATE INDEX IF NOT EXISTS idx_lockbench_bookings_trip_state ON lockbench.bookings(trip_id, state);
+            CREATE TABLE IF NOT EXISTS lockbench.trip_shards (
+                trip_id UUID NOT NULL,
+                shard_no INTEGER NOT NULL,
+                available_seats INTEGER NOT NULL,
+                PRIMARY KEY (trip_id, shard_no)
+            );
+            """;
+
+    private static final String CHECK = """
+            SELECT COUNT(*) FROM lockbench.trips t
+            WHERE t.available_seats < 0
+               OR EXISTS (SELECT 1 FROM lockbench.trip_shards s WHERE s.trip_id = t.id AND s.available_seats < 0)
+               OR t.available_seats
+                  + COALESCE((SELECT SUM(s.available_seats) FROM lockbench.trip_shards s WHERE s.trip_id = t.id), 0)
+                  + COALESCE((SELECT SUM(b.num_seats) FROM lockbench.bookings b
+                              WHERE b.trip_id = t.id AND b.state = 'HELD'), 0) <> t.max_capacity
+            """;
+
+    private final DataSource dataSource;
+
+    LockBenchSchema(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Recreates the data set and returns trip ids in a stable order (index 0 is the hot/most popular trip)
+     */
+    List<UUID> reset(int trips, int capacity) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(CREATE);
+            statement.execute("TRUNCATE lockbench.bookings, lockbench.trip_shards, lockbench.trips");
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO lockbench.trips (id, max_capacity, available_seats)
+                    SELECT gen_random_uuid(), ?, ? FROM generate_series(1, ?)
+                    """)) {
+                insert.setInt(1, capacity);
+                insert.setInt(2, capacity);
+                insert.setInt(3, trips);
+                insert.executeUpdate();
+            }
+            statement.execute("ANALYZE lockbench.trips");
+
+            List<UUID> tripIds = new ArrayList<>(trips);
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM lockbench.trips ORDER BY id")) {
+                while (rs.next()) {
+                    tripIds.add(rs.getObject(1, UUID.class));
+                }
+            }
+            return tripIds;
+        }
+    }
+
+    /**
+     * Lets the strategy lay out its own data (e.g. inventory shards) on the freshly reset trips
+     */
+    void prepare(SeatLockStrategy strategy) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            strategy.prepare(connection);
+        }
+    }
+
+    /**
+     * @return trips whose available seats (pool plus shards) do not match capacity minus HELD seats
+     */
+    long countInconsistentTrips() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(CHECK)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.gotyolo.booking.lockbench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line options of LockBenchRunner
+ */
+record LockBenchSettings(
+        List<String> strategies,
+        List<Workload> workloads,
+        List<Integer> clients,
+        int warmupSeconds,
+        int durationSeconds,
+        int trips,
+        int capacity,
+        double zipfExponent,
+        int poolSize,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        String csvFile
+) {
+
+    static final String USAGE = """
+            Options:
+              --strategies PESSIMISTIC,OPTIMISTIC,GUARDED_UPDATE,ADVISORY,SHARDED_n
+                                           (default all, with SHARDED_4 and SHARDED_16;
+                                            SHARDED_n = seats split over n inventory rows per trip)
+              --workloads HOT_TRIP,ZIPF,MIXED                               (default all)
+              --clients 1,8,32,128,512     concurrent clients per run (default)
+              --warmup S / --duration S    seconds per run (default 3 / 10)
+              --trips N                    trips for ZIPF and MIXED (default 10000)
+              --capacity N                 seats per trip (default 1000000)
+              --zipf-exponent X            (default 1.0)
+              --pool-size N                JDBC connections, keep below max_connections (default 64)
+              --jdbc-url URL --db-user U --db-password P   (default local gotyolo database)
+              --csv FILE                   also write results as CSV
+            """;
+
+    static LockBenchSettings parse(String[] args) {
+        List<String> strategies = List.of("PESSIMISTIC", "OPTIMISTIC", "GUARDED_UPDATE", "ADVISORY",
+                "SHARDED_4", "SHARDED_16");
+        List<Workload> workloads = List.of(Workload.values());
+        List<Integer> clients = List.of(1, 8, 32, 128, 512);
+        int warmup = 3;
+        int duration = 10;
+        int trips = 10_000;
+        int capacity = 1_000_000;
+        double zipfExponent = 1.0;
+        int poolSize = 64;
+        String jdbcUrl = "jdbc:postgresql://localhost:5432/gotyolo";
+        String dbUser = "postgres";
+        String dbPassword = "postgres";
+        String csvFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--strategies" -> strategies = split(args[++i]).stream()
+                        .map(name -> name.toUpperCase(Locale.ROOT)).toList();
+                case "--workloads" -> workloads = split(args[++i]).stream()
+                        .map(name -> Workload.valueOf(name.toUpperCase(Locale.ROOT))).toList();
+                case "--clients" -> clients = split(args[++i]).stream().map(Integer::parseInt).toList();
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--duration" -> duration = Integer.parseInt(args[++i]);
+                case "--trips" -> trips = Integer.parseInt(args[++i]);
+                case "--capacity" -> capacity = Integer.parseInt(args[++i]);
+                case "--zipf-exponent" -> zipfExponent = Double.parseDouble(args[++i]);
+                case "--pool-size" -> poolSize = Integer.parseInt(args[++i]);
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                case "--csv" -> csvFile = args[++i];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i] + "\n" + USAGE);
+            }
+        }
+
+        if (duration < 1 || trips < 1 || capacity < 1 || poolSize < 1 || clients.stream().anyMatch(c -> c < 1)) {
+            throw new IllegalArgumentException("Counts must be positive\n" + USAGE);
+        }
+
+        return new LockBenchSettings(strategies, workloads, clients, warmup, duration, trips, capacity,
+                zipfExponent, poolSize, jdbcUrl, dbUser, dbPassword, csvFile);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(part -> !part.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.gotyolo.booking.lockbench;
+
+import lombok.experimental.UtilityClass;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Statements shared by the strategies. Only the trip-row protection differs between strategies;
+ * booking rows are always claimed with guarded updates so a booking is never released twice.
+ */
+@UtilityClass
+class LockBenchSql {
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO lockbench.bookings (id, trip_id, num_seats, state, created_at) VALUES (?, ?, ?, 'HELD', now())";
+
+    private static final String CANCEL_BOOKING =
+            "UPDATE lockbench.bookings SET state = 'CANCELLED' WHERE id = ? AND state = 'HELD' RETURNING num_seats";
+
+    private static final String EXPIRE_BOOKINGS = """
+            UPDATE lockbench.bookings SET state = 'EXPIRED'
+            WHERE id IN (SELECT id FROM lockbench.bookings
+                         WHERE trip_id = ? AND state = 'HELD'
+                         ORDER BY created_at
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING num_seats
+            """;
+
+    private static final String ADD_SEATS =
+            "UPDATE lockbench.trips SET available_seats = available_seats + ? WHERE id = ?";
+
+    static void insertBooking(Connection connection, UUID bookingId, UUID tripId, int seats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_BOOKING)) {
+            statement.setObject(1, bookingId);
+            statement.setObject(2, tripId);
+            statement.setInt(3, seats);
+            statement.executeUpdate();
+        }
+    }
+
+    static int cancelBooking(Connection connection, UUID bookingId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CANCEL_BOOKING)) {
+            statement.setObject(1, bookingId);
+            return sumSeats(statement);
+        }
+    }
+
+    static int expireBookings(Connection connection, UUID tripId, int limit) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(EXPIRE_BOOKINGS)) {
+            statement.setObject(1, tripId);
+            statement.setInt(2, limit);
+            return sumSeats(statement);
+        }
+    }
+
+    static void addSeats(Connection connection, UUID tripId, int seats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(ADD_SEATS)) {
+            statement.setInt(1, seats);
+            statement.setObject(2, tripId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Reads available_seats with an optional locking clause (e.g. "FOR UPDATE"); -1 when the trip is missing
+     */
+    static int availableSeats(Connection connection, UUID tripId, String lockClause) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT available_seats FROM lockbench.trips WHERE id = ? " + lockClause)) {
+            statement.setObject(1, tripId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    static void setAvailableSeats(Connection connection, UUID tripId, int availableSeats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE lockbench.trips SET available_seats = ? WHERE id = ?")) {
+            statement.setInt(1, availableSeats);
+            statement.setObject(2, tripId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static int sumSeats(PreparedStatement statement) throws SQLException {
+        int seats = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                seats += rs.getInt(1);
+            }
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,75 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * The @Version approach: read seats and version without locking, write back only if the version is
+ * unchanged. A lost race throws {@link RetryableConflictException} and the whole transaction is retried.
+ */
+class OptimisticVersionStrategy implements SeatLockStrategy {
+
+    @Override
+    public String name() {
+        return "OPTIMISTIC";
+    }
+
+    @Override
+    public boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException {
+        long[] seatsAndVersion = read(connection, tripId);
+        if (seatsAndVersion[0] < seats) {
+            return false;
+        }
+        write(connection, tripId, (int) seatsAndVersion[0] - seats, seatsAndVersion[1]);
+        LockBenchSql.insertBooking(connection, bookingId, tripId, seats);
+        return true;
+    }
+
+    @Override
+    public int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException {
+        int seats = LockBenchSql.cancelBooking(connection, bookingId);
+        if (seats > 0) {
+            giveBack(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    @Override
+    public int expire(Connection connection, UUID tripId, int limit) throws SQLException {
+        int seats = LockBenchSql.expireBookings(connection, tripId, limit);
+        if (seats > 0) {
+            giveBack(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    private void giveBack(Connection connection, UUID tripId, int seats) throws SQLException {
+        long[] seatsAndVersion = read(connection, tripId);
+        write(connection, tripId, (int) seatsAndVersion[0] + seats, seatsAndVersion[1]);
+    }
+
+    private static long[] read(Connection connection, UUID tripId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT available_seats, version FROM lockbench.trips WHERE id = ?")) {
+            statement.setObject(1, tripId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? new long[]{rs.getInt(1), rs.getLong(2)} : new long[]{-1, -1};
+            }
+        }
+    }
+
+    private static void write(Connection connection, UUID tripId, int availableSeats, long version) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE lockbench.trips SET available_seats = ?, version = version + 1 WHERE id = ? AND version = ?")) {
+            statement.setInt(1, availableSeats);
+            statement.setObject(2, tripId);
+            statement.setLong(3, version);
+            if (statement.executeUpdate() == 0) {
+                throw new RetryableConflictException("Stale version " + version + " for trip " + tripId);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * What the service does today (TripRepository.findByIdForUpdate): SELECT ... FOR UPDATE on the
+ * trip row, check in Java, write the computed value back, insert the booking.
+ */
+class PessimisticLockStrategy implements SeatLockStrategy {
+
+    @Override
+    public String name() {
+        return "PESSIMISTIC";
+    }
+
+    @Override
+    public boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException {
+        int available = LockBenchSql.availableSeats(connection, tripId, "FOR UPDATE");
+        if (available < seats) {
+            return false;
+        }
+        LockBenchSql.setAvailableSeats(connection, tripId, available - seats);
+        LockBenchSql.insertBooking(connection, bookingId, tripId, seats);
+        return true;
+    }
+
+    @Override
+    public int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException {
+        LockBenchSql.availableSeats(connection, tripId, "FOR UPDATE");
+        int seats = LockBenchSql.cancelBooking(connection, bookingId);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    @Override
+    public int expire(Connection connection, UUID tripId, int limit) throws SQLException {
+        LockBenchSql.availableSeats(connection, tripId, "FOR UPDATE");
+        int seats = LockBenchSql.expireBookings(connection, tripId, limit);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+}
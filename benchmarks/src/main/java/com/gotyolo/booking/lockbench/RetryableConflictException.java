@@ -0,0 +1,11 @@
+package com.gotyolo.booking.lockbench;
+
+/**
+ * An optimistic write lost the race; the transaction is rolled back and retried
+ */
+class RetryableConflictException extends RuntimeException {
+
+    RetryableConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * One way of keeping a trip's free seats consistent with the HELD bookings.
+ * Methods run inside the caller's transaction; the caller commits, rolls back and retries.
+ */
+interface SeatLockStrategy {
+
+    String name();
+
+    /**
+     * @return false when the trip has fewer than {@code seats} seats left
+     */
+    boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException;
+
+    /**
+     * @return seats given back (0 when the booking was no longer HELD)
+     */
+    int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException;
+
+    /**
+     * Expires up to {@code limit} of the oldest HELD bookings of a trip
+     *
+     * @return seats given back
+     */
+    int expire(Connection connection, UUID tripId, int limit) throws SQLException;
+
+    /**
+     * Runs once on a freshly loaded schema, before any client starts
+     */
+    default void prepare(Connection connection) throws SQLException {
+    }
+
+    /**
+     * Single-statement strategies run in autocommit mode and skip the COMMIT round trip
+     */
+    default boolean autoCommit() {
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+package com.gotyolo.booking.lockbench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The service's sharded inventory mode (InventoryShardService): each trip's seats are split over
+ * {@code shards} rows of lockbench.trip_shards and trips.available_seats is the unallocated pool.
+ * A booking takes seats from a random shard (neighbours next), first skipping busy shards, then
+ * queueing on one; only when no shard has enough seats does it lock the trip, drain all shards into
+ * the pool and spread what is left back. Cancel and expire give seats back to the pool.
+ */
+class ShardedInventoryStrategy implements SeatLockStrategy {
+
+    static final String PREFIX = "SHARDED_";
+
+    private static final String SPLIT = """
+            INSERT INTO lockbench.trip_shards (trip_id, shard_no, available_seats)
+            SELECT t.id, n, t.available_seats / ? + CASE WHEN n < t.available_seats % ? THEN 1 ELSE 0 END
+            FROM lockbench.trips t, generate_series(0, ? - 1) n
+            """;
+
+    private static final String TAKE = """
+            WITH candidate AS (
+                SELECT trip_id, shard_no FROM lockbench.trip_shards
+                WHERE trip_id = ? AND available_seats >= ?
+                ORDER BY (shard_no - ? + ?) %% ?
+                LIMIT 1
+                FOR NO KEY UPDATE %s),
+            taken AS (
+                UPDATE lockbench.trip_shards s SET available_seats = s.available_seats - ?
+                FROM candidate c WHERE s.trip_id = c.trip_id AND s.shard_no = c.shard_no
+                RETURNING s.trip_id)
+            INSERT INTO lockbench.bookings (id, trip_id, num_seats, state, created_at)
+            SELECT ?, trip_id, ?, 'HELD', now() FROM taken
+            """;
+
+    private static final String TAKE_SKIP_LOCKED = TAKE.formatted("SKIP LOCKED");
+    private static final String TAKE_WAITING = TAKE.formatted("");
+
+    private static final String DRAIN = """
+            WITH locked AS (
+                SELECT trip_id, shard_no, available_seats FROM lockbench.trip_shards
+                WHERE trip_id = ? ORDER BY shard_no FOR NO KEY UPDATE),
+            drained AS (
+                UPDATE lockbench.trip_shards s SET available_seats = 0
+                FROM locked l WHERE s.trip_id = l.trip_id AND s.shard_no = l.shard_no
+                RETURNING l.available_seats)
+            SELECT COALESCE(SUM(available_seats), 0)::int FROM drained
+            """;
+
+    private static final String SPREAD = """
+            UPDATE lockbench.trip_shards
+            SET available_seats = available_seats + ? + CASE WHEN shard_no < ? THEN 1 ELSE 0 END
+            WHERE trip_id = ?
+            """;
+
+    private final int shards;
+
+    ShardedInventoryStrategy(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        this.shards = shards;
+    }
+
+    static ShardedInventoryStrategy parse(String name) {
+        return new ShardedInventoryStrategy(Integer.parseInt(name.substring(PREFIX.length())));
+    }
+
+    @Override
+    public String name() {
+        return PREFIX + shards;
+    }
+
+    @Override
+    public void prepare(Connection connection) throws SQLException {
+        try (PreparedStatement split = connection.prepareStatement(SPLIT);
+             Statement statement = connection.createStatement()) {
+            split.setInt(1, shards);
+            split.setInt(2, shards);
+            split.setInt(3, shards);
+            split.executeUpdate();
+            statement.executeUpdate("UPDATE lockbench.trips SET available_seats = 0");
+            statement.execute("ANALYZE lockbench.trip_shards");
+        }
+    }
+
+    @Override
+    public boolean reserve(Connection connection, UUID tripId, UUID bookingId, int seats) throws SQLException {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        if (take(connection, TAKE_SKIP_LOCKED, tripId, bookingId, seats, start)
+                || take(connection, TAKE_WAITING, tripId, bookingId, seats, start)) {
+            return true;
+        }
+
+        // No shard can serve the request: rebalance under the trip lock
+        int pool = LockBenchSql.availableSeats(connection, tripId, "FOR UPDATE") + drain(connection, tripId);
+        if (pool < seats) {
+            spread(connection, tripId, pool);
+            return false;
+        }
+        spread(connection, tripId, pool - seats);
+        LockBenchSql.insertBooking(connection, bookingId, tripId, seats);
+        return true;
+    }
+
+    @Override
+    public int cancel(Connection connection, UUID tripId, UUID bookingId) throws SQLException {
+        int seats = LockBenchSql.cancelBooking(connection, bookingId);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    @Override
+    public int expire(Connection connection, UUID tripId, int limit) throws SQLException {
+        int seats = LockBenchSql.expireBookings(connection, tripId, limit);
+        if (seats > 0) {
+            LockBenchSql.addSeats(connection, tripId, seats);
+        }
+        return seats;
+    }
+
+    private boolean take(Connection connection, String sql, UUID tripId, UUID bookingId, int seats, int start)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, tripId);
+            statement.setInt(2, seats);
+            statement.setInt(3, start);
+            statement.setInt(4, shards);
+            statement.setInt(5, shards);
+            statement.setInt(6, seats);
+            statement.setObject(7, bookingId);
+            statement.setInt(8, seats);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private static int drain(Connection connection, UUID tripId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DRAIN)) {
+            statement.setObject(1, tripId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Puts {@code seats} back over the (drained) shards and empties the pool
+     */
+    private void spread(Connection connection, UUID tripId, int seats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SPREAD)) {
+            statement.setInt(1, seats / shards);
+            statement.setInt(2, seats % shards);
+            statement.setObject(3, tripId);
+            statement.executeUpdate();
+        }
+        LockBenchSql.setAvailableSeats(connection, tripId, 0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gotyolo.booking.lockbench;
+
+/**
+ * Access patterns replayed against every strategy
+ */
+enum Workload {
+
+    /** Every client books the same trip */
+    HOT_TRIP,
+
+    /** Bookings over all trips, trip popularity follows a Zipf distribution */
+    ZIPF,
+
+    /** Zipf-distributed trips with a create / cancel / expire mix */
+    MIXED
+}
@@ -0,0 +1,43 @@
+package com.gotyolo.booking.lockbench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks trip i with probability proportional to 1 / (i + 1)^exponent (inverse CDF lookup)
+ */
+class ZipfTripPicker {
+
+    private final List<UUID> tripIds;
+    private final double[] cumulative;
+
+    ZipfTripPicker(List<UUID> tripIds, double exponent) {
+        this.tripIds = tripIds;
+        this.cumulative = new double[tripIds.size()];
+        double sum = 0.0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    UUID next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return tripIds.get(Math.min(index, tripIds.size() - 1));
+    }
+
+    /**
+     * Share of all picks that land on the most popular trip
+     */
+    double hottestShare() {
+        return cumulative.length == 0 ? 0.0 : cumulative[0];
+    }
+}
@@ -0,0 +1,201 @@
+package com.gotyolo.booking.readbench;
+
+import com.gotyolo.booking.GoTyoloBookingServiceApplication;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.service.InventoryShardService;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares the trip catalogue and trip detail reads before and after they moved to constructor
+ * projections (TripRepository.TRIP_RESPONSE), in-process against Postgres. Seeds --trips PUBLISHED
+ * trips once, then calls each path in a read-only transaction and reports p50/p99 latency and the
+ * bytes allocated per call on the calling thread (query, JDBC decoding, entity or record building).
+ *
+ * ENTITY is the former read path: managed Trip entities, the shard-seat query, then a copy of every
+ * field into TripResponse. Service logging is not part of either path.
+ */
+@Slf4j
+public class ReadPathBenchRunner {
+
+    private static final String TITLE_PREFIX = "Read bench ";
+    private static final String HEADER = String.format("%-22s %7s %6s %10s %10s %10s %14s",
+            "path", "calls", "rows", "p50 ms", "p99 ms", "max ms", "alloc KB/call");
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        ReadPathBenchSettings settings = ReadPathBenchSettings.parse(args);
+
+        try (ConfigurableApplicationContext context = startApplication(settings)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            List<UUID> tripIds = seed(settings.trips(), jdbcTemplate);
+
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                    context.getBean(EntityManagerFactory.class));
+            TripRepository tripRepository = context.getBean(TripRepository.class);
+            InventoryShardService inventoryShardService = context.getBean(InventoryShardService.class);
+            TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+
+            Supplier<List<TripResponse>> catalogueEntities = () -> readOnly.execute(status -> {
+                List<Trip> published = entityManager
+                        .createQuery("SELECT t FROM Trip t WHERE t.status = :status", Trip.class)
+                        .setParameter("status", TripStatus.PUBLISHED)
+                        .getResultList();
+                Map<UUID, Integer> shardSeats = inventoryShardService.shardSeats(published);
+                return published.stream()
+                        .map(trip -> toResponse(trip, trip.getAvailableSeats() + shardSeats.getOrDefault(trip.getId(), 0)))
+                        .toList();
+            });
+            Supplier<List<TripResponse>> catalogueProjection = () -> readOnly.execute(status ->
+                    tripRepository.findResponsesByStatus(TripStatus.PUBLISHED));
+            Supplier<List<TripResponse>> detailEntity = () -> readOnly.execute(status -> {
+                Trip trip = entityManager.find(Trip.class, randomTrip(tripIds));
+                return List.of(toResponse(trip, inventoryShardService.availableSeats(trip)));
+            });
+            Supplier<List<TripResponse>> detailProjection = () -> readOnly.execute(status ->
+                    tripRepository.findResponseById(randomTrip(tripIds)).stream().toList());
+
+            int entityRows = catalogueEntities.get().size();
+            int projectionRows = catalogueProjection.get().size();
+            if (entityRows != projectionRows) {
+                throw new IllegalStateException("Catalogue paths disagree: " + entityRows + " vs " + projectionRows);
+            }
+
+            for (int round = 0; round < settings.warmupRounds(); round++) {
+                measure(catalogueEntities, settings.catalogueCalls());
+                measure(catalogueProjection, settings.catalogueCalls());
+                measure(detailEntity, settings.detailCalls());
+                measure(detailProjection, settings.detailCalls());
+                log.info("Warm-up round {} / {} done", round + 1, settings.warmupRounds());
+            }
+
+            StringBuilder report = new StringBuilder("\n").append(HEADER).append('\n');
+            report.append(measure(catalogueEntities, settings.catalogueCalls()).toRow("catalogue ENTITY")).append('\n');
+            report.append(measure(catalogueProjection, settings.catalogueCalls()).toRow("catalogue PROJECTION")).append('\n');
+            report.append(measure(detailEntity, settings.detailCalls()).toRow("detail ENTITY")).append('\n');
+            report.append(measure(detailProjection, settings.detailCalls()).toRow("detail PROJECTION")).append('\n');
+            report.append(String.format("%d published trips, max heap %d MB%n", projectionRows,
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+            log.info(report.toString());
+
+            if (settings.cleanup()) {
+                int deleted = jdbcTemplate.update("DELETE FROM trips WHERE title LIKE ?", TITLE_PREFIX + "%");
+                log.info("Removed {} read bench trips", deleted);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(ReadPathBenchSettings settings) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--app.warmup.enabled=false");
+        if (settings.jdbcUrl() != null) {
+            args.add("--spring.datasource.url=" + settings.jdbcUrl());
+        }
+        if (settings.dbUser() != null) {
+            args.add("--spring.datasource.username=" + settings.dbUser());
+        }
+        if (settings.dbPassword() != null) {
+            args.add("--spring.datasource.password=" + settings.dbPassword());
+        }
+        args.addAll(settings.applicationArgs());
+
+        return SpringApplication.run(GoTyoloBookingServiceApplication.class, args.toArray(String[]::new));
+    }
+
+    private static List<UUID> seed(int trips, JdbcTemplate jdbcTemplate) {
+        List<UUID> existing = jdbcTemplate.queryForList(
+                "SELECT id FROM trips WHERE title LIKE ? AND status = 'PUBLISHED'", UUID.class, TITLE_PREFIX + "%");
+        if (existing.size() == trips) {
+            log.info("Reusing {} seeded trips", trips);
+            return existing;
+        }
+
+        jdbcTemplate.update("DELETE FROM trips WHERE title LIKE ?", TITLE_PREFIX + "%");
+        jdbcTemplate.update("""
+                INSERT INTO trips (id, title, destination, start_date, end_date, price, max_capacity, available_seats,
+                                   status, refundable_until_days_before, cancellation_fee_percent, created_at, updated_at)
+                SELECT gen_random_uuid(), ? || i, 'Goa', now() + interval '90 days', now() + interval '95 days',
+                       1000.00 + i % 500, 40, 40 - i % 40, 'PUBLISHED', 7, 10, now(), now()
+                FROM generate_series(1, ?) AS i
+                """, TITLE_PREFIX, trips);
+        jdbcTemplate.execute("ANALYZE trips");
+        log.info("Seeded {} published trips", trips);
+        return jdbcTemplate.queryForList("SELECT id FROM trips WHERE title LIKE ?", UUID.class, TITLE_PREFIX + "%");
+    }
+
+    private static UUID randomTrip(List<UUID> tripIds) {
+        return tripIds.get(ThreadLocalRandom.current().nextInt(tripIds.size()));
+    }
+
+    // Field copy of the former TripService.mapToTripResponse
+    private static TripResponse toResponse(Trip trip, int availableSeats) {
+        return new TripResponse(
+                NullSafeUtils.safeGetUUID(trip.getId()),
+                NullSafeUtils.safeToString(trip.getTitle()),
+                NullSafeUtils.safeToString(trip.getDestination()),
+                NullSafeUtils.safeGetLocalDateTime(trip.getStartDate()),
+                NullSafeUtils.safeGetLocalDateTime(trip.getEndDate()),
+                NullSafeUtils.safeGetBigDecimal(trip.getPrice()),
+                NullSafeUtils.safeToInt(trip.getMaxCapacity()),
+                availableSeats,
+                NullSafeUtils.safeGetTripStatus(trip.getStatus()),
+                NullSafeUtils.safeToInt(trip.getRefundableUntilDaysBefore()),
+                NullSafeUtils.safeToInt(trip.getCancellationFeePercent()),
+                NullSafeUtils.safeGetLocalDateTime(trip.getCreatedAt()));
+    }
+
+    private static Result measure(Supplier<List<TripResponse>> path, int calls) {
+        long[] nanos = new long[calls];
+        long allocated = 0;
+        int rows = 0;
+        for (int i = 0; i < calls; i++) {
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            rows = path.get().size();
+            nanos[i] = System.nanoTime() - start;
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(nanos);
+        return new Result(calls, rows, nanos, allocated / calls);
+    }
+
+    private record Result(int calls, int rows, long[] sortedNanos, long bytesPerCall) {
+
+        String toRow(String path) {
+            return String.format("%-22s %7d %6d %10.3f %10.3f %10.3f %14.1f", path, calls, rows,
+                    percentileMs(0.50), percentileMs(0.99), sortedNanos[sortedNanos.length - 1] / 1e6,
+                    bytesPerCall / 1024.0);
+        }
+
+        private double percentileMs(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
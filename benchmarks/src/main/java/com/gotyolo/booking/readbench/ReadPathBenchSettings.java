@@ -0,0 +1,70 @@
+package com.gotyolo.booking.readbench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options of ReadPathBenchRunner. Unknown {@code --key=value} arguments are passed
+ * through to the Spring application.
+ */
+record ReadPathBenchSettings(
+        int trips,
+        int catalogueCalls,
+        int detailCalls,
+        int warmupRounds,
+        boolean cleanup,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        List<String> applicationArgs
+) {
+
+    static final String USAGE = """
+            Options:
+              --trips N                   PUBLISHED bench trips (default 10000), seeded once and reused
+              --catalogue-calls N         measured catalogue reads per path (default 200)
+              --detail-calls N            measured trip detail reads per path (default 5000)
+              --warmup-rounds N           unmeasured rounds of every path first (default 3)
+              --cleanup                   delete the seeded trips afterwards
+              --jdbc-url URL --db-user U --db-password P   (default: application.properties)
+              --<spring.property>=value   passed to the application
+            """;
+
+    static ReadPathBenchSettings parse(String[] args) {
+        int trips = 10_000;
+        int catalogueCalls = 200;
+        int detailCalls = 5_000;
+        int warmupRounds = 3;
+        boolean cleanup = false;
+        String jdbcUrl = null;
+        String dbUser = null;
+        String dbPassword = null;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--trips" -> trips = Integer.parseInt(args[++i]);
+                case "--catalogue-calls" -> catalogueCalls = Integer.parseInt(args[++i]);
+                case "--detail-calls" -> detailCalls = Integer.parseInt(args[++i]);
+                case "--warmup-rounds" -> warmupRounds = Integer.parseInt(args[++i]);
+                case "--cleanup" -> cleanup = true;
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                default -> {
+                    if (!args[i].startsWith("--") || !args[i].contains("=")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i] + "\n" + USAGE);
+                    }
+                    applicationArgs.add(args[i]);
+                }
+            }
+        }
+
+        if (trips < 1 || catalogueCalls < 1 || detailCalls < 1 || warmupRounds < 0) {
+            throw new IllegalArgumentException("Counts must be positive\n" + USAGE);
+        }
+
+        return new ReadPathBenchSettings(trips, catalogueCalls, detailCalls, warmupRounds, cleanup,
+                jdbcUrl, dbUser, dbPassword, List.copyOf(applicationArgs));
+    }
+}
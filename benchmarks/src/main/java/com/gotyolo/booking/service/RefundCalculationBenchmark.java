@@ -0,0 +1,61 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.benchmark.BenchmarkFixtures;
+import com.gotyolo.booking.entity.Booking;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.utils.BookingRules;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingRules refund cutoff and BigDecimal refund math, for refundable and non-refundable bookings
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RefundCalculationBenchmark {
+
+    private Trip trip;
+    private Booking confirmedBooking;
+    private Booking pendingBooking;
+    private LocalDateTime refundableCutoff;
+    private LocalDateTime passedCutoff;
+
+    @Setup
+    public void setUp() {
+        trip = BenchmarkFixtures.trip();
+        confirmedBooking = BenchmarkFixtures.booking(trip, BookingState.CONFIRMED);
+        pendingBooking = BenchmarkFixtures.booking(trip, BookingState.PENDING_PAYMENT);
+        refundableCutoff = LocalDateTime.now().plusDays(20);
+        passedCutoff = LocalDateTime.now().minusDays(1);
+    }
+
+    @Benchmark
+    public LocalDateTime calculateCutoff() {
+        return BookingRules.refundCutoff(trip.getStartDate(), trip.getRefundableUntilDaysBefore());
+    }
+
+    @Benchmark
+    public BigDecimal refundWithFee() {
+        return refund(confirmedBooking, refundableCutoff);
+    }
+
+    @Benchmark
+    public BigDecimal refundAfterCutoff() {
+        return refund(confirmedBooking, passedCutoff);
+    }
+
+    @Benchmark
+    public BigDecimal refundPendingBooking() {
+        return refund(pendingBooking, refundableCutoff);
+    }
+
+    private BigDecimal refund(Booking booking, LocalDateTime cutoff) {
+        return BookingRules.refundAmount(booking.getState(), booking.getPriceAtBooking(),
+                trip.getCancellationFeePercent(), cutoff, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,82 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.benchmark.BenchmarkFixtures;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.exception.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation done by @Valid in the controllers, plus the manual checks in BookingService
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookingService bookingService;
+    private CreateBookingRequest validBooking;
+    private CreateBookingRequest invalidBooking;
+    private CreateTripRequest validTrip;
+    private CreateTripRequest invalidTrip;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        bookingService = new BookingService(null, null, null, null, null, null, null, null, null);
+        validBooking = BenchmarkFixtures.validBookingRequest();
+        invalidBooking = BenchmarkFixtures.invalidBookingRequest();
+        validTrip = BenchmarkFixtures.validTripRequest();
+        invalidTrip = BenchmarkFixtures.invalidTripRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateBookingRequest>> beanValidationBookingValid() {
+        return validator.validate(validBooking);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateBookingRequest>> beanValidationBookingInvalid() {
+        return validator.validate(invalidBooking);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTripRequest>> beanValidationTripValid() {
+        return validator.validate(validTrip);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTripRequest>> beanValidationTripInvalid() {
+        return validator.validate(invalidTrip);
+    }
+
+    @Benchmark
+    public void serviceValidationBooking() {
+        bookingService.validateCreateBookingRequest(validBooking);
+    }
+
+    @Benchmark
+    public Object serviceValidationBookingRejected() {
+        try {
+            bookingService.validateCreateBookingRequest(invalidBooking);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+}
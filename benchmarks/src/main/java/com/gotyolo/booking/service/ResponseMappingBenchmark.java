@@ -0,0 +1,44 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.benchmark.BenchmarkFixtures;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.entity.Booking;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.BookingState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to record mapping on every booking and trip response.
+ * Lives in the service package because the mappers are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private BookingService bookingService;
+    private TripService tripService;
+    private Trip trip;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        bookingService = new BookingService(null, null, null, null, null, null, null, null, null);
+        tripService = new TripService(null, null, null, null, null, null);
+        trip = BenchmarkFixtures.trip();
+        booking = BenchmarkFixtures.booking(trip, BookingState.PENDING_PAYMENT);
+    }
+
+    @Benchmark
+    public BookingResponse mapToBookingResponse() {
+        return bookingService.mapToBookingResponse(booking, trip.getId());
+    }
+
+    @Benchmark
+    public TripResponse mapToTripResponse() {
+        return tripService.mapToTripResponse(trip, trip.getAvailableSeats());
+    }
+}
@@ -0,0 +1,16 @@
+package com.gotyolo.booking.startbench;
+
+/**
+ * Builds of the service compared by StartupBenchRunner
+ */
+public enum StartVariant {
+
+    /** Plain Spring Boot jar on the JVM, as shipped by the Dockerfile */
+    JIT,
+
+    /** -Pfast-start jar extracted by scripts/build-fast-start.sh, run with spring.aot.enabled and its CDS archive */
+    AOT_CDS,
+
+    /** GraalVM native executable from -Pnative native:compile */
+    NATIVE
+}
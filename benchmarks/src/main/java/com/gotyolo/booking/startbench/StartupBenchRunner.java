@@ -0,0 +1,220 @@
+package com.gotyolo.booking.startbench;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold-start comparison of the JIT, AOT + CDS and native builds. Every run launches a fresh
+ * process and measures, from launch: the first 200 from /api/v1/health (ready), then the first
+ * 201 from a booking on a newly created trip (time to first booking). Also reports how long that
+ * first booking request itself took (still cold code paths) and the resident memory afterwards.
+ * Medians over --runs starts; application output goes to target/startbench-*.log.
+ */
+@Slf4j
+public class StartupBenchRunner {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+    private static final Pattern RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+    private static final long POLL_INTERVAL_MS = 10;
+    private static final String HEADER = String.format("%-8s %5s %10s %16s %15s %8s",
+            "variant", "runs", "ready ms", "first booking ms", "booking req ms", "RSS MB");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StartupBenchSettings settings = StartupBenchSettings.parse(args);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        List<String> rows = new ArrayList<>();
+        for (StartVariant variant : settings.variants()) {
+            List<String> command = command(variant, settings);
+            if (command == null) {
+                continue;
+            }
+            List<Result> results = new ArrayList<>();
+            for (int run = 1; run <= settings.runs(); run++) {
+                Result result = coldStart(variant, run, command, settings, http);
+                log.info("{} run {}: ready {} ms, first booking {} ms, booking request {} ms, RSS {} MB",
+                        variant, run, result.readyMs, result.firstBookingMs, result.bookingRequestMs, result.rssMb);
+                results.add(result);
+            }
+            rows.add(String.format("%-8s %5d %10d %16d %15d %8d", variant, results.size(),
+                    median(results, Result::readyMs), median(results, Result::firstBookingMs),
+                    median(results, Result::bookingRequestMs), median(results, Result::rssMb)));
+        }
+
+        StringBuilder report = new StringBuilder("\n").append(HEADER).append('\n');
+        rows.forEach(row -> report.append(row).append('\n'));
+        report.append(String.format("medians, %d cold starts per variant, %d CPUs%n",
+                settings.runs(), Runtime.getRuntime().availableProcessors()));
+        log.info(report.toString());
+    }
+
+    /**
+     * Launch command for the variant, or null (logged) when its build output is missing
+     */
+    private static List<String> command(StartVariant variant, StartupBenchSettings settings) {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        Path artifact;
+        switch (variant) {
+            case JIT -> {
+                artifact = settings.jar();
+                command.addAll(List.of(java, "-jar", artifact.toString()));
+            }
+            case AOT_CDS -> {
+                artifact = settings.fastStartDir().resolve("app.jar");
+                Path archive = settings.fastStartDir().resolve("app.jsa");
+                if (!Files.exists(archive)) {
+                    log.warn("Skipping {}: {} not found, run scripts/build-fast-start.sh", variant, archive);
+                    return null;
+                }
+                // Relative paths exactly as in the training run, or the JVM ignores the archive
+                command.addAll(List.of(java, "-XX:SharedArchiveFile=app.jsa", "-Xshare:on",
+                        "-Dspring.aot.enabled=true", "-jar", "app.jar"));
+            }
+            case NATIVE -> {
+                artifact = settings.nativeBinary();
+                command.add(artifact.toString());
+            }
+            default -> throw new IllegalStateException("Unknown variant " + variant);
+        }
+        if (!Files.exists(artifact)) {
+            log.warn("Skipping {}: {} not found", variant, artifact);
+            return null;
+        }
+
+        command.add("--server.port=" + settings.port());
+        if (settings.jdbcUrl() != null) {
+            command.add("--spring.datasource.url=" + settings.jdbcUrl());
+        }
+        if (settings.dbUser() != null) {
+            command.add("--spring.datasource.username=" + settings.dbUser());
+        }
+        if (settings.dbPassword() != null) {
+            command.add("--spring.datasource.password=" + settings.dbPassword());
+        }
+        command.addAll(settings.applicationArgs());
+        return command;
+    }
+
+    private static Result coldStart(StartVariant variant, int run, List<String> command, StartupBenchSettings settings,
+                                    HttpClient http) throws IOException, InterruptedException {
+        String baseUrl = "http://localhost:" + settings.port() + "/api/v1";
+        Path logFile = Path.of("target", "startbench-" + variant.name().toLowerCase() + "-" + run + ".log").toAbsolutePath();
+        Files.createDirectories(logFile.getParent());
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        if (variant == StartVariant.AOT_CDS) {
+            builder.directory(settings.fastStartDir().toFile());
+        }
+        long launched = System.nanoTime();
+        Process process = builder
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            long deadline = launched + TimeUnit.SECONDS.toNanos(settings.timeoutSeconds());
+            while (!isUp(http, baseUrl)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant + " exited with " + process.exitValue() + ", see " + logFile);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(variant + " not ready after " + settings.timeoutSeconds() + " s, see " + logFile);
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            long ready = System.nanoTime();
+
+            String tripId = createTrip(http, baseUrl);
+            long bookingStart = System.nanoTime();
+            HttpResponse<String> booking = post(http, baseUrl + "/trips/" + tripId + "/book",
+                    "{\"userId\":\"" + UUID.randomUUID() + "\",\"numSeats\":1}");
+            long booked = System.nanoTime();
+            if (booking.statusCode() != 201) {
+                throw new IllegalStateException("First booking returned HTTP " + booking.statusCode() + ": " + booking.body());
+            }
+
+            return new Result(toMillis(ready - launched), toMillis(booked - launched), toMillis(booked - bookingStart),
+                    residentMegabytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean isUp(HttpClient http, String baseUrl) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/health"))
+                    .timeout(Duration.ofSeconds(1)).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (ConnectException e) {
+            return false;
+        } catch (IOException e) {
+            log.debug("Health check failed: {}", e.toString());
+            return false;
+        }
+    }
+
+    private static String createTrip(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(60).withNano(0);
+        HttpResponse<String> response = post(http, baseUrl + "/trips", """
+                {"title":"Startup bench","destination":"Goa","startDate":"%s","endDate":"%s","price":5000,
+                 "maxCapacity":10,"publishNow":true,"refundableUntilDaysBefore":7,"cancellationFeePercent":10}
+                """.formatted(start, start.plusDays(5)));
+        Matcher id = ID.matcher(response.body());
+        if (response.statusCode() != 201 || !id.find()) {
+            throw new IllegalStateException("Trip creation returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return id.group(1);
+    }
+
+    private static HttpResponse<String> post(HttpClient http, String url, String json)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Linux only (/proc); -1 elsewhere
+     */
+    private static long residentMegabytes(long pid) {
+        try {
+            Matcher rss = RSS.matcher(Files.readString(Path.of("/proc", Long.toString(pid), "status")));
+            return rss.find() ? Long.parseLong(rss.group(1)) / 1024 : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long median(List<Result> results, ToLongFunction<Result> metric) {
+        long[] values = results.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private record Result(long readyMs, long firstBookingMs, long bookingRequestMs, long rssMb) {}
+}
@@ -0,0 +1,83 @@
+package com.gotyolo.booking.startbench;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line options of StartupBenchRunner. Unknown {@code --key=value} arguments are passed
+ * through to every application process (e.g. --app.bookings.partitions.enabled=false).
+ */
+record StartupBenchSettings(
+        List<StartVariant> variants,
+        int runs,
+        int port,
+        Path jar,
+        Path fastStartDir,
+        Path nativeBinary,
+        int timeoutSeconds,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        List<String> applicationArgs
+) {
+
+    static final String USAGE = """
+            Options (paths relative to the service project, run from benchmarks/ via exec:exec):
+              --variants JIT,AOT_CDS,NATIVE   (default all; a variant whose artifact is missing is skipped)
+              --runs N                    cold starts per variant, median reported (default 5)
+              --port N                    (default 18080)
+              --jar PATH                  plain jar (default ../target/gotyolo-booking-service-0.0.1-SNAPSHOT.jar)
+              --fast-start-dir PATH       output of scripts/build-fast-start.sh (default ../target/fast-start)
+              --native PATH               native executable (default ../target/gotyolo-booking-service)
+              --timeout-seconds N         per start (default 120)
+              --jdbc-url URL --db-user U --db-password P   (default: application.properties)
+              --<spring.property>=value   passed to the application
+            """;
+
+    static StartupBenchSettings parse(String[] args) {
+        List<StartVariant> variants = List.of(StartVariant.values());
+        int runs = 5;
+        int port = 18080;
+        Path jar = Path.of("../target/gotyolo-booking-service-0.0.1-SNAPSHOT.jar");
+        Path fastStartDir = Path.of("../target/fast-start");
+        Path nativeBinary = Path.of("../target/gotyolo-booking-service");
+        int timeoutSeconds = 120;
+        String jdbcUrl = null;
+        String dbUser = null;
+        String dbPassword = null;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--variants" -> variants = Arrays.stream(args[++i].split(","))
+                        .map(variant -> StartVariant.valueOf(variant.trim().toUpperCase(Locale.ROOT)))
+                        .toList();
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--jar" -> jar = Path.of(args[++i]);
+                case "--fast-start-dir" -> fastStartDir = Path.of(args[++i]);
+                case "--native" -> nativeBinary = Path.of(args[++i]);
+                case "--timeout-seconds" -> timeoutSeconds = Integer.parseInt(args[++i]);
+                case "--jdbc-url" -> jdbcUrl = args[++i];
+                case "--db-user" -> dbUser = args[++i];
+                case "--db-password" -> dbPassword = args[++i];
+                default -> {
+                    if (!args[i].startsWith("--") || !args[i].contains("=")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i] + "\n" + USAGE);
+                    }
+                    applicationArgs.add(args[i]);
+                }
+            }
+        }
+
+        if (runs < 1 || timeoutSeconds < 1 || variants.isEmpty()) {
+            throw new IllegalArgumentException("Counts must be positive\n" + USAGE);
+        }
+
+        return new StartupBenchSettings(variants, runs, port, jar, fastStartDir, nativeBinary, timeoutSeconds,
+                jdbcUrl, dbUser, dbPassword, List.copyOf(applicationArgs));
+    }
+}
@@ -0,0 +1,31 @@
+#!/bin/bash
+# Builds the fast-start variant: AOT-processed jar, extracted for class-data sharing, plus the CDS archive.
+#
+#   scripts/build-fast-start.sh [training-run args...]
+#
+# The training run starts the application context once (schema init and partition maintenance
+# included), so the database from application.properties, or the one passed as
+# --spring.datasource.url=..., must be reachable. It exits as soon as the context is refreshed.
+#
+# Run the result from inside target/fast-start: the JVM only maps the archive when the class path
+# is exactly the one used for training, so start it with the same relative jar path:
+#   cd target/fast-start && java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=target/fast-start
+
+mvn -B -q -DskipTests -Pfast-start clean package
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar target/gotyolo-booking-service-0.0.1-SNAPSHOT.jar extract --destination "$OUT"
+mv "$OUT"/gotyolo-booking-service-0.0.1-SNAPSHOT.jar "$OUT"/app.jar
+
+cd "$OUT"
+java -XX:ArchiveClassesAtExit=app.jsa \
+     -Xlog:cds=error \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar app.jar "$@"
+
+echo "Fast-start build ready in $OUT (app.jar + app.jsa)"
@@ -0,0 +1,74 @@
+-- One-off conversion of a plain bookings table into the partitioned layout from schema.sql.
+-- Run with the service stopped:
+--   psql -U postgres -d gotyolo -v ON_ERROR_STOP=1 -f scripts/migrate-bookings-to-partitioned.sql
+-- The legacy table is kept as bookings_legacy; drop it once the new table has been checked.
+
+BEGIN;
+
+LOCK TABLE bookings IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE bookings RENAME TO bookings_legacy;
+ALTER INDEX IF EXISTS bookings_pkey RENAME TO bookings_legacy_pkey;
+ALTER INDEX IF EXISTS idx_bookings_trip_id RENAME TO idx_bookings_legacy_trip_id;
+ALTER INDEX IF EXISTS idx_bookings_state RENAME TO idx_bookings_legacy_state;
+ALTER INDEX IF EXISTS idx_bookings_user_created RENAME TO idx_bookings_legacy_user_created;
+
+CREATE TABLE bookings (
+    id UUID NOT NULL,
+    trip_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    num_seats INTEGER NOT NULL,
+    state VARCHAR(50) NOT NULL,
+    price_at_booking NUMERIC(10,2) NOT NULL,
+    payment_reference VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP,
+    refund_amount NUMERIC(10,2),
+    cancelled_at TIMESTAMP,
+    idempotency_key VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_bookings_trip_id ON bookings(trip_id);
+CREATE INDEX idx_bookings_state ON bookings(state);
+CREATE INDEX idx_bookings_user_created ON bookings(user_id, created_at DESC, id DESC);
+
+-- One partition per month that has bookings, plus the next three months.
+-- BookingPartitionMaintainer keeps extending this once the service is back up.
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at)), date_trunc('month', now()))::date
+    INTO month_start
+    FROM bookings_legacy;
+
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                       'bookings_' || to_char(month_start, '"y"YYYY"m"MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Rows written before created_at was mandatory fall back to updated_at
+INSERT INTO bookings (id, trip_id, user_id, num_seats, state, price_at_booking, payment_reference,
+                      created_at, expires_at, refund_amount, cancelled_at, idempotency_key, updated_at)
+SELECT id, trip_id, user_id, num_seats, state, price_at_booking, payment_reference,
+       COALESCE(created_at, updated_at, now()), expires_at, refund_amount, cancelled_at, idempotency_key,
+       COALESCE(updated_at, created_at, now())
+FROM bookings_legacy;
+
+COMMIT;
+
+ANALYZE bookings;
+
+SELECT (SELECT count(*) FROM bookings_legacy) AS legacy_rows,
+       (SELECT count(*) FROM bookings)        AS migrated_rows;
@@ -1,11 +1,14 @@
 package com.gotyolo.booking;
 
+import com.gotyolo.booking.aot.BookingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@ImportRuntimeHints(BookingRuntimeHints.class)
 public class GoTyoloBookingServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,97 @@
+package com.gotyolo.booking.aot;
+
+import com.gotyolo.booking.datasource.DatabaseShardIdGenerator;
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.AtRiskTripsResponse;
+import com.gotyolo.booking.dto.BookingArchiveResponse;
+import com.gotyolo.booking.dto.BookingExportFilter;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.CancelBookingRequest;
+import com.gotyolo.booking.dto.ConcurrencyLimitResponse;
+import com.gotyolo.booking.dto.ContentionReportResponse;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.dto.FlightRecordingResponse;
+import com.gotyolo.booking.dto.RateLimitSettings;
+import com.gotyolo.booking.dto.RateLimitsResponse;
+import com.gotyolo.booking.dto.SeatMapResponse;
+import com.gotyolo.booking.dto.TripCancellationResponse;
+import com.gotyolo.booking.dto.TripImportResponse;
+import com.gotyolo.booking.dto.TripMetricsResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.dto.UserBookingPageResponse;
+import com.gotyolo.booking.dto.UserBookingResponse;
+import com.gotyolo.booking.dto.WaitlistEntryResponse;
+import com.gotyolo.booking.dto.WarmupReportResponse;
+import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.entity.Booking;
+import com.gotyolo.booking.entity.BookingArchive;
+import com.gotyolo.booking.entity.IdempotencyRecord;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.entity.TripCancellationJob;
+import com.gotyolo.booking.entity.TripInventoryShard;
+import com.gotyolo.booking.entity.TripSeatMap;
+import com.gotyolo.booking.entity.TripWaitlistEntry;
+import com.gotyolo.booking.interfaces.BookingTransitionInfo;
+import com.gotyolo.booking.interfaces.CancelledBookingInfo;
+import com.gotyolo.booking.interfaces.ExpiredBookingInfo;
+import com.gotyolo.booking.interfaces.ShardReservationInfo;
+import com.gotyolo.booking.interfaces.ShardSeatsInfo;
+import com.gotyolo.booking.interfaces.UserBookingRow;
+import com.gotyolo.booking.interfaces.WaitlistPromotionInfo;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.data.projection.TargetAware;
+
+/**
+ * Reflection and proxy hints for the native image. Spring's AOT pass already infers most of
+ * these from controllers and repositories; listing them here keeps the native build working
+ * when a type is only reached through a generic signature (ApiResponse&lt;T&gt;, List&lt;T&gt;)
+ * or a native query projection.
+ */
+public class BookingRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final Class<?>[] ENTITIES = {
+            Trip.class, Booking.class, BookingArchive.class, TripCancellationJob.class, TripWaitlistEntry.class,
+            IdempotencyRecord.class, TripInventoryShard.class, TripSeatMap.class
+    };
+
+    static final Class<?>[] DTOS = {
+            ApiResponse.class, AtRiskTripsResponse.class, BookingArchiveResponse.class, BookingExportFilter.class,
+            BookingResponse.class, CancelBookingRequest.class, ConcurrencyLimitResponse.class,
+            ContentionReportResponse.class, CreateBookingRequest.class, CreateTripRequest.class,
+            FlightRecordingResponse.class, RateLimitSettings.class, RateLimitsResponse.class, SeatMapResponse.class,
+            TripCancellationResponse.class, TripImportResponse.class, TripMetricsResponse.class, TripResponse.class,
+            UserBookingPageResponse.class, UserBookingResponse.class, WaitlistEntryResponse.class,
+            WarmupReportResponse.class, WebhookRequest.class
+    };
+
+    static final Class<?>[] PROJECTIONS = {
+            ExpiredBookingInfo.class, BookingTransitionInfo.class, WaitlistPromotionInfo.class,
+            ShardReservationInfo.class, ShardSeatsInfo.class, CancelledBookingInfo.class,
+            UserBookingRow.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate reads and writes entity fields directly and instantiates through the no-arg constructor
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.ACCESS_DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        // @DatabaseShardId: Hibernate creates the generator reflectively
+        hints.reflection().registerType(DatabaseShardIdGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Jackson: constructors, accessors and every nested record or enum they reach
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTOS);
+
+        // Spring Data backs interface projections with JDK proxies
+        for (Class<?> projection : PROJECTIONS) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(projection, TargetAware.class));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.gotyolo.booking.audit;
+
+import com.gotyolo.booking.enums.BookingState;
+
+/**
+ * Booking state transitions recorded in the audit journal. The journal stores code, so codes are
+ * never reused or renumbered; 0 marks an unwritten slot.
+ */
+public enum AuditEventType {
+    CREATED(1, BookingState.PENDING_PAYMENT),
+    CONFIRMED(2, BookingState.CONFIRMED),
+    PAYMENT_FAILED(3, BookingState.EXPIRED),
+    CANCELLED(4, BookingState.CANCELLED),
+    EXPIRED(5, BookingState.EXPIRED),
+    // Operator cancelled the trip: every PENDING_PAYMENT / CONFIRMED booking of it becomes CANCELLED.
+    // No longer written (trip cancellation records CANCELLED per booking); read from older journals.
+    TRIP_CANCELLED(6, BookingState.CANCELLED);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[7];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final BookingState resultingState;
+
+    AuditEventType(int code, BookingState resultingState) {
+        this.code = (byte) code;
+        this.resultingState = resultingState;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public BookingState resultingState() {
+        return resultingState;
+    }
+
+    /**
+     * Null for 0 (empty slot) and codes this version does not know
+     */
+    public static AuditEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.gotyolo.booking.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of every booking state transition, for disputes and replay, kept in
+ * memory-mapped segment files instead of Postgres so the booking path does not write twice.
+ *
+ * A transition is appended once its transaction commits (rolled-back work never shows up) and gets
+ * the next sequence number, so the journal order is the commit order. Appends are a copy into the
+ * mapped segment under a short lock; when a segment is full the next one is created. Durability
+ * follows app.audit.fsync (see FsyncPolicy). Records carry a CRC32C, and a record torn by a crash is
+ * cleared on the next startup. A crash between commit and append loses that one record;
+ * AuditJournalCli verify reports such gaps against the database.
+ */
+@Slf4j
+@Component
+public class AuditJournal {
+
+    @Value("${app.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.directory:logs/audit}")
+    private String directory;
+
+    @Value("${app.audit.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${app.audit.fsync:GROUP}")
+    private FsyncPolicy fsyncPolicy;
+
+    @Value("${app.audit.group-fsync-interval-ms:10}")
+    private long groupFsyncIntervalMs;
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(JournalFormat.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private final Object forceLock = new Object();
+
+    private Path journalDirectory;
+    private JournalSegment segment;
+    private long lastSequence;
+    private volatile long forcedSequence;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            log.info("Audit journal disabled");
+            return;
+        }
+        journalDirectory = Paths.get(directory);
+        Files.createDirectories(journalDirectory);
+
+        List<Path> segments = segmentFiles(journalDirectory);
+        if (segments.isEmpty()) {
+            segment = JournalSegment.create(journalDirectory, 1, segmentSize.toBytes());
+        } else {
+            segment = JournalSegment.openForAppend(segments.get(segments.size() - 1));
+        }
+        lastSequence = segment.lastSequence();
+        forcedSequence = lastSequence;
+
+        if (fsyncPolicy == FsyncPolicy.GROUP) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::forceWritten, groupFsyncIntervalMs, groupFsyncIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Audit journal open | directory={} | segments={} | lastSequence={} | fsync={}",
+                journalDirectory.toAbsolutePath(), Math.max(segments.size(), 1), lastSequence, fsyncPolicy);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        synchronized (this) {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        }
+    }
+
+    /**
+     * Journals a booking transition when the current transaction commits, right away outside one
+     */
+    public void record(AuditEventType type, UUID bookingId, UUID tripId, UUID userId,
+                       Integer numSeats, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        long timestampMicros = nowMicros();
+        int seats = numSeats != null ? numSeats : 0;
+        long amountCents = amount != null ? amount.movePointRight(2).longValue() : 0;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendQuietly(type, bookingId, tripId, userId, seats, amountCents, timestampMicros);
+                }
+            });
+        } else {
+            appendQuietly(type, bookingId, tripId, userId, seats, amountCents, timestampMicros);
+        }
+    }
+
+    /**
+     * Appends one record and returns its sequence; waits for the fsync under FsyncPolicy.SYNC
+     */
+    long append(AuditEventType type, UUID bookingId, UUID tripId, UUID userId, int numSeats,
+                long amountCents, long timestampMicros) throws IOException {
+        long sequence;
+        synchronized (this) {
+            if (segment == null) {
+                throw new IOException("Audit journal is closed");
+            }
+            if (segment.isFull()) {
+                roll();
+            }
+            sequence = lastSequence + 1;
+            JournalFormat.encode(scratch, crc, sequence, timestampMicros, type, bookingId, tripId, userId,
+                    numSeats, amountCents);
+            segment.append(scratch);
+            lastSequence = sequence;
+        }
+        if (fsyncPolicy == FsyncPolicy.SYNC) {
+            awaitForced(sequence);
+        }
+        return sequence;
+    }
+
+    public long lastSequence() {
+        synchronized (this) {
+            return lastSequence;
+        }
+    }
+
+    public Path directory() {
+        return journalDirectory;
+    }
+
+    // Called with the lock held
+    private void roll() throws IOException {
+        JournalSegment full = segment;
+        segment = JournalSegment.create(journalDirectory, lastSequence + 1, segmentSize.toBytes());
+        // Forces the full segment; its records are durable whatever the policy
+        full.close();
+        log.info("Audit journal rolled | segment={}", segment.path().getFileName());
+    }
+
+    private void awaitForced(long sequence) {
+        if (forcedSequence < sequence) {
+            forceWritten();
+        }
+    }
+
+    // One force covers every record written so far, so appends waiting together share it
+    private void forceWritten() {
+        synchronized (forceLock) {
+            long written;
+            JournalSegment current;
+            synchronized (this) {
+                written = lastSequence;
+                current = segment;
+            }
+            if (current == null || written <= forcedSequence) {
+                return;
+            }
+            try {
+                current.force();
+                forcedSequence = written;
+            } catch (RuntimeException e) {
+                log.error("Audit journal fsync failed | upToSequence={}", written, e);
+            }
+        }
+    }
+
+    private void appendQuietly(AuditEventType type, UUID bookingId, UUID tripId, UUID userId, int numSeats,
+                               long amountCents, long timestampMicros) {
+        try {
+            append(type, bookingId, tripId, userId, numSeats, amountCents, timestampMicros);
+        } catch (IOException | UncheckedIOException e) {
+            // The transition itself is committed; losing its audit record must not fail the request
+            log.error("Audit journal append failed | type={} | bookingId={} | tripId={}",
+                    type, bookingId, tripId, e);
+        }
+    }
+
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded first sequence in the name: lexical order is journal order
+            return files.filter(path -> JournalFormat.isSegmentFile(path.getFileName().toString()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,151 @@
+package com.gotyolo.booking.audit;
+
+import com.gotyolo.booking.enums.BookingState;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Offline tool for the audit journal, no Spring context:
+ *
+ *   replay  &lt;dir&gt;                              checks the journal and prints the rebuilt booking states
+ *   verify  &lt;dir&gt; &lt;jdbcUrl&gt; &lt;user&gt; &lt;password&gt;  also compares them with bookings / bookings_archive
+ *
+ * From the application jar:
+ *   java -cp app.jar -Dloader.main=com.gotyolo.booking.audit.AuditJournalCli \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher verify logs/audit jdbc:postgresql://... user pw
+ * Exit code 0 when the journal is intact (and matches the database), 1 otherwise.
+ */
+public final class AuditJournalCli {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED = 50;
+
+    private AuditJournalCli() {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length == 2 && args[0].equals("replay")) {
+            System.exit(replay(Path.of(args[1]), true, System.out) != null ? 0 : 1);
+        } else if (args.length == 5 && args[0].equals("verify")) {
+            JournalReplay replay = replay(Path.of(args[1]), false, System.out);
+            boolean matches;
+            try (Connection connection = DriverManager.getConnection(args[2], args[3], args[4])) {
+                matches = verify(replay, connection, System.out);
+            }
+            System.exit(replay != null && matches ? 0 : 1);
+        } else {
+            System.err.println("Usage: replay <dir> | verify <dir> <jdbcUrl> <user> <password>");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Reads and replays the journal; null when it is damaged or has sequence gaps
+     */
+    static JournalReplay replay(Path directory, boolean printBookings, PrintStream out) throws IOException {
+        JournalReplay replay = new JournalReplay();
+        long start = System.nanoTime();
+        AuditJournalReader.ReadResult result = new AuditJournalReader(directory).read(replay);
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+        out.printf("segments=%d records=%d sequences=%d..%d gaps=%d tornTail=%s damaged=%d tookMs=%d%n",
+                result.segments(), result.records(), result.firstSequence(), result.lastSequence(),
+                result.sequenceGaps(), result.tornTail(), result.damaged().size(), tookMs);
+        result.damaged().stream().limit(MAX_REPORTED).forEach(damaged -> out.println("DAMAGED " + damaged));
+
+        Map<BookingState, Long> byState = new HashMap<>();
+        replay.bookings().values().forEach(booking -> byState.merge(booking.state(), 1L, Long::sum));
+        out.printf("bookings=%d invalidTransitions=%d byState=%s%n",
+                replay.bookings().size(), replay.invalidTransitions(), byState);
+        if (printBookings) {
+            replay.bookings().values().forEach(booking -> out.printf("%s %s %s seats=%d seq=%d%n",
+                    booking.bookingId(), booking.tripId(), booking.state(), booking.numSeats(),
+                    booking.lastSequence()));
+        }
+        return result.intact() ? replay : null;
+    }
+
+    /**
+     * Compares replayed states with the database, and lists bookings the database has that were
+     * created after the journal's first record but never journaled
+     */
+    static boolean verify(JournalReplay replay, Connection connection, PrintStream out) throws SQLException {
+        if (replay == null) {
+            out.println("Journal damaged; states not verified");
+            return false;
+        }
+        Map<UUID, String> dbStates = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(replay.bookings().keySet());
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT id, state FROM bookings WHERE id = ANY(?)
+                UNION ALL
+                SELECT id, state FROM bookings_archive WHERE id = ANY(?)""")) {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<UUID> slice = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                Array batch = connection.createArrayOf("uuid", slice.toArray());
+                statement.setArray(1, batch);
+                statement.setArray(2, batch);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        dbStates.put(rs.getObject(1, UUID.class), rs.getString(2));
+                    }
+                }
+            }
+        }
+
+        long mismatches = 0;
+        for (JournalReplay.ReplayedBooking booking : replay.bookings().values()) {
+            String dbState = dbStates.get(booking.bookingId());
+            String journalState = booking.state() != null ? booking.state().name() : null;
+            if (dbState == null || !dbState.equals(journalState)) {
+                if (mismatches++ < MAX_REPORTED) {
+                    out.printf("MISMATCH %s journal=%s db=%s%n", booking.bookingId(), journalState,
+                            dbState != null ? dbState : "missing");
+                }
+            }
+        }
+
+        long unjournaled = 0;
+        LocalDateTime since = firstCreatedAt(replay);
+        if (since != null) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id FROM bookings WHERE created_at >= ?")) {
+                statement.setTimestamp(1, Timestamp.valueOf(since));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        UUID id = rs.getObject(1, UUID.class);
+                        if (!replay.bookings().containsKey(id) && unjournaled++ < MAX_REPORTED) {
+                            out.println("UNJOURNALED " + id);
+                        }
+                    }
+                }
+            }
+        }
+
+        out.printf("verified=%d mismatches=%d unjournaled=%d%n", replay.bookings().size(), mismatches, unjournaled);
+        return mismatches == 0 && unjournaled == 0;
+    }
+
+    private static LocalDateTime firstCreatedAt(JournalReplay replay) {
+        // created_at is a local timestamp written by the application
+        return replay.firstCreated() != null
+                ? LocalDateTime.ofInstant(replay.firstCreated(), ZoneId.systemDefault())
+                : null;
+    }
+}
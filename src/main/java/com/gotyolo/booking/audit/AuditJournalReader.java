@@ -0,0 +1,93 @@
+package com.gotyolo.booking.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a journal directory in sequence order, checking every segment header and record CRC.
+ * Works on a live journal (records appended after a segment was mapped may or may not be seen).
+ */
+public final class AuditJournalReader {
+
+    private final Path directory;
+
+    public AuditJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Outcome of a full read. Damaged records are skipped and listed by position; a torn last record
+     * of the journal only counts as tornTail. sequenceGaps counts missing sequence numbers.
+     */
+    public record ReadResult(int segments, long records, long firstSequence, long lastSequence,
+                             long sequenceGaps, boolean tornTail, List<String> damaged) {
+
+        public boolean intact() {
+            return damaged.isEmpty() && sequenceGaps == 0;
+        }
+    }
+
+    public ReadResult read(Consumer<AuditRecord> consumer) throws IOException {
+        List<Path> segments = AuditJournal.segmentFiles(directory);
+        ByteBuffer record = ByteBuffer.allocate(JournalFormat.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        List<String> damaged = new ArrayList<>();
+        long records = 0;
+        long first = 0;
+        long last = 0;
+        long gaps = 0;
+        boolean tornTail = false;
+
+        for (int s = 0; s < segments.size(); s++) {
+            Path path = segments.get(s);
+            boolean lastSegment = s == segments.size() - 1;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (JournalFormat.readHeader(buffer) < 0) {
+                    damaged.add(path.getFileName() + ": damaged header");
+                    continue;
+                }
+                int slots = JournalFormat.slots(channel.size());
+                for (int slot = 0; slot < slots; slot++) {
+                    buffer.get(JournalFormat.HEADER_SIZE + slot * JournalFormat.RECORD_SIZE, record.array());
+                    if (JournalFormat.isEmptySlot(record)) {
+                        break;
+                    }
+                    if (!JournalFormat.isIntact(record)) {
+                        if (lastSegment && isEmptyFrom(buffer, slot + 1, slots, record)) {
+                            tornTail = true;
+                            break;
+                        }
+                        damaged.add(path.getFileName() + ": slot " + slot);
+                        continue;
+                    }
+                    AuditRecord decoded = JournalFormat.decode(record);
+                    if (records == 0) {
+                        first = decoded.sequence();
+                    } else if (decoded.sequence() > last + 1) {
+                        gaps += decoded.sequence() - last - 1;
+                    }
+                    last = decoded.sequence();
+                    records++;
+                    consumer.accept(decoded);
+                }
+            }
+        }
+        return new ReadResult(segments.size(), records, first, last, gaps, tornTail, damaged);
+    }
+
+    private static boolean isEmptyFrom(ByteBuffer buffer, int slot, int slots, ByteBuffer record) {
+        if (slot >= slots) {
+            return true;
+        }
+        buffer.get(JournalFormat.HEADER_SIZE + slot * JournalFormat.RECORD_SIZE, record.array());
+        return JournalFormat.isEmptySlot(record);
+    }
+}
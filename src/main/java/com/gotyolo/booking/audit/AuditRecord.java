@@ -0,0 +1,24 @@
+package com.gotyolo.booking.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One decoded journal record. bookingId and userId are null for TRIP_CANCELLED; amountCents is the
+ * price for CREATED, the refund for CANCELLED and 0 otherwise.
+ */
+public record AuditRecord(
+    long sequence,
+    long timestampMicros,
+    AuditEventType type,
+    UUID bookingId,
+    UUID tripId,
+    UUID userId,
+    int numSeats,
+    long amountCents
+) {
+
+    public Instant timestamp() {
+        return Instant.EPOCH.plusNanos(timestampMicros * 1000);
+    }
+}
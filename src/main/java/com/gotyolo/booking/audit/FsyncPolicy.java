@@ -0,0 +1,13 @@
+package com.gotyolo.booking.audit;
+
+/**
+ * When journal appends are forced to disk
+ */
+public enum FsyncPolicy {
+    // Left to the OS page cache; a host crash can lose recent records, a process crash cannot
+    NONE,
+    // A background flush forces everything written every group interval; appends never wait
+    GROUP,
+    // Appends wait until their record is forced; one force covers every append waiting at the time
+    SYNC
+}
@@ -0,0 +1,130 @@
+package com.gotyolo.booking.audit;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk layout of the audit journal. A journal is a directory of segment files named after the
+ * sequence of their first record; every segment has the same size and starts with a header,
+ * followed by fixed-size record slots. Little-endian throughout.
+ *
+ * Header (64 bytes): magic, version, record size, firstSequence, createdAtMillis, CRC32C of [0, 32).
+ *
+ * Record (96 bytes):
+ *   0 sequence          8 timestampMicros    16 bookingId (msb, lsb)   32 tripId (msb, lsb)
+ *  48 userId (msb, lsb) 64 numSeats (int)    68 type code (byte)       72 amountCents (long)
+ *  80 CRC32C of [0, 80) 84 reserved
+ * A slot with type code 0 was never written. A slot whose CRC does not match was torn by a crash
+ * (the last one of the journal) or corrupted on disk.
+ */
+@UtilityClass
+public class JournalFormat {
+
+    public static final int SEGMENT_MAGIC = 0x4E524A47; // "GJRN"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 96;
+
+    static final int HEADER_CRC_OFFSET = 32;
+    static final int TYPE_OFFSET = 68;
+    static final int CRC_OFFSET = 80;
+
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    public static String segmentFileName(long firstSequence) {
+        return String.format("audit-%020d%s", firstSequence, SEGMENT_SUFFIX);
+    }
+
+    public static boolean isSegmentFile(String fileName) {
+        return fileName.startsWith("audit-") && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    public static int slots(long segmentSize) {
+        return (int) ((segmentSize - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    static void writeHeader(ByteBuffer segment, long firstSequence, long createdAtMillis) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, SEGMENT_MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, RECORD_SIZE);
+        header.putLong(16, firstSequence);
+        header.putLong(24, createdAtMillis);
+        header.putInt(HEADER_CRC_OFFSET, crc(header.array(), HEADER_CRC_OFFSET));
+        segment.put(0, header.array());
+    }
+
+    /**
+     * First sequence of the segment, or -1 when the header is missing or damaged
+     */
+    static long readHeader(ByteBuffer segment) {
+        byte[] header = new byte[HEADER_SIZE];
+        segment.get(0, header);
+        ByteBuffer view = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        if (view.getInt(0) != SEGMENT_MAGIC || view.getInt(4) != VERSION || view.getInt(8) != RECORD_SIZE
+                || view.getInt(HEADER_CRC_OFFSET) != crc(header, HEADER_CRC_OFFSET)) {
+            return -1;
+        }
+        return view.getLong(16);
+    }
+
+    /**
+     * Encodes one record into scratch (a RECORD_SIZE heap buffer); the writer reuses scratch and crc
+     */
+    static void encode(ByteBuffer scratch, CRC32C crc, long sequence, long timestampMicros, AuditEventType type,
+                       UUID bookingId, UUID tripId, UUID userId, int numSeats, long amountCents) {
+        scratch.putLong(0, sequence);
+        scratch.putLong(8, timestampMicros);
+        putUuid(scratch, 16, bookingId);
+        putUuid(scratch, 32, tripId);
+        putUuid(scratch, 48, userId);
+        scratch.putInt(64, numSeats);
+        scratch.put(TYPE_OFFSET, type.code());
+        scratch.putLong(72, amountCents);
+        crc.reset();
+        crc.update(scratch.array(), 0, CRC_OFFSET);
+        scratch.putInt(CRC_OFFSET, (int) crc.getValue());
+    }
+
+    static AuditRecord decode(ByteBuffer record) {
+        return new AuditRecord(
+                record.getLong(0),
+                record.getLong(8),
+                AuditEventType.fromCode(record.get(TYPE_OFFSET)),
+                getUuid(record, 16),
+                getUuid(record, 32),
+                getUuid(record, 48),
+                record.getInt(64),
+                record.getLong(72));
+    }
+
+    static boolean isEmptySlot(ByteBuffer record) {
+        return record.get(TYPE_OFFSET) == 0 && record.getLong(0) == 0;
+    }
+
+    static boolean isIntact(ByteBuffer record) {
+        return record.getInt(CRC_OFFSET) == crc(record.array(), CRC_OFFSET)
+                && AuditEventType.fromCode(record.get(TYPE_OFFSET)) != null;
+    }
+
+    static int crc(byte[] bytes, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static void putUuid(ByteBuffer buffer, int offset, UUID id) {
+        buffer.putLong(offset, id != null ? id.getMostSignificantBits() : 0);
+        buffer.putLong(offset + 8, id != null ? id.getLeastSignificantBits() : 0);
+    }
+
+    private static UUID getUuid(ByteBuffer buffer, int offset) {
+        long msb = buffer.getLong(offset);
+        long lsb = buffer.getLong(offset + 8);
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,104 @@
+package com.gotyolo.booking.audit;
+
+import com.gotyolo.booking.enums.BookingState;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds booking states from journal records fed in sequence order. TRIP_CANCELLED, found only in
+ * journals written before trip cancellation recorded each booking, applies to every booking of the
+ * trip that is PENDING_PAYMENT or CONFIRMED at that point.
+ */
+public final class JournalReplay implements Consumer<AuditRecord> {
+
+    public record ReplayedBooking(UUID bookingId, UUID tripId, UUID userId, int numSeats,
+                                  BookingState state, long lastSequence) {
+    }
+
+    private final Map<UUID, ReplayedBooking> bookings = new HashMap<>();
+    private final Map<UUID, Set<UUID>> liveByTrip = new HashMap<>();
+    private long invalidTransitions;
+    private Instant firstCreated;
+
+    @Override
+    public void accept(AuditRecord record) {
+        if (record.type() == AuditEventType.TRIP_CANCELLED) {
+            Set<UUID> live = liveByTrip.remove(record.tripId());
+            if (live != null) {
+                for (UUID bookingId : live) {
+                    apply(bookings.get(bookingId), BookingState.CANCELLED, record.sequence());
+                }
+            }
+            return;
+        }
+
+        ReplayedBooking previous = bookings.get(record.bookingId());
+        if (record.type() == AuditEventType.CREATED) {
+            if (firstCreated == null) {
+                firstCreated = record.timestamp();
+            }
+            if (previous != null) {
+                invalidTransitions++;
+            }
+            ReplayedBooking created = new ReplayedBooking(record.bookingId(), record.tripId(), record.userId(),
+                    record.numSeats(), BookingState.PENDING_PAYMENT, record.sequence());
+            bookings.put(record.bookingId(), created);
+            liveByTrip.computeIfAbsent(record.tripId(), id -> new HashSet<>()).add(record.bookingId());
+            return;
+        }
+        if (previous == null || !canMove(previous.state(), record.type())) {
+            // Created before the journal started, or an out-of-order record: keep the reported state
+            invalidTransitions++;
+            ReplayedBooking known = previous != null ? previous : new ReplayedBooking(record.bookingId(),
+                    record.tripId(), record.userId(), record.numSeats(), null, record.sequence());
+            bookings.put(record.bookingId(), known);
+        }
+        apply(bookings.get(record.bookingId()), record.type().resultingState(), record.sequence());
+    }
+
+    public Map<UUID, ReplayedBooking> bookings() {
+        return bookings;
+    }
+
+    /**
+     * Transitions that did not follow from the replayed state (e.g. bookings created before the
+     * journal's first segment)
+     */
+    public long invalidTransitions() {
+        return invalidTransitions;
+    }
+
+    /**
+     * Time of the first CREATED record, null when there is none
+     */
+    public Instant firstCreated() {
+        return firstCreated;
+    }
+
+    private void apply(ReplayedBooking booking, BookingState state, long sequence) {
+        bookings.put(booking.bookingId(), new ReplayedBooking(booking.bookingId(), booking.tripId(),
+                booking.userId(), booking.numSeats(), state, sequence));
+        if (state != BookingState.PENDING_PAYMENT && state != BookingState.CONFIRMED) {
+            Set<UUID> live = liveByTrip.get(booking.tripId());
+            if (live != null) {
+                live.remove(booking.bookingId());
+            }
+        } else {
+            liveByTrip.computeIfAbsent(booking.tripId(), id -> new HashSet<>()).add(booking.bookingId());
+        }
+    }
+
+    private static boolean canMove(BookingState from, AuditEventType type) {
+        return switch (type) {
+            case CONFIRMED, PAYMENT_FAILED, EXPIRED -> from == BookingState.PENDING_PAYMENT;
+            case CANCELLED -> from == BookingState.PENDING_PAYMENT || from == BookingState.CONFIRMED;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.gotyolo.booking.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped segment file of the journal, written by a single thread at a time (AuditJournal
+ * holds its lock). Mapping a new file extends it to the full segment size, so the unwritten tail
+ * reads as empty slots.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long firstSequence;
+    private final int slots;
+    private int nextSlot;
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer, long firstSequence) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.firstSequence = firstSequence;
+        this.slots = JournalFormat.slots(buffer.capacity());
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, long segmentSize) throws IOException {
+        Path path = directory.resolve(JournalFormat.segmentFileName(firstSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = map(channel, segmentSize);
+        JournalFormat.writeHeader(buffer, firstSequence, System.currentTimeMillis());
+        buffer.force();
+        return new JournalSegment(path, channel, buffer, firstSequence);
+    }
+
+    /**
+     * Reopens the last segment for appending: finds the first empty slot and clears a torn record
+     * in front of it. Returns the sequence of the last intact record, or firstSequence - 1.
+     */
+    static JournalSegment openForAppend(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = map(channel, channel.size());
+        long firstSequence = JournalFormat.readHeader(buffer);
+        if (firstSequence < 0) {
+            channel.close();
+            throw new IOException("Damaged journal segment header: " + path);
+        }
+        JournalSegment segment = new JournalSegment(path, channel, buffer, firstSequence);
+
+        ByteBuffer record = ByteBuffer.allocate(JournalFormat.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (segment.nextSlot < segment.slots) {
+            buffer.get(segment.offset(segment.nextSlot), record.array());
+            if (JournalFormat.isEmptySlot(record)) {
+                break;
+            }
+            if (!JournalFormat.isIntact(record)) {
+                // Torn by a crash mid-write: everything from here on was never acknowledged as durable
+                buffer.put(segment.offset(segment.nextSlot), new byte[JournalFormat.RECORD_SIZE]);
+                break;
+            }
+            segment.nextSlot++;
+        }
+        return segment;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    boolean isFull() {
+        return nextSlot >= slots;
+    }
+
+    /**
+     * Sequence of the last record in this segment, firstSequence - 1 when empty
+     */
+    long lastSequence() {
+        return firstSequence + nextSlot - 1;
+    }
+
+    void append(ByteBuffer record) {
+        buffer.put(offset(nextSlot), record.array(), 0, JournalFormat.RECORD_SIZE);
+        nextSlot++;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    private int offset(int slot) {
+        return JournalFormat.HEADER_SIZE + slot * JournalFormat.RECORD_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
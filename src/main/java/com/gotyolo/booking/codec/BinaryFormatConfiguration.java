@@ -0,0 +1,95 @@
+package com.gotyolo.booking.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.http.codec.CodecCustomizer;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.JacksonCborDecoder;
+import org.springframework.http.codec.cbor.JacksonCborEncoder;
+import org.springframework.http.codec.smile.JacksonSmileDecoder;
+import org.springframework.http.codec.smile.JacksonSmileEncoder;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) next to JSON, picked by the
+ * Accept / Content-Type headers. JSON stays first in the converter list, so a client without an
+ * Accept header, or with a wildcard one, still gets JSON.
+ *
+ * Spring registers both formats on its own once the jars are present, but with default mappers;
+ * this hands it Boot's CBORMapper (same spring.jackson.* settings as the JSON mapper) and one
+ * SmileMapper for both the MVC and the reactive stack.
+ */
+@Slf4j
+@Configuration
+public class BinaryFormatConfiguration {
+
+    /**
+     * Shared values: a trip list repeats the same status and destination strings on every row,
+     * and Smile then writes each one once and back-references it
+     */
+    @Bean
+    public SmileMapper smileMapper() {
+        return SmileMapper.builder()
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryFormatConvertersCustomizer(CBORMapper cborMapper,
+                                                                                   SmileMapper smileMapper) {
+        log.info("Registering CBOR and Smile message converters");
+        return builder -> builder
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+
+    @Bean
+    public CodecCustomizer binaryFormatCodecCustomizer(CBORMapper cborMapper, SmileMapper smileMapper) {
+        return configurer -> {
+            configurer.defaultCodecs().jacksonCborEncoder(new CollectingCborEncoder(cborMapper));
+            configurer.defaultCodecs().jacksonCborDecoder(new JacksonCborDecoder(cborMapper));
+            configurer.defaultCodecs().jacksonSmileEncoder(new JacksonSmileEncoder(smileMapper));
+            configurer.defaultCodecs().jacksonSmileDecoder(new JacksonSmileDecoder(smileMapper));
+        };
+    }
+
+    /**
+     * Spring's reactive CBOR encoder only implements encodeValue, and EncoderHttpMessageWriter still
+     * calls encode() for every body, so any CBOR response fails. A Mono body is encoded as its value;
+     * a Flux is collected and written as one array, which is how it is written as JSON
+     */
+    static final class CollectingCborEncoder extends JacksonCborEncoder {
+
+        CollectingCborEncoder(CBORMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+    }
+}
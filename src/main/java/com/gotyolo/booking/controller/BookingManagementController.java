@@ -1,38 +1,64 @@
 package com.gotyolo.booking.controller;
 
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
 import com.gotyolo.booking.dto.ApiResponse;
 import com.gotyolo.booking.dto.BookingResponse;
 import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.UserBookingPageResponse;
+import com.gotyolo.booking.dto.UserBookingResponse;
+import com.gotyolo.booking.dto.WaitlistEntryResponse;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.ratelimit.RateLimitedEndpoint;
+import com.gotyolo.booking.ratelimit.RateLimiter;
 import com.gotyolo.booking.service.BookingService;
+import com.gotyolo.booking.service.WaitlistService;
+import com.gotyolo.booking.utils.BookingHistoryCursor;
 import com.gotyolo.booking.utils.NullSafeUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class BookingManagementController {
 
     private final BookingService bookingService;
+    private final RateLimiter rateLimiter;
+    private final WaitlistService waitlistService;
+    private final DatabaseShardRouter shardRouter;
 
     @PostMapping("/trips/{tripId}/book")
     public ResponseEntity<ApiResponse<BookingResponse>> createTripBooking(
             @PathVariable UUID tripId,
-            @Valid @RequestBody CreateBookingRequest request) {
+            @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
 
         log.info("Create booking request received | tripId={} | userId={} | seats={}",
                 NullSafeUtils.safeToString(tripId),
                 NullSafeUtils.safeToString(request.userId()),
                 NullSafeUtils.safeToString(request.numSeats()));
 
-        BookingResponse booking = bookingService.createBooking(tripId, request);
+        rateLimiter.acquire(RateLimitedEndpoint.BOOK, request.userId(), httpRequest.getRemoteAddr());
+
+        BookingResponse booking = shardRouter.onTrip(tripId, () -> idempotencyKey == null
+                ? bookingService.createBooking(tripId, request)
+                : bookingService.createBooking(tripId, request, idempotencyKey));
 
         log.info("Booking created successfully | bookingId={} | tripId={} | userId={}",
                 NullSafeUtils.safeToString(booking.id()),
@@ -44,12 +70,53 @@ public class BookingManagementController {
                 .body(ApiResponse.success("Booking created successfully", booking));
     }
 
+    /**
+     * Join the waitlist of a sold-out trip instead of retrying POST /book;
+     * released seats are turned into PENDING_PAYMENT holds in queue order
+     */
+    @PostMapping("/trips/{tripId}/waitlist")
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> joinTripWaitlist(
+            @PathVariable UUID tripId,
+            @Valid @RequestBody CreateBookingRequest request) {
+
+        log.info("Join waitlist request received | tripId={} | userId={} | seats={}",
+                NullSafeUtils.safeToString(tripId),
+                NullSafeUtils.safeToString(request.userId()),
+                NullSafeUtils.safeToString(request.numSeats()));
+
+        WaitlistEntryResponse entry = shardRouter.onTrip(tripId, () -> waitlistService.joinWaitlist(tripId, request));
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Joined waitlist", entry));
+    }
+
+    @GetMapping("/trips/{tripId}/waitlist/{entryId}")
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> getWaitlistEntry(
+            @PathVariable UUID tripId,
+            @PathVariable UUID entryId) {
+
+        log.info("Get waitlist entry request received | tripId={} | entryId={}",
+                NullSafeUtils.safeToString(tripId), NullSafeUtils.safeToString(entryId));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                shardRouter.onTrip(tripId, () -> waitlistService.getEntry(tripId, entryId))));
+    }
+
     @PostMapping("/bookings/{bookingId}/cancel")
-    public ResponseEntity<ApiResponse<BookingResponse>> cancelUserBooking(@PathVariable UUID bookingId) {
+    public ResponseEntity<ApiResponse<BookingResponse>> cancelUserBooking(
+            @PathVariable UUID bookingId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
 
         log.info("Cancel booking request received | bookingId={}", NullSafeUtils.safeToString(bookingId));
 
-        BookingResponse cancelledBooking = bookingService.cancelBooking(bookingId);
+        rateLimiter.acquire(RateLimitedEndpoint.CANCEL, userId, httpRequest.getRemoteAddr());
+
+        BookingResponse cancelledBooking = shardRouter.onBooking(bookingId, () -> idempotencyKey == null
+                ? bookingService.cancelBooking(bookingId)
+                : bookingService.cancelBooking(bookingId, userId, idempotencyKey));
 
         log.info("Booking cancelled successfully | bookingId={} | refundAmount={}",
                 NullSafeUtils.safeToString(cancelledBooking.id()),
@@ -65,11 +132,59 @@ public class BookingManagementController {
 
         log.info("Get booking request received | bookingId={}", NullSafeUtils.safeToString(bookingId));
 
-        BookingResponse booking = bookingService.getBooking(bookingId);
+        BookingResponse booking = shardRouter.onBooking(bookingId, () -> bookingService.getBooking(bookingId));
 
         log.info("Booking fetched | bookingId={} | state={}", NullSafeUtils.safeToString(booking.id()),
                 NullSafeUtils.safeToString(booking.state()));
 
         return ResponseEntity.ok(ApiResponse.success(booking));
     }
+
+    /**
+     * A user's bookings with trip summaries, newest first; pass nextCursor back as cursor for the next page
+     * GET /api/v1/users/{userId}/bookings?state=CONFIRMED,PENDING_PAYMENT&limit=20&cursor=...
+     */
+    @GetMapping("/users/{userId}/bookings")
+    public ResponseEntity<ApiResponse<UserBookingPageResponse>> listUserBookings(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) List<String> state,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        log.info("List user bookings request received | userId={} | state={} | limit={} | cursor={}",
+                NullSafeUtils.safeToString(userId), state, limit, cursor);
+
+        Set<BookingState> states = parseStates(state);
+        BookingHistoryCursor after = BookingHistoryCursor.decode(cursor);
+
+        // A user books trips on every database shard; each returns its newest rows and the merge keeps the page
+        List<UserBookingResponse> rows = shardRouter.onEveryShard(
+                        () -> bookingService.getUserBookings(userId, states, after, limit)).stream()
+                .flatMap(List::stream)
+                .toList();
+        UserBookingPageResponse page = bookingService.toUserBookingPage(rows, limit);
+
+        log.info("User bookings fetched | userId={} | count={} | more={}", NullSafeUtils.safeToString(userId),
+                page.bookings().size(), page.nextCursor() != null);
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    private static Set<BookingState> parseStates(List<String> values) {
+        Set<BookingState> states = EnumSet.noneOf(BookingState.class);
+        if (values == null) {
+            return states;
+        }
+        for (String value : values) {
+            if (NullSafeUtils.isNullOrEmpty(value)) {
+                continue;
+            }
+            try {
+                states.add(BookingState.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid state: " + value);
+            }
+        }
+        return states;
+    }
 }
@@ -0,0 +1,65 @@
+package com.gotyolo.booking.controller;
+
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.FlightRecordingResponse;
+import com.gotyolo.booking.service.FlightRecorderService;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/flight-recorder")
+@RequiredArgsConstructor
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    /**
+     * Start a JFR recording with the booking events enabled
+     * POST /api/v1/admin/flight-recorder/start
+     */
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse<FlightRecordingResponse>> startRecording() {
+        log.info("Admin requested flight recording start");
+
+        FlightRecordingResponse recording = flightRecorderService.start();
+
+        log.info("Flight recording started | recordingId={}", NullSafeUtils.safeToString(recording.recordingId()));
+        return ResponseEntity.ok(ApiResponse.success("Flight recording started", recording));
+    }
+
+    /**
+     * Dump the running recording to a .jfr file on the server
+     * POST /api/v1/admin/flight-recorder/dump
+     */
+    @PostMapping("/dump")
+    public ResponseEntity<ApiResponse<FlightRecordingResponse>> dumpRecording() {
+        log.info("Admin requested flight recording dump");
+
+        FlightRecordingResponse recording = flightRecorderService.dump();
+
+        log.info("Flight recording dumped | path={}", recording.dumpPath());
+        return ResponseEntity.ok(ApiResponse.success("Flight recording dumped", recording));
+    }
+
+    /**
+     * Stop and discard the running recording
+     * POST /api/v1/admin/flight-recorder/stop
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponse<FlightRecordingResponse>> stopRecording() {
+        log.info("Admin requested flight recording stop");
+
+        FlightRecordingResponse recording = flightRecorderService.stop();
+
+        return ResponseEntity.ok(ApiResponse.success("Flight recording stopped", recording));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<FlightRecordingResponse>> getRecordingStatus() {
+        return ResponseEntity.ok(ApiResponse.success(flightRecorderService.status()));
+    }
+}
@@ -1,27 +1,67 @@
 package com.gotyolo.booking.controller;
 
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
 import com.gotyolo.booking.dto.ApiResponse;
 import com.gotyolo.booking.dto.AtRiskTripsResponse;
+import com.gotyolo.booking.dto.BookingArchiveResponse;
+import com.gotyolo.booking.dto.BookingExportFilter;
+import com.gotyolo.booking.dto.ConcurrencyLimitResponse;
+import com.gotyolo.booking.dto.ContentionReportResponse;
+import com.gotyolo.booking.dto.RateLimitSettings;
+import com.gotyolo.booking.dto.RateLimitsResponse;
+import com.gotyolo.booking.dto.TripCancellationResponse;
 import com.gotyolo.booking.dto.TripMetricsResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.dto.WarmupReportResponse;
 import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.BulkFormat;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.ratelimit.AdaptiveConcurrencyLimiter;
+import com.gotyolo.booking.ratelimit.RateLimitedEndpoint;
+import com.gotyolo.booking.ratelimit.RateLimiter;
+import com.gotyolo.booking.service.BookingArchiver;
+import com.gotyolo.booking.service.BookingExportService;
+import com.gotyolo.booking.service.TripCancellationService;
+import com.gotyolo.booking.service.TripContentionTracker;
 import com.gotyolo.booking.service.TripService;
 import com.gotyolo.booking.service.WebhookService;
+import com.gotyolo.booking.warmup.StartupWarmup;
 import com.gotyolo.booking.utils.NullSafeUtils;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class PaymentAndAdminController {
 
     private final WebhookService webhookService;
     private final TripService tripService;
+    private final TripContentionTracker contentionTracker;
+    private final BookingArchiver bookingArchiver;
+    private final BookingExportService bookingExportService;
+    private final TripCancellationService tripCancellationService;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final StartupWarmup startupWarmup;
+    private final DatabaseShardRouter shardRouter;
 
     @PostMapping("/payments/webhook")
     public ResponseEntity<ApiResponse<WebhookRequest>> handlePaymentWebhook(@RequestBody WebhookRequest webhookRequest) {
@@ -35,7 +75,8 @@ public class PaymentAndAdminController {
         log.debug("Full Webhook Payload: {}", NullSafeUtils.safeToString(webhookRequest));
 
         try {
-            webhookService.processWebhook(webhookRequest);
+            shardRouter.onBooking(NullSafeUtils.safeParseUUID(webhookRequest != null ? webhookRequest.bookingId() : null),
+                    () -> webhookService.processWebhook(webhookRequest));
             log.info("Webhook processing triggered successfully for bookingId={}", bookingId);
         } catch (Exception e) {
             log.error("Unexpected error while processing webhook for bookingId={}", bookingId, e);
@@ -51,7 +92,7 @@ public class PaymentAndAdminController {
         log.info("Admin requested trip analytics");
         log.info("Trip ID: {}", safeTripId);
 
-        TripMetricsResponse metrics = tripService.getTripMetrics(tripId);
+        TripMetricsResponse metrics = shardRouter.onTrip(tripId, () -> tripService.getTripMetrics(tripId));
 
         log.debug("Trip Metrics Response: {}", NullSafeUtils.safeToString(metrics));
         log.info("Trip analytics returned successfully for tripId={}", safeTripId);
@@ -64,11 +105,188 @@ public class PaymentAndAdminController {
 
         log.info("Admin requested at-risk trips list");
 
-        AtRiskTripsResponse atRiskTrips = tripService.getAtRiskTrips();
+        AtRiskTripsResponse atRiskTrips = new AtRiskTripsResponse(shardRouter.onEveryShard(tripService::getAtRiskTrips)
+                .stream()
+                .flatMap(shard -> shard.atRiskTrips().stream())
+                .toList());
 
         log.debug("At-Risk Trips Response: {}", NullSafeUtils.safeToString(atRiskTrips));
         log.info("At-risk trips list returned successfully");
 
         return ResponseEntity.ok(ApiResponse.success("At-risk trips retrieved", atRiskTrips));
     }
+
+    /**
+     * Splits a high-capacity trip's seats over count inventory shards; count=0 unshards it
+     */
+    @PutMapping("/admin/trips/{tripId}/inventory-shards")
+    public ResponseEntity<ApiResponse<TripResponse>> reshardTripInventory(
+            @PathVariable UUID tripId, @RequestParam int count) {
+
+        log.info("Admin requested inventory resharding | tripId={} | shards={}",
+                NullSafeUtils.safeToString(tripId), count);
+
+        TripResponse trip = shardRouter.onTrip(tripId, () -> tripService.reshardInventory(tripId, count));
+
+        return ResponseEntity.ok(ApiResponse.success("Trip inventory resharded", trip));
+    }
+
+    /**
+     * Sell a trip by seat: max_capacity seats in rows of seatsPerRow
+     * PUT /api/v1/admin/trips/{tripId}/seat-map?seatsPerRow=4
+     */
+    @PutMapping("/admin/trips/{tripId}/seat-map")
+    public ResponseEntity<ApiResponse<TripResponse>> configureTripSeatMap(
+            @PathVariable UUID tripId, @RequestParam int seatsPerRow) {
+
+        log.info("Admin requested seat map | tripId={} | seatsPerRow={}",
+                NullSafeUtils.safeToString(tripId), seatsPerRow);
+
+        TripResponse trip = shardRouter.onTrip(tripId, () -> tripService.configureSeatMap(tripId, seatsPerRow));
+
+        return ResponseEntity.ok(ApiResponse.success("Trip seat map configured", trip));
+    }
+
+    /**
+     * Cancels the trip and cancels its bookings in the background; poll the GET below for progress
+     */
+    @PostMapping("/admin/trips/{tripId}/cancel")
+    public ResponseEntity<ApiResponse<TripCancellationResponse>> cancelTrip(@PathVariable UUID tripId) {
+
+        log.info("Admin requested trip cancellation | tripId={}", NullSafeUtils.safeToString(tripId));
+
+        TripCancellationResponse job = shardRouter.onTrip(tripId, () -> tripCancellationService.cancelTrip(tripId));
+
+        log.info("Trip cancellation accepted | tripId={} | status={} | totalBookings={}",
+                job.tripId(), job.status(), job.totalBookings());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Trip cancellation accepted", job));
+    }
+
+    @GetMapping("/admin/trips/{tripId}/cancellation")
+    public ResponseEntity<ApiResponse<TripCancellationResponse>> getTripCancellation(@PathVariable UUID tripId) {
+
+        TripCancellationResponse job = shardRouter.onTrip(tripId, () -> tripCancellationService.getCancellation(tripId));
+
+        log.info("Trip cancellation progress returned | tripId={} | status={} | cancelled={}/{}",
+                job.tripId(), job.status(), job.cancelledBookings(), job.totalBookings());
+
+        return ResponseEntity.ok(ApiResponse.success("Trip cancellation retrieved", job));
+    }
+
+    @GetMapping("/admin/contention")
+    public ResponseEntity<ApiResponse<ContentionReportResponse>> getTripContention() {
+
+        log.info("Admin requested trip lock contention report");
+
+        ContentionReportResponse report = contentionTracker.getReport();
+
+        log.info("Contention report returned | trackedTrips={} | hotTrips={}",
+                report.trackedTrips(), report.hotTrips());
+
+        return ResponseEntity.ok(ApiResponse.success("Trip contention retrieved", report));
+    }
+
+    @PostMapping("/admin/bookings/archive")
+    public ResponseEntity<ApiResponse<BookingArchiveResponse>> archiveBookings() {
+
+        log.info("Admin triggered booking archival");
+
+        List<BookingArchiveResponse> shards = shardRouter.onEveryShard(bookingArchiver::archiveCompletedTrips);
+        BookingArchiveResponse result = new BookingArchiveResponse(
+                shards.stream().mapToInt(BookingArchiveResponse::archivedBookings).sum(),
+                shards.stream().mapToInt(BookingArchiveResponse::batches).sum(),
+                shards.get(0).tripEndedBefore(),
+                shards.stream().mapToLong(BookingArchiveResponse::tookMs).max().orElse(0));
+
+        log.info("Booking archival finished | archived={} | batches={}",
+                result.archivedBookings(), result.batches());
+
+        return ResponseEntity.ok(ApiResponse.success("Bookings archived", result));
+    }
+
+    @GetMapping("/admin/concurrency-limit")
+    public ResponseEntity<ApiResponse<ConcurrencyLimitResponse>> getConcurrencyLimit() {
+
+        ConcurrencyLimitResponse snapshot = concurrencyLimiter.getSnapshot();
+
+        log.info("Concurrency limit returned | limit={} | inFlight={} | rejectedNormal={} | rejectedCritical={}",
+                snapshot.limit(), snapshot.inFlight(), snapshot.rejectedNormal(), snapshot.rejectedCritical());
+
+        return ResponseEntity.ok(ApiResponse.success("Concurrency limit retrieved", snapshot));
+    }
+
+    @GetMapping("/admin/warmup")
+    public ResponseEntity<ApiResponse<WarmupReportResponse>> getWarmupReport() {
+
+        WarmupReportResponse warmup = startupWarmup.getReport();
+
+        log.info("Warm-up report returned | status={} | totalMs={}", warmup.status(), warmup.totalMs());
+
+        return ResponseEntity.ok(ApiResponse.success("Warm-up report retrieved", warmup));
+    }
+
+    @GetMapping("/admin/rate-limits")
+    public ResponseEntity<ApiResponse<RateLimitsResponse>> getRateLimits() {
+
+        log.info("Admin requested rate limits");
+
+        return ResponseEntity.ok(ApiResponse.success("Rate limits retrieved", rateLimiter.getLimits()));
+    }
+
+    @PutMapping("/admin/rate-limits/{endpoint}")
+    public ResponseEntity<ApiResponse<RateLimitsResponse>> updateRateLimit(
+            @PathVariable String endpoint,
+            @Valid @RequestBody RateLimitSettings settings) {
+
+        RateLimitedEndpoint limitedEndpoint = parseEnum(RateLimitedEndpoint.class, endpoint, "endpoint");
+        if (limitedEndpoint == null) {
+            throw new ValidationException("Invalid endpoint: " + endpoint);
+        }
+        log.info("Admin updating rate limit | endpoint={} | settings={}", limitedEndpoint, settings);
+
+        rateLimiter.updateLimit(limitedEndpoint, settings);
+
+        return ResponseEntity.ok(ApiResponse.success("Rate limit updated", rateLimiter.getLimits()));
+    }
+
+    @GetMapping("/admin/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) UUID tripId,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "true") boolean includeArchived) {
+
+        BookingExportFilter filter = new BookingExportFilter(tripId, parseEnum(BookingState.class, state, "state"),
+                from, to, includeArchived);
+        BulkFormat bulkFormat = parseEnum(BulkFormat.class, format, "format");
+        bookingExportService.validate(filter);
+        if (shardRouter.isEnabled() && tripId == null) {
+            throw new ValidationException("tripId is required to export bookings with database shards");
+        }
+
+        log.info("Admin requested booking export | format={} | tripId={} | state={} | from={} | to={}",
+                bulkFormat, NullSafeUtils.safeToString(tripId), state, from, to);
+
+        StreamingResponseBody body = out -> shardRouter.onTrip(tripId,
+                () -> bookingExportService.export(filter, bulkFormat, out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(bulkFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + bulkFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        if (NullSafeUtils.isNullOrEmpty(value)) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid " + name + ": " + value);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.gotyolo.booking.controller;
+
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.ratelimit.RateLimitedEndpoint;
+import com.gotyolo.booking.ratelimit.RateLimiter;
+import com.gotyolo.booking.service.ReactiveBookingService;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.UUID;
+
+/**
+ * Reactive replacement for the booking-create and payment-webhook endpoints (profile "reactive").
+ * Same paths, payloads and status codes as BookingManagementController / PaymentAndAdminController.
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService reactiveBookingService;
+    private final RateLimiter rateLimiter;
+
+    @PostMapping("/trips/{tripId}/book")
+    public Mono<ResponseEntity<ApiResponse<BookingResponse>>> createTripBooking(
+            @PathVariable UUID tripId,
+            @Valid @RequestBody CreateBookingRequest request,
+            ServerHttpRequest httpRequest) {
+
+        log.info("Create booking request received | tripId={} | userId={} | seats={}",
+                NullSafeUtils.safeToString(tripId),
+                NullSafeUtils.safeToString(request.userId()),
+                NullSafeUtils.safeToString(request.numSeats()));
+
+        InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+        rateLimiter.acquire(RateLimitedEndpoint.BOOK, request.userId(),
+                remoteAddress != null ? remoteAddress.getHostString() : null);
+
+        return reactiveBookingService.createBooking(tripId, request)
+                .map(booking -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Booking created successfully", booking)));
+    }
+
+    @PostMapping("/payments/webhook")
+    public Mono<ResponseEntity<ApiResponse<WebhookRequest>>> handlePaymentWebhook(@RequestBody WebhookRequest webhookRequest) {
+
+        String bookingId = NullSafeUtils.safeToString(webhookRequest != null ? webhookRequest.bookingId() : null);
+        log.info("Incoming Payment Webhook | bookingId={}", bookingId);
+
+        // Payment provider must always receive 200 (idempotent contract)
+        return reactiveBookingService.processPaymentWebhook(webhookRequest)
+                .onErrorResume(e -> {
+                    log.error("Webhook processing FAILED for bookingId={}", bookingId, e);
+                    return Mono.empty();
+                })
+                .thenReturn(ResponseEntity.ok(ApiResponse.success("Processed webhook successfully", webhookRequest)));
+    }
+}
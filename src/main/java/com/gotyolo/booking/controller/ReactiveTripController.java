@@ -0,0 +1,49 @@
+package com.gotyolo.booking.controller;
+
+import com.gotyolo.booking.dto.ApiResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.service.ReactiveTripService;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reactive replacement for the trip read endpoints of TripManagementController (profile "reactive")
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/trips")
+@RequiredArgsConstructor
+public class ReactiveTripController {
+
+    private final ReactiveTripService reactiveTripService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<TripResponse>>>> listAvailableTrips() {
+        log.info("Received request to list all available trips");
+
+        return reactiveTripService.getPublishedTrips()
+                .collectList()
+                .map(trips -> {
+                    log.info("Retrieved {} published trips", trips.size());
+                    return ResponseEntity.ok(ApiResponse.success("Trips retrieved successfully", trips));
+                });
+    }
+
+    @GetMapping("/{tripId}")
+    public Mono<ResponseEntity<ApiResponse<TripResponse>>> getTripDetails(@PathVariable UUID tripId) {
+        log.info("Received request to fetch trip details for tripId={}",
+                NullSafeUtils.safeToString(tripId));
+
+        return reactiveTripService.getTripDetails(tripId)
+                .map(trip -> ResponseEntity.ok(ApiResponse.success("Trip details retrieved", trip)));
+    }
+}
@@ -1,27 +1,41 @@
 package com.gotyolo.booking.controller;
 
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
 import com.gotyolo.booking.dto.ApiResponse;
 import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.dto.SeatMapResponse;
+import com.gotyolo.booking.dto.TripImportResponse;
 import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.enums.BulkFormat;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.service.SeatInventoryService;
+import com.gotyolo.booking.service.TripImportService;
 import com.gotyolo.booking.service.TripService;
 import com.gotyolo.booking.utils.NullSafeUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/trips")
 @RequiredArgsConstructor
 public class TripManagementController {
 
     private final TripService tripService;
+    private final TripImportService tripImportService;
+    private final SeatInventoryService seatInventoryService;
+    private final DatabaseShardRouter shardRouter;
 
     /**
      * List all PUBLISHED trips available for booking
@@ -31,7 +45,9 @@ public class TripManagementController {
     public ResponseEntity<ApiResponse<List<TripResponse>>> listAvailableTrips() {
         log.info("Received request to list all available trips");
 
-        List<TripResponse> trips = tripService.getPublishedTrips();
+        List<TripResponse> trips = shardRouter.onEveryShard(tripService::getPublishedTrips).stream()
+                .flatMap(List::stream)
+                .toList();
 
         log.info("Retrieved {} published trips", trips != null ? trips.size() : 0);
         return ResponseEntity.ok(ApiResponse.success("Trips retrieved successfully", trips));
@@ -46,7 +62,7 @@ public class TripManagementController {
         log.info("Received request to fetch trip details for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        TripResponse trip = tripService.getTripDetails(tripId);
+        TripResponse trip = shardRouter.onTrip(tripId, () -> tripService.getTripDetails(tripId));
 
         log.info("Successfully fetched trip details for tripId={}",
                 NullSafeUtils.safeToString(tripId));
@@ -54,6 +70,20 @@ public class TripManagementController {
         return ResponseEntity.ok(ApiResponse.success("Trip details retrieved", trip));
     }
 
+    /**
+     * Taken and free seats of a trip sold by seat
+     * GET /api/v1/trips/{tripId}/seats
+     */
+    @GetMapping("/{tripId}/seats")
+    public ResponseEntity<ApiResponse<SeatMapResponse>> getTripSeats(@PathVariable UUID tripId) {
+        log.info("Received request to fetch seat map for tripId={}",
+                NullSafeUtils.safeToString(tripId));
+
+        SeatMapResponse seats = shardRouter.onTrip(tripId, () -> seatInventoryService.getSeatMap(tripId));
+
+        return ResponseEntity.ok(ApiResponse.success("Seat map retrieved", seats));
+    }
+
     /**
      * Create new trip (Admin operation)
      * POST /api/v1/trips
@@ -65,7 +95,7 @@ public class TripManagementController {
         log.info("Received request to create trip with title={}",
                 NullSafeUtils.safeToString(request.title()));
 
-        TripResponse createdTrip = tripService.createTrip(request);
+        TripResponse createdTrip = shardRouter.onNewTrip(() -> tripService.createTrip(request));
 
         log.info("Trip creation completed successfully. tripId={}",
                 NullSafeUtils.safeToString(createdTrip.id()));
@@ -73,4 +103,28 @@ public class TripManagementController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Trip created successfully", createdTrip));
     }
+
+    /**
+     * Bulk import a trip catalogue as CSV (header row) or NDJSON (Admin operation)
+     * POST /api/v1/trips/import
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<TripImportResponse>> importTrips(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+
+        BulkFormat format = BulkFormat.fromContentType(contentType);
+        if (format == null) {
+            throw new ValidationException("Unsupported import format: " + contentType);
+        }
+        if (shardRouter.isEnabled()) {
+            // The import writes through one COPY session, which cannot spread rows over database shards
+            throw new ValidationException("Trip import is not supported with database shards, use POST /api/v1/trips");
+        }
+        log.info("Received trip import request | format={}", format);
+
+        TripImportResponse result = tripImportService.importTrips(body, format);
+
+        log.info("Trip import finished | imported={} | rejected={}", result.imported(), result.rejected());
+        return ResponseEntity.ok(ApiResponse.success("Trips imported", result));
+    }
 }
@@ -0,0 +1,8 @@
+package com.gotyolo.booking.datasource;
+
+/**
+ * Lookup keys of the routing DataSource
+ */
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
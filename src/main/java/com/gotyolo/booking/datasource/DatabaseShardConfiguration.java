@@ -0,0 +1,118 @@
+package com.gotyolo.booking.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One Hikari pool per database shard ("shard-0", "shard-1", ...) behind a routing DataSource keyed
+ * by DatabaseShardContext. Active only with app.database-shards.enabled=true; the position of a URL
+ * in app.database-shards.urls is its shard number and must not change once data is written.
+ *
+ * spring.sql.init and Hibernate run against the default shard 0; schema.sql is applied to the other
+ * shards here, so every shard has the full schema. Not combinable with replica routing or the
+ * reactive profile, which have their own single-database connection setup.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.database-shards", name = "enabled", havingValue = "true")
+public class DatabaseShardConfiguration {
+
+    @Bean
+    public DatabaseShardPools databaseShardPools(@Value("${app.database-shards.urls}") String[] urls,
+                                                     @Value("${app.database-shards.username}") String username,
+                                                     @Value("${app.database-shards.password}") String password,
+                                                     @Value("${app.database-shards.hikari.maximum-pool-size:20}") int maxPoolSize,
+                                                     @Value("${app.database-shards.hikari.minimum-idle:5}") int minIdle,
+                                                     @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeout,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     Environment environment) {
+        if (environment.getProperty("app.datasource.replica.enabled", Boolean.class, false)
+                || environment.acceptsProfiles(Profiles.of("reactive"))) {
+            throw new IllegalStateException(
+                    "app.database-shards.enabled cannot be combined with replica routing or the reactive profile");
+        }
+
+        List<String> shardUrls = Arrays.stream(urls).filter(url -> !url.isBlank()).toList();
+        List<HikariDataSource> pools = new ArrayList<>(shardUrls.size());
+        for (int shard = 0; shard < shardUrls.size(); shard++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(DatabaseShardRouter.poolName(shard));
+            config.setJdbcUrl(shardUrls.get(shard));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maxPoolSize);
+            config.setMinimumIdle(minIdle);
+            config.setConnectionTimeout(connectionTimeout);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            pools.add(new HikariDataSource(config));
+            log.info("Database shard {} pool url={}", shard, shardUrls.get(shard));
+        }
+        return new DatabaseShardPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DatabaseShardPools databaseShardPools,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 ResourceLoader resourceLoader,
+                                 @Value("${spring.sql.init.mode:embedded}") String initMode,
+                                 @Value("${spring.sql.init.schema-locations:classpath:schema.sql}") String schemaLocation) {
+        List<HikariDataSource> pools = databaseShardPools.pools();
+        DatabaseShardRoutingDataSource routing =
+                new DatabaseShardRoutingDataSource(pools.size(), meterRegistry.getIfAvailable());
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < pools.size(); shard++) {
+            targets.put(shard, pools.get(shard));
+        }
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(pools.get(0));
+        routing.afterPropertiesSet();
+
+        if ("always".equalsIgnoreCase(initMode)) {
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(resourceLoader.getResource(schemaLocation));
+            for (int shard = 1; shard < pools.size(); shard++) {
+                DatabasePopulatorUtils.execute(schema, pools.get(shard));
+                log.info("Schema applied to database shard {}", shard);
+            }
+        }
+
+        log.info("Connections routed over {} database shards", pools.size());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * The shard pools in shard order; closed on shutdown, as they are not DataSource beans of their own
+     */
+    public record DatabaseShardPools(List<HikariDataSource> pools) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
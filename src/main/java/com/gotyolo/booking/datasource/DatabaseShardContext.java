@@ -0,0 +1,40 @@
+package com.gotyolo.booking.datasource;
+
+/**
+ * Database shard the current thread works on, set by DatabaseShardRouter for the duration of a call.
+ * Read by the routing DataSource when a transaction fetches its connection, and by the id generator
+ * so new rows get ids that point back to this shard.
+ */
+public record DatabaseShardContext(int shard, int shardCount) {
+
+    private static final ThreadLocal<DatabaseShardContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Null when the thread is not routed (sharding disabled, or startup work on the default shard)
+     */
+    public static DatabaseShardContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Shard number for SQL that generates booking ids itself, -1 when not routed
+     */
+    public static int currentShardOrNone() {
+        DatabaseShardContext context = CURRENT.get();
+        return context != null ? context.shard() : -1;
+    }
+
+    static DatabaseShardContext enter(DatabaseShardContext context) {
+        DatabaseShardContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    static void restore(DatabaseShardContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
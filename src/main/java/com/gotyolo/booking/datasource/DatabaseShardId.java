@@ -0,0 +1,18 @@
+package com.gotyolo.booking.datasource;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Random UUID id that points back to the database shard it is inserted on; a plain random UUID
+ * when sharding is disabled. See DatabaseShardIdGenerator.
+ */
+@IdGeneratorType(DatabaseShardIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface DatabaseShardId {
+}
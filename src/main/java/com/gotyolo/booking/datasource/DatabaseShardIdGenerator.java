@@ -0,0 +1,33 @@
+package com.gotyolo.booking.datasource;
+
+import com.gotyolo.booking.entity.Trip;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Ids for @DatabaseShardId: a trip id hashes to the current shard, a booking id carries it in its
+ * first byte (DatabaseShardKeys). Unrouted inserts get a plain random UUID.
+ */
+public class DatabaseShardIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        DatabaseShardContext context = DatabaseShardContext.current();
+        if (context == null) {
+            return UUID.randomUUID();
+        }
+        return owner instanceof Trip
+                ? DatabaseShardKeys.newTripId(context.shard(), context.shardCount())
+                : DatabaseShardKeys.newBookingId(context.shard());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gotyolo.booking.datasource;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.UUID;
+
+/**
+ * Where a row lives when the data is split over several Postgres databases (database shards).
+ *
+ * A trip lives on hash(tripId) mod shardCount; a new trip gets a random id that hashes to the shard
+ * chosen for it. A booking lives with its trip, and its id carries that shard in the first byte
+ * (the rest stays a random version 4 UUID), so a webhook or cancel resolves the shard from the
+ * booking id alone. Both mappings decide where existing data is: the hash and the order of the
+ * shard list must never change once data is written.
+ */
+@UtilityClass
+public class DatabaseShardKeys {
+
+    public static final int MAX_SHARDS = 256;
+
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    private static final long PREFIX_MASK = 0x00FFFFFFFFFFFFFFL;
+
+    public static int shardOfTrip(UUID tripId, int shardCount) {
+        if (tripId == null || shardCount <= 1) {
+            return 0;
+        }
+        long mixed = (tripId.getMostSignificantBits() ^ tripId.getLeastSignificantBits()) * MIX;
+        return (int) Long.remainderUnsigned(mixed ^ (mixed >>> 32), shardCount);
+    }
+
+    /**
+     * Random trip id that hashes to shard; takes shardCount tries on average
+     */
+    public static UUID newTripId(int shard, int shardCount) {
+        while (true) {
+            UUID id = UUID.randomUUID();
+            if (shardOfTrip(id, shardCount) == shard) {
+                return id;
+            }
+        }
+    }
+
+    public static UUID newBookingId(int shard) {
+        UUID random = UUID.randomUUID();
+        long msb = (random.getMostSignificantBits() & PREFIX_MASK) | ((long) shard << 56);
+        return new UUID(msb, random.getLeastSignificantBits());
+    }
+
+    public static int shardOfBooking(UUID bookingId, int shardCount) {
+        if (bookingId == null || shardCount <= 1) {
+            return 0;
+        }
+        int shard = (int) (bookingId.getMostSignificantBits() >>> 56);
+        // Prefix out of range: not an id this deployment issued; look on shard 0, where it will not be found
+        return shard < shardCount ? shard : 0;
+    }
+}
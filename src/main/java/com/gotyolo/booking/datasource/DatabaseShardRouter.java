@@ -0,0 +1,175 @@
+package com.gotyolo.booking.datasource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on the database shard that owns a trip or booking (see DatabaseShardKeys). Callers route
+ * before the transaction starts, at the controller or job boundary; switching shard inside a
+ * transaction is refused, since its connection is already bound. With app.database-shards.enabled
+ * false every method just runs the work.
+ */
+@Slf4j
+@Component
+public class DatabaseShardRouter {
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final AtomicInteger nextTripShard = new AtomicInteger();
+    private final ExecutorService fanOut;
+
+    public DatabaseShardRouter(@Value("${app.database-shards.enabled:false}") boolean enabled,
+                               @Value("${app.database-shards.urls:}") String[] urls) {
+        this.enabled = enabled;
+        this.shardCount = enabled ? (int) Arrays.stream(urls).filter(url -> !url.isBlank()).count() : 1;
+        if (enabled && (shardCount < 1 || shardCount > DatabaseShardKeys.MAX_SHARDS)) {
+            throw new IllegalStateException("app.database-shards.urls must list 1 to "
+                    + DatabaseShardKeys.MAX_SHARDS + " databases, got " + shardCount);
+        }
+        this.fanOut = enabled ? Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "database-shard-fanout");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        if (enabled) {
+            log.info("Database sharding enabled | shards={}", shardCount);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public static String poolName(int shard) {
+        return "shard-" + shard;
+    }
+
+    public <T> T onTrip(UUID tripId, Supplier<T> work) {
+        return onShard(DatabaseShardKeys.shardOfTrip(tripId, shardCount), work);
+    }
+
+    public void onTrip(UUID tripId, Runnable work) {
+        onShard(DatabaseShardKeys.shardOfTrip(tripId, shardCount), asSupplier(work));
+    }
+
+    public <T> T onBooking(UUID bookingId, Supplier<T> work) {
+        return onShard(DatabaseShardKeys.shardOfBooking(bookingId, shardCount), work);
+    }
+
+    public void onBooking(UUID bookingId, Runnable work) {
+        onShard(DatabaseShardKeys.shardOfBooking(bookingId, shardCount), asSupplier(work));
+    }
+
+    /**
+     * Places a new trip: shards take turns, and the trip id generated inside hashes to the chosen one
+     */
+    public <T> T onNewTrip(Supplier<T> work) {
+        return onShard(Math.floorMod(nextTripShard.getAndIncrement(), shardCount), work);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        DatabaseShardContext current = DatabaseShardContext.current();
+        if (current != null && current.shard() == shard) {
+            return work.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to database shard " + shard + " inside a transaction");
+        }
+        DatabaseShardContext previous = DatabaseShardContext.enter(new DatabaseShardContext(shard, shardCount));
+        try {
+            return work.get();
+        } finally {
+            DatabaseShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Runs work on every shard at once and returns the results in shard order. The first failure
+     * is rethrown once all shards have finished.
+     */
+    public <T> List<T> onEveryShard(Supplier<T> work) {
+        if (!enabled) {
+            return Collections.singletonList(work.get());
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(fanOut.submit(() -> onShard(target, work)));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new IllegalStateException("Database shard fan-out failed", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for database shards", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * For scheduled jobs: runs work on each shard in turn; a failure is logged and the next shard
+     * still runs
+     */
+    public void forEachShard(String job, Runnable work) {
+        if (!enabled) {
+            work.run();
+            return;
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            try {
+                onShard(shard, asSupplier(work));
+            } catch (RuntimeException e) {
+                log.error("{} failed on database shard {}", job, shard, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fanOut != null) {
+            fanOut.shutdownNow();
+        }
+    }
+
+    private static Supplier<Void> asSupplier(Runnable work) {
+        return () -> {
+            work.run();
+            return null;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.gotyolo.booking.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the shard in DatabaseShardContext; unrouted work (schema init, Hibernate
+ * startup) goes to the default target, shard 0.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy, like ReplicaRoutingDataSource: the shard is
+ * looked up when the first statement needs a connection, and that connection then serves the rest
+ * of the transaction.
+ */
+public class DatabaseShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Counter[] shardRoutes;
+    private final Counter unroutedRoutes;
+
+    public DatabaseShardRoutingDataSource(int shardCount, MeterRegistry meterRegistry) {
+        this.shardRoutes = new Counter[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shardRoutes[shard] = counter(meterRegistry, DatabaseShardRouter.poolName(shard), "shard");
+        }
+        this.unroutedRoutes = counter(meterRegistry, DatabaseShardRouter.poolName(0), "unrouted");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DatabaseShardContext context = DatabaseShardContext.current();
+        if (context == null) {
+            increment(unroutedRoutes);
+            return null;
+        }
+        increment(shardRoutes[context.shard()]);
+        return context.shard();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String pool, String reason) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Counter.builder("gotyolo.datasource.routes")
+                .description("Physical connections handed out by the routing DataSource")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.gotyolo.booking.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * R2DBC pool for the reactive profile, wired by hand: Boot's R2DBC auto-configuration is not on
+ * the classpath, and a ConnectionFactory or ReactiveTransactionManager bean would switch off the JDBC
+ * DataSource and JPA transaction manager the schedulers still use. See ReactiveDatabase.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+public class ReactiveDataSourceConfiguration {
+
+    @Bean
+    public ReactiveDatabase reactiveDatabase(@Value("${app.reactive.r2dbc.url}") String url,
+                                             @Value("${spring.datasource.username}") String username,
+                                             @Value("${spring.datasource.password}") String password,
+                                             @Value("${app.reactive.r2dbc.pool.initial-size:5}") int initialSize,
+                                             @Value("${app.reactive.r2dbc.pool.max-size:20}") int maxSize,
+                                             @Value("${app.reactive.r2dbc.pool.max-acquire-time-ms:30000}") long maxAcquireTimeMs,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+
+        ReactiveDatabase database = new ReactiveDatabase(pool);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            poolGauge(registry, database, "acquired", PoolMetrics::acquiredSize);
+            poolGauge(registry, database, "allocated", PoolMetrics::allocatedSize);
+            poolGauge(registry, database, "pending", PoolMetrics::pendingAcquireSize);
+        }
+
+        log.info("Reactive R2DBC pool url={} | maxSize={}", url, maxSize);
+        return database;
+    }
+
+    /**
+     * Controllers that stay blocking (health, flight recorder) run on the task executor, never on the event loop
+     */
+    @Bean
+    public WebFluxConfigurer blockingControllerExecution(AsyncTaskExecutor applicationTaskExecutor) {
+        return new WebFluxConfigurer() {
+            @Override
+            public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+                configurer.setExecutor(applicationTaskExecutor);
+            }
+        };
+    }
+
+    private static void poolGauge(MeterRegistry registry, ReactiveDatabase database, String name,
+                                  ToIntFunction<PoolMetrics> metric) {
+        Gauge.builder("gotyolo.r2dbc.pool." + name, database,
+                        db -> db.metrics() != null ? metric.applyAsInt(db.metrics()) : 0)
+                .description("R2DBC pool connections (" + name + ")")
+                .tag("pool", "reactive")
+                .register(registry);
+    }
+}
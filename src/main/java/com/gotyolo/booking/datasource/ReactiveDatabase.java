@@ -0,0 +1,41 @@
+package com.gotyolo.booking.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC pool plus the client and transaction operator built on it.
+ * Deliberately not a ConnectionFactory bean: Boot skips its JDBC DataSource when one exists.
+ */
+public class ReactiveDatabase implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(pool));
+    }
+
+    public DatabaseClient client() {
+        return client;
+    }
+
+    public TransactionalOperator transactionalOperator() {
+        return transactionalOperator;
+    }
+
+    public PoolMetrics metrics() {
+        return pool.getMetrics().orElse(null);
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,92 @@
+package com.gotyolo.booking.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers bookings written in the last few seconds so that reading them back is served by the
+ * primary instead of a replica that may still lag behind. No-op when replica routing is disabled.
+ */
+@Slf4j
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<UUID, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Value("${app.datasource.replica.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    @Value("${app.datasource.replica.sticky-max-entries:100000}")
+    private int stickyMaxEntries;
+
+    /**
+     * Called from a write transaction; the stickiness window starts once it commits
+     */
+    public void recordWrite(UUID bookingId) {
+        if (!replicaEnabled || bookingId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(bookingId);
+                }
+            });
+        } else {
+            remember(bookingId);
+        }
+    }
+
+    /**
+     * Called at the start of a read-only transaction, before its first query
+     */
+    public void routeToPrimaryIfRecentlyWritten(UUID bookingId) {
+        if (!replicaEnabled || bookingId == null) {
+            return;
+        }
+        Long until = stickyUntil.get(bookingId);
+        if (until == null) {
+            return;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(bookingId, until);
+            return;
+        }
+        log.debug("Booking {} written recently, reading from primary", bookingId);
+        ReplicaRoutingDataSource.pinCurrentTransactionToPrimary();
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        if (stickyUntil.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < now);
+    }
+
+    private void remember(UUID bookingId) {
+        long now = System.currentTimeMillis();
+        if (stickyUntil.size() >= stickyMaxEntries) {
+            stickyUntil.values().removeIf(until -> until < now);
+            if (stickyUntil.size() >= stickyMaxEntries) {
+                log.warn("Read-your-writes window full ({} bookings); booking {} may be read from replica",
+                        stickyUntil.size(), bookingId);
+                return;
+            }
+        }
+        stickyUntil.put(bookingId, now + stickyWindowMs);
+    }
+}
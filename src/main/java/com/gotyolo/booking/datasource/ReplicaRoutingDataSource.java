@@ -0,0 +1,80 @@
+package com.gotyolo.booking.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends @Transactional(readOnly = true) work to the replica pool, everything else (writes,
+ * SELECT ... FOR UPDATE, work outside a transaction) to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only
+ * visible once the transaction has begun, so the physical connection has to be fetched lazily.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter readYourWritesRoutes;
+
+    public ReplicaRoutingDataSource(MeterRegistry meterRegistry) {
+        this.primaryRoutes = counter(meterRegistry, "primary", "read-write");
+        this.replicaRoutes = counter(meterRegistry, "replica", "read-only");
+        this.readYourWritesRoutes = counter(meterRegistry, "primary", "read-your-writes");
+    }
+
+    /**
+     * Keeps the current (read-only) transaction on the primary, e.g. to read a booking that was
+     * just written and may not have reached the replica yet. Cleared when the transaction completes.
+     */
+    public static void pinCurrentTransactionToPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return;
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            increment(readYourWritesRoutes);
+            return DataSourceRoute.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            increment(replicaRoutes);
+            return DataSourceRoute.REPLICA;
+        }
+        increment(primaryRoutes);
+        return DataSourceRoute.PRIMARY;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String pool, String reason) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Counter.builder("gotyolo.datasource.routes")
+                .description("Physical connections handed out by the routing DataSource")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
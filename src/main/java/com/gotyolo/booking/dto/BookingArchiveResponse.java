@@ -0,0 +1,10 @@
+package com.gotyolo.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingArchiveResponse(
+    Integer archivedBookings,
+    Integer batches,
+    LocalDateTime tripEndedBefore,
+    Long tookMs
+) {}
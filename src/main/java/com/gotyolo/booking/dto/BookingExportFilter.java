@@ -0,0 +1,17 @@
+package com.gotyolo.booking.dto;
+
+import com.gotyolo.booking.enums.BookingState;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Booking export filters; null means no filter. Dates bound created_at, from inclusive, to exclusive.
+ */
+public record BookingExportFilter(
+    UUID tripId,
+    BookingState state,
+    LocalDate from,
+    LocalDate to,
+    boolean includeArchived
+) {}
@@ -1,8 +1,10 @@
 package com.gotyolo.booking.dto;
 
 import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.seating.SeatNumbers;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public record BookingResponse(
@@ -17,5 +19,26 @@ public record BookingResponse(
     LocalDateTime createdAt,
     LocalDateTime expiresAt,
     LocalDateTime cancelledAt,
-    BigDecimal refundAmount
-) {}
+    BigDecimal refundAmount,
+    List<Integer> seatNumbers
+) {
+
+    // Booking without assigned seats
+    public BookingResponse(UUID id, UUID tripId, String userId, Integer numSeats, BookingState state,
+                           BigDecimal priceAtBooking, String paymentReference, String idempotencyKey,
+                           LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime cancelledAt,
+                           BigDecimal refundAmount) {
+        this(id, tripId, userId, numSeats, state, priceAtBooking, paymentReference, idempotencyKey,
+                createdAt, expiresAt, cancelledAt, refundAmount, null);
+    }
+
+    // Bookings row as selected by BookingRepository.findResponseById
+    public BookingResponse(UUID id, UUID tripId, UUID userId, Integer numSeats, BookingState state,
+                           BigDecimal priceAtBooking, String paymentReference, String idempotencyKey,
+                           LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime cancelledAt,
+                           BigDecimal refundAmount, int[] seatNumbers) {
+        this(id, tripId, userId != null ? userId.toString() : null, numSeats, state, priceAtBooking,
+                paymentReference, idempotencyKey, createdAt, expiresAt, cancelledAt, refundAmount,
+                SeatNumbers.toList(seatNumbers));
+    }
+}
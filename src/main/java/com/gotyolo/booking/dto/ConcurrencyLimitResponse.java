@@ -0,0 +1,12 @@
+package com.gotyolo.booking.dto;
+
+public record ConcurrencyLimitResponse(
+    Boolean enabled,
+    Integer limit,
+    Integer bookingLimit,
+    Integer inFlight,
+    Double shortRttMs,
+    Double longRttMs,
+    Long rejectedCritical,
+    Long rejectedNormal
+) {}
@@ -0,0 +1,29 @@
+package com.gotyolo.booking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ContentionReportResponse(
+    Integer windowSeconds,
+    Integer trackedTrips,
+    Integer hotTrips,
+    LocalDateTime generatedAt,
+    List<TripContention> trips
+) {
+    public record TripContention(
+        UUID tripId,
+        Integer currentWaiters,
+        Integer peakWaiters,
+        Long lockRequests,
+        Double requestsPerSecond,
+        Double avgWaitMs,
+        Double maxWaitMs,
+        Double avgHoldMs,
+        Double maxHoldMs,
+        Long conflicts,
+        Double conflictRatePercent,
+        Long countErrorBound,
+        Boolean hot
+    ) {}
+}
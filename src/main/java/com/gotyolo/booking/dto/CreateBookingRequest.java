@@ -3,11 +3,21 @@ package com.gotyolo.booking.dto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.List;
+
 public record CreateBookingRequest(
     @NotNull(message = "User ID is required")
     String userId,
     
     @NotNull(message = "Number of seats is required")
     @Min(value = 1, message = "Minimum 1 seat required")
-    Integer numSeats
-) {}
+    Integer numSeats,
+
+    // Specific seats on a trip with a seat map; omitted = best adjacent seats are picked
+    List<Integer> seatNumbers
+) {
+
+    public CreateBookingRequest(String userId, Integer numSeats) {
+        this(userId, numSeats, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gotyolo.booking.dto;
+
+import java.time.Instant;
+
+public record FlightRecordingResponse(
+    Long recordingId,
+    String name,
+    String state,
+    Instant startTime,
+    String dumpPath,
+    Long dumpSizeBytes
+) {}
@@ -0,0 +1,21 @@
+package com.gotyolo.booking.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Per-endpoint limit: sustained requests per second per client, plus a burst allowance
+ */
+public record RateLimitSettings(
+    @NotNull(message = "enabled is required")
+    Boolean enabled,
+
+    @NotNull(message = "requestsPerSecond is required")
+    @DecimalMin(value = "0.001", message = "requestsPerSecond must be positive")
+    Double requestsPerSecond,
+
+    @NotNull(message = "burst is required")
+    @Min(value = 1, message = "burst must be at least 1")
+    Integer burst
+) {}
@@ -0,0 +1,9 @@
+package com.gotyolo.booking.dto;
+
+import java.util.Map;
+
+public record RateLimitsResponse(
+    Integer trackedClients,
+    Integer maxTrackedClients,
+    Map<String, RateLimitSettings> endpoints
+) {}
@@ -0,0 +1,12 @@
+package com.gotyolo.booking.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SeatMapResponse(
+    UUID tripId,
+    Integer seatCount,
+    Integer seatsPerRow,
+    Integer freeSeats,
+    List<Integer> takenSeats
+) {}
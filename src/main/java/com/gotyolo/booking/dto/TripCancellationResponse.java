@@ -0,0 +1,19 @@
+package com.gotyolo.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TripCancellationResponse(
+    UUID tripId,
+    String status,
+    Integer totalBookings,
+    Integer cancelledBookings,
+    Integer progressPercent,
+    BigDecimal refundedTotal,
+    LocalDateTime cancelledAt,
+    LocalDateTime startedAt,
+    LocalDateTime updatedAt,
+    LocalDateTime completedAt,
+    String lastError
+) {}
@@ -0,0 +1,17 @@
+package com.gotyolo.booking.dto;
+
+import java.util.List;
+
+public record TripImportResponse(
+    Integer rowsRead,
+    Integer imported,
+    Integer skippedDuplicates,
+    Integer rejected,
+    List<RowError> errors,
+    Long tookMs
+) {
+    public record RowError(
+        Integer line,
+        String message
+    ) {}
+}
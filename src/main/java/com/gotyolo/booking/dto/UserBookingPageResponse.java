@@ -0,0 +1,12 @@
+package com.gotyolo.booking.dto;
+
+import java.util.List;
+
+/**
+ * A page of a user's bookings, newest first. nextCursor is passed back as ?cursor= for the
+ * next page and is null on the last one.
+ */
+public record UserBookingPageResponse(
+    List<UserBookingResponse> bookings,
+    String nextCursor
+) {}
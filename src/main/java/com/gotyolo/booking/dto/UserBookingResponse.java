@@ -0,0 +1,30 @@
+package com.gotyolo.booking.dto;
+
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.TripStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One row of a user's booking history: the booking and the trip summary the "My trips" screen shows.
+ * Archived bookings have no expiresAt and no seatNumbers.
+ */
+public record UserBookingResponse(
+    UUID id,
+    UUID tripId,
+    String tripTitle,
+    String tripDestination,
+    LocalDateTime tripStartDate,
+    LocalDateTime tripEndDate,
+    TripStatus tripStatus,
+    Integer numSeats,
+    BookingState state,
+    BigDecimal priceAtBooking,
+    LocalDateTime createdAt,
+    LocalDateTime expiresAt,
+    LocalDateTime cancelledAt,
+    BigDecimal refundAmount,
+    List<Integer> seatNumbers
+) {}
@@ -0,0 +1,17 @@
+package com.gotyolo.booking.dto;
+
+import com.gotyolo.booking.enums.WaitlistStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WaitlistEntryResponse(
+    UUID id,
+    UUID tripId,
+    String userId,
+    Integer numSeats,
+    WaitlistStatus status,
+    Long position,
+    UUID bookingId,
+    LocalDateTime joinedAt,
+    LocalDateTime promotedAt
+) {}
@@ -0,0 +1,21 @@
+package com.gotyolo.booking.dto;
+
+public record WarmupReportResponse(
+    String status,
+    Long totalMs,
+    Integer pooledConnections,
+    Long poolMs,
+    Integer queriesPrepared,
+    Long queriesMs,
+    Integer catalogueTrips,
+    Long catalogueMs,
+    Integer trafficRounds,
+    Integer trafficRequests,
+    Integer trafficErrors,
+    Long trafficMs,
+    Boolean stabilized,
+    Double firstRoundP50Ms,
+    Double firstRoundP99Ms,
+    Double lastRoundP50Ms,
+    Double lastRoundP99Ms
+) {}
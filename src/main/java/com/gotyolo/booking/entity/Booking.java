@@ -1,11 +1,14 @@
 package com.gotyolo.booking.entity;
 
+import com.gotyolo.booking.datasource.DatabaseShardId;
 import com.gotyolo.booking.enums.BookingState;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,7 +22,7 @@ import java.util.UUID;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue
+    @DatabaseShardId
     private UUID id;
     
     @Column(nullable = false)
@@ -40,6 +43,13 @@ public class Booking {
 
     private String paymentReference;
 
+    // Ascending seat numbers on a trip with a seat map; null = seat count only
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "integer[]")
+    private int[] seatNumbers;
+
+    // Partition key of the bookings table, part of its primary key
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime expiresAt;
@@ -0,0 +1,55 @@
+package com.gotyolo.booking.entity;
+
+import com.gotyolo.booking.enums.BookingState;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only copy of a terminal booking of a completed trip.
+ * Keeps the columns finance needs; expiry, idempotency and update bookkeeping are dropped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "bookings_archive")
+public class BookingArchive {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID tripId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Integer numSeats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingState state;
+
+    @Column(nullable = false)
+    private BigDecimal priceAtBooking;
+
+    private BigDecimal refundAmount;
+
+    private String paymentReference;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime cancelledAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,46 @@
+package com.gotyolo.booking.entity;
+
+import com.gotyolo.booking.enums.IdempotentOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a booking create or cancel sent with an Idempotency-Key header. The row is claimed
+ * before the operation runs and responseBody is filled in by the same transaction, so a committed
+ * row always carries the response to replay.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    // Client key scoped by the calling user, see IdempotencyService
+    @Id
+    @Column(columnDefinition = "text")
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IdempotentOperation operation;
+
+    @Column(nullable = false)
+    private String requestFingerprint;
+
+    private UUID bookingId;
+
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.gotyolo.booking.entity;
 
+import com.gotyolo.booking.datasource.DatabaseShardId;
 import com.gotyolo.booking.enums.TripStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -19,7 +20,7 @@ import java.util.UUID;
 @Table(name = "trips")
 public class Trip {
     @Id
-    @GeneratedValue
+    @DatabaseShardId
     private UUID id;
     
     @Column(nullable = false)
@@ -51,6 +52,16 @@ public class Trip {
     @Column(nullable = false)
     private Integer cancellationFeePercent;
 
+    // Number of trip_inventory_shards rows; 0 = all free seats are in availableSeats
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer inventoryShards = 0;
+
+    // Row width of the trip's seat map (trip_seat_maps); 0 = seats are sold by count only
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer seatsPerRow = 0;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,54 @@
+package com.gotyolo.booking.entity;
+
+import com.gotyolo.booking.enums.TripCancellationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of cancelling every live booking of a cancelled trip, one row per trip.
+ * cancelledAt is fixed when the trip is cancelled and used as "now" by every chunk,
+ * so a resumed job computes the same refunds as an uninterrupted one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trip_cancellation_jobs")
+public class TripCancellationJob {
+    @Id
+    private UUID tripId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TripCancellationStatus status;
+
+    @Column(nullable = false)
+    private Integer totalBookings;
+
+    @Column(nullable = false)
+    private Integer cancelledBookings;
+
+    @Column(nullable = false)
+    private BigDecimal refundedTotal;
+
+    @Column(nullable = false)
+    private LocalDateTime cancelledAt;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    private String lastError;
+}
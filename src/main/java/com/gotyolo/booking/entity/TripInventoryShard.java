@@ -0,0 +1,37 @@
+package com.gotyolo.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One slice of a sharded trip's free seats. Shards of a trip are numbered 0..inventoryShards-1;
+ * seats move between them and the trip's pool only through InventoryShardService.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trip_inventory_shards")
+public class TripInventoryShard {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID tripId;
+
+    @Column(nullable = false)
+    private Integer shardNo;
+
+    @Column(nullable = false)
+    private Integer availableSeats;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
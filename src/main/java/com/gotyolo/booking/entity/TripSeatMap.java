@@ -0,0 +1,33 @@
+package com.gotyolo.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Seat-level inventory of a trip with a seat map: one bit per seat (max_capacity bits, seat n is
+ * bit n - 1 from the left, 1 = taken). Written only by native statements in TripSeatMapRepository
+ * and BookingSql; the in-memory copy is SeatInventoryService's SeatMap.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trip_seat_maps")
+public class TripSeatMap {
+    @Id
+    private UUID tripId;
+
+    // '0' / '1' per seat as returned by taken::text
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bit varying")
+    private String taken;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
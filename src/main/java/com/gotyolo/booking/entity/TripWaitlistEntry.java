@@ -0,0 +1,49 @@
+package com.gotyolo.booking.entity;
+
+import com.gotyolo.booking.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One user waiting for seats on a sold-out trip. seq is assigned by the database on insert and
+ * fixes the queue order; bookingId is the PENDING_PAYMENT hold the entry was promoted into.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trip_waitlist")
+public class TripWaitlistEntry {
+    @Id
+    private UUID id;
+
+    @Column(insertable = false, updatable = false)
+    private Long seq;
+
+    @Column(nullable = false)
+    private UUID tripId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Integer numSeats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    private UUID bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime promotedAt;
+}
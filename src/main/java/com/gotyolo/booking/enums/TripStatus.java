@@ -1,5 +1,5 @@
 package com.gotyolo.booking.enums;
 
 public enum TripStatus {
-    DRAFT, PUBLISHED
+    DRAFT, PUBLISHED, CANCELLED
 }
@@ -0,0 +1,5 @@
+package com.gotyolo.booking.enums;
+
+public enum WaitlistStatus {
+    WAITING, PROMOTED, CANCELLED
+}
@@ -0,0 +1,41 @@
+package com.gotyolo.booking.interfaces;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Booking row as it looks after a single-statement state transition,
+ * plus the trip's seat count when the transition released seats.
+ */
+public interface BookingTransitionInfo {
+
+    UUID getBookingId();
+
+    UUID getTripId();
+
+    UUID getUserId();
+
+    Integer getNumSeats();
+
+    String getState();
+
+    BigDecimal getPriceAtBooking();
+
+    String getPaymentReference();
+
+    String getIdempotencyKey();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+
+    LocalDateTime getCancelledAt();
+
+    BigDecimal getRefundAmount();
+
+    Integer getTripAvailableSeats();
+
+    // Comma-separated seat numbers on a trip with a seat map, else null
+    String getSeatNumbers();
+}
@@ -0,0 +1,18 @@
+package com.gotyolo.booking.interfaces;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Booking cancelled by one chunk of a trip cancellation, with the refund it got
+ */
+public interface CancelledBookingInfo {
+
+    UUID getBookingId();
+
+    UUID getUserId();
+
+    Integer getNumSeats();
+
+    BigDecimal getRefundAmount();
+}
@@ -8,5 +8,10 @@ public interface ExpiredBookingInfo {
 
     UUID getTripId();
 
+    UUID getUserId();
+
     Integer getNumSeats();
+
+    // Comma-separated seat numbers on a trip with a seat map, else null
+    String getSeatNumbers();
 }
@@ -0,0 +1,12 @@
+package com.gotyolo.booking.interfaces;
+
+import java.util.UUID;
+
+public interface HotTripDetector {
+
+    /**
+     * True when the trip's row lock is currently contended enough to warrant special handling
+     * (throttling, waiting room, ...)
+     */
+    boolean isHot(UUID tripId);
+}
@@ -0,0 +1,13 @@
+package com.gotyolo.booking.interfaces;
+
+import java.math.BigDecimal;
+
+/**
+ * Seats taken from one inventory shard, with the trip's price read under the same statement
+ */
+public interface ShardReservationInfo {
+
+    Integer getShardNo();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,13 @@
+package com.gotyolo.booking.interfaces;
+
+import java.util.UUID;
+
+/**
+ * Free seats held by all inventory shards of one trip
+ */
+public interface ShardSeatsInfo {
+
+    UUID getTripId();
+
+    Integer getAvailableSeats();
+}
@@ -0,0 +1,43 @@
+package com.gotyolo.booking.interfaces;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One live or archived booking of a user's history with its trip summary.
+ * Archived rows have no expiresAt and no seatNumbers.
+ */
+public interface UserBookingRow {
+
+    UUID getId();
+
+    UUID getTripId();
+
+    String getTripTitle();
+
+    String getTripDestination();
+
+    LocalDateTime getTripStartDate();
+
+    LocalDateTime getTripEndDate();
+
+    String getTripStatus();
+
+    Integer getNumSeats();
+
+    String getState();
+
+    BigDecimal getPriceAtBooking();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+
+    LocalDateTime getCancelledAt();
+
+    BigDecimal getRefundAmount();
+
+    // Comma-separated seat numbers on a trip with a seat map, else null
+    String getSeatNumbers();
+}
@@ -0,0 +1,19 @@
+package com.gotyolo.booking.interfaces;
+
+import java.util.UUID;
+
+/**
+ * Waitlist entry turned into a PENDING_PAYMENT hold by a promotion statement.
+ */
+public interface WaitlistPromotionInfo {
+
+    UUID getWaitlistId();
+
+    UUID getBookingId();
+
+    UUID getTripId();
+
+    UUID getUserId();
+
+    Integer getNumSeats();
+}
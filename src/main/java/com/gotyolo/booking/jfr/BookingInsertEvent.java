@@ -0,0 +1,24 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * INSERT of a new booking row (save + flush)
+ */
+@Name("com.gotyolo.booking.BookingInsert")
+@Label("Booking Insert")
+@Category({"GoTyolo", "Booking"})
+@Description("Persisting and flushing a new PENDING_PAYMENT booking")
+@StackTrace(false)
+public class BookingInsertEvent extends jdk.jfr.Event {
+
+    @Label("Trip ID")
+    public String tripId;
+
+    @Label("Booking ID")
+    public String bookingId;
+}
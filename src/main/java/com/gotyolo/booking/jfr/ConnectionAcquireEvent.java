@@ -0,0 +1,21 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Time spent borrowing a JDBC connection from the pool
+ */
+@Name("com.gotyolo.booking.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"GoTyolo", "Database"})
+@Description("Time spent waiting for a connection from the JDBC pool")
+@StackTrace(false)
+public class ConnectionAcquireEvent extends jdk.jfr.Event {
+
+    @Label("Pool")
+    public String pool;
+}
@@ -0,0 +1,24 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of the expiry scheduler over a batch of expired bookings
+ */
+@Name("com.gotyolo.booking.ExpiryChunk")
+@Label("Expiry Chunk")
+@Category({"GoTyolo", "Scheduler"})
+@Description("Expiring a batch of PENDING_PAYMENT bookings and releasing their seats")
+@StackTrace(false)
+public class ExpiryChunkEvent extends jdk.jfr.Event {
+
+    @Label("Bookings Expired")
+    public int bookingCount;
+
+    @Label("Seats Released")
+    public int seatsReleased;
+}
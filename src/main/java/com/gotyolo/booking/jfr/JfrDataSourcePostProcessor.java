@@ -0,0 +1,24 @@
+package com.gotyolo.booking.jfr;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every Hikari pool so connection borrows show up as JFR events
+ */
+@Slf4j
+@Component
+public class JfrDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            String poolName = hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+            log.info("Instrumenting DataSource bean={} pool={} with JFR connection events", beanName, poolName);
+            return new JfrInstrumentedDataSource(hikari, poolName);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gotyolo.booking.jfr;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Emits a ConnectionAcquire event around every pool borrow
+ */
+public class JfrInstrumentedDataSource extends DelegatingDataSource {
+
+    private final String poolName;
+
+    public JfrInstrumentedDataSource(DataSource targetDataSource, String poolName) {
+        super(targetDataSource);
+        this.poolName = poolName;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Connection connection = obtainTargetDataSource().getConnection();
+        commit(event);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        commit(event);
+        return connection;
+    }
+
+    private void commit(ConnectionAcquireEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.pool = poolName;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Decrement of trips.available_seats, including the flush of the trip UPDATE
+ */
+@Name("com.gotyolo.booking.SeatReserve")
+@Label("Seat Reserve")
+@Category({"GoTyolo", "Booking"})
+@Description("Reserving seats on a locked trip and flushing the trip update")
+@StackTrace(false)
+public class SeatReserveEvent extends jdk.jfr.Event {
+
+    @Label("Trip ID")
+    public String tripId;
+
+    @Label("Seats")
+    public int seats;
+}
@@ -0,0 +1,24 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Time a trip row lock is held, from acquisition until the owning transaction completes
+ */
+@Name("com.gotyolo.booking.TripLockHeld")
+@Label("Trip Lock Held")
+@Category({"GoTyolo", "Booking"})
+@Description("Time between acquiring the trip row lock and commit/rollback of the owning transaction")
+@StackTrace(false)
+public class TripLockHeldEvent extends jdk.jfr.Event {
+
+    @Label("Trip ID")
+    public String tripId;
+
+    @Label("Committed")
+    public boolean committed;
+}
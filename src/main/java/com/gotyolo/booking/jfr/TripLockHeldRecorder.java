@@ -0,0 +1,38 @@
+package com.gotyolo.booking.jfr;
+
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@UtilityClass
+public class TripLockHeldRecorder {
+
+    /**
+     * Starts a TripLockHeld event that is committed when the current transaction completes.
+     * Row locks are released at commit/rollback, so that is where the hold ends.
+     * No-op when the event is disabled or no transaction synchronization is active.
+     */
+    public static void lockAcquired(UUID tripId) {
+        TripLockHeldEvent event = new TripLockHeldEvent();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        event.tripId = NullSafeUtils.safeToString(tripId);
+        event.begin();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.committed = status == STATUS_COMMITTED;
+                    event.commit();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Time spent waiting for SELECT ... FOR UPDATE on a trip row
+ */
+@Name("com.gotyolo.booking.TripLockWait")
+@Label("Trip Lock Wait")
+@Category({"GoTyolo", "Booking"})
+@Description("Time spent waiting to acquire the pessimistic lock on a trip row")
+@StackTrace(false)
+public class TripLockWaitEvent extends jdk.jfr.Event {
+
+    @Label("Trip ID")
+    public String tripId;
+}
@@ -0,0 +1,27 @@
+package com.gotyolo.booking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Applying a payment webhook to a booking (confirm, or expire and release seats)
+ */
+@Name("com.gotyolo.booking.WebhookApply")
+@Label("Webhook Apply")
+@Category({"GoTyolo", "Payment"})
+@Description("Applying a payment webhook outcome to a PENDING_PAYMENT booking")
+@StackTrace(false)
+public class WebhookApplyEvent extends jdk.jfr.Event {
+
+    @Label("Trip ID")
+    public String tripId;
+
+    @Label("Booking ID")
+    public String bookingId;
+
+    @Label("Status")
+    public String status;
+}
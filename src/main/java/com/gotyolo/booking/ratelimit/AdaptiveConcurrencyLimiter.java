@@ -0,0 +1,169 @@
+package com.gotyolo.booking.ratelimit;
+
+import com.gotyolo.booking.dto.ConcurrencyLimitResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive cap on concurrent write requests (gradient algorithm, as in Netflix concurrency-limits).
+ *
+ * Every completed request reports its latency. A long-term average stands for "latency without
+ * queueing"; when the short-term average rises above it (times tolerance) requests are queueing
+ * somewhere (Hikari, row locks) and the limit shrinks by the ratio, otherwise it grows by about
+ * sqrt(limit). Requests over the limit are rejected at once instead of waiting for a connection.
+ * NORMAL requests may only use booking-share of the limit, leaving the rest to CRITICAL ones.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCritical;
+    private final Counter rejectedNormal;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double bookingShare;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longAlpha;
+    private final double shortAlpha;
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+                                      @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+                                      @Value("${app.concurrency-limit.min-limit:4}") int minLimit,
+                                      @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+                                      @Value("${app.concurrency-limit.booking-share:0.8}") double bookingShare,
+                                      @Value("${app.concurrency-limit.rtt-tolerance:2.0}") double tolerance,
+                                      @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+                                      @Value("${app.concurrency-limit.long-window:600}") int longWindow,
+                                      @Value("${app.concurrency-limit.short-window:10}") int shortWindow) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.bookingShare = Math.min(1.0, Math.max(0.1, bookingShare));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.longAlpha = 2.0 / (Math.max(1, longWindow) + 1);
+        this.shortAlpha = 2.0 / (Math.max(1, shortWindow) + 1);
+
+        this.rejectedCritical = rejectedCounter(meterRegistry, AdmissionPriority.CRITICAL);
+        this.rejectedNormal = rejectedCounter(meterRegistry, AdmissionPriority.NORMAL);
+        Gauge.builder("gotyolo.concurrency.limit", this, limiter -> limiter.limit)
+                .description("Current adaptive concurrency limit for write endpoints")
+                .register(meterRegistry);
+        Gauge.builder("gotyolo.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Write requests in flight")
+                .register(meterRegistry);
+
+        log.info("Adaptive concurrency limiter initialised: enabled={} limit={} range=[{}, {}] bookingShare={}",
+                enabled, this.limit, this.minLimit, this.maxLimit, this.bookingShare);
+    }
+
+    /**
+     * Claims a slot, or returns false when the request should be shed. Every true must be
+     * followed by exactly one release().
+     */
+    public boolean tryAcquire(AdmissionPriority priority) {
+        if (!enabled) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        int cap = capacity(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                (priority == AdmissionPriority.CRITICAL ? rejectedCritical : rejectedNormal).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot; latencyNanos feeds the limit, or pass a negative value to skip the sample
+     * (e.g. a request answered without doing the work)
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (enabled && latencyNanos >= 0) {
+            onSample(latencyNanos, inFlightBefore);
+        }
+    }
+
+    public ConcurrencyLimitResponse getSnapshot() {
+        synchronized (this) {
+            return new ConcurrencyLimitResponse(
+                    enabled,
+                    (int) limit,
+                    capacity(AdmissionPriority.NORMAL),
+                    inFlight.get(),
+                    round(shortRttNanos / NANOS_PER_MILLI),
+                    round(longRttNanos / NANOS_PER_MILLI),
+                    (long) rejectedCritical.count(),
+                    (long) rejectedNormal.count());
+        }
+    }
+
+    private int capacity(AdmissionPriority priority) {
+        int current = (int) limit;
+        return priority == AdmissionPriority.CRITICAL ? current : Math.max(1, (int) (current * bookingShare));
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += shortAlpha * (rttNanos - shortRttNanos);
+        longRttNanos += longAlpha * (rttNanos - longRttNanos);
+
+        // After a long overload the baseline itself has drifted up; pull it back towards recent latency
+        if (longRttNanos / shortRttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        // Not using the limit: latency says nothing about whether more would fit
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        double clamped = Math.max(minLimit, Math.min(maxLimit, next));
+        if ((int) clamped != (int) limit) {
+            log.debug("Concurrency limit {} -> {} | shortRttMs={} | longRttMs={}", (int) limit, (int) clamped,
+                    round(shortRttNanos / NANOS_PER_MILLI), round(longRttNanos / NANOS_PER_MILLI));
+        }
+        limit = clamped;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, AdmissionPriority priority) {
+        return Counter.builder("gotyolo.concurrency.rejected")
+                .description("Write requests shed by the adaptive concurrency limiter")
+                .tag("priority", priority.name().toLowerCase())
+                .register(registry);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
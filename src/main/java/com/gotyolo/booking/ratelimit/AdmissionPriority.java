@@ -0,0 +1,9 @@
+package com.gotyolo.booking.ratelimit;
+
+/**
+ * CRITICAL work frees capacity (payment webhooks, cancellations) and may use the whole concurrency
+ * limit; NORMAL work (new bookings) only the booking share of it, so it is shed first.
+ */
+public enum AdmissionPriority {
+    CRITICAL, NORMAL
+}
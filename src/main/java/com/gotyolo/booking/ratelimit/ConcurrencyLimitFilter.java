@@ -0,0 +1,88 @@
+package com.gotyolo.booking.ratelimit;
+
+import com.gotyolo.booking.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Puts booking create, cancel and payment webhook behind the AdaptiveConcurrencyLimiter.
+ * A shed request gets 503 with Retry-After straight away; a payment provider retries it, which is
+ * safer than acknowledging a webhook that was never applied.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return priorityOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionPriority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            log.warn("Load shed | priority={} | {} {}", priority, request.getMethod(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // 429s never reached the database and would drag the latency baseline down
+            long latency = response.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value() ? -1 : System.nanoTime() - start;
+            limiter.release(latency);
+        }
+    }
+
+    static AdmissionPriority priorityOf(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        if (path.equals("/api/v1/payments/webhook") || PATHS.match("/api/v1/bookings/*/cancel", path)) {
+            return AdmissionPriority.CRITICAL;
+        }
+        if (PATHS.match("/api/v1/trips/*/book", path)) {
+            return AdmissionPriority.NORMAL;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), ApiResponse.builder()
+                .status("OVERLOADED")
+                .message("Service is at capacity, retry shortly")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
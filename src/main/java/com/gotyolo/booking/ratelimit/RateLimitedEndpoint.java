@@ -0,0 +1,16 @@
+package com.gotyolo.booking.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Endpoints guarded by RateLimiter; the key is the app.rate-limit.&lt;key&gt;.* property prefix
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitedEndpoint {
+    BOOK("book"),
+    CANCEL("cancel");
+
+    private final String key;
+}
@@ -0,0 +1,181 @@
+package com.gotyolo.booking.ratelimit;
+
+import com.gotyolo.booking.dto.RateLimitSettings;
+import com.gotyolo.booking.dto.RateLimitsResponse;
+import com.gotyolo.booking.exception.RateLimitExceededException;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-client token bucket for endpoints that take a DB connection and a row lock, checked in the
+ * controller before any transaction opens.
+ *
+ * Each bucket is one AtomicLong holding the GCRA "theoretical arrival time": a request is allowed
+ * when the bucket is not more than burst - 1 intervals ahead of now, and advances it by one
+ * interval with a CAS. No locks on the request path. A bucket whose time has passed is full again,
+ * so it is dropped by the sweep; the map never holds more than max-tracked-clients buckets.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitedEndpoint, Limit> limits = new ConcurrentHashMap<>();
+    private final Map<RateLimitedEndpoint, Counter> allowed = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> limited = new EnumMap<>(RateLimitedEndpoint.class);
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final Counter untracked;
+    private final int maxTrackedClients;
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry,
+                       @Value("${app.rate-limit.max-tracked-clients:100000}") int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            String prefix = "app.rate-limit." + endpoint.getKey() + ".";
+            limits.put(endpoint, Limit.of(new RateLimitSettings(
+                    environment.getProperty(prefix + "enabled", Boolean.class, true),
+                    environment.getProperty(prefix + "requests-per-second", Double.class, 5.0),
+                    environment.getProperty(prefix + "burst", Integer.class, 10))));
+            allowed.put(endpoint, counter(meterRegistry, endpoint, "allowed"));
+            limited.put(endpoint, counter(meterRegistry, endpoint, "limited"));
+        }
+        this.untracked = Counter.builder("gotyolo.ratelimit.untracked")
+                .description("Requests let through because the bucket map was full")
+                .register(meterRegistry);
+        Gauge.builder("gotyolo.ratelimit.tracked.clients", buckets, Map::size)
+                .description("Clients with a non-full bucket")
+                .register(meterRegistry);
+
+        log.info("Rate limiter initialised: maxTrackedClients={} limits={}", maxTrackedClients, getLimits().endpoints());
+    }
+
+    /**
+     * Takes one token for this client or throws RateLimitExceededException (HTTP 429).
+     * userId is preferred; the client address is the fallback key.
+     */
+    public void acquire(RateLimitedEndpoint endpoint, String userId, String clientAddress) {
+        Limit limit = limits.get(endpoint);
+        if (!limit.enabled()) {
+            return;
+        }
+
+        String client = !NullSafeUtils.isNullOrEmpty(userId) ? "user:" + userId.trim()
+                : "ip:" + NullSafeUtils.safeToString(clientAddress);
+        AtomicLong bucket = bucket(new BucketKey(endpoint, client));
+        if (bucket == null) {
+            untracked.increment();
+            return;
+        }
+
+        long now = System.nanoTime();
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long ahead = base - now;
+            if (ahead > limit.toleranceNanos()) {
+                limited.get(endpoint).increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                        ahead - limit.toleranceNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+                log.warn("Rate limit hit | endpoint={} | client={} | retryAfter={}s", endpoint, client, retryAfterSeconds);
+                throw new RateLimitExceededException("Too many requests, retry in " + retryAfterSeconds + "s",
+                        retryAfterSeconds);
+            }
+            if (bucket.compareAndSet(tat, base + limit.intervalNanos())) {
+                allowed.get(endpoint).increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces an endpoint's limit at runtime. Existing buckets keep their state, so a client
+     * that is over the new limit is throttled immediately and one under it keeps its allowance.
+     */
+    public void updateLimit(RateLimitedEndpoint endpoint, RateLimitSettings settings) {
+        limits.put(endpoint, Limit.of(settings));
+        log.info("Rate limit updated | endpoint={} | enabled={} | requestsPerSecond={} | burst={}",
+                endpoint, settings.enabled(), settings.requestsPerSecond(), settings.burst());
+    }
+
+    public RateLimitsResponse getLimits() {
+        Map<String, RateLimitSettings> endpoints = new LinkedHashMap<>();
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            endpoints.put(endpoint.getKey(), limits.get(endpoint).settings());
+        }
+        return new RateLimitsResponse(buckets.size(), maxTrackedClients, endpoints);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:10000}")
+    public void evictFullBuckets() {
+        int removed = sweep();
+        if (removed > 0) {
+            log.debug("Rate limiter evicted {} idle buckets, {} tracked", removed, buckets.size());
+        }
+    }
+
+    private AtomicLong bucket(BucketKey key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxTrackedClients) {
+            // Only one caller pays for the sweep; the rest go on untracked until there is room
+            if (!sweepLock.tryLock()) {
+                return null;
+            }
+            try {
+                sweep();
+            } finally {
+                sweepLock.unlock();
+            }
+            if (buckets.size() >= maxTrackedClients) {
+                return null;
+            }
+        }
+        AtomicLong created = new AtomicLong(System.nanoTime());
+        AtomicLong existing = buckets.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    // A request racing the removal of its (full) bucket may get one extra token; nothing worse
+    private int sweep() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    private static Counter counter(MeterRegistry registry, RateLimitedEndpoint endpoint, String outcome) {
+        return Counter.builder("gotyolo.ratelimit.requests")
+                .description("Rate-limited endpoint requests by outcome")
+                .tag("endpoint", endpoint.getKey())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record BucketKey(RateLimitedEndpoint endpoint, String client) {}
+
+    private record Limit(RateLimitSettings settings, boolean enabled, long intervalNanos, long toleranceNanos) {
+
+        static Limit of(RateLimitSettings settings) {
+            long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / settings.requestsPerSecond()));
+            return new Limit(settings, Boolean.TRUE.equals(settings.enabled()), interval,
+                    interval * (Math.max(1, settings.burst()) - 1L));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.BookingArchive;
+import com.gotyolo.booking.enums.BookingState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, UUID> {
+
+    List<BookingArchive> findByTripId(UUID tripId);
+
+    long countByTripIdAndState(UUID tripId, BookingState state);
+
+    @Query("""
+       SELECT COALESCE(SUM(b.numSeats), 0)
+       FROM BookingArchive b
+       WHERE b.tripId = :tripId AND b.state = :state
+       """)
+    Integer countTotalSeatsByTripIdAndState(@Param("tripId") UUID tripId,
+                                            @Param("state") BookingState state);
+
+    @Query("SELECT COALESCE(SUM(b.priceAtBooking), 0) FROM BookingArchive b " +
+            "WHERE b.tripId = :tripId AND b.state = :state")
+    BigDecimal calculateGrossRevenue(@Param("tripId") UUID tripId,
+                                     @Param("state") BookingState state);
+
+    @Query("SELECT COALESCE(SUM(b.refundAmount), 0) FROM BookingArchive b WHERE b.tripId = :tripId AND b.refundAmount IS NOT NULL")
+    BigDecimal calculateTotalRefunds(@Param("tripId") UUID tripId);
+
+    /**
+     * Moves one batch of CONFIRMED / CANCELLED / EXPIRED bookings whose trip ended before the cutoff
+     * from bookings into bookings_archive in a single statement. Returns the number of rows moved.
+     * An id already in the archive fails the whole statement, so no booking is deleted unarchived.
+     */
+    @Modifying
+    @Query(value = """
+       WITH victims AS (
+           SELECT b.id, b.created_at
+           FROM bookings b
+           JOIN trips t ON t.id = b.trip_id
+           WHERE b.state IN ('CONFIRMED', 'CANCELLED', 'EXPIRED')
+             AND COALESCE(t.end_date, t.start_date) < :cutoff
+           LIMIT :batchSize
+       ),
+       moved AS (
+           DELETE FROM bookings b
+           USING victims v
+           WHERE b.id = v.id AND b.created_at = v.created_at
+           RETURNING b.id, b.trip_id, b.user_id, b.num_seats, b.state, b.price_at_booking,
+                     b.refund_amount, b.payment_reference, b.created_at, b.cancelled_at
+       )
+       INSERT INTO bookings_archive (id, trip_id, user_id, num_seats, state, price_at_booking,
+                                     refund_amount, payment_reference, created_at, cancelled_at, archived_at)
+       SELECT id, trip_id, user_id, num_seats, state, price_at_booking,
+              refund_amount, payment_reference, created_at, cancelled_at, now()
+       FROM moved
+       """, nativeQuery = true)
+    int archiveTerminalBookings(@Param("cutoff") LocalDateTime cutoff,
+                                @Param("batchSize") int batchSize);
+}
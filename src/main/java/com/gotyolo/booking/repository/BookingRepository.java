@@ -1,20 +1,75 @@
 package com.gotyolo.booking.repository;
 
+import com.gotyolo.booking.dto.BookingResponse;
 import com.gotyolo.booking.entity.Booking;
 import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.interfaces.BookingTransitionInfo;
 import com.gotyolo.booking.interfaces.ExpiredBookingInfo;
+import com.gotyolo.booking.interfaces.UserBookingRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
+    /*
+     * GET /users/{userId}/bookings: a user's live and archived bookings with their trip summary in one
+     * statement. Each branch walks its own (user_id, created_at DESC, id DESC) index newest first and
+     * stops after limit rows; the outer ORDER BY merges the two and keeps the first limit.
+     */
+    String USER_HISTORY = """
+       SELECT h.id AS "id", h.trip_id AS "tripId", t.title AS "tripTitle", t.destination AS "tripDestination",
+              t.start_date AS "tripStartDate", t.end_date AS "tripEndDate", t.status AS "tripStatus",
+              h.num_seats AS "numSeats", h.state AS "state", h.price_at_booking AS "priceAtBooking",
+              h.created_at AS "createdAt", h.expires_at AS "expiresAt", h.cancelled_at AS "cancelledAt",
+              h.refund_amount AS "refundAmount", array_to_string(h.seat_numbers, ',') AS "seatNumbers"
+       FROM (
+       """;
+
+    String LIVE_HISTORY = """
+           (SELECT b.id, b.trip_id, b.num_seats, b.state, b.price_at_booking, b.created_at, b.expires_at,
+                   b.cancelled_at, b.refund_amount, b.seat_numbers
+            FROM bookings b
+            WHERE b.user_id = :userId
+              AND b.state IN (:states)
+       """;
+
+    // Archived bookings keep no expiry or seat numbers
+    String ARCHIVED_HISTORY = """
+           UNION ALL
+           (SELECT b.id, b.trip_id, b.num_seats, b.state, b.price_at_booking, b.created_at, NULL,
+                   b.cancelled_at, b.refund_amount, NULL
+            FROM bookings_archive b
+            WHERE b.user_id = :userId
+              AND b.state IN (:states)
+       """;
+
+    // After a cursor; the first condition alone bounds the index range, the second breaks created_at ties
+    String HISTORY_BEFORE = """
+              AND b.created_at <= :createdAt
+              AND (b.created_at < :createdAt OR b.id < :id)
+       """;
+
+    String HISTORY_NEWEST_FIRST = """
+            ORDER BY b.created_at DESC, b.id DESC
+            LIMIT :limit)
+       """;
+
+    String HISTORY_TRIPS = """
+       ) h
+       JOIN trips t ON t.id = h.trip_id
+       ORDER BY h.created_at DESC, h.id DESC
+       LIMIT :limit
+       """;
+
     // Webhook idempotency
     boolean existsByIdempotencyKey(String idempotencyKey);
 
@@ -26,6 +81,37 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     Optional<Booking> findByIdAndUserId(UUID id, UUID userId);
 
+    // GET /bookings/{bookingId}: the row straight into BookingResponse, with mapToBookingResponse's fallbacks
+    @Query("""
+       SELECT new com.gotyolo.booking.dto.BookingResponse(
+           b.id, b.tripId, b.userId, b.numSeats, b.state, b.priceAtBooking, b.paymentReference, b.idempotencyKey,
+           b.createdAt, COALESCE(b.expiresAt, LOCAL DATETIME), COALESCE(b.cancelledAt, LOCAL DATETIME),
+           COALESCE(b.refundAmount, 0BD), b.seatNumbers)
+       FROM Booking b
+       WHERE b.id = :id
+       """)
+    Optional<BookingResponse> findResponseById(@Param("id") UUID id);
+
+    // First page of a user's history
+    @Query(value = USER_HISTORY + LIVE_HISTORY + HISTORY_NEWEST_FIRST
+            + ARCHIVED_HISTORY + HISTORY_NEWEST_FIRST + HISTORY_TRIPS, nativeQuery = true)
+    List<UserBookingRow> findUserBookings(@Param("userId") UUID userId,
+                                          @Param("states") Collection<String> states,
+                                          @Param("limit") int limit);
+
+    // Page after a cursor
+    @Query(value = USER_HISTORY + LIVE_HISTORY + HISTORY_BEFORE + HISTORY_NEWEST_FIRST
+            + ARCHIVED_HISTORY + HISTORY_BEFORE + HISTORY_NEWEST_FIRST + HISTORY_TRIPS, nativeQuery = true)
+    List<UserBookingRow> findUserBookingsBefore(@Param("userId") UUID userId,
+                                                @Param("states") Collection<String> states,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") UUID id,
+                                                @Param("limit") int limit);
+
+    // Any few booking ids, for startup warm-up reads; stops scanning after limit rows
+    @Query(value = "SELECT id FROM bookings LIMIT :limit", nativeQuery = true)
+    List<UUID> findSampleIds(@Param("limit") int limit);
+
     @Modifying
     @Query("UPDATE Booking b SET b.state = :expiredState, b.updatedAt = CURRENT_TIMESTAMP() " +
             "WHERE b.state = :pendingState AND b.expiresAt < CURRENT_TIMESTAMP()")
@@ -59,7 +145,9 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
        SELECT 
          b.id AS bookingId,
          b.tripId AS tripId,
-         b.numSeats AS numSeats
+         b.userId AS userId,
+         b.numSeats AS numSeats,
+         array_to_string(b.seatNumbers, ',') AS seatNumbers
        FROM Booking b
        WHERE b.state = :pendingState
          AND b.expiresAt < CURRENT_TIMESTAMP
@@ -81,4 +169,59 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
             @Param("newState") BookingState newState
     );
 
+    /*
+     * Single-statement transitions. Each one updates the booking only while it is still in the
+     * expected state (so duplicates and races become no-ops) and, when seats go back to the trip,
+     * increments available_seats in the same statement, capped at max_capacity.
+     * An empty result means the booking does not exist or was not in a valid state.
+     */
+
+    // PENDING_PAYMENT -> CONFIRMED (payment succeeded)
+    @Query(value = BookingSql.CONFIRM_PENDING_BOOKING, nativeQuery = true)
+    Optional<BookingTransitionInfo> confirmPendingBooking(@Param("bookingId") UUID bookingId,
+                                                          @Param("idempotencyKey") String idempotencyKey,
+                                                          @Param("now") LocalDateTime now);
+
+    // PENDING_PAYMENT -> EXPIRED (payment failed) + seats back to the trip
+    @Query(value = BookingSql.EXPIRE_PENDING_BOOKING_AND_RELEASE_SEATS, nativeQuery = true)
+    Optional<BookingTransitionInfo> expirePendingBookingAndReleaseSeats(@Param("bookingId") UUID bookingId,
+                                                                        @Param("idempotencyKey") String idempotencyKey,
+                                                                        @Param("now") LocalDateTime now);
+
+    /*
+     * PENDING_PAYMENT / CONFIRMED -> CANCELLED + seats back to the trip.
+     * refund_amount is set by BookingSql.SET_CANCEL_REFUND, the SQL form of BookingRules.refundAmount.
+     */
+    @Query(value = """
+       WITH updated AS (
+           UPDATE bookings b
+           SET state = 'CANCELLED',
+       """ + BookingSql.SET_CANCEL_REFUND + """
+               cancelled_at = :now,
+               updated_at = :now
+           FROM trips t
+           WHERE b.id = :bookingId
+             AND b.state IN ('PENDING_PAYMENT', 'CONFIRMED')
+             AND t.id = b.trip_id
+           RETURNING b.*
+       ),
+       released AS (
+           UPDATE trips t
+           SET available_seats = LEAST(t.available_seats + u.num_seats, t.max_capacity),
+               updated_at = :now
+           FROM updated u
+           WHERE t.id = u.trip_id
+           RETURNING t.id, t.available_seats
+       ),
+       """ + BookingSql.FREE_BOOKED_SEATS + """
+       SELECT u.id AS "bookingId", u.trip_id AS "tripId", u.user_id AS "userId", u.num_seats AS "numSeats",
+              u.state AS "state", u.price_at_booking AS "priceAtBooking", u.payment_reference AS "paymentReference",
+              u.idempotency_key AS "idempotencyKey", u.created_at AS "createdAt", u.expires_at AS "expiresAt",
+              u.cancelled_at AS "cancelledAt", u.refund_amount AS "refundAmount", r.available_seats AS "tripAvailableSeats",
+              array_to_string(u.seat_numbers, ',') AS "seatNumbers"
+       FROM updated u
+       LEFT JOIN released r ON r.id = u.trip_id
+       """, nativeQuery = true)
+    Optional<BookingTransitionInfo> cancelAndReleaseSeats(@Param("bookingId") UUID bookingId,
+                                                          @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,166 @@
+package com.gotyolo.booking.repository;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Native statements shared by BookingRepository (JPA) and ReactiveBookingService (R2DBC).
+ * Named parameters (:bookingId, ...) work with both Hibernate and DatabaseClient.
+ */
+@UtilityClass
+public class BookingSql {
+
+    /*
+     * Seat maps (trip_seat_maps, one bit per seat): the given 1-based seat numbers s.seat_no as one
+     * bit string the length of the map m, for & / | against m.taken. Followed by a FROM that joins
+     * trip_seat_maps m with the seats as s(seat_no), GROUP BY m.trip_id.
+     */
+    public static final String SEAT_MASK_SELECT = """
+           SELECT m.trip_id, bit_or((B'1' || repeat('0', length(m.taken) - 1)::varbit) >> (s.seat_no - 1)) AS bits
+       """;
+
+    // Frees the seat map bits held by the bookings of the "updated" CTE; bookings without seats match nothing
+    public static final String FREE_BOOKED_SEATS = """
+       seat_masks AS (
+       """ + SEAT_MASK_SELECT + """
+           FROM updated u
+           JOIN trip_seat_maps m ON m.trip_id = u.trip_id
+           CROSS JOIN unnest(u.seat_numbers) AS s(seat_no)
+           GROUP BY m.trip_id
+       ),
+       seats_freed AS (
+           UPDATE trip_seat_maps m
+           SET taken = m.taken & ~k.bits,
+               updated_at = :now
+           FROM seat_masks k
+           WHERE m.trip_id = k.trip_id
+       )
+       """;
+
+    /*
+     * SET item for bookings b of trips t cancelled at :now, the SQL form of BookingRules.refundAmount:
+     * only a CONFIRMED booking cancelled before start_date - refundable_until_days_before gets
+     * price * (1 - fee), and only when fee > 0. The CASE reads b.state before the update, i.e. the
+     * previous state.
+     */
+    public static final String SET_CANCEL_REFUND = """
+               refund_amount = CASE
+                   WHEN b.state = 'CONFIRMED'
+                        AND t.cancellation_fee_percent > 0
+                        AND :now < t.start_date - make_interval(days => t.refundable_until_days_before)
+                   THEN b.price_at_booking * (1 - ROUND(t.cancellation_fee_percent / 100.0, 2))
+                   ELSE 0
+               END,
+       """;
+
+    // PENDING_PAYMENT -> CONFIRMED (payment succeeded)
+    public static final String CONFIRM_PENDING_BOOKING = """
+       WITH updated AS (
+           UPDATE bookings b
+           SET state = 'CONFIRMED',
+               payment_reference = :idempotencyKey,
+               idempotency_key = :idempotencyKey,
+               updated_at = :now
+           WHERE b.id = :bookingId
+             AND b.state = 'PENDING_PAYMENT'
+           RETURNING b.*
+       )
+       SELECT u.id AS "bookingId", u.trip_id AS "tripId", u.user_id AS "userId", u.num_seats AS "numSeats",
+              u.state AS "state", u.price_at_booking AS "priceAtBooking", u.payment_reference AS "paymentReference",
+              u.idempotency_key AS "idempotencyKey", u.created_at AS "createdAt", u.expires_at AS "expiresAt",
+              u.cancelled_at AS "cancelledAt", u.refund_amount AS "refundAmount", NULL::integer AS "tripAvailableSeats",
+              array_to_string(u.seat_numbers, ',') AS "seatNumbers"
+       FROM updated u
+       """;
+
+    // PENDING_PAYMENT -> EXPIRED (payment failed) + seats back to the trip
+    public static final String EXPIRE_PENDING_BOOKING_AND_RELEASE_SEATS = """
+       WITH updated AS (
+           UPDATE bookings b
+           SET state = 'EXPIRED',
+               idempotency_key = :idempotencyKey,
+               updated_at = :now
+           WHERE b.id = :bookingId
+             AND b.state = 'PENDING_PAYMENT'
+           RETURNING b.*
+       ),
+       released AS (
+           UPDATE trips t
+           SET available_seats = LEAST(t.available_seats + u.num_seats, t.max_capacity),
+               updated_at = :now
+           FROM updated u
+           WHERE t.id = u.trip_id
+           RETURNING t.id, t.available_seats
+       ),
+       """ + FREE_BOOKED_SEATS + """
+       SELECT u.id AS "bookingId", u.trip_id AS "tripId", u.user_id AS "userId", u.num_seats AS "numSeats",
+              u.state AS "state", u.price_at_booking AS "priceAtBooking", u.payment_reference AS "paymentReference",
+              u.idempotency_key AS "idempotencyKey", u.created_at AS "createdAt", u.expires_at AS "expiresAt",
+              u.cancelled_at AS "cancelledAt", u.refund_amount AS "refundAmount", r.available_seats AS "tripAvailableSeats",
+              array_to_string(u.seat_numbers, ',') AS "seatNumbers"
+       FROM updated u
+       LEFT JOIN released r ON r.id = u.trip_id
+       """;
+
+    /*
+     * Released seats -> PENDING_PAYMENT holds for waitlisted users of the given trips, all trips in one
+     * statement. Each PUBLISHED trip is locked first and its WAITING entries are served strictly in seq
+     * order: the longest prefix of the queue whose seats fit into available_seats is promoted, so a large
+     * request at the head is never overtaken by smaller ones behind it. Holds expire like any booking.
+     * Trips with a seat map are skipped: a hold by count would leave its seats free in trip_seat_maps.
+     * A :shardNo >= 0 puts the database shard into the first byte of the new booking ids, as
+     * DatabaseShardKeys.newBookingId does; -1 leaves them fully random.
+     */
+    public static final String PROMOTE_WAITLIST = """
+       WITH locked AS (
+           SELECT t.id, t.price, t.available_seats
+           FROM trips t
+           WHERE t.id IN (:tripIds)
+             AND t.status = 'PUBLISHED'
+             AND t.available_seats > 0
+             AND t.seats_per_row = 0
+           ORDER BY t.id
+           FOR UPDATE
+       ),
+       queue AS (
+           SELECT w.id, w.trip_id, w.user_id, w.num_seats,
+                  SUM(w.num_seats) OVER (PARTITION BY w.trip_id ORDER BY w.seq) AS seats_through
+           FROM trip_waitlist w
+           JOIN locked l ON l.id = w.trip_id
+           WHERE w.status = 'WAITING'
+       ),
+       promoted AS (
+           SELECT q.id, q.trip_id, q.user_id, q.num_seats, l.price * q.num_seats AS price_at_booking,
+                  CASE WHEN :shardNo < 0 THEN gen_random_uuid()
+                       ELSE encode(set_byte(uuid_send(gen_random_uuid()), 0, :shardNo), 'hex')::uuid
+                  END AS booking_id
+           FROM queue q
+           JOIN locked l ON l.id = q.trip_id
+           WHERE q.seats_through <= l.available_seats
+       ),
+       held AS (
+           INSERT INTO bookings (id, trip_id, user_id, num_seats, state, price_at_booking,
+                                 created_at, expires_at, updated_at)
+           SELECT p.booking_id, p.trip_id, p.user_id, p.num_seats, 'PENDING_PAYMENT', p.price_at_booking,
+                  :now, :expiresAt, :now
+           FROM promoted p
+       ),
+       dequeued AS (
+           UPDATE trip_waitlist w
+           SET status = 'PROMOTED',
+               booking_id = p.booking_id,
+               promoted_at = :now
+           FROM promoted p
+           WHERE w.id = p.id
+       ),
+       reserved AS (
+           UPDATE trips t
+           SET available_seats = t.available_seats - s.seats,
+               updated_at = :now
+           FROM (SELECT trip_id, SUM(num_seats) AS seats FROM promoted GROUP BY trip_id) s
+           WHERE t.id = s.trip_id
+       )
+       SELECT p.id AS "waitlistId", p.booking_id AS "bookingId", p.trip_id AS "tripId",
+              p.user_id AS "userId", p.num_seats AS "numSeats"
+       FROM promoted p
+       """;
+}
@@ -0,0 +1,50 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for this request; 0 when another request already holds it. A concurrent claim
+     * of the same key blocks here until the holder commits or rolls back. Expired keys are reused.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO idempotency_keys (idempotency_key, operation, request_fingerprint, created_at, expires_at)
+       VALUES (:key, :operation, :fingerprint, :now, :expiresAt)
+       ON CONFLICT (idempotency_key) DO UPDATE
+       SET operation = EXCLUDED.operation,
+           request_fingerprint = EXCLUDED.request_fingerprint,
+           booking_id = NULL,
+           response_body = NULL,
+           created_at = EXCLUDED.created_at,
+           expires_at = EXCLUDED.expires_at
+       WHERE idempotency_keys.expires_at < :now
+       """, nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("operation") String operation,
+              @Param("fingerprint") String fingerprint,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+       UPDATE IdempotencyRecord r
+       SET r.bookingId = :bookingId, r.responseBody = :responseBody
+       WHERE r.idempotencyKey = :key
+    """)
+    int storeResponse(@Param("key") String key,
+                      @Param("bookingId") UUID bookingId,
+                      @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,100 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.TripCancellationJob;
+import com.gotyolo.booking.enums.TripCancellationStatus;
+import com.gotyolo.booking.interfaces.CancelledBookingInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TripCancellationJobRepository extends JpaRepository<TripCancellationJob, UUID> {
+
+    List<TripCancellationJob> findAllByStatus(TripCancellationStatus status);
+
+    @Query(value = """
+       SELECT COUNT(*)
+       FROM bookings b
+       WHERE b.trip_id = :tripId
+         AND b.state IN ('PENDING_PAYMENT', 'CONFIRMED')
+       """, nativeQuery = true)
+    int countLiveBookings(@Param("tripId") UUID tripId);
+
+    /**
+     * Cancels up to chunkSize PENDING_PAYMENT / CONFIRMED bookings of the trip in one statement:
+     * refunds by BookingSql.SET_CANCEL_REFUND as in cancelAndReleaseSeats (now is the job's
+     * cancelledAt), the chunk's seats back to the trip capped at max_capacity, and the job's
+     * counters advanced in the same transaction. Returns the bookings cancelled, for the audit
+     * journal; empty once none are left.
+     */
+    @Query(value = """
+       WITH victims AS (
+           SELECT b.id, b.created_at
+           FROM bookings b
+           WHERE b.trip_id = :tripId
+             AND b.state IN ('PENDING_PAYMENT', 'CONFIRMED')
+           LIMIT :chunkSize
+       ),
+       updated AS (
+           UPDATE bookings b
+           SET state = 'CANCELLED',
+       """ + BookingSql.SET_CANCEL_REFUND + """
+               cancelled_at = :now,
+               updated_at = LOCALTIMESTAMP
+           FROM victims v, trips t
+           WHERE b.id = v.id AND b.created_at = v.created_at
+             AND b.state IN ('PENDING_PAYMENT', 'CONFIRMED')
+             AND t.id = b.trip_id
+           RETURNING b.id, b.user_id, b.num_seats, b.refund_amount
+       ),
+       totals AS (
+           SELECT COUNT(*) AS cancelled,
+                  COALESCE(SUM(num_seats), 0) AS seats,
+                  COALESCE(SUM(refund_amount), 0) AS refunded
+           FROM updated
+       ),
+       released AS (
+           UPDATE trips t
+           SET available_seats = LEAST(t.available_seats + s.seats, t.max_capacity),
+               updated_at = LOCALTIMESTAMP
+           FROM totals s
+           WHERE t.id = :tripId AND s.cancelled > 0
+       ),
+       progress AS (
+           UPDATE trip_cancellation_jobs j
+           SET cancelled_bookings = j.cancelled_bookings + s.cancelled,
+               refunded_total = j.refunded_total + s.refunded,
+               updated_at = LOCALTIMESTAMP
+           FROM totals s
+           WHERE j.trip_id = :tripId AND s.cancelled > 0
+       )
+       SELECT u.id AS "bookingId", u.user_id AS "userId", u.num_seats AS "numSeats",
+              u.refund_amount AS "refundAmount"
+       FROM updated u
+       """, nativeQuery = true)
+    List<CancelledBookingInfo> cancelLiveBookingsChunk(@Param("tripId") UUID tripId,
+                                @Param("now") LocalDateTime cancelledAt,
+                                @Param("chunkSize") int chunkSize);
+
+    @Modifying
+    @Query("""
+       UPDATE TripCancellationJob j
+       SET j.status = com.gotyolo.booking.enums.TripCancellationStatus.COMPLETED,
+           j.completedAt = :now, j.updatedAt = :now, j.lastError = NULL
+       WHERE j.tripId = :tripId
+    """)
+    int markCompleted(@Param("tripId") UUID tripId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+       UPDATE TripCancellationJob j
+       SET j.status = com.gotyolo.booking.enums.TripCancellationStatus.FAILED,
+           j.updatedAt = :now, j.lastError = :error
+       WHERE j.tripId = :tripId
+    """)
+    int markFailed(@Param("tripId") UUID tripId, @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,159 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.TripInventoryShard;
+import com.gotyolo.booking.interfaces.ShardReservationInfo;
+import com.gotyolo.booking.interfaces.ShardSeatsInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TripInventoryShardRepository extends JpaRepository<TripInventoryShard, UUID> {
+
+    /*
+     * Takes seats from the first shard, starting at :start and wrapping around, that has enough of them.
+     * Only the shard row is locked, never the trip row. Trip cancellation drains every shard under the
+     * trip lock (waiting for holds in flight), so a booking racing it finds no seats left.
+     */
+    String TAKE_SEATS_SELECT = """
+       WITH candidate AS (
+           SELECT s.id, t.price
+           FROM trip_inventory_shards s
+           JOIN trips t ON t.id = s.trip_id
+           WHERE s.trip_id = :tripId
+             AND s.available_seats >= :seats
+             AND t.status = 'PUBLISHED'
+           ORDER BY (s.shard_no - :start + :shardCount) % :shardCount
+           LIMIT 1
+       """;
+
+    String TAKE_SEATS_UPDATE = """
+       )
+       UPDATE trip_inventory_shards s
+       SET available_seats = s.available_seats - :seats,
+           updated_at = :now
+       FROM candidate c
+       WHERE s.id = c.id
+       RETURNING s.shard_no AS "shardNo", c.price AS "price"
+       """;
+
+    // First pass: skips shards other bookings hold right now
+    @Query(value = TAKE_SEATS_SELECT + "FOR NO KEY UPDATE OF s SKIP LOCKED" + TAKE_SEATS_UPDATE,
+            nativeQuery = true)
+    Optional<ShardReservationInfo> takeSeatsSkipLocked(@Param("tripId") UUID tripId,
+                                                       @Param("seats") int seats,
+                                                       @Param("start") int start,
+                                                       @Param("shardCount") int shardCount,
+                                                       @Param("now") LocalDateTime now);
+
+    // Second pass: every shard with enough seats was busy, so queue on the first one
+    @Query(value = TAKE_SEATS_SELECT + "FOR NO KEY UPDATE OF s" + TAKE_SEATS_UPDATE,
+            nativeQuery = true)
+    Optional<ShardReservationInfo> takeSeats(@Param("tripId") UUID tripId,
+                                             @Param("seats") int seats,
+                                             @Param("start") int start,
+                                             @Param("shardCount") int shardCount,
+                                             @Param("now") LocalDateTime now);
+
+    /*
+     * Empties every shard of the trip and returns the seats they held. Caller holds the trip lock
+     * and puts the seats back into trips.available_seats. Also run by ReactiveBookingService.
+     */
+    String DRAIN_SHARDS = """
+       WITH locked AS (
+           SELECT s.id, s.available_seats
+           FROM trip_inventory_shards s
+           WHERE s.trip_id = :tripId
+           ORDER BY s.shard_no
+           FOR NO KEY UPDATE
+       ),
+       drained AS (
+           UPDATE trip_inventory_shards s
+           SET available_seats = 0,
+               updated_at = :now
+           FROM locked l
+           WHERE s.id = l.id
+           RETURNING l.available_seats
+       )
+       SELECT CAST(COALESCE(SUM(available_seats), 0) AS integer) FROM drained
+       """;
+
+    // Adds base seats to every shard and one more to shards below extra; also run by ReactiveBookingService
+    String ADD_TO_SHARDS = """
+       UPDATE trip_inventory_shards s
+       SET available_seats = s.available_seats + :base + CASE WHEN s.shard_no < :extra THEN 1 ELSE 0 END,
+           updated_at = :now
+       WHERE s.trip_id = :tripId
+       """;
+
+    @Query(value = DRAIN_SHARDS, nativeQuery = true)
+    int drainShards(@Param("tripId") UUID tripId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = ADD_TO_SHARDS, nativeQuery = true)
+    int addToShards(@Param("tripId") UUID tripId,
+                    @Param("base") int base,
+                    @Param("extra") int extra,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO trip_inventory_shards (id, trip_id, shard_no, available_seats, updated_at)
+       SELECT gen_random_uuid(), :tripId, n, 0, :now
+       FROM generate_series(0, :shardCount - 1) n
+       """, nativeQuery = true)
+    int createEmptyShards(@Param("tripId") UUID tripId,
+                          @Param("shardCount") int shardCount,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM trip_inventory_shards WHERE trip_id = :tripId", nativeQuery = true)
+    int deleteByTrip(@Param("tripId") UUID tripId);
+
+    @Query(value = """
+       SELECT s.trip_id AS "tripId", CAST(SUM(s.available_seats) AS integer) AS "availableSeats"
+       FROM trip_inventory_shards s
+       WHERE s.trip_id IN (:tripIds)
+       GROUP BY s.trip_id
+       """, nativeQuery = true)
+    List<ShardSeatsInfo> sumAvailableSeats(@Param("tripIds") Collection<UUID> tripIds);
+
+    /**
+     * Spreads the pool (trips.available_seats) of every sharded trip back over its shards, one
+     * statement for all trips. Trips locked by a booking fallback are skipped, as are trips with
+     * waiting waitlist entries: promotion only sees pool seats, so those keep theirs there.
+     */
+    @Modifying
+    @Query(value = """
+       WITH pool AS (
+           SELECT t.id, t.available_seats AS seats, t.inventory_shards AS shards
+           FROM trips t
+           WHERE t.inventory_shards > 0
+             AND t.available_seats > 0
+             AND t.status = 'PUBLISHED'
+             AND NOT EXISTS (SELECT 1 FROM trip_waitlist w WHERE w.trip_id = t.id AND w.status = 'WAITING')
+           ORDER BY t.id
+           FOR NO KEY UPDATE SKIP LOCKED
+       ),
+       spread AS (
+           UPDATE trip_inventory_shards s
+           SET available_seats = s.available_seats + p.seats / p.shards
+                                 + CASE WHEN s.shard_no < p.seats % p.shards THEN 1 ELSE 0 END,
+               updated_at = :now
+           FROM pool p
+           WHERE s.trip_id = p.id
+       )
+       UPDATE trips t
+       SET available_seats = 0,
+           updated_at = :now
+       FROM pool p
+       WHERE t.id = p.id
+       """, nativeQuery = true)
+    int spreadPools(@Param("now") LocalDateTime now);
+}
@@ -1,5 +1,6 @@
 package com.gotyolo.booking.repository;
 
+import com.gotyolo.booking.dto.TripResponse;
 import com.gotyolo.booking.entity.Trip;
 import com.gotyolo.booking.enums.TripStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,8 +16,29 @@ import java.util.UUID;
 
 public interface TripRepository extends JpaRepository<Trip, UUID> {
 
+    /*
+     * Read path: trip rows selected straight into TripResponse, no managed entity or snapshot.
+     * availableSeats adds a sharded trip's shard total to its pool (see InventoryShardService);
+     * a missing end date reads as now, like TripService.mapToTripResponse.
+     */
+    String TRIP_RESPONSE = """
+       SELECT new com.gotyolo.booking.dto.TripResponse(
+           t.id, t.title, t.destination, t.startDate, COALESCE(t.endDate, LOCAL DATETIME), t.price, t.maxCapacity,
+           CAST(CASE WHEN t.inventoryShards > 0
+                     THEN t.availableSeats + COALESCE((SELECT SUM(s.availableSeats) FROM TripInventoryShard s
+                                                       WHERE s.tripId = t.id), 0)
+                     ELSE t.availableSeats END AS Integer),
+           t.status, t.refundableUntilDaysBefore, t.cancellationFeePercent, t.createdAt)
+       FROM Trip t
+       """;
+
     // GET /trips (published only)
-    List<Trip> findAllByStatus(TripStatus status);
+    @Query(TRIP_RESPONSE + "WHERE t.status = :status")
+    List<TripResponse> findResponsesByStatus(@Param("status") TripStatus status);
+
+    // GET /trips/{tripId}
+    @Query(TRIP_RESPONSE + "WHERE t.id = :id")
+    Optional<TripResponse> findResponseById(@Param("id") UUID id);
 
     // Concurrency safety (SELECT FOR UPDATE)
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -0,0 +1,81 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.TripSeatMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Every write to a trip's seat map happens while the statement's transaction holds the trip row lock
+ * (booking, cancel, failed payment, expiry and trip cancellation all update trips), so the bitmap
+ * row itself is never a point of contention and no seat has a row of its own.
+ */
+public interface TripSeatMapRepository extends JpaRepository<TripSeatMap, UUID> {
+
+    @Query(value = "SELECT m.taken::text FROM trip_seat_maps m WHERE m.trip_id = :tripId", nativeQuery = true)
+    Optional<String> findBits(@Param("tripId") UUID tripId);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO trip_seat_maps (trip_id, taken, updated_at)
+       VALUES (:tripId, repeat('0', :seatCount)::varbit, :now)
+       ON CONFLICT (trip_id) DO NOTHING
+       """, nativeQuery = true)
+    int createEmpty(@Param("tripId") UUID tripId,
+                    @Param("seatCount") int seatCount,
+                    @Param("now") LocalDateTime now);
+
+    // Sets the seats' bits only when none of them is set yet; 0 rows = some seat is taken already
+    @Modifying
+    @Query(value = """
+       WITH requested AS (
+       """ + BookingSql.SEAT_MASK_SELECT + """
+           FROM trip_seat_maps m
+           CROSS JOIN unnest(CAST(:seats AS integer[])) AS s(seat_no)
+           WHERE m.trip_id = :tripId
+           GROUP BY m.trip_id
+       )
+       UPDATE trip_seat_maps m
+       SET taken = m.taken | r.bits,
+           updated_at = :now
+       FROM requested r
+       WHERE m.trip_id = r.trip_id
+         AND bit_count(m.taken & r.bits) = 0
+       """, nativeQuery = true)
+    int claimSeats(@Param("tripId") UUID tripId,
+                   @Param("seats") String seats,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+       WITH released AS (
+       """ + BookingSql.SEAT_MASK_SELECT + """
+           FROM trip_seat_maps m
+           CROSS JOIN unnest(CAST(:seats AS integer[])) AS s(seat_no)
+           WHERE m.trip_id = :tripId
+           GROUP BY m.trip_id
+       )
+       UPDATE trip_seat_maps m
+       SET taken = m.taken & ~r.bits,
+           updated_at = :now
+       FROM released r
+       WHERE m.trip_id = r.trip_id
+       """, nativeQuery = true)
+    int releaseSeats(@Param("tripId") UUID tripId,
+                     @Param("seats") String seats,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+       UPDATE trip_seat_maps
+       SET taken = repeat('0', length(taken))::varbit,
+           updated_at = :now
+       WHERE trip_id = :tripId
+       """, nativeQuery = true)
+    int releaseAll(@Param("tripId") UUID tripId, @Param("now") LocalDateTime now);
+}
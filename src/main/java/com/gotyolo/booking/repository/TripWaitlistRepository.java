@@ -0,0 +1,66 @@
+package com.gotyolo.booking.repository;
+
+import com.gotyolo.booking.entity.TripWaitlistEntry;
+import com.gotyolo.booking.enums.WaitlistStatus;
+import com.gotyolo.booking.interfaces.WaitlistPromotionInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TripWaitlistRepository extends JpaRepository<TripWaitlistEntry, UUID> {
+
+    Optional<TripWaitlistEntry> findByTripIdAndUserIdAndStatus(UUID tripId, UUID userId, WaitlistStatus status);
+
+    boolean existsByTripIdAndStatus(UUID tripId, WaitlistStatus status);
+
+    /**
+     * Joins the queue; a user already WAITING on the trip keeps their place and nothing is inserted
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO trip_waitlist (id, trip_id, user_id, num_seats, status, created_at)
+       VALUES (:id, :tripId, :userId, :numSeats, 'WAITING', :now)
+       ON CONFLICT (trip_id, user_id) WHERE status = 'WAITING' DO NOTHING
+       """, nativeQuery = true)
+    int insertIfNotWaiting(@Param("id") UUID id,
+                           @Param("tripId") UUID tripId,
+                           @Param("userId") UUID userId,
+                           @Param("numSeats") int numSeats,
+                           @Param("now") LocalDateTime now);
+
+    // 1-based place in the queue
+    @Query(value = """
+       SELECT COUNT(*)
+       FROM trip_waitlist w
+       WHERE w.trip_id = :tripId
+         AND w.status = 'WAITING'
+         AND w.seq <= :seq
+       """, nativeQuery = true)
+    long countWaitingUpTo(@Param("tripId") UUID tripId, @Param("seq") long seq);
+
+    @Query(value = "SELECT DISTINCT w.trip_id FROM trip_waitlist w WHERE w.status = 'WAITING'", nativeQuery = true)
+    List<UUID> findTripIdsWithWaitingEntries();
+
+    // See BookingSql.PROMOTE_WAITLIST
+    @Query(value = BookingSql.PROMOTE_WAITLIST, nativeQuery = true)
+    List<WaitlistPromotionInfo> promoteWaiting(@Param("tripIds") Collection<UUID> tripIds,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("expiresAt") LocalDateTime expiresAt,
+                                               @Param("shardNo") int shardNo);
+
+    @Modifying
+    @Query("""
+       UPDATE TripWaitlistEntry w
+       SET w.status = com.gotyolo.booking.enums.WaitlistStatus.CANCELLED
+       WHERE w.tripId = :tripId
+         AND w.status = com.gotyolo.booking.enums.WaitlistStatus.WAITING
+    """)
+    int cancelWaiting(@Param("tripId") UUID tripId);
+}
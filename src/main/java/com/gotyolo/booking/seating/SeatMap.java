@@ -0,0 +1,225 @@
+package com.gotyolo.booking.seating;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free seat bitmap of one trip. Seats are numbered 1..seatCount, seat n is bit (n - 1) of
+ * the long words, a set bit is a taken seat. Seats sit in rows of seatsPerRow; adjacent means
+ * consecutive within one row.
+ *
+ * Every claim is a CAS loop per affected word: a multi-seat claim either sets all of its bits or
+ * clears the words it already set and fails, so two callers can never both get a seat and a
+ * failed claim leaves nothing behind. Claim, release and the allocator never allocate.
+ */
+public final class SeatMap {
+
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final AtomicLongArray words;
+    private final int seatCount;
+    private final int seatsPerRow;
+    private final long loadedAtMillis;
+
+    public SeatMap(int seatCount, int seatsPerRow) {
+        if (seatCount <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Seat count and seats per row must be positive");
+        }
+        this.words = new AtomicLongArray((seatCount + 63) >>> 6);
+        this.seatCount = seatCount;
+        this.seatsPerRow = seatsPerRow;
+        this.loadedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Map from the persistent form: one '0' / '1' character per seat, as trip_seat_maps.taken::text
+     */
+    public static SeatMap fromBits(CharSequence bits, int seatsPerRow) {
+        SeatMap map = new SeatMap(bits.length(), seatsPerRow);
+        for (int i = 0; i < bits.length(); i++) {
+            if (bits.charAt(i) == '1') {
+                // Not shared yet, no CAS needed
+                map.words.set(i >>> 6, map.words.get(i >>> 6) | 1L << i);
+            }
+        }
+        return map;
+    }
+
+    public int seatCount() {
+        return seatCount;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public boolean isTaken(int seat) {
+        int bit = seat - 1;
+        return (words.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public int freeSeats() {
+        int taken = 0;
+        for (int w = 0; w < words.length(); w++) {
+            taken += Long.bitCount(words.get(w));
+        }
+        return seatCount - taken;
+    }
+
+    /**
+     * Claims seats[0..count) (ascending, distinct, 1..seatCount) all or nothing
+     */
+    public boolean claim(int[] seats, int count) {
+        int i = 0;
+        while (i < count) {
+            int word = (seats[i] - 1) >>> 6;
+            long mask = 0;
+            int j = i;
+            while (j < count && (seats[j] - 1) >>> 6 == word) {
+                mask |= 1L << (seats[j] - 1);
+                j++;
+            }
+            if (!setBits(word, mask)) {
+                release(seats, i);
+                return false;
+            }
+            i = j;
+        }
+        return true;
+    }
+
+    /**
+     * Frees seats[0..count) (ascending, 1..seatCount)
+     */
+    public void release(int[] seats, int count) {
+        int i = 0;
+        while (i < count) {
+            int word = (seats[i] - 1) >>> 6;
+            long mask = 0;
+            while (i < count && (seats[i] - 1) >>> 6 == word) {
+                mask |= 1L << (seats[i] - 1);
+                i++;
+            }
+            clearBits(word, mask);
+        }
+    }
+
+    /**
+     * Claims count seats and writes them to out[0..count) in ascending order: the best adjacent
+     * block (the smallest free run in a row that fits, so larger runs stay whole for larger groups),
+     * else the lowest free seats. False when fewer than count seats are free.
+     */
+    public boolean claimBest(int count, int[] out) {
+        if (count <= 0 || count > seatCount) {
+            return false;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int start = bestAdjacentStart(count);
+            if (start > 0) {
+                if (claimRange(start, count)) {
+                    for (int k = 0; k < count; k++) {
+                        out[k] = start + k;
+                    }
+                    return true;
+                }
+                // Lost the block to a concurrent claim: look again
+                continue;
+            }
+            if (!lowestFree(count, out)) {
+                return false;
+            }
+            if (claim(out, count)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * First seat of the best free run of count seats, 0 if there is none. Groups larger than a
+     * row may span rows.
+     */
+    int bestAdjacentStart(int count) {
+        int rowLength = count > seatsPerRow ? seatCount : seatsPerRow;
+        int bestStart = 0;
+        int bestLength = Integer.MAX_VALUE;
+        for (int rowStart = 1; rowStart <= seatCount; rowStart += rowLength) {
+            int rowEnd = Math.min(rowStart + rowLength - 1, seatCount);
+            int runStart = 0;
+            for (int seat = rowStart; seat <= rowEnd + 1; seat++) {
+                boolean free = seat <= rowEnd && !isTaken(seat);
+                if (free) {
+                    if (runStart == 0) {
+                        runStart = seat;
+                    }
+                    continue;
+                }
+                if (runStart != 0) {
+                    int length = seat - runStart;
+                    if (length == count) {
+                        return runStart;
+                    }
+                    if (length > count && length < bestLength) {
+                        bestStart = runStart;
+                        bestLength = length;
+                    }
+                    runStart = 0;
+                }
+            }
+        }
+        return bestStart;
+    }
+
+    private boolean lowestFree(int count, int[] out) {
+        int found = 0;
+        for (int seat = 1; seat <= seatCount && found < count; seat++) {
+            if (!isTaken(seat)) {
+                out[found++] = seat;
+            }
+        }
+        return found == count;
+    }
+
+    private boolean claimRange(int start, int count) {
+        int from = start - 1;
+        int to = from + count;
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            if (!setBits(word, rangeMask(word, from, to))) {
+                for (int w = from >>> 6; w < word; w++) {
+                    clearBits(w, rangeMask(w, from, to));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Bits [from, to) of the map that fall into the given word
+    private static long rangeMask(int word, int from, int to) {
+        int lo = Math.max(from, word << 6) - (word << 6);
+        int hi = Math.min(to, (word << 6) + 64) - (word << 6);
+        long upTo = hi == 64 ? -1L : (1L << hi) - 1;
+        return upTo & (-1L << lo);
+    }
+
+    private boolean setBits(int word, long mask) {
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private void clearBits(int word, long mask) {
+        long current;
+        do {
+            current = words.get(word);
+        } while (!words.compareAndSet(word, current, current & ~mask));
+    }
+}
@@ -0,0 +1,53 @@
+package com.gotyolo.booking.seating;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conversions of a booking's seat numbers between the API (List), the in-memory form (sorted int[])
+ * and SQL (bookings.seat_numbers INTEGER[], bound as an array literal, read back comma-separated).
+ */
+@UtilityClass
+public class SeatNumbers {
+
+    public static int[] sorted(List<Integer> seats) {
+        if (seats == null) {
+            return null;
+        }
+        int[] sorted = seats.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public static List<Integer> toList(int[] seats) {
+        return seats == null ? null : Arrays.stream(seats).boxed().toList();
+    }
+
+    /**
+     * "{3,4,5}", for CAST(:seats AS integer[])
+     */
+    public static String toArrayLiteral(int[] seats) {
+        StringBuilder literal = new StringBuilder(seats.length * 4 + 2).append('{');
+        for (int i = 0; i < seats.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(seats[i]);
+        }
+        return literal.append('}').toString();
+    }
+
+    /**
+     * array_to_string(seat_numbers, ',') back to sorted seats; null / empty = no seats assigned
+     */
+    public static int[] parse(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return null;
+        }
+        int[] seats = Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Arrays.sort(seats);
+        return seats;
+    }
+}
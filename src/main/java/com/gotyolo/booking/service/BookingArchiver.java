@@ -0,0 +1,79 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.dto.BookingArchiveResponse;
+import com.gotyolo.booking.repository.BookingArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves CONFIRMED / CANCELLED / EXPIRED bookings of trips that ended more than after-days ago
+ * into bookings_archive, so the hot bookings partitions (and their indexes) only hold live data.
+ * Each batch is its own short transaction; trip rows are never locked.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.bookings.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bookings.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${app.bookings.archive.batch-size:1000}")
+    private int batchSize;
+
+    public BookingArchiver(BookingArchiveRepository bookingArchiveRepository,
+                           DatabaseShardRouter shardRouter,
+                           PlatformTransactionManager transactionManager) {
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.bookings.archive.cron:0 45 2 * * *}")
+    public void archiveScheduled() {
+        if (!enabled) {
+            return;
+        }
+        shardRouter.forEachShard("Booking archival", this::archiveCompletedTrips);
+    }
+
+    public BookingArchiveResponse archiveCompletedTrips() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        log.info("Booking archival started | tripEndedBefore={} | batchSize={}", cutoff, batchSize);
+
+        long start = System.nanoTime();
+        int archived = 0;
+        int batches = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status ->
+                    bookingArchiveRepository.archiveTerminalBookings(cutoff, batchSize));
+            int count = moved != null ? moved : 0;
+            if (count == 0) {
+                break;
+            }
+            archived += count;
+            batches++;
+            log.debug("Archived batch {} with {} bookings", batches, count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Booking archival completed | archived={} | batches={} | tookMs={}", archived, batches, tookMs);
+        return new BookingArchiveResponse(archived, batches, cutoff, tookMs);
+    }
+}
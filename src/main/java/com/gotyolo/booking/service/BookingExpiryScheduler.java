@@ -1,36 +1,65 @@
 package com.gotyolo.booking.service;
 
+import com.gotyolo.booking.audit.AuditEventType;
+import com.gotyolo.booking.audit.AuditJournal;
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
 import com.gotyolo.booking.enums.BookingState;
 import com.gotyolo.booking.interfaces.ExpiredBookingInfo;
+import com.gotyolo.booking.jfr.ExpiryChunkEvent;
 import com.gotyolo.booking.repository.BookingRepository;
 import com.gotyolo.booking.repository.TripRepository;
 import com.gotyolo.booking.utils.NullSafeUtils;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class BookingExpiryScheduler {
 
     private final BookingRepository bookingRepository;
     private final TripRepository tripRepository;
+    private final WaitlistService waitlistService;
+    private final SeatInventoryService seatInventoryService;
+    private final AuditJournal auditJournal;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingExpiryScheduler(BookingRepository bookingRepository,
+                                  TripRepository tripRepository,
+                                  WaitlistService waitlistService,
+                                  SeatInventoryService seatInventoryService,
+                                  AuditJournal auditJournal,
+                                  DatabaseShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.tripRepository = tripRepository;
+        this.waitlistService = waitlistService;
+        this.seatInventoryService = seatInventoryService;
+        this.auditJournal = auditJournal;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * CRITICAL: Auto-expire PENDING_PAYMENT + RELEASE SEATS ATOMICALLY
      * 1. Find expired bookings (state=PENDING_PAYMENT, expiresAt < now)
      * 2. For EACH: Update booking.state=EXPIRED + trip.availableSeats += numSeats
-     * 3. SINGLE TRANSACTION - Either ALL succeed or NONE
+     * 3. Released seats go to waitlisted users (all trips, one statement)
+     * 4. SINGLE TRANSACTION - Either ALL succeed or NONE (one per database shard when sharded)
      * Runs every 1 minute
      */
     @Scheduled(fixedRate = 60000)
-    @Transactional
     public void expirePendingBookings() {
+        shardRouter.forEachShard("Booking expiry",
+                () -> transactionTemplate.executeWithoutResult(status -> expireOnCurrentShard()));
+    }
+
+    private void expireOnCurrentShard() {
 
         log.info("Booking Expiry Scheduler Triggered");
         log.debug("Step 1: Fetching expired bookings with state=PENDING_PAYMENT");
@@ -40,12 +69,17 @@ public class BookingExpiryScheduler {
 
         if (expiredBookings == null || expiredBookings.isEmpty()) {
             log.info("No expired bookings found at this run");
+            promoteWaitlist();
             return;
         }
 
         log.info("Found {} expired bookings to process", expiredBookings.size());
 
         int processedCount = 0;
+        int seatsReleased = 0;
+
+        ExpiryChunkEvent expiryChunk = new ExpiryChunkEvent();
+        expiryChunk.begin();
 
         for (ExpiredBookingInfo info : expiredBookings) {
 
@@ -61,6 +95,7 @@ public class BookingExpiryScheduler {
             try {
                 processSingleExpiredBooking(info);
                 processedCount++;
+                seatsReleased += seats;
 
                 log.info("Booking expired successfully");
                 log.info("Booking ID      : {}", bookingId);
@@ -79,11 +114,31 @@ public class BookingExpiryScheduler {
             }
         }
 
+        expiryChunk.end();
+        if (expiryChunk.shouldCommit()) {
+            expiryChunk.bookingCount = processedCount;
+            expiryChunk.seatsReleased = seatsReleased;
+            expiryChunk.commit();
+        }
+
+        promoteWaitlist();
+
         log.info("Booking Expiry Scheduler Completed");
         log.info("Total Processed : {}", processedCount);
         log.info("Total Found     : {}", expiredBookings.size());
     }
 
+    /**
+     * Every trip with waiting users, not only the ones expired above: also picks up seats that came
+     * back while a join was racing the release
+     */
+    private void promoteWaitlist() {
+        int promoted = waitlistService.promoteAllWaiting().size();
+        if (promoted > 0) {
+            log.info("Waitlist Promoted : {}", promoted);
+        }
+    }
+
     private void processSingleExpiredBooking(ExpiredBookingInfo info) {
 
         String bookingId = NullSafeUtils.safeToString(info != null ? info.getBookingId() : null);
@@ -122,6 +177,11 @@ public class BookingExpiryScheduler {
             throw new IllegalStateException("Seat release failed for tripId=" + tripId);
         }
 
+        // Trip row is locked by the release above, as every seat map write requires
+        seatInventoryService.release(info.getTripId(), info.getSeatNumbers());
+        auditJournal.record(AuditEventType.EXPIRED, info.getBookingId(), info.getTripId(), info.getUserId(),
+                info.getNumSeats(), null);
+
         log.info("Expiry Finalized");
         log.info("Booking ID     : {}", bookingId);
         log.info("Trip ID        : {}", tripId);
@@ -0,0 +1,267 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.BookingExportFilter;
+import com.gotyolo.booking.enums.BulkFormat;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams bookings (live and archived) straight from a server-side cursor to the response:
+ * rows are fetched fetch-size at a time and written as they arrive, never mapped to entities
+ * or collected, so memory stays flat however many rows match.
+ */
+@Slf4j
+@Service
+public class BookingExportService {
+
+    static final String[] COLUMNS = {
+            "id", "trip_id", "user_id", "num_seats", "state", "price_at_booking", "refund_amount",
+            "payment_reference", "created_at", "cancelled_at", "archived"
+    };
+
+    private static final String LIVE_SELECT = """
+            SELECT id, trip_id, user_id, num_seats, state, price_at_booking, refund_amount,
+                   payment_reference, created_at, cancelled_at, false AS archived
+            FROM bookings""";
+
+    private static final String ARCHIVE_SELECT = """
+            SELECT id, trip_id, user_id, num_seats, state, price_at_booking, refund_amount,
+                   payment_reference, created_at, cancelled_at, true AS archived
+            FROM bookings_archive""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public BookingExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                JsonMapper jsonMapper,
+                                @Value("${app.bookings.export.fetch-size:1000}") int fetchSize) {
+        // The Postgres driver only uses a cursor inside a transaction and with a fetch size set;
+        // read-only also sends the export to the replica when routing is enabled
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Rejects a filter before the response is committed; errors after that can only abort the stream
+     */
+    public void validate(BookingExportFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new ValidationException("Export 'from' must be before 'to'");
+        }
+    }
+
+    /**
+     * Writes every matching booking to out and returns the number of rows written
+     */
+    public long export(BookingExportFilter filter, BulkFormat format, OutputStream out) {
+        validate(filter);
+        log.info("Booking export started | format={} | tripId={} | state={} | from={} | to={} | includeArchived={}",
+                format, NullSafeUtils.safeToString(filter.tripId()), filter.state(),
+                filter.from(), filter.to(), filter.includeArchived());
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(LIVE_SELECT).append(where(filter, args));
+        if (filter.includeArchived()) {
+            sql.append("\nUNION ALL\n").append(ARCHIVE_SELECT).append(where(filter, args));
+        }
+
+        long start = System.nanoTime();
+        ExportRowWriter writer = format == BulkFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(sql.toString(), (RowCallbackHandler) writer::write, args.toArray()));
+        writer.finish();
+
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Booking export completed | rows={} | tookMs={}", writer.rows, tookMs);
+        return writer.rows;
+    }
+
+    private static String where(BookingExportFilter filter, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.tripId() != null) {
+            conditions.add("trip_id = ?");
+            args.add(filter.tripId());
+        }
+        if (filter.state() != null) {
+            conditions.add("state = ?");
+            args.add(filter.state().name());
+        }
+        // Plain bounds on created_at let Postgres skip the bookings partitions outside the range
+        if (filter.from() != null) {
+            conditions.add("created_at >= ?");
+            args.add(filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            conditions.add("created_at < ?");
+            args.add(filter.to().atStartOfDay());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static String timestamp(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+
+    private abstract static class ExportRowWriter {
+
+        long rows;
+
+        final void write(ResultSet rs) throws SQLException {
+            try {
+                writeRow(rs);
+                rows++;
+            } catch (IOException e) {
+                // Client went away: abort the query instead of reading the rest of the cursor
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        final void finish() {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+        abstract void close() throws IOException;
+    }
+
+    private final class NdjsonRowWriter extends ExportRowWriter {
+
+        private final OutputStream out;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) {
+            this.out = out;
+            this.generator = jsonMapper.writer().withRootValueSeparator("\n").createGenerator(out);
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException {
+            generator.writeStartObject();
+            generator.writeStringProperty(COLUMNS[0], rs.getString(1));
+            generator.writeStringProperty(COLUMNS[1], rs.getString(2));
+            generator.writeStringProperty(COLUMNS[2], rs.getString(3));
+            generator.writeNumberProperty(COLUMNS[3], rs.getInt(4));
+            generator.writeStringProperty(COLUMNS[4], rs.getString(5));
+            writeDecimal(COLUMNS[5], rs.getString(6));
+            writeDecimal(COLUMNS[6], rs.getString(7));
+            generator.writeStringProperty(COLUMNS[7], rs.getString(8));
+            generator.writeStringProperty(COLUMNS[8], timestamp(rs, 9));
+            generator.writeStringProperty(COLUMNS[9], timestamp(rs, 10));
+            generator.writeBooleanProperty(COLUMNS[10], rs.getBoolean(11));
+            generator.writeEndObject();
+        }
+
+        private void writeDecimal(String name, String value) {
+            generator.writeName(name);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+
+        @Override
+        void close() throws IOException {
+            if (rows > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            out.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends ExportRowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            writer.write(rs.getString(1));
+            writer.write(',');
+            writer.write(rs.getString(2));
+            writer.write(',');
+            writer.write(rs.getString(3));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt(4)));
+            writer.write(',');
+            writer.write(rs.getString(5));
+            writer.write(',');
+            field(rs.getString(6));
+            writer.write(',');
+            field(rs.getString(7));
+            writer.write(',');
+            field(rs.getString(8));
+            writer.write(',');
+            field(timestamp(rs, 9));
+            writer.write(',');
+            field(timestamp(rs, 10));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean(11)));
+            writer.write('\n');
+        }
+
+        /**
+         * RFC 4180: empty for null, quoted when the value holds a delimiter, quote or line break
+         */
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
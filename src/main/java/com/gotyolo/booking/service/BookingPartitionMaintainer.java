@@ -0,0 +1,171 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the range-partitioned bookings table ahead of the clock.
+ * Creates bookings_default plus one partition per month (current + months-ahead), and detaches and
+ * drops partitions that are older than drop-empty-after-months and already emptied by BookingArchiver.
+ * Does nothing when bookings is still a plain table (see scripts/migrate-bookings-to-partitioned.sql).
+ *
+ * Lookups by booking id (webhooks, cancel, GET /bookings/{id}, expiry) carry no created_at, so they
+ * are not pruned and probe the primary key of every attached partition. max-partitions caps that
+ * fan-out: the settings must fit in it, and partitions past it are reported on every run.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class BookingPartitionMaintainer {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final String PARTITION_PREFIX = "bookings_";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseShardRouter shardRouter;
+
+    @Value("${app.bookings.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bookings.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.bookings.partitions.drop-empty-after-months:6}")
+    private int dropEmptyAfterMonths;
+
+    @Value("${app.bookings.partitions.max-partitions:12}")
+    private int maxPartitions;
+
+    @PostConstruct
+    public void init() {
+        // Months kept before the current one, the current one, months ahead, bookings_default
+        int steadyState = dropEmptyAfterMonths + 1 + monthsAhead + 1;
+        if (steadyState > maxPartitions) {
+            throw new IllegalStateException("app.bookings.partitions keeps up to " + steadyState
+                    + " partitions (drop-empty-after-months + months-ahead + 2), above max-partitions=" + maxPartitions);
+        }
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.bookings.partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        shardRouter.forEachShard("Booking partition maintenance", this::maintainCurrentShard);
+    }
+
+    private void maintainCurrentShard() {
+        if (!isPartitioned()) {
+            log.warn("bookings is not a partitioned table, skipping partition maintenance. "
+                    + "Run scripts/migrate-bookings-to-partitioned.sql to convert it");
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT");
+
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            if (createMonthlyPartition(current.plusMonths(i))) {
+                created++;
+            }
+        }
+
+        int dropped = dropEmptyPartitionsBefore(current.minusMonths(dropEmptyAfterMonths));
+        int attached = countAttachedPartitions();
+
+        log.info("Booking partitions maintained | created={} | dropped={} | monthsAhead={} | attached={}",
+                created, dropped, monthsAhead, attached);
+        if (attached > maxPartitions) {
+            // Old months still holding live bookings (trips that have not ended, or not archived yet)
+            log.warn("bookings has {} partitions, above max-partitions={}; every lookup by booking id probes "
+                    + "each of them. Archive or move the remaining rows of the oldest months", attached, maxPartitions);
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('bookings')", String.class);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private boolean createMonthlyPartition(YearMonth month) {
+        String name = partitionName(month);
+        if (partitionExists(name)) {
+            return false;
+        }
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF bookings "
+                    + "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Created booking partition {} [{}, {})", name, from, to);
+            return true;
+        } catch (RuntimeException e) {
+            // Postgres refuses the new partition when bookings_default already holds rows for its range
+            log.error("Could not create booking partition {} [{}, {}): {}", name, from, to, e.getMessage());
+            return false;
+        }
+    }
+
+    private int dropEmptyPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('bookings')
+                  AND c.relname ~ '^bookings_y[0-9]{4}m[0-9]{2}$'
+                ORDER BY c.relname
+                """, String.class);
+
+        String cutoffName = partitionName(cutoff);
+        int dropped = 0;
+        for (String name : partitions) {
+            if (name.compareTo(cutoffName) >= 0) {
+                break;
+            }
+            Boolean hasRows = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class);
+            if (Boolean.TRUE.equals(hasRows)) {
+                log.debug("Booking partition {} still has rows, keeping it", name);
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped empty booking partition {}", name);
+            dropped++;
+        }
+        return dropped;
+    }
+
+    private int countAttachedPartitions() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*)::int FROM pg_inherits WHERE inhparent = to_regclass('bookings')", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private boolean partitionExists(String name) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,13 +1,29 @@
 package com.gotyolo.booking.service;
 
+import com.gotyolo.booking.audit.AuditEventType;
+import com.gotyolo.booking.audit.AuditJournal;
+import com.gotyolo.booking.datasource.ReadYourWritesTracker;
 import com.gotyolo.booking.dto.BookingResponse;
 import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.UserBookingPageResponse;
+import com.gotyolo.booking.dto.UserBookingResponse;
 import com.gotyolo.booking.dto.WebhookRequest;
 import com.gotyolo.booking.entity.Booking;
 import com.gotyolo.booking.entity.Trip;
 import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.IdempotentOperation;
+import com.gotyolo.booking.enums.TripStatus;
 import com.gotyolo.booking.exception.*;
+import com.gotyolo.booking.interfaces.BookingTransitionInfo;
+import com.gotyolo.booking.interfaces.ShardReservationInfo;
+import com.gotyolo.booking.interfaces.UserBookingRow;
+import com.gotyolo.booking.jfr.BookingInsertEvent;
+import com.gotyolo.booking.jfr.SeatReserveEvent;
+import com.gotyolo.booking.jfr.WebhookApplyEvent;
 import com.gotyolo.booking.repository.BookingRepository;
+import com.gotyolo.booking.seating.SeatNumbers;
+import com.gotyolo.booking.utils.BookingHistoryCursor;
+import com.gotyolo.booking.utils.BookingRules;
 import com.gotyolo.booking.utils.NullSafeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +33,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -24,8 +44,17 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookingService {
 
+    public static final int MAX_HISTORY_PAGE = 100;
+
     private final BookingRepository bookingRepository;
     private final TripService tripService;
+    private final TripContentionTracker contentionTracker;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final WaitlistService waitlistService;
+    private final IdempotencyService idempotencyService;
+    private final InventoryShardService inventoryShardService;
+    private final SeatInventoryService seatInventoryService;
+    private final AuditJournal auditJournal;
 
     @Value("${app.booking.expiry-minutes:15}")
     private Integer bookingExpiryMinutes;
@@ -41,40 +70,102 @@ public class BookingService {
         validateCreateBookingRequest(request);
         log.info("Create booking request validated successfully");
 
+        // Seat selection needs the locked path: sharded trips have no seat map
+        Optional<ShardReservationInfo> fromShard = request.seatNumbers() == null
+                ? inventoryShardService.reserve(tripId, request.numSeats())
+                : Optional.empty();
+        if (fromShard.isPresent()) {
+            Booking savedBooking = insertBooking(tripId,
+                    newPendingBooking(tripId, request, fromShard.get().getPrice(), null));
+            log.info("Booking created from inventory shard {}: {}",
+                    fromShard.get().getShardNo(), NullSafeUtils.safeToString(savedBooking.getId()));
+            return mapToBookingResponse(savedBooking, tripId);
+        }
+
+        // Seats the trip's cached seat map can give (or refuses) before queueing on the trip lock
+        int[] claimedSeats = seatInventoryService.claimBeforeLock(tripId, request);
+
         log.info("Fetching trip with pessimistic lock for tripId={}", tripId);
         Trip trip = tripService.getTripForBookingWithLock(tripId);
+        // Sharded trip whose shards could not serve the request: rebalance under the trip lock
+        inventoryShardService.drainIntoPool(trip);
         log.info("Fetched trip {} with availableSeats={}", trip.getId(), trip.getAvailableSeats());
 
         log.info("Validating seat availability...");
         validateSeatsAvailability(trip, request.numSeats());
         log.info("Seat availability validated successfully");
 
+        int[] seats = seatInventoryService.assign(trip, request, claimedSeats);
+
         log.info("Building booking entity...");
-        Booking booking = Booking.builder()
-                .tripId(trip.getId())
-                .userId(UUID.fromString(NullSafeUtils.safeToString(request.userId())))
-                .numSeats(NullSafeUtils.safeToInt(request.numSeats()))
-                .state(BookingState.PENDING_PAYMENT)
-                .priceAtBooking(NullSafeUtils.safeMultiply(trip.getPrice(), request.numSeats()))
-                .expiresAt(LocalDateTime.now().plusMinutes(NullSafeUtils.safeToInt(bookingExpiryMinutes)))
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        Booking booking = newPendingBooking(trip.getId(), request, trip.getPrice(), seats);
 
         log.info("Reserving seats atomically. Current availableSeats={}, requested={}",
                 trip.getAvailableSeats(), request.numSeats());
+        SeatReserveEvent seatReserve = new SeatReserveEvent();
+        seatReserve.begin();
         trip.setAvailableSeats(NullSafeUtils.safeSubtract(trip.getAvailableSeats(), request.numSeats()));
         trip.setUpdatedAt(LocalDateTime.now());
-        log.info("Seats reserved. New availableSeats={}", trip.getAvailableSeats());
+        inventoryShardService.spread(trip);
 
         log.info("Saving trip and booking in transaction...");
         tripService.saveTrip(trip);
-        Booking savedBooking = bookingRepository.save(booking);
+        bookingRepository.flush();
+        seatReserve.end();
+        if (seatReserve.shouldCommit()) {
+            seatReserve.tripId = NullSafeUtils.safeToString(tripId);
+            seatReserve.seats = NullSafeUtils.safeToInt(request.numSeats());
+            seatReserve.commit();
+        }
+        log.info("Seats reserved. New availableSeats={}", trip.getAvailableSeats());
 
+        Booking savedBooking = insertBooking(tripId, booking);
         log.info("Booking created: {}", NullSafeUtils.safeToString(savedBooking.getId()));
         return mapToBookingResponse(savedBooking, trip.getId());
     }
 
+    private Booking newPendingBooking(UUID tripId, CreateBookingRequest request, BigDecimal seatPrice, int[] seats) {
+        return Booking.builder()
+                .tripId(tripId)
+                .userId(UUID.fromString(NullSafeUtils.safeToString(request.userId())))
+                .numSeats(NullSafeUtils.safeToInt(request.numSeats()))
+                .seatNumbers(seats)
+                .state(BookingState.PENDING_PAYMENT)
+                .priceAtBooking(BookingRules.priceAtBooking(seatPrice, request.numSeats()))
+                .expiresAt(BookingRules.paymentDeadline(LocalDateTime.now(), bookingExpiryMinutes))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Booking insertBooking(UUID tripId, Booking booking) {
+        BookingInsertEvent bookingInsert = new BookingInsertEvent();
+        bookingInsert.begin();
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
+        bookingInsert.end();
+        if (bookingInsert.shouldCommit()) {
+            bookingInsert.tripId = NullSafeUtils.safeToString(tripId);
+            bookingInsert.bookingId = NullSafeUtils.safeToString(savedBooking.getId());
+            bookingInsert.commit();
+        }
+
+        readYourWritesTracker.recordWrite(savedBooking.getId());
+        auditJournal.record(AuditEventType.CREATED, savedBooking.getId(), tripId, savedBooking.getUserId(),
+                savedBooking.getNumSeats(), savedBooking.getPriceAtBooking());
+        return savedBooking;
+    }
+
+    /**
+     * createBooking keyed by the client's Idempotency-Key: a retry gets the first attempt's response
+     * without locking the trip or inserting a second hold. Not @Transactional itself, so a replay
+     * served from memory takes no connection; see IdempotencyService.
+     */
+    public BookingResponse createBooking(UUID tripId, CreateBookingRequest request, String idempotencyKey) {
+        return idempotencyService.execute(IdempotentOperation.BOOK, request.userId(), idempotencyKey,
+                IdempotencyService.bookingFingerprint(tripId, request.userId(), request.numSeats(), request.seatNumbers()),
+                () -> createBooking(tripId, request));
+    }
+
     @Transactional
     public void processPaymentWebhook(WebhookRequest request) {
         String bookingIdStr = NullSafeUtils.safeToString(request.bookingId());
@@ -83,100 +174,145 @@ public class BookingService {
 
         log.info("Processing webhook - Booking: {}, Status: {}, Key: {}", bookingIdStr, status, idempotencyKey);
 
-        if (NullSafeUtils.isNullOrEmpty(bookingIdStr) || NullSafeUtils.isNullOrEmpty(idempotencyKey)) {
+        if (!BookingRules.isProcessableWebhook(request)) {
             log.warn("Invalid webhook: missing required fields");
             return;
         }
 
-        log.info("Checking idempotency for key={}", idempotencyKey);
-        if (bookingRepository.existsByIdempotencyKey(idempotencyKey)) {
-            log.info("Duplicate webhook ignored: {}", idempotencyKey);
-            return;
-        }
-
         UUID bookingId = NullSafeUtils.safeParseUUID(bookingIdStr);
         if (bookingId == null) {
             log.warn("Invalid booking ID format: {}", bookingIdStr);
             return;
         }
 
-        log.info("Fetching booking for webhook. bookingId={}", bookingId);
-        Booking booking = bookingRepository.findById(bookingId).orElse(null);
-
-        if (!isValidForWebhook(booking)) {
-            log.warn("Webhook ignored: invalid booking state or null: {}", bookingIdStr);
-            return;
-        }
-
-        log.info("Webhook is valid. Current booking state={}", booking.getState());
+        WebhookApplyEvent webhookApply = new WebhookApplyEvent();
+        webhookApply.begin();
 
-        if ("success".equalsIgnoreCase(status)) {
+        // Guarded on state = PENDING_PAYMENT, so duplicate webhooks and bookings that already
+        // expired or were cancelled update nothing
+        Optional<BookingTransitionInfo> applied;
+        if (BookingRules.isPaymentSuccess(status)) {
             log.info("Payment successful. Confirming booking {}", bookingId);
-            booking.setState(BookingState.CONFIRMED);
-            booking.setPaymentReference(idempotencyKey);
+            applied = bookingRepository.confirmPendingBooking(bookingId, idempotencyKey, LocalDateTime.now());
         } else {
             log.info("Payment failed. Expiring booking {} and releasing seats", bookingId);
-            booking.setState(BookingState.EXPIRED);
-            releaseSeatsForBooking(booking);
+            applied = bookingRepository.expirePendingBookingAndReleaseSeats(bookingId, idempotencyKey, LocalDateTime.now());
         }
 
-        booking.setIdempotencyKey(idempotencyKey);
-        booking.setUpdatedAt(LocalDateTime.now());
-        bookingRepository.save(booking);
+        if (applied.isEmpty()) {
+            log.info("Webhook ignored: booking missing, not pending payment, or duplicate key={}", idempotencyKey);
+            return;
+        }
+
+        BookingTransitionInfo booking = applied.get();
+        readYourWritesTracker.recordWrite(bookingId);
+        auditJournal.record(BookingRules.isPaymentSuccess(status) ? AuditEventType.CONFIRMED : AuditEventType.PAYMENT_FAILED,
+                bookingId, booking.getTripId(), booking.getUserId(), booking.getNumSeats(), null);
+        if (booking.getTripAvailableSeats() != null) {
+            seatInventoryService.releaseAfterCommit(booking.getTripId(), booking.getSeatNumbers());
+            // Seats went back to the trip; the trip row is still locked by the transition
+            waitlistService.promote(List.of(booking.getTripId()));
+        }
+
+        webhookApply.end();
+        if (webhookApply.shouldCommit()) {
+            webhookApply.tripId = NullSafeUtils.safeToString(booking.getTripId());
+            webhookApply.bookingId = bookingIdStr;
+            webhookApply.status = status;
+            webhookApply.commit();
+        }
 
-        log.info("Webhook processed successfully: {} -> {}", bookingIdStr, booking.getState());
+        log.info("Webhook processed successfully: {} -> {} | tripAvailableSeats={}",
+                bookingIdStr, booking.getState(), booking.getTripAvailableSeats());
     }
 
     @Transactional
     public BookingResponse cancelBooking(UUID bookingId) {
         log.info("Cancelling booking: {}", NullSafeUtils.safeToString(bookingId));
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Booking not found: " + NullSafeUtils.safeToString(bookingId)));
-
-        log.info("Fetched booking {} with state={}", bookingId, booking.getState());
-
-        log.info("Validating cancellation rules...");
-        validateCancellation(booking);
-        log.info("Cancellation validation passed");
-
-        Trip trip = tripService.getTripById(booking.getTripId());
-        log.info("Fetched trip {} for cancellation", trip.getId());
-
-        LocalDateTime cutoffDate = calculateCutoff(trip);
-        log.info("Calculated cutoffDate={}", cutoffDate);
-
-        BigDecimal refundAmount = calculateRefundAmount(booking, trip, cutoffDate);
-        log.info("Calculated refundAmount={}", refundAmount);
-
-        booking.setState(BookingState.CANCELLED);
-        booking.setRefundAmount(refundAmount);
-        booking.setCancelledAt(LocalDateTime.now());
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        log.info("Releasing seats for cancelled booking {}", bookingId);
-        releaseSeatsForBooking(booking);
-
-        Booking saved = bookingRepository.save(booking);
-        log.info("Booking cancelled: {} refund: {}", NullSafeUtils.safeToString(bookingId),
-                NullSafeUtils.safeToString(refundAmount));
+        // Booking update, refund and seat release in one statement; see BookingRepository.cancelAndReleaseSeats
+        BookingTransitionInfo cancelled = bookingRepository.cancelAndReleaseSeats(bookingId, LocalDateTime.now())
+                .orElseThrow(() -> cancellationRejected(bookingId));
+
+        readYourWritesTracker.recordWrite(bookingId);
+        auditJournal.record(AuditEventType.CANCELLED, bookingId, cancelled.getTripId(), cancelled.getUserId(),
+                cancelled.getNumSeats(), cancelled.getRefundAmount());
+        seatInventoryService.releaseAfterCommit(cancelled.getTripId(), cancelled.getSeatNumbers());
+        waitlistService.promote(List.of(cancelled.getTripId()));
+        log.info("Booking cancelled: {} refund: {} | tripAvailableSeats={}",
+                NullSafeUtils.safeToString(bookingId),
+                NullSafeUtils.safeToString(cancelled.getRefundAmount()),
+                cancelled.getTripAvailableSeats());
+
+        return mapToBookingResponse(toBooking(cancelled), cancelled.getTripId());
+    }
 
-        return mapToBookingResponse(saved, booking.getTripId());
+    /**
+     * cancelBooking keyed by the caller's Idempotency-Key: a retry gets the original cancellation
+     * (and refund) back instead of a 409 for the already cancelled booking. The key is scoped by
+     * userId (the X-User-Id header), so another caller reusing it is never replayed this outcome.
+     */
+    public BookingResponse cancelBooking(UUID bookingId, String userId, String idempotencyKey) {
+        return idempotencyService.execute(IdempotentOperation.CANCEL, userId, idempotencyKey,
+                IdempotencyService.cancelFingerprint(bookingId, userId),
+                () -> cancelBooking(bookingId));
     }
 
+    @Transactional(readOnly = true)
     public BookingResponse getBooking(UUID bookingId) {
         log.info("Fetching booking: {}", NullSafeUtils.safeToString(bookingId));
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingResponse booking = bookingRepository.findResponseById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Booking not found: " + NullSafeUtils.safeToString(bookingId)));
 
         log.info("Booking fetched successfully: {}", bookingId);
-        return mapToBookingResponse(booking, booking.getTripId());
+        return booking;
+    }
+
+    /**
+     * A user's live and archived bookings on the current database shard, newest first after the cursor
+     * (null = from the newest); one row more than limit, so toUserBookingPage can tell whether another
+     * page follows. An empty states set means every state.
+     */
+    @Transactional(readOnly = true)
+    public List<UserBookingResponse> getUserBookings(UUID userId, Set<BookingState> states,
+                                                     BookingHistoryCursor after, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_HISTORY_PAGE);
+        }
+        List<String> filter = (states.isEmpty() ? EnumSet.allOf(BookingState.class) : states).stream()
+                .map(BookingState::name)
+                .toList();
+
+        List<UserBookingRow> rows = after == null
+                ? bookingRepository.findUserBookings(userId, filter, limit + 1)
+                : bookingRepository.findUserBookingsBefore(userId, filter, after.createdAt(), after.id(), limit + 1);
+        return rows.stream().map(BookingService::toUserBooking).toList();
+    }
+
+    /**
+     * Merges the getUserBookings results of one or more shards into the first limit bookings
+     */
+    public UserBookingPageResponse toUserBookingPage(List<UserBookingResponse> rows, int limit) {
+        List<UserBookingResponse> newestFirst = rows.stream().sorted(BookingHistoryCursor.NEWEST_FIRST).toList();
+        if (newestFirst.size() <= limit) {
+            return new UserBookingPageResponse(newestFirst, null);
+        }
+        List<UserBookingResponse> page = newestFirst.subList(0, limit);
+        return new UserBookingPageResponse(page, BookingHistoryCursor.after(page.get(limit - 1)).encode());
     }
 
-    private BookingResponse mapToBookingResponse(Booking booking, UUID tripId) {
+    private static UserBookingResponse toUserBooking(UserBookingRow row) {
+        return new UserBookingResponse(row.getId(), row.getTripId(), row.getTripTitle(), row.getTripDestination(),
+                row.getTripStartDate(), row.getTripEndDate(), TripStatus.valueOf(row.getTripStatus()),
+                row.getNumSeats(), BookingState.valueOf(row.getState()), row.getPriceAtBooking(),
+                row.getCreatedAt(), row.getExpiresAt(), row.getCancelledAt(), row.getRefundAmount(),
+                SeatNumbers.toList(SeatNumbers.parse(row.getSeatNumbers())));
+    }
+
+    BookingResponse mapToBookingResponse(Booking booking, UUID tripId) {
         log.info("Mapping Booking entity to BookingResponse. bookingId={}", booking.getId());
 
         return new BookingResponse(
@@ -191,23 +327,15 @@ public class BookingService {
                 NullSafeUtils.safeGetLocalDateTime(booking.getCreatedAt()),
                 NullSafeUtils.safeGetLocalDateTime(booking.getExpiresAt()),
                 NullSafeUtils.safeGetLocalDateTime(booking.getCancelledAt()),
-                NullSafeUtils.safeGetBigDecimal(booking.getRefundAmount())
+                NullSafeUtils.safeGetBigDecimal(booking.getRefundAmount()),
+                SeatNumbers.toList(booking.getSeatNumbers())
         );
     }
 
-    private void validateCreateBookingRequest(CreateBookingRequest request) {
+    void validateCreateBookingRequest(CreateBookingRequest request) {
         log.info("Validating CreateBookingRequest");
 
-        if (request == null) throw new ValidationException("Booking request cannot be null");
-
-        if (NullSafeUtils.isNullOrEmpty(request.userId())) {
-            throw new ValidationException("User ID cannot be null or empty");
-        }
-
-        if (NullSafeUtils.safeToInt(request.numSeats()) == null ||
-                NullSafeUtils.safeToInt(request.numSeats()) <= 0) {
-            throw new ValidationException("Number of seats must be positive");
-        }
+        BookingRules.validateCreateBookingRequest(request);
 
         log.info("CreateBookingRequest validation successful");
     }
@@ -218,7 +346,8 @@ public class BookingService {
 
         log.info("Validating seats. available={}, requested={}", available, requested);
 
-        if (available == null || requested == null || available < requested) {
+        if (!BookingRules.hasEnoughSeats(available, requested)) {
+            contentionTracker.recordConflict(trip.getId());
             throw new ConflictException("Not enough seats available: " +
                     NullSafeUtils.safeToString(available));
         }
@@ -226,73 +355,34 @@ public class BookingService {
         log.info("Seat validation successful");
     }
 
-    private boolean isValidForWebhook(Booking booking) {
-        boolean valid = booking != null && BookingState.PENDING_PAYMENT.equals(booking.getState());
-        log.info("Webhook validation result: {}", valid);
-        return valid;
-    }
-
-    private void validateCancellation(Booking booking) {
-        BookingState state = NullSafeUtils.safeGetBookingState(booking.getState());
-        log.info("Validating cancellation. Current state={}", state);
-
-        if (state == BookingState.CANCELLED || state == BookingState.EXPIRED) {
-            throw new ConflictException("Cannot cancel booking in state: " + state);
-        }
-    }
-
-    private LocalDateTime calculateCutoff(Trip trip) {
-        if (trip == null || trip.getStartDate() == null || trip.getRefundableUntilDaysBefore() == null) {
-            log.info("Cutoff date defaulted to now due to missing trip data");
-            return LocalDateTime.now();
-        }
-
-        LocalDateTime cutoff = trip.getStartDate()
-                .minusDays(trip.getRefundableUntilDaysBefore());
-
-        log.info("Calculated cutoffDate={}", cutoff);
-        return cutoff;
-    }
-
-    private BigDecimal calculateRefundAmount(Booking booking, Trip trip, LocalDateTime cutoffDate) {
-        log.info("Calculating refund. bookingState={}, cutoffDate={}",
-                booking.getState(), cutoffDate);
-
-        if (LocalDateTime.now().isBefore(cutoffDate) &&
-                BookingState.CONFIRMED.equals(booking.getState())) {
-
-            Integer feePercent = NullSafeUtils.safeToInt(trip.getCancellationFeePercent());
-            log.info("Cancellation fee percent={}", feePercent);
-
-            if (feePercent != null && feePercent > 0) {
-                BigDecimal fee = BigDecimal.valueOf(feePercent)
-                        .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP);
-
-                BigDecimal refund = NullSafeUtils.safeGetBigDecimal(booking.getPriceAtBooking())
-                        .multiply(BigDecimal.ONE.subtract(fee));
-
-                log.info("Refund calculated={}", refund);
-                return refund;
-            }
+    /**
+     * Only reached when the guarded cancel updated nothing; one extra lookup to pick 404 vs 409
+     */
+    private RuntimeException cancellationRejected(UUID bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null) {
+            return new ResourceNotFoundException("Booking not found: " + NullSafeUtils.safeToString(bookingId));
         }
-
-        log.info("No refund applicable. Returning ZERO");
-        return BigDecimal.ZERO;
+        BookingState state = NullSafeUtils.safeGetBookingState(booking.getState());
+        log.info("Cancellation rejected. Current state={}", state);
+        return new ConflictException("Cannot cancel booking in state: " + state);
     }
 
-    private void releaseSeatsForBooking(Booking booking) {
-        log.info("Releasing seats for booking {}", booking.getId());
-
-        Trip trip = tripService.getTripById(booking.getTripId());
-        log.info("Fetched trip {} with availableSeats={}", trip.getId(), trip.getAvailableSeats());
-
-        Integer newAvailable = NullSafeUtils.safeAdd(trip.getAvailableSeats(), booking.getNumSeats());
-        trip.setAvailableSeats(Math.min(newAvailable, trip.getMaxCapacity()));
-        trip.setUpdatedAt(LocalDateTime.now());
-
-        log.info("Seats released. New availableSeats={}", trip.getAvailableSeats());
-
-        tripService.saveTrip(trip);
-        log.info("Trip saved after seat release. tripId={}", trip.getId());
+    private Booking toBooking(BookingTransitionInfo info) {
+        return Booking.builder()
+                .id(info.getBookingId())
+                .tripId(info.getTripId())
+                .userId(info.getUserId())
+                .numSeats(info.getNumSeats())
+                .seatNumbers(SeatNumbers.parse(info.getSeatNumbers()))
+                .state(BookingState.valueOf(info.getState()))
+                .priceAtBooking(info.getPriceAtBooking())
+                .paymentReference(info.getPaymentReference())
+                .idempotencyKey(info.getIdempotencyKey())
+                .createdAt(info.getCreatedAt())
+                .expiresAt(info.getExpiresAt())
+                .cancelledAt(info.getCancelledAt())
+                .refundAmount(info.getRefundAmount())
+                .build();
     }
 }
@@ -0,0 +1,158 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.FlightRecordingResponse;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.jfr.*;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Slf4j
+@Service
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "gotyolo-booking";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final List<Class<? extends Event>> BOOKING_EVENTS = List.of(
+            ConnectionAcquireEvent.class,
+            TripLockWaitEvent.class,
+            TripLockHeldEvent.class,
+            SeatReserveEvent.class,
+            BookingInsertEvent.class,
+            WebhookApplyEvent.class,
+            ExpiryChunkEvent.class
+    );
+
+    @Value("${app.jfr.dump-directory:logs/jfr}")
+    private String dumpDirectory;
+
+    @Value("${app.jfr.settings:default}")
+    private String settings;
+
+    @Value("${app.jfr.event-threshold-ms:0}")
+    private Long eventThresholdMs;
+
+    @Value("${app.jfr.max-age-minutes:30}")
+    private Long maxAgeMinutes;
+
+    private Recording recording;
+
+    /**
+     * Starts the booking recording: JDK "default" settings (~1% overhead) plus the GoTyolo events.
+     * Only one recording is managed at a time.
+     */
+    public synchronized FlightRecordingResponse start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ConflictException("Flight recording already running: " + recording.getId());
+        }
+
+        log.info("Starting flight recording settings={} thresholdMs={} maxAgeMinutes={}",
+                settings, eventThresholdMs, maxAgeMinutes);
+
+        Recording newRecording = new Recording(loadConfiguration());
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        for (Class<? extends Event> eventType : BOOKING_EVENTS) {
+            newRecording.enable(eventType).withThreshold(Duration.ofMillis(eventThresholdMs));
+        }
+        newRecording.start();
+
+        if (recording != null) {
+            recording.close();
+        }
+        recording = newRecording;
+
+        log.info("Flight recording started id={}", recording.getId());
+        return toResponse(recording, null);
+    }
+
+    /**
+     * Writes everything recorded so far to a new .jfr file; the recording keeps running
+     */
+    public synchronized FlightRecordingResponse dump() {
+        Recording current = requireRecording();
+
+        Path target = Paths.get(dumpDirectory)
+                .resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+
+        log.info("Dumping flight recording id={} to {}", current.getId(), target);
+        try {
+            Files.createDirectories(target.getParent());
+            current.dump(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording to " + target, e);
+        }
+
+        log.info("Flight recording dumped id={} path={}", current.getId(), target);
+        return toResponse(current, target);
+    }
+
+    public synchronized FlightRecordingResponse stop() {
+        Recording current = requireRecording();
+
+        log.info("Stopping flight recording id={}", current.getId());
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+        }
+        FlightRecordingResponse response = toResponse(current, null);
+        current.close();
+        recording = null;
+        return response;
+    }
+
+    public synchronized FlightRecordingResponse status() {
+        return toResponse(requireRecording(), null);
+    }
+
+    private Recording requireRecording() {
+        if (recording == null) {
+            throw new ConflictException("No flight recording has been started");
+        }
+        return recording;
+    }
+
+    private Configuration loadConfiguration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings: " + settings, e);
+        }
+    }
+
+    private FlightRecordingResponse toResponse(Recording rec, Path dumpPath) {
+        Long dumpSize = null;
+        if (dumpPath != null) {
+            try {
+                dumpSize = Files.size(dumpPath);
+            } catch (IOException e) {
+                log.warn("Could not read size of dump {}", dumpPath);
+            }
+        }
+        return new FlightRecordingResponse(
+                rec.getId(),
+                rec.getName(),
+                NullSafeUtils.safeToString(rec.getState()),
+                rec.getStartTime(),
+                NullSafeUtils.safeToString(dumpPath != null ? dumpPath.toAbsolutePath() : null),
+                dumpSize
+        );
+    }
+}
@@ -0,0 +1,181 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.entity.IdempotencyRecord;
+import com.gotyolo.booking.enums.IdempotentOperation;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.repository.IdempotencyRecordRepository;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the first outcome of a booking create or cancel sent again with the same Idempotency-Key.
+ *
+ * Recent outcomes are kept in a bounded in-memory map checked before any transaction opens, so a
+ * retry that lands on the same instance takes no connection at all. Otherwise the key row in
+ * idempotency_keys is claimed first in the operation's own transaction: a retry racing the first
+ * attempt waits on that row instead of the trip lock, and gets the stored response once the first
+ * one commits. Failed attempts roll their claim back, so they can be retried with the same key.
+ * Keys are scoped by the calling user: two users picking the same key never see each other's
+ * outcome, and the stored key is "<length of user id>:<user id>:<client key>" so no pair of user id
+ * and key can collide with another.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Map<String, CachedOutcome> recent = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.cache-max-entries:100000}")
+    private int cacheMaxEntries;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              DatabaseShardRouter shardRouter,
+                              PlatformTransactionManager transactionManager,
+                              JsonMapper jsonMapper) {
+        this.recordRepository = recordRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public static String bookingFingerprint(Object tripId, Object userId, Object numSeats, Object seatNumbers) {
+        String fingerprint = IdempotentOperation.BOOK + ":" + NullSafeUtils.safeToString(tripId) + ":"
+                + NullSafeUtils.safeToString(userId) + ":" + NullSafeUtils.safeToString(numSeats);
+        return seatNumbers == null ? fingerprint : fingerprint + ":" + seatNumbers;
+    }
+
+    public static String cancelFingerprint(Object bookingId, Object userId) {
+        return IdempotentOperation.CANCEL + ":" + NullSafeUtils.safeToString(bookingId) + ":"
+                + NullSafeUtils.safeToString(userId);
+    }
+
+    /**
+     * Runs the operation once per key; a repeat with the same key and request gets the stored
+     * response, one with the same key and a different request is rejected.
+     */
+    public BookingResponse execute(IdempotentOperation operation, String userId, String key, String fingerprint,
+                                   Supplier<BookingResponse> action) {
+        String idempotencyKey = scopedKey(userId, validateKey(key));
+
+        CachedOutcome cached = recent.get(idempotencyKey);
+        if (cached != null && cached.expiresAtMillis() >= System.currentTimeMillis()) {
+            log.info("Idempotent replay from memory | operation={} | key={}", operation, idempotencyKey);
+            return replay(cached.fingerprint(), fingerprint, cached.response());
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusHours(ttlHours);
+            if (recordRepository.claim(idempotencyKey, operation.name(), fingerprint, now, expiresAt) == 0) {
+                return replayStored(operation, idempotencyKey, fingerprint);
+            }
+
+            BookingResponse response = action.get();
+            recordRepository.storeResponse(idempotencyKey, response.id(), jsonMapper.writeValueAsString(response));
+            rememberAfterCommit(idempotencyKey, new CachedOutcome(fingerprint, response,
+                    System.currentTimeMillis() + ttlHours * 3_600_000L));
+            return response;
+        });
+    }
+
+    @Scheduled(fixedRate = 300000)
+    public void purgeExpired() {
+        long nowMillis = System.currentTimeMillis();
+        recent.values().removeIf(outcome -> outcome.expiresAtMillis() < nowMillis);
+
+        shardRouter.forEachShard("Idempotency key purge", () -> {
+            int deleted = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+            if (deleted > 0) {
+                log.info("Purged {} expired idempotency keys", deleted);
+            }
+        });
+    }
+
+    private BookingResponse replayStored(IdempotentOperation operation, String key, String fingerprint) {
+        IdempotencyRecord record = recordRepository.findById(key)
+                .orElseThrow(() -> new ConflictException("Idempotency-Key changed concurrently, retry: " + key));
+        if (record.getResponseBody() == null) {
+            throw new ConflictException("Request with this Idempotency-Key is still in progress: " + key);
+        }
+
+        log.info("Idempotent replay from database | operation={} | key={}", operation, key);
+        BookingResponse response = jsonMapper.readValue(record.getResponseBody(), BookingResponse.class);
+        long ttlMillis = Duration.between(LocalDateTime.now(), record.getExpiresAt()).toMillis();
+        remember(key, new CachedOutcome(record.getRequestFingerprint(), response,
+                System.currentTimeMillis() + ttlMillis));
+        return replay(record.getRequestFingerprint(), fingerprint, response);
+    }
+
+    private BookingResponse replay(String storedFingerprint, String fingerprint, BookingResponse response) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new ValidationException("Idempotency-Key was already used for a different request");
+        }
+        return response;
+    }
+
+    private String validateKey(String key) {
+        if (NullSafeUtils.isNullOrEmpty(key) || key.isBlank()) {
+            throw new ValidationException("Idempotency-Key must not be blank");
+        }
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    private static String scopedKey(String userId, String key) {
+        String user = userId == null ? "" : userId;
+        return user.length() + ":" + user + ":" + key;
+    }
+
+    private void rememberAfterCommit(String key, CachedOutcome outcome) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(key, outcome);
+            }
+        });
+    }
+
+    private void remember(String key, CachedOutcome outcome) {
+        if (recent.size() >= cacheMaxEntries) {
+            long nowMillis = System.currentTimeMillis();
+            recent.values().removeIf(cached -> cached.expiresAtMillis() < nowMillis);
+            if (recent.size() >= cacheMaxEntries) {
+                log.debug("Idempotency cache full ({} keys); key {} is replayed from the database",
+                        recent.size(), key);
+                return;
+            }
+        }
+        recent.put(key, outcome);
+    }
+
+    private record CachedOutcome(String fingerprint, BookingResponse response, long expiresAtMillis) {}
+}
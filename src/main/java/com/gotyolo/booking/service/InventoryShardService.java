@@ -0,0 +1,233 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.interfaces.ShardReservationInfo;
+import com.gotyolo.booking.interfaces.ShardSeatsInfo;
+import com.gotyolo.booking.repository.TripInventoryShardRepository;
+import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Sharded seat inventory for very high-capacity trips.
+ *
+ * A sharded trip's free seats are split over trip_inventory_shards rows; trips.available_seats is
+ * the unallocated pool. Bookings take seats from a random shard (neighbours next) without locking
+ * the trip row, so N shards give up to N concurrent seat writers per trip. Every seat release in
+ * the service (cancel, failed payment, expiry, trip cancellation) keeps adding to trips.available_seats,
+ * i.e. to the pool, and the pool goes back to the shards in rebalance(), when a booking finds no
+ * shard with enough seats, or in the periodic spread. Free seats are always pool + shard total.
+ */
+@Slf4j
+@Service
+public class InventoryShardService {
+
+    static final int MAX_SHARDS = 256;
+
+    private final TripInventoryShardRepository shardRepository;
+    private final TripRepository tripRepository;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    // Shard count of trips seen sharded by this instance. Only a hint for taking the shard path:
+    // the locked fallback in BookingService reads the real count from the trip row.
+    private final Map<UUID, Integer> knownShardCounts = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.shards.enabled:false}")
+    private boolean shardingEnabled;
+
+    @Value("${app.inventory.shards.min-capacity:1000}")
+    private int minCapacity;
+
+    @Value("${app.inventory.shards.count:16}")
+    private int defaultShardCount;
+
+    public InventoryShardService(TripInventoryShardRepository shardRepository,
+                                 TripRepository tripRepository,
+                                 DatabaseShardRouter shardRouter,
+                                 PlatformTransactionManager transactionManager) {
+        this.shardRepository = shardRepository;
+        this.tripRepository = tripRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Seats from one shard of a trip known to be sharded; empty when the trip is not known to be
+     * sharded, not PUBLISHED, or no shard holds enough seats. Joins the caller's transaction.
+     */
+    @Transactional
+    public Optional<ShardReservationInfo> reserve(UUID tripId, int seats) {
+        Integer shardCount = knownShardCounts.get(tripId);
+        if (shardCount == null) {
+            return Optional.empty();
+        }
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<ShardReservationInfo> reserved = shardRepository.takeSeatsSkipLocked(tripId, seats, start, shardCount, now);
+        if (reserved.isEmpty()) {
+            reserved = shardRepository.takeSeats(tripId, seats, start, shardCount, now);
+        }
+        reserved.ifPresent(r -> log.debug("Seats taken from shard | tripId={} | shard={} | seats={}",
+                tripId, r.getShardNo(), seats));
+        return reserved;
+    }
+
+    /**
+     * Moves every shard's seats into the pool of a locked trip, so the caller can check and take
+     * seats on trip.availableSeats as for an unsharded trip, then hand the rest back with spread().
+     */
+    public void drainIntoPool(Trip trip) {
+        remember(trip);
+        if (!isSharded(trip)) {
+            return;
+        }
+        int drained = shardRepository.drainShards(trip.getId(), LocalDateTime.now());
+        trip.setAvailableSeats(NullSafeUtils.safeToInt(trip.getAvailableSeats()) + drained);
+        log.info("Shards drained into pool | tripId={} | seats={} | pool={}",
+                trip.getId(), drained, trip.getAvailableSeats());
+    }
+
+    /**
+     * Splits the pool of a locked trip evenly over its shards and empties the pool
+     */
+    public void spread(Trip trip) {
+        if (!isSharded(trip)) {
+            return;
+        }
+        int pool = NullSafeUtils.safeToInt(trip.getAvailableSeats());
+        int shards = trip.getInventoryShards();
+        if (pool > 0) {
+            shardRepository.addToShards(trip.getId(), pool / shards, pool % shards, LocalDateTime.now());
+        }
+        trip.setAvailableSeats(0);
+        trip.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Shards a new trip when sharding is enabled and the trip is large enough
+     */
+    public void shardIfLarge(Trip trip) {
+        if (autoShardMinCapacity() > 0 && NullSafeUtils.safeToInt(trip.getMaxCapacity()) >= minCapacity) {
+            reshard(trip, defaultShardCount);
+        }
+    }
+
+    /**
+     * Capacity from which shardIfLarge shards a new trip; 0 when new trips are never sharded.
+     * Bulk trip import applies the same rule set-based.
+     */
+    public int autoShardMinCapacity() {
+        return shardingEnabled && defaultShardCount > 0 ? Math.max(minCapacity, 1) : 0;
+    }
+
+    public int autoShardCount() {
+        return defaultShardCount;
+    }
+
+    /**
+     * Changes the shard count of a trip (0 = unsharded). Free seats are kept.
+     */
+    @Transactional
+    public Trip reshard(UUID tripId, int shardCount) {
+        Trip trip = tripRepository.findByIdForUpdate(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        reshard(trip, shardCount);
+        return tripRepository.save(trip);
+    }
+
+    /**
+     * Free seats of a trip as clients see them: pool plus shard total
+     */
+    public int availableSeats(Trip trip) {
+        remember(trip);
+        int pool = NullSafeUtils.safeToInt(trip.getAvailableSeats());
+        if (!isSharded(trip)) {
+            return pool;
+        }
+        return pool + shardRepository.sumAvailableSeats(List.of(trip.getId())).stream()
+                .mapToInt(info -> NullSafeUtils.safeToInt(info.getAvailableSeats()))
+                .sum();
+    }
+
+    /**
+     * Shard totals of the sharded trips among the given ones, in one query
+     */
+    public Map<UUID, Integer> shardSeats(List<Trip> trips) {
+        List<UUID> sharded = trips.stream()
+                .peek(this::remember)
+                .filter(this::isSharded)
+                .map(Trip::getId)
+                .toList();
+        if (sharded.isEmpty()) {
+            return Map.of();
+        }
+        return shardRepository.sumAvailableSeats(sharded).stream()
+                .collect(Collectors.toMap(ShardSeatsInfo::getTripId,
+                        info -> NullSafeUtils.safeToInt(info.getAvailableSeats())));
+    }
+
+    @Scheduled(fixedRateString = "${app.inventory.shards.rebalance-interval-ms:30000}")
+    public void spreadPools() {
+        shardRouter.forEachShard("Inventory shard spread", () -> {
+            Integer trips = transactionTemplate.execute(status -> shardRepository.spreadPools(LocalDateTime.now()));
+            if (trips != null && trips > 0) {
+                log.info("Released seats spread back over shards | trips={}", trips);
+            }
+        });
+    }
+
+    private void reshard(Trip trip, int shardCount) {
+        if (shardCount < 0 || shardCount > MAX_SHARDS) {
+            throw new ValidationException("Shard count must be between 0 and " + MAX_SHARDS);
+        }
+        if (shardCount > 0 && SeatInventoryService.hasSeatMap(trip)) {
+            throw new ValidationException("Trips with a seat map cannot be sharded");
+        }
+        drainIntoPool(trip);
+        shardRepository.deleteByTrip(trip.getId());
+        trip.setInventoryShards(shardCount);
+        if (shardCount > 0) {
+            shardRepository.createEmptyShards(trip.getId(), shardCount, LocalDateTime.now());
+            spread(trip);
+        }
+        trip.setUpdatedAt(LocalDateTime.now());
+        remember(trip);
+        log.info("Trip resharded | tripId={} | shards={}", trip.getId(), shardCount);
+    }
+
+    private boolean isSharded(Trip trip) {
+        return NullSafeUtils.safeToInt(trip.getInventoryShards()) > 0;
+    }
+
+    private void remember(Trip trip) {
+        if (trip.getId() == null) {
+            return;
+        }
+        if (isSharded(trip)) {
+            knownShardCounts.put(trip.getId(), trip.getInventoryShards());
+        } else {
+            knownShardCounts.remove(trip.getId());
+        }
+    }
+}
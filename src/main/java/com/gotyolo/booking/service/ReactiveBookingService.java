@@ -0,0 +1,294 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.audit.AuditEventType;
+import com.gotyolo.booking.audit.AuditJournal;
+import com.gotyolo.booking.datasource.ReactiveDatabase;
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.entity.Booking;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.repository.BookingSql;
+import com.gotyolo.booking.repository.TripInventoryShardRepository;
+import com.gotyolo.booking.utils.BookingRules;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking create and payment webhook for the reactive profile.
+ * Same statements, locking and rules (BookingRules, BookingSql) as BookingService, over R2DBC.
+ * Sharded trips take the blocking stack's locked fallback: shards drained into the pool under the
+ * trip lock, seats taken from the pool, the rest spread back over the shards.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookingService {
+
+    private static final String LOCK_TRIP =
+            "SELECT " + ReactiveTripService.TRIP_COLUMNS + " FROM trips WHERE id = :id FOR UPDATE";
+
+    private static final String RESERVE_SEATS =
+            "UPDATE trips SET available_seats = available_seats - :seats, updated_at = :now WHERE id = :id";
+
+    // Sharded trip: the seats left after the booking went back to the shards
+    private static final String EMPTY_POOL =
+            "UPDATE trips SET available_seats = 0, updated_at = :now WHERE id = :id";
+
+    private static final String INSERT_BOOKING = """
+            INSERT INTO bookings (id, trip_id, user_id, num_seats, state, price_at_booking,
+                                  created_at, expires_at, updated_at)
+            VALUES (:id, :tripId, :userId, :numSeats, :state, :priceAtBooking, :createdAt, :expiresAt, :updatedAt)
+            """;
+
+    private final ReactiveDatabase reactiveDatabase;
+    private final BookingService bookingService;
+    private final TripContentionTracker contentionTracker;
+    private final AuditJournal auditJournal;
+
+    @Value("${app.booking.expiry-minutes:15}")
+    private Integer bookingExpiryMinutes;
+
+    public Mono<BookingResponse> createBooking(UUID tripId, CreateBookingRequest request) {
+        return Mono.defer(() -> {
+            log.info("Creating booking for trip {} with {} seats for user {} (reactive)",
+                    NullSafeUtils.safeToString(tripId),
+                    NullSafeUtils.safeToString(request != null ? request.numSeats() : null),
+                    NullSafeUtils.safeToString(request != null ? request.userId() : null));
+
+            BookingRules.validateCreateBookingRequest(request);
+            if (request.seatNumbers() != null) {
+                throw new ValidationException("Seat selection is only available on the blocking API");
+            }
+
+            // Lock hold time ends when the transaction completes, as with the blocking stack
+            AtomicLong lockAcquiredAt = new AtomicLong();
+            return lockTrip(tripId, lockAcquiredAt)
+                    .flatMap(this::drainShards)
+                    .flatMap(trip -> reserveSeats(trip, request))
+                    .as(reactiveDatabase.transactionalOperator()::transactional)
+                    // After the transaction: no imperative synchronization to defer the append to
+                    .doOnNext(booking -> auditJournal.record(AuditEventType.CREATED, booking.id(), booking.tripId(),
+                            NullSafeUtils.safeParseUUID(booking.userId()), booking.numSeats(), booking.priceAtBooking()))
+                    .doFinally(signal -> {
+                        long acquiredAt = lockAcquiredAt.get();
+                        if (acquiredAt != 0) {
+                            contentionTracker.lockReleased(tripId, System.nanoTime() - acquiredAt);
+                        }
+                    });
+        });
+    }
+
+    public Mono<Void> processPaymentWebhook(WebhookRequest request) {
+        return Mono.defer(() -> {
+            if (!BookingRules.isProcessableWebhook(request)) {
+                log.warn("Invalid webhook: missing required fields");
+                return Mono.empty();
+            }
+
+            String bookingIdStr = request.bookingId();
+            UUID bookingId = NullSafeUtils.safeParseUUID(bookingIdStr);
+            if (bookingId == null) {
+                log.warn("Invalid booking ID format: {}", bookingIdStr);
+                return Mono.empty();
+            }
+
+            boolean success = BookingRules.isPaymentSuccess(request.status());
+            log.info("Processing webhook - Booking: {}, Status: {}, Key: {} (reactive)",
+                    bookingIdStr, request.status(), request.idempotencyKey());
+
+            // One guarded statement; see BookingSql. A failed payment promotes the trip's waitlist into
+            // the released seats in the same transaction, as BookingService does
+            Mono<AppliedWebhook> applied = reactiveDatabase.client().sql(success
+                            ? BookingSql.CONFIRM_PENDING_BOOKING
+                            : BookingSql.EXPIRE_PENDING_BOOKING_AND_RELEASE_SEATS)
+                    .bind("bookingId", bookingId)
+                    .bind("idempotencyKey", request.idempotencyKey())
+                    .bind("now", LocalDateTime.now())
+                    .map(row -> new AppliedWebhook(row.get("tripId", UUID.class), row.get("userId", UUID.class),
+                            row.get("numSeats", Integer.class), NullSafeUtils.safeToString(row.get("state", String.class)),
+                            List.of()))
+                    .one();
+            if (!success) {
+                applied = applied.flatMap(this::promoteWaitlist);
+            }
+
+            return applied
+                    .as(reactiveDatabase.transactionalOperator()::transactional)
+                    .doOnNext(webhook -> {
+                        auditJournal.record(success ? AuditEventType.CONFIRMED : AuditEventType.PAYMENT_FAILED,
+                                bookingId, webhook.tripId(), webhook.userId(), webhook.numSeats(), null);
+                        for (PromotedHold hold : webhook.promoted()) {
+                            auditJournal.record(AuditEventType.CREATED, hold.bookingId(), webhook.tripId(),
+                                    hold.userId(), hold.numSeats(), null);
+                        }
+                        log.info("Webhook processed successfully: {} -> {} | waitlistPromoted={}",
+                                bookingIdStr, webhook.state(), webhook.promoted().size());
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(() -> log.info(
+                            "Webhook ignored: booking missing, not pending payment, or duplicate key={}",
+                            request.idempotencyKey())))
+                    .then();
+        });
+    }
+
+    private record AppliedWebhook(UUID tripId, UUID userId, Integer numSeats, String state,
+                                  List<PromotedHold> promoted) {
+    }
+
+    private record PromotedHold(UUID bookingId, UUID userId, Integer numSeats) {
+    }
+
+    // BookingSql.PROMOTE_WAITLIST for the trip the failed payment released seats on
+    private Mono<AppliedWebhook> promoteWaitlist(AppliedWebhook webhook) {
+        LocalDateTime now = LocalDateTime.now();
+        return reactiveDatabase.client().sql(BookingSql.PROMOTE_WAITLIST)
+                .bind("tripIds", List.of(webhook.tripId()))
+                .bind("now", now)
+                .bind("expiresAt", BookingRules.paymentDeadline(now, bookingExpiryMinutes))
+                // The reactive profile has a single database; see DatabaseShardConfiguration
+                .bind("shardNo", -1)
+                .map(row -> new PromotedHold(row.get("bookingId", UUID.class), row.get("userId", UUID.class),
+                        row.get("numSeats", Integer.class)))
+                .all()
+                .collectList()
+                .map(promoted -> new AppliedWebhook(webhook.tripId(), webhook.userId(), webhook.numSeats(),
+                        webhook.state(), promoted));
+    }
+
+    private Mono<Trip> lockTrip(UUID tripId, AtomicLong lockAcquiredAt) {
+        contentionTracker.lockRequested(tripId);
+        long waitStart = System.nanoTime();
+
+        return reactiveDatabase.client().sql(LOCK_TRIP)
+                .bind("id", tripId)
+                .map(ReactiveTripService::mapRow)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId))))
+                .doOnNext(trip -> {
+                    long now = System.nanoTime();
+                    contentionTracker.lockAcquired(tripId, now - waitStart);
+                    lockAcquiredAt.set(now);
+                })
+                .doOnError(e -> {
+                    if (lockAcquiredAt.get() == 0) {
+                        contentionTracker.lockAbandoned(tripId);
+                    }
+                });
+    }
+
+    /**
+     * Moves the shard seats of a locked sharded trip into trip.availableSeats (in memory only; the
+     * pool row is rewritten by reserveSeats), as InventoryShardService.drainIntoPool does
+     */
+    private Mono<Trip> drainShards(Trip trip) {
+        if (NullSafeUtils.safeToInt(trip.getInventoryShards()) == 0) {
+            return Mono.just(trip);
+        }
+        return reactiveDatabase.client().sql(TripInventoryShardRepository.DRAIN_SHARDS)
+                .bind("tripId", trip.getId())
+                .bind("now", LocalDateTime.now())
+                .map(row -> row.get(0, Integer.class))
+                .one()
+                .map(drained -> {
+                    trip.setAvailableSeats(NullSafeUtils.safeToInt(trip.getAvailableSeats()) + drained);
+                    log.info("Shards drained into pool | tripId={} | seats={} | pool={} (reactive)",
+                            trip.getId(), drained, trip.getAvailableSeats());
+                    return trip;
+                });
+    }
+
+    private Mono<BookingResponse> reserveSeats(Trip trip, CreateBookingRequest request) {
+        if (!BookingRules.isBookable(trip.getStatus())) {
+            log.info("Trip is not in PUBLISHED state. Current state={}", trip.getStatus());
+            return Mono.error(new ResourceNotFoundException(
+                    "Trip must be PUBLISHED: " + NullSafeUtils.safeToString(trip.getId())));
+        }
+
+        // Booking by count would leave the seats free in the trip's seat map
+        if (SeatInventoryService.hasSeatMap(trip)) {
+            return Mono.error(new ValidationException("Trip is sold by seat; book it on the blocking API"));
+        }
+
+        Integer requested = NullSafeUtils.safeToInt(request.numSeats());
+        if (!BookingRules.hasEnoughSeats(trip.getAvailableSeats(), requested)) {
+            contentionTracker.recordConflict(trip.getId());
+            return Mono.error(new ConflictException("Not enough seats available: " +
+                    NullSafeUtils.safeToString(trip.getAvailableSeats())));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .tripId(trip.getId())
+                .userId(UUID.fromString(NullSafeUtils.safeToString(request.userId())))
+                .numSeats(requested)
+                .state(BookingState.PENDING_PAYMENT)
+                .priceAtBooking(BookingRules.priceAtBooking(trip.getPrice(), requested))
+                .expiresAt(BookingRules.paymentDeadline(now, bookingExpiryMinutes))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        int shards = NullSafeUtils.safeToInt(trip.getInventoryShards());
+        Mono<Long> reserve = shards == 0
+                ? reactiveDatabase.client().sql(RESERVE_SEATS)
+                        .bind("seats", requested)
+                        .bind("now", now)
+                        .bind("id", trip.getId())
+                        .fetch()
+                        .rowsUpdated()
+                : spreadRemaining(trip.getId(), trip.getAvailableSeats() - requested, shards, now);
+
+        Mono<Long> insert = reactiveDatabase.client().sql(INSERT_BOOKING)
+                .bind("id", booking.getId())
+                .bind("tripId", booking.getTripId())
+                .bind("userId", booking.getUserId())
+                .bind("numSeats", booking.getNumSeats())
+                .bind("state", booking.getState().name())
+                .bind("priceAtBooking", booking.getPriceAtBooking())
+                .bind("createdAt", booking.getCreatedAt())
+                .bind("expiresAt", booking.getExpiresAt())
+                .bind("updatedAt", booking.getUpdatedAt())
+                .fetch()
+                .rowsUpdated();
+
+        return reserve.then(insert)
+                .doOnSuccess(rows -> log.info("Booking created: {} (reactive)", booking.getId()))
+                .thenReturn(booking)
+                .map(saved -> bookingService.mapToBookingResponse(saved, saved.getTripId()));
+    }
+
+    // InventoryShardService.spread for a trip whose shards were drained: remaining seats to the shards, pool to 0
+    private Mono<Long> spreadRemaining(UUID tripId, int remaining, int shards, LocalDateTime now) {
+        Mono<Long> spread = reactiveDatabase.client().sql(TripInventoryShardRepository.ADD_TO_SHARDS)
+                .bind("base", remaining / shards)
+                .bind("extra", remaining % shards)
+                .bind("now", now)
+                .bind("tripId", tripId)
+                .fetch()
+                .rowsUpdated();
+        Mono<Long> emptyPool = reactiveDatabase.client().sql(EMPTY_POOL)
+                .bind("now", now)
+                .bind("id", tripId)
+                .fetch()
+                .rowsUpdated();
+        return spread.then(emptyPool);
+    }
+}
@@ -0,0 +1,79 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.datasource.ReactiveDatabase;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Trip reads for the reactive profile. Same queries and response mapping as TripService, over R2DBC.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTripService {
+
+    static final String TRIP_COLUMNS = """
+            id, title, destination, start_date, end_date, price, max_capacity, available_seats, status,
+            refundable_until_days_before, cancellation_fee_percent, inventory_shards, seats_per_row, created_at,
+            updated_at""";
+
+    private final ReactiveDatabase reactiveDatabase;
+    private final TripService tripService;
+
+    public Flux<TripResponse> getPublishedTrips() {
+        log.info("Fetching all PUBLISHED trips from database (reactive)");
+
+        return reactiveDatabase.client().sql("SELECT " + TRIP_COLUMNS + " FROM trips WHERE status = :status")
+                .bind("status", TripStatus.PUBLISHED.name())
+                .map(ReactiveTripService::mapRow)
+                .all()
+                .map(tripService::mapToTripResponse);
+    }
+
+    public Mono<TripResponse> getTripDetails(UUID tripId) {
+        log.info("Fetching trip details for tripId={} (reactive)", NullSafeUtils.safeToString(tripId));
+
+        return reactiveDatabase.client().sql("SELECT " + TRIP_COLUMNS + " FROM trips WHERE id = :id")
+                .bind("id", tripId)
+                .map(ReactiveTripService::mapRow)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId))))
+                .map(tripService::mapToTripResponse);
+    }
+
+    static Trip mapRow(Readable row) {
+        return Trip.builder()
+                .id(row.get("id", UUID.class))
+                .title(row.get("title", String.class))
+                .destination(row.get("destination", String.class))
+                .startDate(row.get("start_date", LocalDateTime.class))
+                .endDate(row.get("end_date", LocalDateTime.class))
+                .price(row.get("price", BigDecimal.class))
+                .maxCapacity(row.get("max_capacity", Integer.class))
+                .availableSeats(row.get("available_seats", Integer.class))
+                .status(TripStatus.valueOf(row.get("status", String.class)))
+                .refundableUntilDaysBefore(row.get("refundable_until_days_before", Integer.class))
+                .cancellationFeePercent(row.get("cancellation_fee_percent", Integer.class))
+                .inventoryShards(row.get("inventory_shards", Integer.class))
+                .seatsPerRow(row.get("seats_per_row", Integer.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,265 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.SeatMapResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.WaitlistStatus;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.repository.TripSeatMapRepository;
+import com.gotyolo.booking.repository.TripWaitlistRepository;
+import com.gotyolo.booking.seating.SeatMap;
+import com.gotyolo.booking.seating.SeatNumbers;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat-level inventory for trips with a seat map (trips.seats_per_row > 0).
+ *
+ * trip_seat_maps holds one bit per seat and is the authority; it is only written while the trip row
+ * is locked, by the booking path here and by the release CTEs in BookingSql, so seats never get a
+ * row lock of their own. Each instance keeps a lock-free SeatMap of the trips it books: seats are
+ * claimed there with CAS before the trip lock is even requested, so requests for taken seats fail
+ * without queueing on the trip, and the adjacent-seat allocator works on memory. The guarded
+ * claimSeats statement then confirms the claim under the trip lock. A map can lag behind other
+ * instances; a claim that fails against an old map reloads it once, one that fails in the database
+ * drops it.
+ *
+ * The trip's seat count (available_seats) still applies on top. Every new booking of such a trip takes
+ * its seats here: the waitlist and the reactive API refuse seat-map trips, as they book by count and
+ * would leave free bits for seats that are gone. Seats booked before the map was added stay unassigned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryService {
+
+    private final TripSeatMapRepository seatMapRepository;
+    private final TripRepository tripRepository;
+    private final TripWaitlistRepository waitlistRepository;
+
+    private final Map<UUID, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @Value("${app.seat-map.refresh-after-ms:5000}")
+    private long refreshAfterMs;
+
+    @Value("${app.seat-map.max-cached-trips:10000}")
+    private int maxCachedTrips;
+
+    /**
+     * Claims the request's seats in the cached map of a trip known to have one, before the trip lock.
+     * Null when the trip has no cached map; the claim then happens in assign(). Joins the caller's
+     * transaction, which frees the seats again if it rolls back.
+     */
+    public int[] claimBeforeLock(UUID tripId, CreateBookingRequest request) {
+        SeatMap map = seatMaps.get(tripId);
+        if (map == null) {
+            return null;
+        }
+        return claim(tripId, map, request);
+    }
+
+    /**
+     * Seats of a new booking on the locked trip: the ones claimed before the lock, else claimed now,
+     * then confirmed in trip_seat_maps. Null for a trip without a seat map.
+     */
+    public int[] assign(Trip trip, CreateBookingRequest request, int[] claimedBeforeLock) {
+        UUID tripId = trip.getId();
+        if (!hasSeatMap(trip)) {
+            if (request.seatNumbers() != null) {
+                throw new ValidationException("Trip has no seat map; book by number of seats");
+            }
+            return null;
+        }
+
+        int[] seats = claimedBeforeLock;
+        if (seats == null) {
+            SeatMap map = load(tripId, trip.getSeatsPerRow());
+            seats = claim(tripId, map, request);
+        }
+
+        if (seatMapRepository.claimSeats(tripId, SeatNumbers.toArrayLiteral(seats), LocalDateTime.now()) == 0) {
+            // This instance's map missed a booking made elsewhere; start over from the database
+            seatMaps.remove(tripId);
+            throw new ConflictException("Seats no longer available: " + SeatNumbers.toList(seats));
+        }
+        log.info("Seats assigned | tripId={} | seats={}", tripId, SeatNumbers.toList(seats));
+        return seats;
+    }
+
+    /**
+     * Frees released seats in this instance's map once the transaction that freed them in
+     * trip_seat_maps has committed
+     */
+    public void releaseAfterCommit(UUID tripId, String seatNumbers) {
+        int[] seats = SeatNumbers.parse(seatNumbers);
+        if (seats == null) {
+            return;
+        }
+        afterCommit(() -> {
+            SeatMap map = seatMaps.get(tripId);
+            if (map != null) {
+                map.release(seats, seats.length);
+            }
+        });
+    }
+
+    /**
+     * Expiry path: the booking was expired by a plain state update, so its seats are freed here
+     */
+    public void release(UUID tripId, String seatNumbers) {
+        int[] seats = SeatNumbers.parse(seatNumbers);
+        if (seats == null) {
+            return;
+        }
+        seatMapRepository.releaseSeats(tripId, SeatNumbers.toArrayLiteral(seats), LocalDateTime.now());
+        releaseAfterCommit(tripId, seatNumbers);
+    }
+
+    /**
+     * Trip cancellation, under the trip lock: no booking can take a seat any more, all seats go free
+     */
+    public void releaseAll(Trip trip) {
+        if (!hasSeatMap(trip)) {
+            return;
+        }
+        seatMapRepository.releaseAll(trip.getId(), LocalDateTime.now());
+        afterCommit(() -> seatMaps.remove(trip.getId()));
+    }
+
+    /**
+     * Gives a trip a seat map of max_capacity seats in rows of seatsPerRow, or changes the row width
+     * of an existing one. Seats already booked by count stay unassigned.
+     */
+    @Transactional
+    public Trip configure(UUID tripId, int seatsPerRow) {
+        Trip trip = tripRepository.findByIdForUpdate(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        int capacity = NullSafeUtils.safeToInt(trip.getMaxCapacity());
+        if (seatsPerRow <= 0 || seatsPerRow > capacity) {
+            throw new ValidationException("Seats per row must be between 1 and " + capacity);
+        }
+        if (NullSafeUtils.safeToInt(trip.getInventoryShards()) > 0) {
+            throw new ValidationException("Sharded trips cannot sell specific seats; set inventory shards to 0 first");
+        }
+        // Waiting entries would be promoted by count, without seats; see BookingSql.PROMOTE_WAITLIST
+        if (waitlistRepository.existsByTripIdAndStatus(tripId, WaitlistStatus.WAITING)) {
+            throw new ConflictException("Trip has users on its waitlist; a seat map can be added once it is empty");
+        }
+
+        seatMapRepository.createEmpty(tripId, capacity, LocalDateTime.now());
+        trip.setSeatsPerRow(seatsPerRow);
+        trip.setUpdatedAt(LocalDateTime.now());
+        afterCommit(() -> seatMaps.remove(tripId));
+        log.info("Seat map configured | tripId={} | seats={} | seatsPerRow={}", tripId, capacity, seatsPerRow);
+        return tripRepository.save(trip);
+    }
+
+    @Transactional(readOnly = true)
+    public SeatMapResponse getSeatMap(UUID tripId) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        String bits = hasSeatMap(trip) ? seatMapRepository.findBits(tripId).orElse(null) : null;
+        if (bits == null) {
+            throw new ResourceNotFoundException("Trip has no seat map: " + NullSafeUtils.safeToString(tripId));
+        }
+
+        List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < bits.length(); i++) {
+            if (bits.charAt(i) == '1') {
+                taken.add(i + 1);
+            }
+        }
+        // Seats booked before the map was added are taken by count only: the trip's seat count caps the bits
+        int freeSeats = Math.min(bits.length() - taken.size(), NullSafeUtils.safeToInt(trip.getAvailableSeats()));
+        return new SeatMapResponse(tripId, bits.length(), trip.getSeatsPerRow(), freeSeats, taken);
+    }
+
+    public static boolean hasSeatMap(Trip trip) {
+        return NullSafeUtils.safeToInt(trip.getSeatsPerRow()) > 0;
+    }
+
+    private int[] claim(UUID tripId, SeatMap map, CreateBookingRequest request) {
+        int[] seats = tryClaim(map, request);
+        if (seats == null && System.currentTimeMillis() - map.loadedAtMillis() > refreshAfterMs) {
+            // Seats freed by other instances only show up on reload
+            map = load(tripId, map.seatsPerRow());
+            seats = tryClaim(map, request);
+        }
+        if (seats == null) {
+            throw new ConflictException(request.seatNumbers() != null
+                    ? "Seats not available: " + request.seatNumbers()
+                    : "Not enough seats available: " + map.freeSeats());
+        }
+
+        SeatMap claimedIn = map;
+        int[] claimed = seats;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    claimedIn.release(claimed, claimed.length);
+                }
+            }
+        });
+        return seats;
+    }
+
+    private static int[] tryClaim(SeatMap map, CreateBookingRequest request) {
+        int[] seats = SeatNumbers.sorted(request.seatNumbers());
+        if (seats != null) {
+            if (seats[seats.length - 1] > map.seatCount()) {
+                throw new ValidationException("Seat numbers must be between 1 and " + map.seatCount());
+            }
+            return map.claim(seats, seats.length) ? seats : null;
+        }
+        seats = new int[request.numSeats()];
+        return map.claimBest(seats.length, seats) ? seats : null;
+    }
+
+    private SeatMap load(UUID tripId, int seatsPerRow) {
+        String bits = seatMapRepository.findBits(tripId)
+                .orElseThrow(() -> new IllegalStateException("Seat map row missing for trip " + tripId));
+        SeatMap map = SeatMap.fromBits(bits, seatsPerRow);
+        if (seatMaps.size() >= maxCachedTrips) {
+            long staleBefore = System.currentTimeMillis() - refreshAfterMs;
+            seatMaps.values().removeIf(cached -> cached.loadedAtMillis() < staleBefore);
+            if (seatMaps.size() >= maxCachedTrips) {
+                log.warn("Seat map cache full ({} trips); trip {} books without a cached map", seatMaps.size(), tripId);
+                return map;
+            }
+        }
+        seatMaps.put(tripId, map);
+        return map;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.audit.AuditEventType;
+import com.gotyolo.booking.audit.AuditJournal;
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.dto.TripCancellationResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.entity.TripCancellationJob;
+import com.gotyolo.booking.enums.TripCancellationStatus;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.interfaces.CancelledBookingInfo;
+import com.gotyolo.booking.repository.TripCancellationJobRepository;
+import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.repository.TripWaitlistRepository;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Operator cancellation of a whole trip. The trip goes to CANCELLED under its row lock, so no new
+ * booking can start, then a background job cancels its PENDING_PAYMENT / CONFIRMED bookings
+ * chunk-size at a time, each chunk one set-based statement in its own short transaction.
+ * Progress lives in trip_cancellation_jobs: a job interrupted by a restart resumes on startup,
+ * a FAILED one resumes when the trip is cancelled again.
+ */
+@Slf4j
+@Service
+public class TripCancellationService {
+
+    private final TripRepository tripRepository;
+    private final TripCancellationJobRepository jobRepository;
+    private final TripWaitlistRepository waitlistRepository;
+    private final InventoryShardService inventoryShardService;
+    private final SeatInventoryService seatInventoryService;
+    private final AuditJournal auditJournal;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    // Jobs running in this instance; guards against a second submit of the same trip
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.trips.cancellation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.trips.cancellation.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    public TripCancellationService(TripRepository tripRepository,
+                                   TripCancellationJobRepository jobRepository,
+                                   TripWaitlistRepository waitlistRepository,
+                                   InventoryShardService inventoryShardService,
+                                   SeatInventoryService seatInventoryService,
+                                   AuditJournal auditJournal,
+                                   DatabaseShardRouter shardRouter,
+                                   PlatformTransactionManager transactionManager,
+                                   AsyncTaskExecutor applicationTaskExecutor) {
+        this.tripRepository = tripRepository;
+        this.jobRepository = jobRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.inventoryShardService = inventoryShardService;
+        this.seatInventoryService = seatInventoryService;
+        this.auditJournal = auditJournal;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    /**
+     * Cancels the trip and starts (or resumes) cancelling its bookings. Idempotent: cancelling an
+     * already cancelled trip returns its job as it stands.
+     */
+    public TripCancellationResponse cancelTrip(UUID tripId) {
+        log.info("Trip cancellation requested | tripId={}", NullSafeUtils.safeToString(tripId));
+
+        TripCancellationJob job = transactionTemplate.execute(status -> openJob(tripId));
+        if (job.getStatus() == TripCancellationStatus.RUNNING) {
+            submit(job);
+        }
+        return toResponse(job);
+    }
+
+    public TripCancellationResponse getCancellation(UUID tripId) {
+        return jobRepository.findById(tripId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No cancellation for trip: " + NullSafeUtils.safeToString(tripId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        shardRouter.forEachShard("Trip cancellation resume", () -> {
+            List<TripCancellationJob> running = jobRepository.findAllByStatus(TripCancellationStatus.RUNNING);
+            if (!running.isEmpty()) {
+                log.info("Resuming {} interrupted trip cancellation(s)", running.size());
+            }
+            running.forEach(this::submit);
+        });
+    }
+
+    private TripCancellationJob openJob(UUID tripId) {
+        Trip trip = tripRepository.findByIdForUpdate(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        LocalDateTime now = LocalDateTime.now();
+
+        TripCancellationJob existing = jobRepository.findById(tripId).orElse(null);
+        if (existing != null) {
+            if (existing.getStatus() == TripCancellationStatus.FAILED) {
+                log.info("Retrying failed trip cancellation | tripId={} | lastError={}",
+                        tripId, existing.getLastError());
+                existing.setStatus(TripCancellationStatus.RUNNING);
+                existing.setLastError(null);
+                existing.setUpdatedAt(now);
+            }
+            return existing;
+        }
+
+        log.info("Cancelling trip | tripId={} | previousStatus={}", tripId, trip.getStatus());
+        trip.setStatus(TripStatus.CANCELLED);
+        trip.setUpdatedAt(now);
+        // Waits for shard holds in flight and leaves none to take; released seats then add to the pool
+        inventoryShardService.drainIntoPool(trip);
+        // Frees the whole seat map up front; the chunks below then only release seat counts
+        seatInventoryService.releaseAll(trip);
+        int dequeued = waitlistRepository.cancelWaiting(tripId);
+        if (dequeued > 0) {
+            log.info("Cancelled {} waitlist entries | tripId={}", dequeued, tripId);
+        }
+        return jobRepository.save(TripCancellationJob.builder()
+                .tripId(tripId)
+                .status(TripCancellationStatus.RUNNING)
+                .totalBookings(jobRepository.countLiveBookings(tripId))
+                .cancelledBookings(0)
+                .refundedTotal(BigDecimal.ZERO)
+                .cancelledAt(now)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private void submit(TripCancellationJob job) {
+        if (!activeJobs.add(job.getTripId())) {
+            log.info("Trip cancellation already running | tripId={}", job.getTripId());
+            return;
+        }
+        // The executor thread starts unrouted; the job's transactions belong on the trip's shard
+        applicationTaskExecutor.execute(() ->
+                shardRouter.onTrip(job.getTripId(), () -> run(job.getTripId(), job.getCancelledAt())));
+    }
+
+    void run(UUID tripId, LocalDateTime cancelledAt) {
+        log.info("Trip cancellation job started | tripId={} | chunkSize={}", tripId, chunkSize);
+
+        long start = System.nanoTime();
+        int cancelled = 0;
+        int chunks = 0;
+        try {
+            // Until a chunk finds nothing: a short chunk may only mean some rows changed state underneath it
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> {
+                    List<CancelledBookingInfo> chunk = jobRepository.cancelLiveBookingsChunk(tripId, cancelledAt, chunkSize);
+                    // One CANCELLED record per booking with its refund, appended when this chunk commits
+                    for (CancelledBookingInfo booking : chunk) {
+                        auditJournal.record(AuditEventType.CANCELLED, booking.getBookingId(), tripId,
+                                booking.getUserId(), booking.getNumSeats(), booking.getRefundAmount());
+                    }
+                    return chunk.size();
+                });
+                if (count == null || count == 0) {
+                    break;
+                }
+                cancelled += count;
+                chunks++;
+                log.debug("Cancelled chunk {} with {} bookings | tripId={}", chunks, count, tripId);
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.markCompleted(tripId, LocalDateTime.now()));
+
+            long tookMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Trip cancellation job completed | tripId={} | cancelled={} | chunks={} | tookMs={}",
+                    tripId, cancelled, chunks, tookMs);
+        } catch (RuntimeException e) {
+            log.error("Trip cancellation job failed | tripId={} | cancelledSoFar={}", tripId, cancelled, e);
+            markFailed(tripId, e);
+        } finally {
+            activeJobs.remove(tripId);
+        }
+    }
+
+    private void markFailed(UUID tripId, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.markFailed(tripId, NullSafeUtils.safeToString(cause.getMessage()), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // Row stays RUNNING and is picked up again on the next startup
+            log.error("Could not mark trip cancellation as failed | tripId={}", tripId, e);
+        }
+    }
+
+    private TripCancellationResponse toResponse(TripCancellationJob job) {
+        int total = job.getTotalBookings();
+        int cancelled = job.getCancelledBookings();
+        int progressPercent = total == 0 ? 100 : Math.min(100, cancelled * 100 / total);
+        return new TripCancellationResponse(
+                job.getTripId(),
+                NullSafeUtils.safeToString(job.getStatus()),
+                total,
+                cancelled,
+                progressPercent,
+                NullSafeUtils.safeGetBigDecimal(job.getRefundedTotal()),
+                job.getCancelledAt(),
+                job.getStartedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt(),
+                job.getLastError()
+        );
+    }
+}
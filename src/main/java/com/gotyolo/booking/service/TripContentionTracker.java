@@ -0,0 +1,311 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.ContentionReportResponse;
+import com.gotyolo.booking.interfaces.HotTripDetector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process view of trip row-lock contention, fed from TripService.getTripForBookingWithLock.
+ *
+ * Live waiter counts are kept only while a request is queued on the lock, so that map is bounded
+ * by in-flight requests. Historical stats live in a ring of time buckets (sliding window); each
+ * bucket is a Space-Saving top-K sketch, so memory stays O(buckets * K) however many trips exist.
+ */
+@Slf4j
+@Component
+public class TripContentionTracker implements HotTripDetector {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<UUID, Integer> currentWaiters = new ConcurrentHashMap<>();
+    private final Bucket[] buckets;
+    private final long bucketMillis;
+    private final int topK;
+
+    @Value("${app.contention.hot.waiters-threshold:5}")
+    private Integer hotWaitersThreshold;
+
+    @Value("${app.contention.hot.requests-per-second:20}")
+    private Double hotRequestsPerSecond;
+
+    @Value("${app.contention.hot.avg-wait-ms:250}")
+    private Double hotAvgWaitMs;
+
+    public TripContentionTracker(@Value("${app.contention.window-seconds:60}") Integer windowSeconds,
+                                 @Value("${app.contention.bucket-seconds:10}") Integer bucketSeconds,
+                                 @Value("${app.contention.top-k:64}") Integer topK) {
+        int bucketCount = Math.max(1, windowSeconds / Math.max(1, bucketSeconds));
+        this.bucketMillis = Math.max(1, bucketSeconds) * 1000L;
+        this.topK = Math.max(1, topK);
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(this.topK);
+        }
+        log.info("Trip contention tracker initialised: window={}s buckets={} topK={}",
+                bucketCount * bucketSeconds, bucketCount, this.topK);
+    }
+
+    /**
+     * Called right before SELECT ... FOR UPDATE on the trip row
+     */
+    public void lockRequested(UUID tripId) {
+        int waiters = currentWaiters.merge(tripId, 1, Integer::sum);
+        currentBucket().record(tripId, counters -> {
+            counters.lockRequests++;
+            counters.peakWaiters = Math.max(counters.peakWaiters, waiters);
+        });
+    }
+
+    /**
+     * Called once the row lock is granted. Hold time is recorded when the owning transaction completes.
+     */
+    public void lockAcquired(UUID tripId, long waitNanos) {
+        leaveQueue(tripId);
+        currentBucket().record(tripId, counters -> {
+            counters.totalWaitNanos += waitNanos;
+            counters.maxWaitNanos = Math.max(counters.maxWaitNanos, waitNanos);
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            long acquiredAt = System.nanoTime();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lockReleased(tripId, System.nanoTime() - acquiredAt);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records how long the row lock was held. Blocking callers get this from lockAcquired's
+     * transaction synchronization; reactive callers invoke it when their transaction completes.
+     */
+    public void lockReleased(UUID tripId, long holdNanos) {
+        currentBucket().record(tripId, counters -> {
+            counters.holds++;
+            counters.totalHoldNanos += holdNanos;
+            counters.maxHoldNanos = Math.max(counters.maxHoldNanos, holdNanos);
+        });
+    }
+
+    /**
+     * Called when the lock query fails (trip missing, timeout, ...) so the waiter is not leaked
+     */
+    public void lockAbandoned(UUID tripId) {
+        leaveQueue(tripId);
+    }
+
+    /**
+     * A booking that got the lock but found too few seats
+     */
+    public void recordConflict(UUID tripId) {
+        currentBucket().record(tripId, counters -> counters.conflicts++);
+    }
+
+    @Override
+    public boolean isHot(UUID tripId) {
+        if (tripId == null) {
+            return false;
+        }
+        int waiters = currentWaiters.getOrDefault(tripId, 0);
+        if (waiters >= hotWaitersThreshold) {
+            return true;
+        }
+        Counters merged = new Counters();
+        long now = System.currentTimeMillis();
+        for (Bucket bucket : buckets) {
+            bucket.mergeInto(tripId, merged, oldestLiveEpoch(now));
+        }
+        return isHot(merged, waiters);
+    }
+
+    public ContentionReportResponse getReport() {
+        long now = System.currentTimeMillis();
+        long oldestEpoch = oldestLiveEpoch(now);
+
+        Map<UUID, Counters> merged = new HashMap<>();
+        for (Bucket bucket : buckets) {
+            bucket.mergeAllInto(merged, oldestEpoch);
+        }
+        currentWaiters.keySet().forEach(tripId -> merged.computeIfAbsent(tripId, id -> new Counters()));
+
+        List<ContentionReportResponse.TripContention> trips = new ArrayList<>(merged.size());
+        merged.forEach((tripId, counters) -> trips.add(toTripContention(tripId, counters)));
+        trips.sort(Comparator.comparing(ContentionReportResponse.TripContention::currentWaiters).reversed()
+                .thenComparing(Comparator.comparing(ContentionReportResponse.TripContention::lockRequests).reversed()));
+
+        List<ContentionReportResponse.TripContention> top = trips.size() > topK ? trips.subList(0, topK) : trips;
+        int hot = (int) top.stream().filter(ContentionReportResponse.TripContention::hot).count();
+
+        return new ContentionReportResponse(
+                windowSeconds(),
+                merged.size(),
+                hot,
+                LocalDateTime.now(),
+                List.copyOf(top)
+        );
+    }
+
+    private void leaveQueue(UUID tripId) {
+        currentWaiters.computeIfPresent(tripId, (id, waiters) -> waiters > 1 ? waiters - 1 : null);
+    }
+
+    private ContentionReportResponse.TripContention toTripContention(UUID tripId, Counters counters) {
+        int waiters = currentWaiters.getOrDefault(tripId, 0);
+        long requests = Math.max(1, counters.lockRequests);
+        return new ContentionReportResponse.TripContention(
+                tripId,
+                waiters,
+                counters.peakWaiters,
+                counters.lockRequests,
+                round(requestsPerSecond(counters)),
+                round(counters.totalWaitNanos / NANOS_PER_MILLI / requests),
+                round(counters.maxWaitNanos / NANOS_PER_MILLI),
+                round(counters.holds > 0 ? counters.totalHoldNanos / NANOS_PER_MILLI / counters.holds : 0.0),
+                round(counters.maxHoldNanos / NANOS_PER_MILLI),
+                counters.conflicts,
+                round(counters.lockRequests > 0 ? 100.0 * counters.conflicts / counters.lockRequests : 0.0),
+                counters.error,
+                isHot(counters, waiters)
+        );
+    }
+
+    private boolean isHot(Counters counters, int waiters) {
+        if (waiters >= hotWaitersThreshold) {
+            return true;
+        }
+        if (counters.lockRequests == 0) {
+            return false;
+        }
+        double avgWaitMs = counters.totalWaitNanos / NANOS_PER_MILLI / counters.lockRequests;
+        return requestsPerSecond(counters) >= hotRequestsPerSecond || avgWaitMs >= hotAvgWaitMs;
+    }
+
+    private double requestsPerSecond(Counters counters) {
+        return counters.lockRequests / (double) windowSeconds();
+    }
+
+    private int windowSeconds() {
+        return (int) (buckets.length * bucketMillis / 1000);
+    }
+
+    private long oldestLiveEpoch(long nowMillis) {
+        return nowMillis / bucketMillis - buckets.length + 1;
+    }
+
+    private Bucket currentBucket() {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        bucket.rollTo(epoch);
+        return bucket;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static final class Counters {
+        long weight;
+        long error;
+        long lockRequests;
+        int peakWaiters;
+        long totalWaitNanos;
+        long maxWaitNanos;
+        long holds;
+        long totalHoldNanos;
+        long maxHoldNanos;
+        long conflicts;
+
+        void mergeFrom(Counters other) {
+            weight += other.weight;
+            error += other.error;
+            lockRequests += other.lockRequests;
+            peakWaiters = Math.max(peakWaiters, other.peakWaiters);
+            totalWaitNanos += other.totalWaitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, other.maxWaitNanos);
+            holds += other.holds;
+            totalHoldNanos += other.totalHoldNanos;
+            maxHoldNanos = Math.max(maxHoldNanos, other.maxHoldNanos);
+            conflicts += other.conflicts;
+        }
+    }
+
+    /**
+     * One time slice of the window: a Space-Saving sketch holding at most K trips.
+     * When full, a new trip replaces the entry with the smallest weight and inherits that weight
+     * as its error bound, so heavy hitters are never dropped.
+     */
+    private static final class Bucket {
+        private final int capacity;
+        private final Map<UUID, Counters> entries;
+        private long epoch = -1;
+
+        Bucket(int capacity) {
+            this.capacity = capacity;
+            this.entries = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void rollTo(long newEpoch) {
+            if (epoch != newEpoch) {
+                entries.clear();
+                epoch = newEpoch;
+            }
+        }
+
+        synchronized void record(UUID tripId, Consumer<Counters> update) {
+            Counters counters = entries.get(tripId);
+            if (counters == null) {
+                counters = new Counters();
+                if (entries.size() >= capacity) {
+                    UUID victim = null;
+                    long minWeight = Long.MAX_VALUE;
+                    for (Map.Entry<UUID, Counters> entry : entries.entrySet()) {
+                        if (entry.getValue().weight < minWeight) {
+                            minWeight = entry.getValue().weight;
+                            victim = entry.getKey();
+                        }
+                    }
+                    entries.remove(victim);
+                    counters.weight = minWeight;
+                    counters.error = minWeight;
+                }
+                entries.put(tripId, counters);
+            }
+            counters.weight++;
+            update.accept(counters);
+        }
+
+        synchronized void mergeInto(UUID tripId, Counters target, long oldestEpoch) {
+            if (epoch < oldestEpoch) {
+                return;
+            }
+            Counters counters = entries.get(tripId);
+            if (counters != null) {
+                target.mergeFrom(counters);
+            }
+        }
+
+        synchronized void mergeAllInto(Map<UUID, Counters> target, long oldestEpoch) {
+            if (epoch < oldestEpoch) {
+                return;
+            }
+            entries.forEach((tripId, counters) ->
+                    target.computeIfAbsent(tripId, id -> new Counters()).mergeFrom(counters));
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.dto.TripImportResponse;
+import com.gotyolo.booking.enums.BulkFormat;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.exception.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk trip import: rows are parsed and validated one at a time (same constraints as
+ * CreateTripRequest) and streamed with COPY FROM STDIN into a temporary staging table, then merged
+ * into trips in one statement. Invalid rows are reported by line and skipped; trips already in the
+ * catalogue (same title, destination and start date) are skipped, so a catalogue can be re-uploaded.
+ * Imported trips large enough for InventoryShardService.shardIfLarge are sharded in the same transaction.
+ */
+@Slf4j
+@Service
+public class TripImportService {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "title", "destination", "startDate", "endDate", "price", "maxCapacity",
+            "refundableUntilDaysBefore", "cancellationFeePercent", "publishNow");
+
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of(
+            "title", "destination", "startDate", "endDate", "price", "maxCapacity", "refundableUntilDaysBefore");
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE trip_import_staging (
+                id UUID NOT NULL,
+                line_no INTEGER NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                destination VARCHAR(255),
+                start_date TIMESTAMP NOT NULL,
+                end_date TIMESTAMP,
+                price NUMERIC(10,2) NOT NULL,
+                max_capacity INTEGER NOT NULL,
+                refundable_until_days_before INTEGER NOT NULL,
+                cancellation_fee_percent INTEGER,
+                status VARCHAR(50) NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = """
+            COPY trip_import_staging (id, line_no, title, destination, start_date, end_date, price, max_capacity,
+                                      refundable_until_days_before, cancellation_fee_percent, status)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    // First occurrence wins for duplicates inside the file; existing catalogue entries are never touched
+    private static final String MERGE_STAGING = """
+            INSERT INTO trips (id, title, destination, start_date, end_date, price, max_capacity, available_seats,
+                               status, refundable_until_days_before, cancellation_fee_percent, created_at, updated_at)
+            SELECT s.id, s.title, s.destination, s.start_date, s.end_date, s.price, s.max_capacity, s.max_capacity,
+                   s.status, s.refundable_until_days_before, COALESCE(s.cancellation_fee_percent, 0), ?, ?
+            FROM (SELECT DISTINCT ON (title, destination, start_date) *
+                  FROM trip_import_staging
+                  ORDER BY title, destination, start_date, line_no) s
+            WHERE NOT EXISTS (SELECT 1 FROM trips t
+                              WHERE t.title = s.title
+                                AND t.destination IS NOT DISTINCT FROM s.destination
+                                AND t.start_date = s.start_date)""";
+
+    // shardIfLarge for every trip the merge inserted (staging ids of skipped rows match no trip); a new
+    // trip's free seats are its max_capacity, split evenly over the shards, pool left empty
+    private static final String SHARD_LARGE_IMPORTED = """
+            WITH sharded AS (
+                UPDATE trips t
+                SET inventory_shards = ?, available_seats = 0
+                FROM trip_import_staging s
+                WHERE t.id = s.id
+                  AND t.max_capacity >= ?
+                RETURNING t.id, t.max_capacity
+            )
+            INSERT INTO trip_inventory_shards (id, trip_id, shard_no, available_seats, updated_at)
+            SELECT gen_random_uuid(), sh.id, n,
+                   sh.max_capacity / ? + CASE WHEN n < sh.max_capacity % ? THEN 1 ELSE 0 END, ?
+            FROM sharded sh
+            CROSS JOIN generate_series(0, ? - 1) AS n""";
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader tripReader;
+    private final Validator validator;
+    private final InventoryShardService inventoryShardService;
+
+    @Value("${app.trips.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TripImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             JsonMapper jsonMapper, Validator validator,
+                             InventoryShardService inventoryShardService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tripReader = jsonMapper.readerFor(CreateTripRequest.class);
+        this.validator = validator;
+        this.inventoryShardService = inventoryShardService;
+    }
+
+    public TripImportResponse importTrips(InputStream body, BulkFormat format) {
+        log.info("Trip import started | format={}", format);
+        long start = System.nanoTime();
+
+        ImportRun run = new ImportRun(maxReportedErrors);
+        Integer imported = transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            try (Statement statement = con.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            try {
+                StagingWriter staging = new StagingWriter(copy);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                if (format == BulkFormat.CSV) {
+                    readCsv(reader, run, staging);
+                } else {
+                    readNdjson(reader, run, staging);
+                }
+                staging.flush();
+                copy.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            int merged;
+            try (var merge = con.prepareStatement(MERGE_STAGING)) {
+                merge.setObject(1, now);
+                merge.setObject(2, now);
+                merged = merge.executeUpdate();
+            }
+
+            int minCapacity = inventoryShardService.autoShardMinCapacity();
+            if (merged > 0 && minCapacity > 0) {
+                int shardCount = inventoryShardService.autoShardCount();
+                try (var shard = con.prepareStatement(SHARD_LARGE_IMPORTED)) {
+                    shard.setInt(1, shardCount);
+                    shard.setInt(2, minCapacity);
+                    shard.setInt(3, shardCount);
+                    shard.setInt(4, shardCount);
+                    shard.setObject(5, now);
+                    shard.setInt(6, shardCount);
+                    run.sharded = shard.executeUpdate() / shardCount;
+                }
+            }
+            return merged;
+        }));
+
+        int importedCount = imported != null ? imported : 0;
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Trip import completed | rows={} | imported={} | sharded={} | skippedDuplicates={} | rejected={} | tookMs={}",
+                run.rowsRead, importedCount, run.sharded, run.staged - importedCount, run.rejected, tookMs);
+
+        return new TripImportResponse(run.rowsRead, importedCount, run.staged - importedCount, run.rejected,
+                run.errors, tookMs);
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run, StagingWriter staging)
+            throws IOException, SQLException {
+        int lineNo = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            CreateTripRequest request;
+            try {
+                request = tripReader.readValue(line);
+            } catch (JacksonException e) {
+                run.reject(lineNo, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (request == null) {
+                // A literal null; the validator refuses null beans and would abort the whole import
+                run.reject(lineNo, "Expected a JSON object");
+                continue;
+            }
+            stage(request, lineNo, run, staging);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run, StagingWriter staging)
+            throws IOException, SQLException {
+        int[] lineNo = {0};
+        Map<String, Integer> columns = csvColumns(readCsvRecord(reader, lineNo));
+
+        while (true) {
+            int recordLine = lineNo[0] + 1;
+            List<String> fields = readCsvRecord(reader, lineNo);
+            if (fields == null) {
+                break;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            CreateTripRequest request;
+            try {
+                request = csvRequest(fields, columns);
+            } catch (IllegalArgumentException e) {
+                run.reject(recordLine, e.getMessage());
+                continue;
+            }
+            stage(request, recordLine, run, staging);
+        }
+    }
+
+    /**
+     * Column positions by header name; ValidationException without a header or a required column
+     */
+    static Map<String, Integer> csvColumns(List<String> header) {
+        if (header == null) {
+            throw new ValidationException("CSV import needs a header row: " + String.join(",", CSV_COLUMNS));
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ValidationException("CSV header is missing columns: " + String.join(",", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * One CSV record as a request; fields the record lacks are null. IllegalArgumentException names
+     * the first field that does not parse.
+     */
+    static CreateTripRequest csvRequest(List<String> fields, Map<String, Integer> columns) {
+        return new CreateTripRequest(
+                field(fields, columns, "title"),
+                field(fields, columns, "destination"),
+                parse(fields, columns, "startDate", LocalDateTime::parse),
+                parse(fields, columns, "endDate", LocalDateTime::parse),
+                parse(fields, columns, "price", BigDecimal::new),
+                parse(fields, columns, "maxCapacity", Integer::valueOf),
+                parse(fields, columns, "refundableUntilDaysBefore", Integer::valueOf),
+                parse(fields, columns, "cancellationFeePercent", Integer::valueOf),
+                parse(fields, columns, "publishNow", Boolean::valueOf));
+    }
+
+    private void stage(CreateTripRequest request, int lineNo, ImportRun run, StagingWriter staging)
+            throws SQLException {
+        Set<ConstraintViolation<CreateTripRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            run.reject(lineNo, violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        // Column limits the annotations do not cover; one bad row must not abort the whole COPY
+        String columnError = columnLimitError(request);
+        if (columnError != null) {
+            run.reject(lineNo, columnError);
+            return;
+        }
+
+        TripStatus status = Boolean.TRUE.equals(request.publishNow()) ? TripStatus.PUBLISHED : TripStatus.DRAFT;
+        staging.row(UUID.randomUUID(), lineNo, request, status);
+        run.staged++;
+    }
+
+    private static String columnLimitError(CreateTripRequest request) {
+        if (request.title().length() > MAX_TEXT_LENGTH) {
+            return "title: must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (request.destination().length() > MAX_TEXT_LENGTH) {
+            return "destination: must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (request.price().compareTo(MAX_PRICE) > 0) {
+            return "price: must be at most " + MAX_PRICE.toPlainString();
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(List<String> fields, Map<String, Integer> columns, String name,
+                               Function<String, T> parser) {
+        String value = field(fields, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(name + ": invalid value '" + value + "'");
+        }
+    }
+
+    /**
+     * One RFC 4180 record (quoted fields may span lines); null at end of input
+     */
+    static List<String> readCsvRecord(BufferedReader reader, int[] lineNo) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNo[0]++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new ValidationException("Unterminated quoted field starting before line " + lineNo[0]);
+                }
+                lineNo[0]++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static final class ImportRun {
+
+        private final int maxReportedErrors;
+        private final List<TripImportResponse.RowError> errors = new ArrayList<>();
+        private int rowsRead;
+        private int staged;
+        private int rejected;
+        private int sharded;
+
+        ImportRun(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        List<TripImportResponse.RowError> errors() {
+            return errors;
+        }
+
+        int rejected() {
+            return rejected;
+        }
+
+        void reject(int lineNo, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TripImportResponse.RowError(lineNo, message));
+            }
+        }
+    }
+
+    /**
+     * Encodes staged rows as COPY csv and hands them to the driver in 64K chunks
+     */
+    private static final class StagingWriter {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        StagingWriter(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        void row(UUID id, int lineNo, CreateTripRequest request, TripStatus status) throws SQLException {
+            buffer.append(id).append(',')
+                    .append(lineNo).append(',');
+            quoted(request.title()).append(',');
+            quoted(request.destination()).append(',');
+            buffer.append(request.startDate()).append(',');
+            if (request.endDate() != null) {
+                buffer.append(request.endDate());
+            }
+            buffer.append(',')
+                    .append(request.price().toPlainString()).append(',')
+                    .append(request.maxCapacity()).append(',')
+                    .append(request.refundableUntilDaysBefore()).append(',');
+            if (request.cancellationFeePercent() != null) {
+                buffer.append(request.cancellationFeePercent());
+            }
+            buffer.append(',').append(status.name()).append('\n');
+
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        // Always quoted, so an empty string stays distinct from NULL (an empty unquoted field)
+        private StringBuilder quoted(String value) {
+            if (value == null) {
+                return buffer;
+            }
+            return buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+}
@@ -8,8 +8,12 @@ import com.gotyolo.booking.entity.Trip;
 import com.gotyolo.booking.enums.BookingState;
 import com.gotyolo.booking.enums.TripStatus;
 import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.jfr.TripLockHeldRecorder;
+import com.gotyolo.booking.jfr.TripLockWaitEvent;
+import com.gotyolo.booking.repository.BookingArchiveRepository;
 import com.gotyolo.booking.repository.BookingRepository;
 import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.utils.BookingRules;
 import com.gotyolo.booking.utils.NullSafeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +24,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -30,6 +34,10 @@ public class TripService {
 
     private final TripRepository tripRepository;
     private final BookingRepository bookingRepository;
+    private final TripContentionTracker contentionTracker;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final InventoryShardService inventoryShardService;
+    private final SeatInventoryService seatInventoryService;
 
     @Value("${app.at-risk.days-before-departure:7}")
     private Integer atRiskDaysBefore;
@@ -37,42 +45,62 @@ public class TripService {
     @Value("${app.occupancy.low-threshold-percent:50}")
     private Integer lowOccupancyThreshold;
 
+    @Transactional(readOnly = true)
     public List<TripResponse> getPublishedTrips() {
         log.info("Fetching all PUBLISHED trips from database");
 
-        List<TripResponse> trips = tripRepository.findAllByStatus(TripStatus.PUBLISHED).stream()
-                .map(this::mapToTripResponse)
-                .collect(Collectors.toList());
+        // Rows straight into responses, shard totals included; see TripRepository.TRIP_RESPONSE
+        List<TripResponse> trips = tripRepository.findResponsesByStatus(TripStatus.PUBLISHED);
 
         log.info("Fetched {} published trips", trips.size());
         return trips;
     }
 
+    @Transactional(readOnly = true)
     public TripResponse getTripDetails(UUID tripId) {
         log.info("Fetching trip details for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        Trip trip = tripRepository.findById(tripId)
+        TripResponse trip = tripRepository.findResponseById(tripId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Trip not found: " + NullSafeUtils.safeToString(tripId)));
 
         log.info("Trip found successfully for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        return mapToTripResponse(trip);
+        return trip;
     }
 
     public Trip getTripForBookingWithLock(UUID tripId) {
         log.info("Fetching trip with PESSIMISTIC LOCK for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        Trip trip = tripRepository.findByIdForUpdate(tripId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        TripLockWaitEvent lockWait = new TripLockWaitEvent();
+        contentionTracker.lockRequested(tripId);
+        long waitStart = System.nanoTime();
+        lockWait.begin();
+
+        Trip trip;
+        try {
+            trip = tripRepository.findByIdForUpdate(tripId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Trip not found: " + NullSafeUtils.safeToString(tripId)));
+        } catch (RuntimeException e) {
+            contentionTracker.lockAbandoned(tripId);
+            throw e;
+        }
+
+        lockWait.end();
+        contentionTracker.lockAcquired(tripId, System.nanoTime() - waitStart);
+        if (lockWait.shouldCommit()) {
+            lockWait.tripId = NullSafeUtils.safeToString(tripId);
+            lockWait.commit();
+        }
+        TripLockHeldRecorder.lockAcquired(tripId);
 
         log.info("Fetched trip {} with status={}", trip.getId(), trip.getStatus());
 
-        if (!TripStatus.PUBLISHED.equals(trip.getStatus())) {
+        if (!BookingRules.isBookable(trip.getStatus())) {
             log.info("Trip is not in PUBLISHED state. Current state={}", trip.getStatus());
             throw new ResourceNotFoundException(
                     "Trip must be PUBLISHED: " + NullSafeUtils.safeToString(tripId));
@@ -118,6 +146,7 @@ public class TripService {
 
         log.info("Saving trip entity to database...");
         Trip savedTrip = tripRepository.save(trip);
+        inventoryShardService.shardIfLarge(savedTrip);
 
         log.info("Trip created successfully: {}",
                 NullSafeUtils.safeToString(savedTrip.getId()));
@@ -125,6 +154,28 @@ public class TripService {
         return mapToTripResponse(savedTrip);
     }
 
+    /**
+     * Splits the trip's free seats over shardCount inventory rows (0 merges them back into the trip row)
+     */
+    @Transactional
+    public TripResponse reshardInventory(UUID tripId, int shardCount) {
+        log.info("Resharding seat inventory for tripId={} into {} shards",
+                NullSafeUtils.safeToString(tripId), shardCount);
+
+        return mapToTripResponse(inventoryShardService.reshard(tripId, shardCount));
+    }
+
+    /**
+     * Sells the trip by seat from now on, seats laid out in rows of seatsPerRow
+     */
+    @Transactional
+    public TripResponse configureSeatMap(UUID tripId, int seatsPerRow) {
+        log.info("Configuring seat map for tripId={} with {} seats per row",
+                NullSafeUtils.safeToString(tripId), seatsPerRow);
+
+        return mapToTripResponse(seatInventoryService.configure(tripId, seatsPerRow));
+    }
+
     @Transactional
     public void saveTrip(Trip trip) {
         log.info("Saving trip {} to database",
@@ -136,11 +187,13 @@ public class TripService {
                 NullSafeUtils.safeToString(trip.getId()));
     }
 
+    @Transactional(readOnly = true)
     public TripMetricsResponse getTripMetrics(UUID tripId) {
         log.info("Calculating metrics for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
         Trip trip = getTripById(tripId);
+        int availableSeats = inventoryShardService.availableSeats(trip);
 
         log.info("Calculating booking summary...");
         TripMetricsResponse.BookingSummary summary = calculateBookingSummary(tripId);
@@ -148,7 +201,9 @@ public class TripService {
         log.debug("Fetching confirmed seats count from DB...");
 
         Integer confirmedSeatsRaw = bookingRepository.countTotalSeatsByTripIdAndState(tripId, BookingState.CONFIRMED);
-        int confirmedSeats = confirmedSeatsRaw != null ? confirmedSeatsRaw : 0;
+        Integer archivedSeatsRaw = bookingArchiveRepository.countTotalSeatsByTripIdAndState(tripId, BookingState.CONFIRMED);
+        int confirmedSeats = (confirmedSeatsRaw != null ? confirmedSeatsRaw : 0)
+                + (archivedSeatsRaw != null ? archivedSeatsRaw : 0);
 
         log.info("Confirmed seats = {}", confirmedSeats);
 
@@ -168,7 +223,7 @@ public class TripService {
                 Math.round(occupancyPercent * 100.0) / 100.0,
                 trip.getMaxCapacity(),
                 confirmedSeats,
-                trip.getAvailableSeats(),
+                availableSeats,
                 summary,
                 finances
         );
@@ -178,10 +233,13 @@ public class TripService {
         log.info("Calculating booking summary for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        int confirmed = bookingRepository.findByTripIdAndState(tripId, BookingState.CONFIRMED).size();
+        int confirmed = bookingRepository.findByTripIdAndState(tripId, BookingState.CONFIRMED).size()
+                + (int) bookingArchiveRepository.countByTripIdAndState(tripId, BookingState.CONFIRMED);
         int pending = bookingRepository.findByTripIdAndState(tripId, BookingState.PENDING_PAYMENT).size();
-        int cancelled = bookingRepository.findByTripIdAndState(tripId, BookingState.CANCELLED).size();
-        int expired = bookingRepository.findByTripIdAndState(tripId, BookingState.EXPIRED).size();
+        int cancelled = bookingRepository.findByTripIdAndState(tripId, BookingState.CANCELLED).size()
+                + (int) bookingArchiveRepository.countByTripIdAndState(tripId, BookingState.CANCELLED);
+        int expired = bookingRepository.findByTripIdAndState(tripId, BookingState.EXPIRED).size()
+                + (int) bookingArchiveRepository.countByTripIdAndState(tripId, BookingState.EXPIRED);
 
         log.info("Booking summary -> confirmed={}, pending={}, cancelled={}, expired={}",
                 confirmed, pending, cancelled, expired);
@@ -194,9 +252,12 @@ public class TripService {
         log.info("Calculating financial metrics for tripId={}",
                 NullSafeUtils.safeToString(tripId));
 
-        BigDecimal grossRevenue = bookingRepository.calculateGrossRevenue(tripId, BookingState.CONFIRMED);
+        // Bookings of completed trips live in bookings_archive once BookingArchiver has run
+        BigDecimal grossRevenue = bookingRepository.calculateGrossRevenue(tripId, BookingState.CONFIRMED)
+                .add(bookingArchiveRepository.calculateGrossRevenue(tripId, BookingState.CONFIRMED));
 
-        BigDecimal refundsIssued = bookingRepository.calculateTotalRefunds(tripId);
+        BigDecimal refundsIssued = bookingRepository.calculateTotalRefunds(tripId)
+                .add(bookingArchiveRepository.calculateTotalRefunds(tripId));
 
         BigDecimal netRevenue = grossRevenue.subtract(refundsIssued.abs()).max(BigDecimal.ZERO);
 
@@ -207,7 +268,12 @@ public class TripService {
                 grossRevenue, refundsIssued, netRevenue);
     }
 
-    private TripResponse mapToTripResponse(Trip trip) {
+    TripResponse mapToTripResponse(Trip trip) {
+        return mapToTripResponse(trip, inventoryShardService.availableSeats(trip));
+    }
+
+    // availableSeats: pool plus shard total for sharded trips, see InventoryShardService
+    TripResponse mapToTripResponse(Trip trip, int availableSeats) {
         log.info("Mapping Trip entity to TripResponse. tripId={}",
                 NullSafeUtils.safeToString(trip.getId()));
 
@@ -219,7 +285,7 @@ public class TripService {
                 NullSafeUtils.safeGetLocalDateTime(trip.getEndDate()),
                 NullSafeUtils.safeGetBigDecimal(trip.getPrice()),
                 NullSafeUtils.safeToInt(trip.getMaxCapacity()),
-                NullSafeUtils.safeToInt(trip.getAvailableSeats()),
+                availableSeats,
                 NullSafeUtils.safeGetTripStatus(trip.getStatus()),
                 NullSafeUtils.safeToInt(trip.getRefundableUntilDaysBefore()),
                 NullSafeUtils.safeToInt(trip.getCancellationFeePercent()),
@@ -227,6 +293,7 @@ public class TripService {
         );
     }
 
+    @Transactional(readOnly = true)
     public AtRiskTripsResponse getAtRiskTrips() {
         log.info("Fetching at-risk trips configuration: daysBefore={}, lowThreshold={}",
                 atRiskDaysBefore, lowOccupancyThreshold);
@@ -237,16 +304,17 @@ public class TripService {
         List<Trip> upcomingTrips = tripRepository.findAllByStartDateBeforeAndStatus(cutoffDate, TripStatus.PUBLISHED);
 
         log.info("Fetched {} upcoming published trips", upcomingTrips.size());
+        Map<UUID, Integer> shardSeats = inventoryShardService.shardSeats(upcomingTrips);
 
         List<AtRiskTripsResponse.AtRiskTrip> atRiskTrips = upcomingTrips.stream()
                 .filter(trip -> calculateOccupancyPercent(
                         trip.getMaxCapacity(),
-                        trip.getMaxCapacity() - trip.getAvailableSeats())
+                        bookedSeats(trip, shardSeats))
                         < lowOccupancyThreshold)
                 .map(trip -> {
                     Double occupancy = calculateOccupancyPercent(
                             trip.getMaxCapacity(),
-                            trip.getMaxCapacity() - trip.getAvailableSeats());
+                            bookedSeats(trip, shardSeats));
 
                     log.info("Trip {} occupancy={}%, marked as at-risk",
                             trip.getId(), occupancy);
@@ -265,6 +333,10 @@ public class TripService {
         return new AtRiskTripsResponse(atRiskTrips);
     }
 
+    private int bookedSeats(Trip trip, Map<UUID, Integer> shardSeats) {
+        return trip.getMaxCapacity() - trip.getAvailableSeats() - shardSeats.getOrDefault(trip.getId(), 0);
+    }
+
     private Double calculateOccupancyPercent(Integer totalSeats, Integer bookedSeats) {
         log.info("Calculating occupancy percent. totalSeats={}, bookedSeats={}",
                 totalSeats, bookedSeats);
@@ -0,0 +1,149 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.audit.AuditEventType;
+import com.gotyolo.booking.audit.AuditJournal;
+import com.gotyolo.booking.datasource.DatabaseShardContext;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.WaitlistEntryResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.entity.TripWaitlistEntry;
+import com.gotyolo.booking.enums.WaitlistStatus;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.exception.ResourceNotFoundException;
+import com.gotyolo.booking.exception.ValidationException;
+import com.gotyolo.booking.interfaces.WaitlistPromotionInfo;
+import com.gotyolo.booking.repository.TripRepository;
+import com.gotyolo.booking.repository.TripWaitlistRepository;
+import com.gotyolo.booking.utils.BookingRules;
+import com.gotyolo.booking.utils.NullSafeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-trip waitlist for sold-out trips. Joining takes no trip lock; seats come back to waiting
+ * users through promote(), which runs inside the transaction that released them (cancel, failed
+ * payment, expiry sweep), so released seats go to the queue before any new booking can see them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final TripWaitlistRepository waitlistRepository;
+    private final TripRepository tripRepository;
+    private final InventoryShardService inventoryShardService;
+    private final AuditJournal auditJournal;
+
+    @Value("${app.booking.expiry-minutes:15}")
+    private Integer bookingExpiryMinutes;
+
+    @Transactional
+    public WaitlistEntryResponse joinWaitlist(UUID tripId, CreateBookingRequest request) {
+        log.info("Join waitlist | tripId={} | userId={} | seats={}",
+                NullSafeUtils.safeToString(tripId),
+                NullSafeUtils.safeToString(request.userId()),
+                NullSafeUtils.safeToString(request.numSeats()));
+
+        BookingRules.validateCreateBookingRequest(request);
+        UUID userId = NullSafeUtils.safeParseUUID(request.userId());
+        if (userId == null) {
+            throw new ValidationException("Invalid user ID: " + request.userId());
+        }
+
+        Trip trip = tripRepository.findById(tripId)
+                .filter(t -> BookingRules.isBookable(t.getStatus()))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Trip must be PUBLISHED: " + NullSafeUtils.safeToString(tripId)));
+        if (SeatInventoryService.hasSeatMap(trip)) {
+            throw new ValidationException("Trips sold by seat have no waitlist; book specific seats when they free up");
+        }
+        int numSeats = request.numSeats();
+        if (numSeats > trip.getMaxCapacity()) {
+            throw new ValidationException("Trip has only " + trip.getMaxCapacity() + " seats");
+        }
+        int availableSeats = inventoryShardService.availableSeats(trip);
+        if (BookingRules.hasEnoughSeats(availableSeats, numSeats)) {
+            throw new ConflictException("Seats are available, book the trip directly: " + availableSeats);
+        }
+
+        int inserted = waitlistRepository.insertIfNotWaiting(UUID.randomUUID(), tripId, userId, numSeats,
+                LocalDateTime.now());
+        TripWaitlistEntry entry = waitlistRepository
+                .findByTripIdAndUserIdAndStatus(tripId, userId, WaitlistStatus.WAITING)
+                .orElseThrow(() -> new ConflictException("Waitlist entry changed concurrently, retry"));
+
+        WaitlistEntryResponse response = toResponse(entry);
+        log.info("Waitlist {} | entryId={} | tripId={} | position={}",
+                inserted == 1 ? "joined" : "already joined", entry.getId(), tripId, response.position());
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistEntryResponse getEntry(UUID tripId, UUID entryId) {
+        return waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getTripId().equals(tripId))
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Waitlist entry not found: " + NullSafeUtils.safeToString(entryId)));
+    }
+
+    /**
+     * Turns available seats of the given trips into holds for their waiting users, in one statement.
+     * Joins the caller's transaction; see BookingSql.PROMOTE_WAITLIST.
+     */
+    @Transactional
+    public List<WaitlistPromotionInfo> promote(Collection<UUID> tripIds) {
+        if (tripIds == null || tripIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<WaitlistPromotionInfo> promoted = waitlistRepository.promoteWaiting(tripIds, now,
+                BookingRules.paymentDeadline(now, bookingExpiryMinutes), DatabaseShardContext.currentShardOrNone());
+
+        if (!promoted.isEmpty()) {
+            log.info("Waitlist promoted {} entries across {} trips", promoted.size(),
+                    promoted.stream().map(WaitlistPromotionInfo::getTripId).distinct().count());
+        }
+        for (WaitlistPromotionInfo info : promoted) {
+            // Price is in the booking row only; the promotion statement does not return it
+            auditJournal.record(AuditEventType.CREATED, info.getBookingId(), info.getTripId(), info.getUserId(),
+                    info.getNumSeats(), null);
+            log.debug("Waitlist entry {} -> booking {} | tripId={} | seats={}",
+                    info.getWaitlistId(), info.getBookingId(), info.getTripId(), info.getNumSeats());
+        }
+        return promoted;
+    }
+
+    /**
+     * Backstop for seats that came back without a waitlist-aware release (e.g. while joins raced it)
+     */
+    @Transactional
+    public List<WaitlistPromotionInfo> promoteAllWaiting() {
+        return promote(waitlistRepository.findTripIdsWithWaitingEntries());
+    }
+
+    private WaitlistEntryResponse toResponse(TripWaitlistEntry entry) {
+        Long position = WaitlistStatus.WAITING.equals(entry.getStatus())
+                ? waitlistRepository.countWaitingUpTo(entry.getTripId(), entry.getSeq())
+                : null;
+        return new WaitlistEntryResponse(
+                entry.getId(),
+                entry.getTripId(),
+                NullSafeUtils.safeToString(entry.getUserId()),
+                entry.getNumSeats(),
+                entry.getStatus(),
+                position,
+                entry.getBookingId(),
+                entry.getCreatedAt(),
+                entry.getPromotedAt()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.gotyolo.booking.utils;
+
+import com.gotyolo.booking.dto.UserBookingResponse;
+import com.gotyolo.booking.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Keyset position in a user's booking history: the (created_at, id) of the last booking returned.
+ * The next page starts strictly after it in NEWEST_FIRST order, so pages stay stable while new
+ * bookings arrive. Opaque to clients (base64url of "createdAt|id").
+ */
+public record BookingHistoryCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * ORDER BY created_at DESC, id DESC; ids compare unsigned, as Postgres compares uuid values
+     */
+    public static final Comparator<UserBookingResponse> NEWEST_FIRST = Comparator
+            .comparing(UserBookingResponse::createdAt)
+            .thenComparing(UserBookingResponse::id, BookingHistoryCursor::compareUnsigned)
+            .reversed();
+
+    public static BookingHistoryCursor after(UserBookingResponse booking) {
+        return new BookingHistoryCursor(booking.createdAt(), booking.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null for a missing cursor (first page); ValidationException for one this class did not encode
+     */
+    public static BookingHistoryCursor decode(String cursor) {
+        if (NullSafeUtils.isNullOrEmpty(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor: " + cursor);
+            }
+            return new BookingHistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
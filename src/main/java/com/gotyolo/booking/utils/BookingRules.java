@@ -0,0 +1,108 @@
+package com.gotyolo.booking.utils;
+
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.exception.ValidationException;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Booking validation, pricing and refunds shared by the blocking (JPA) and reactive (R2DBC) stacks,
+ * so both accept the same requests and charge the same price.
+ */
+@UtilityClass
+public class BookingRules {
+
+    public static final String PAYMENT_SUCCESS = "success";
+
+    /**
+     * Throws ValidationException for a request neither stack may process
+     */
+    public static void validateCreateBookingRequest(CreateBookingRequest request) {
+        if (request == null) throw new ValidationException("Booking request cannot be null");
+
+        if (NullSafeUtils.isNullOrEmpty(request.userId())) {
+            throw new ValidationException("User ID cannot be null or empty");
+        }
+
+        if (NullSafeUtils.safeToInt(request.numSeats()) == null ||
+                NullSafeUtils.safeToInt(request.numSeats()) <= 0) {
+            throw new ValidationException("Number of seats must be positive");
+        }
+
+        if (request.seatNumbers() != null) {
+            if (request.seatNumbers().size() != request.numSeats()) {
+                throw new ValidationException("Seat numbers must list exactly numSeats seats");
+            }
+            if (request.seatNumbers().stream().anyMatch(seat -> seat == null || seat <= 0)) {
+                throw new ValidationException("Seat numbers must be positive");
+            }
+            if (request.seatNumbers().stream().distinct().count() != request.seatNumbers().size()) {
+                throw new ValidationException("Seat numbers must not repeat");
+            }
+        }
+    }
+
+    public static boolean isBookable(TripStatus status) {
+        return TripStatus.PUBLISHED.equals(status);
+    }
+
+    public static boolean hasEnoughSeats(Integer available, Integer requested) {
+        return available != null && requested != null && available >= requested;
+    }
+
+    public static BigDecimal priceAtBooking(BigDecimal seatPrice, Integer numSeats) {
+        return NullSafeUtils.safeMultiply(seatPrice, numSeats);
+    }
+
+    public static LocalDateTime paymentDeadline(LocalDateTime bookedAt, Integer expiryMinutes) {
+        return bookedAt.plusMinutes(NullSafeUtils.safeToInt(expiryMinutes));
+    }
+
+    /**
+     * Last moment a cancellation is still refunded, or null when the trip lacks the dates to tell
+     */
+    public static LocalDateTime refundCutoff(LocalDateTime startDate, Integer refundableUntilDaysBefore) {
+        if (startDate == null || refundableUntilDaysBefore == null) {
+            return null;
+        }
+        return startDate.minusDays(refundableUntilDaysBefore);
+    }
+
+    /**
+     * Refund for cancelling a booking that was in previousState at cancelledAt: only a CONFIRMED
+     * booking cancelled before the cutoff gets price * (1 - fee), and only when fee > 0. The cancel
+     * statements compute the same amount in SQL (BookingSql.SET_CANCEL_REFUND).
+     */
+    public static BigDecimal refundAmount(BookingState previousState, BigDecimal priceAtBooking,
+                                          Integer cancellationFeePercent, LocalDateTime cutoff,
+                                          LocalDateTime cancelledAt) {
+        if (cutoff == null || !cancelledAt.isBefore(cutoff) || !BookingState.CONFIRMED.equals(previousState)) {
+            return BigDecimal.ZERO;
+        }
+        Integer feePercent = NullSafeUtils.safeToInt(cancellationFeePercent);
+        if (feePercent == null || feePercent <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal fee = BigDecimal.valueOf(feePercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return NullSafeUtils.safeGetBigDecimal(priceAtBooking).multiply(BigDecimal.ONE.subtract(fee));
+    }
+
+    /**
+     * Booking id and idempotency key are mandatory; anything else is acknowledged and dropped
+     */
+    public static boolean isProcessableWebhook(WebhookRequest request) {
+        return request != null
+                && !NullSafeUtils.isNullOrEmpty(request.bookingId())
+                && !NullSafeUtils.isNullOrEmpty(request.idempotencyKey());
+    }
+
+    public static boolean isPaymentSuccess(String status) {
+        return PAYMENT_SUCCESS.equalsIgnoreCase(status);
+    }
+}
@@ -0,0 +1,110 @@
+package com.gotyolo.booking.warmup;
+
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.repository.BookingRepository;
+import com.gotyolo.booking.repository.TripRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs every BookingRepository / TripRepository query once against ids that match nothing, each in
+ * its own rolled-back transaction, so Hibernate's query plan and SQL translation caches and the
+ * driver's statement cache are filled before real traffic arrives. The guarded transition
+ * statements update no row for a random id; findExpiredBookings is the scheduler's own read.
+ */
+@Slf4j
+@Component
+public class RepositoryQueryWarmer {
+
+    private record WarmupQuery(String name, Runnable call) {
+    }
+
+    private final BookingRepository bookingRepository;
+    private final TripRepository tripRepository;
+    private final DatabaseShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public RepositoryQueryWarmer(BookingRepository bookingRepository,
+                                 TripRepository tripRepository,
+                                 DatabaseShardRouter shardRouter,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.tripRepository = tripRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the queries on every database shard, so each shard pool's statement caches are filled.
+     * Returns the number of queries that ran, summed over shards; a failing one is logged and skipped.
+     */
+    public int prepareAll() {
+        return shardRouter.onEveryShard(this::prepareOnShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int prepareOnShard() {
+        int prepared = 0;
+        for (WarmupQuery query : queries()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    query.call().run();
+                });
+                prepared++;
+            } catch (RuntimeException e) {
+                log.warn("Warm-up query failed | query={} | reason={}", query.name(), e.getMessage());
+            }
+        }
+        return prepared;
+    }
+
+    private List<WarmupQuery> queries() {
+        UUID probe = UUID.randomUUID();
+        String key = "warmup-" + probe;
+        LocalDateTime now = LocalDateTime.now();
+        List<String> allStates = EnumSet.allOf(BookingState.class).stream().map(BookingState::name).toList();
+        return List.of(
+                new WarmupQuery("booking.existsByIdempotencyKey", () -> bookingRepository.existsByIdempotencyKey(key)),
+                new WarmupQuery("booking.findByIdempotencyKey", () -> bookingRepository.findByIdempotencyKey(key)),
+                new WarmupQuery("booking.findById", () -> bookingRepository.findById(probe)),
+                new WarmupQuery("booking.findByIdAndUserId", () -> bookingRepository.findByIdAndUserId(probe, probe)),
+                new WarmupQuery("booking.findResponseById", () -> bookingRepository.findResponseById(probe)),
+                new WarmupQuery("booking.findUserBookings",
+                        () -> bookingRepository.findUserBookings(probe, allStates, 21)),
+                new WarmupQuery("booking.findUserBookingsBefore",
+                        () -> bookingRepository.findUserBookingsBefore(probe, allStates, now, probe, 21)),
+                new WarmupQuery("booking.findByTripIdAndState",
+                        () -> bookingRepository.findByTripIdAndState(probe, BookingState.CONFIRMED)),
+                new WarmupQuery("booking.countTotalSeatsByTripIdAndState",
+                        () -> bookingRepository.countTotalSeatsByTripIdAndState(probe, BookingState.CONFIRMED)),
+                new WarmupQuery("booking.calculateGrossRevenue",
+                        () -> bookingRepository.calculateGrossRevenue(probe, BookingState.CONFIRMED)),
+                new WarmupQuery("booking.calculateTotalRefunds", () -> bookingRepository.calculateTotalRefunds(probe)),
+                new WarmupQuery("booking.findExpiredBookings",
+                        () -> bookingRepository.findExpiredBookings(BookingState.PENDING_PAYMENT)),
+                new WarmupQuery("booking.updateBookingState",
+                        () -> bookingRepository.updateBookingState(probe, BookingState.PENDING_PAYMENT, BookingState.EXPIRED)),
+                new WarmupQuery("booking.confirmPendingBooking",
+                        () -> bookingRepository.confirmPendingBooking(probe, key, now)),
+                new WarmupQuery("booking.expirePendingBookingAndReleaseSeats",
+                        () -> bookingRepository.expirePendingBookingAndReleaseSeats(probe, key, now)),
+                new WarmupQuery("booking.cancelAndReleaseSeats", () -> bookingRepository.cancelAndReleaseSeats(probe, now)),
+                new WarmupQuery("trip.findById", () -> tripRepository.findById(probe)),
+                new WarmupQuery("trip.findResponseById", () -> tripRepository.findResponseById(probe)),
+                new WarmupQuery("trip.findByIdForUpdate", () -> tripRepository.findByIdForUpdate(probe)),
+                new WarmupQuery("trip.findAllByStartDateBeforeAndStatus",
+                        () -> tripRepository.findAllByStartDateBeforeAndStatus(now, TripStatus.PUBLISHED)),
+                new WarmupQuery("trip.releaseSeatsForExpiredBooking",
+                        () -> tripRepository.releaseSeatsForExpiredBooking(probe, 0))
+        );
+    }
+}
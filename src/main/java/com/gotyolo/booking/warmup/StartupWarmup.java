@@ -0,0 +1,282 @@
+package com.gotyolo.booking.warmup;
+
+import com.gotyolo.booking.datasource.DatabaseShardConfiguration.DatabaseShardPools;
+import com.gotyolo.booking.datasource.DatabaseShardRouter;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.dto.WarmupReportResponse;
+import com.gotyolo.booking.repository.BookingRepository;
+import com.gotyolo.booking.service.TripService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warms a fresh instance up before it reports ready. Boot only moves readiness to
+ * ACCEPTING_TRAFFIC after every ApplicationRunner has returned, so /actuator/health/readiness
+ * stays OUT_OF_SERVICE (and the load balancer sends nothing) while this runs:
+ *
+ * 1. fills every Hikari pool, each database shard's included, to pool-connections (default its
+ *    maximum-pool-size),
+ * 2. runs each BookingRepository / TripRepository query once per shard (RepositoryQueryWarmer),
+ * 3. loads the published-trip catalogue,
+ * 4. sends GETs for the catalogue, sampled trips and bookings sampled from every shard to this
+ *    instance's own port in rounds until round p50 stays within stable-tolerance for stable-rounds
+ *    rounds, or max-duration-ms passes (skipped without a web server, e.g. in mock-MVC tests).
+ *
+ * A failing phase is logged and skipped: warm-up never keeps an instance from becoming ready.
+ * The outcome is logged and served by GET /api/v1/admin/warmup.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private final ApplicationContext applicationContext;
+    private final Environment environment;
+    private final RepositoryQueryWarmer queryWarmer;
+    private final TripService tripService;
+    private final BookingRepository bookingRepository;
+    private final DatabaseShardRouter shardRouter;
+    private final ObjectProvider<DatabaseShardPools> shardPools;
+    private final boolean enabled;
+    private final int poolConnections;
+    private final int sampleSize;
+    private final int concurrency;
+    private final int requestsPerRound;
+    private final double stableTolerance;
+    private final int stableRounds;
+    private final long maxDurationMs;
+
+    private volatile WarmupReportResponse report;
+
+    public StartupWarmup(ApplicationContext applicationContext,
+                         Environment environment,
+                         RepositoryQueryWarmer queryWarmer,
+                         TripService tripService,
+                         BookingRepository bookingRepository,
+                         DatabaseShardRouter shardRouter,
+                         ObjectProvider<DatabaseShardPools> shardPools,
+                         @Value("${app.warmup.enabled:true}") boolean enabled,
+                         @Value("${app.warmup.pool-connections:0}") int poolConnections,
+                         @Value("${app.warmup.sample-size:20}") int sampleSize,
+                         @Value("${app.warmup.concurrency:4}") int concurrency,
+                         @Value("${app.warmup.requests-per-round:200}") int requestsPerRound,
+                         @Value("${app.warmup.stable-tolerance:0.1}") double stableTolerance,
+                         @Value("${app.warmup.stable-rounds:2}") int stableRounds,
+                         @Value("${app.warmup.max-duration-ms:60000}") long maxDurationMs) {
+        this.applicationContext = applicationContext;
+        this.environment = environment;
+        this.queryWarmer = queryWarmer;
+        this.tripService = tripService;
+        this.bookingRepository = bookingRepository;
+        this.shardRouter = shardRouter;
+        this.shardPools = shardPools;
+        this.enabled = enabled;
+        this.poolConnections = poolConnections;
+        this.sampleSize = Math.max(1, sampleSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.requestsPerRound = Math.max(1, requestsPerRound);
+        this.stableTolerance = Math.max(0.0, stableTolerance);
+        this.stableRounds = Math.max(1, stableRounds);
+        this.maxDurationMs = Math.max(0, maxDurationMs);
+        this.report = emptyReport(enabled ? "PENDING" : "DISABLED");
+    }
+
+    public WarmupReportResponse getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Startup warm-up disabled");
+            return;
+        }
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        report = emptyReport("RUNNING");
+        log.info("Startup warm-up started; readiness held at REFUSING_TRAFFIC");
+        long start = System.nanoTime();
+
+        long phase = System.nanoTime();
+        int pooled = prefillPools();
+        long poolMs = elapsedMs(phase);
+
+        phase = System.nanoTime();
+        int prepared = queryWarmer.prepareAll();
+        long queriesMs = elapsedMs(phase);
+
+        phase = System.nanoTime();
+        List<TripResponse> catalogue = loadCatalogue();
+        long catalogueMs = elapsedMs(phase);
+
+        phase = System.nanoTime();
+        TrafficOutcome traffic = driveTraffic(catalogue);
+        long trafficMs = elapsedMs(phase);
+
+        report = new WarmupReportResponse("COMPLETED", elapsedMs(start), pooled, poolMs, prepared, queriesMs,
+                catalogue.size(), catalogueMs, traffic.rounds, traffic.requests, traffic.errors, trafficMs,
+                traffic.stabilized, traffic.firstP50Ms, traffic.firstP99Ms, traffic.lastP50Ms, traffic.lastP99Ms);
+        log.info("Startup warm-up finished | totalMs={} | pooledConnections={} ({} ms) | queries={} ({} ms) "
+                        + "| catalogueTrips={} ({} ms) | rounds={} | requests={} | errors={} ({} ms) | stabilized={} "
+                        + "| p50 {} -> {} ms | p99 {} -> {} ms",
+                report.totalMs(), pooled, poolMs, prepared, queriesMs, catalogue.size(), catalogueMs,
+                traffic.rounds, traffic.requests, traffic.errors, trafficMs, traffic.stabilized,
+                traffic.firstP50Ms, traffic.lastP50Ms, traffic.firstP99Ms, traffic.lastP99Ms);
+    }
+
+    // Borrows connections from each pool and holds them all, so the pool opens new ones up to target
+    private int prefillPools() {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Shard pools are not DataSource beans; the routing DataSource only unwraps to shard 0
+        shardPools.ifAvailable(shards -> pools.addAll(shards.pools()));
+        for (DataSource dataSource : applicationContext.getBeansOfType(DataSource.class).values()) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    pools.add(dataSource.unwrap(HikariDataSource.class));
+                }
+            } catch (SQLException e) {
+                log.warn("Warm-up could not unwrap DataSource | reason={}", e.getMessage());
+            }
+        }
+
+        int opened = 0;
+        for (HikariDataSource pool : pools) {
+            int target = poolConnections > 0
+                    ? Math.min(poolConnections, pool.getMaximumPoolSize())
+                    : pool.getMaximumPoolSize();
+            List<Connection> held = new ArrayList<>(target);
+            try {
+                while (held.size() < target) {
+                    held.add(pool.getConnection());
+                }
+            } catch (SQLException e) {
+                log.warn("Warm-up pool prefill stopped | pool={} | connections={} | reason={}",
+                        pool.getPoolName(), held.size(), e.getMessage());
+            } finally {
+                opened += held.size();
+                held.forEach(StartupWarmup::closeQuietly);
+            }
+            log.info("Warm-up pool prefilled | pool={} | connections={}", pool.getPoolName(), held.size());
+        }
+        return opened;
+    }
+
+    private List<TripResponse> loadCatalogue() {
+        try {
+            return tripService.getPublishedTrips();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up catalogue load failed | reason={}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private TrafficOutcome driveTraffic(List<TripResponse> catalogue) {
+        TrafficOutcome outcome = new TrafficOutcome();
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || maxDurationMs == 0) {
+            log.info("Warm-up traffic skipped: no local web server port");
+            return outcome;
+        }
+
+        List<String> paths = new ArrayList<>();
+        paths.add("/api/v1/trips");
+        catalogue.stream().limit(sampleSize).forEach(trip -> paths.add("/api/v1/trips/" + trip.id()));
+        if (!environment.acceptsProfiles(Profiles.of("reactive"))) {
+            // The reactive API has no booking read endpoint
+            try {
+                int perShard = Math.max(1, sampleSize / shardRouter.shardCount());
+                shardRouter.onEveryShard(() -> bookingRepository.findSampleIds(perShard))
+                        .forEach(ids -> ids.forEach(id -> paths.add("/api/v1/bookings/" + id)));
+            } catch (RuntimeException e) {
+                log.warn("Warm-up booking sample failed | reason={}", e.getMessage());
+            }
+        }
+
+        long deadline = System.nanoTime() + maxDurationMs * 1_000_000;
+        double previousP50 = -1;
+        int stableStreak = 0;
+        try (SyntheticReadTraffic traffic = new SyntheticReadTraffic("http://localhost:" + port, paths,
+                concurrency, requestsPerRound)) {
+            while (System.nanoTime() < deadline) {
+                SyntheticReadTraffic.RoundStats round = traffic.runRound();
+                outcome.add(round);
+                log.info("Warm-up round {} | requests={} | errors={} | p50={} ms | p99={} ms",
+                        outcome.rounds, round.requests(), round.errors(), round.p50Ms(), round.p99Ms());
+
+                if (previousP50 > 0 && Math.abs(round.p50Ms() - previousP50) <= stableTolerance * previousP50) {
+                    stableStreak++;
+                } else {
+                    stableStreak = 0;
+                }
+                previousP50 = round.p50Ms();
+                if (stableStreak >= stableRounds) {
+                    outcome.stabilized = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Warm-up traffic interrupted after {} rounds", outcome.rounds);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up traffic failed after {} rounds | reason={}", outcome.rounds, e.getMessage());
+        }
+        return outcome;
+    }
+
+    private static final class TrafficOutcome {
+        int rounds;
+        int requests;
+        int errors;
+        boolean stabilized;
+        Double firstP50Ms;
+        Double firstP99Ms;
+        Double lastP50Ms;
+        Double lastP99Ms;
+
+        void add(SyntheticReadTraffic.RoundStats round) {
+            if (rounds == 0) {
+                firstP50Ms = round.p50Ms();
+                firstP99Ms = round.p99Ms();
+            }
+            rounds++;
+            requests += round.requests();
+            errors += round.errors();
+            lastP50Ms = round.p50Ms();
+            lastP99Ms = round.p99Ms();
+        }
+    }
+
+    private static WarmupReportResponse emptyReport(String status) {
+        return new WarmupReportResponse(status, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Warm-up connection close failed", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.gotyolo.booking.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GET requests against this instance's own HTTP port, in rounds, so the servlet stack, Jackson and
+ * the read paths behind the controllers are interpreted, profiled and compiled before real traffic.
+ * Each round sends requestsPerRound requests from concurrency threads, cycling over the paths.
+ */
+final class SyntheticReadTraffic implements AutoCloseable {
+
+    record RoundStats(int requests, int errors, double p50Ms, double p99Ms) {
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final ExecutorService workers;
+    private final List<URI> targets;
+    private final int concurrency;
+    private final int requestsPerRound;
+    private final AtomicInteger next = new AtomicInteger();
+
+    SyntheticReadTraffic(String baseUrl, List<String> paths, int concurrency, int requestsPerRound) {
+        this.client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        this.concurrency = Math.max(1, concurrency);
+        this.requestsPerRound = Math.max(this.concurrency, requestsPerRound);
+        this.workers = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-traffic");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.targets = paths.stream().map(path -> URI.create(baseUrl + path)).toList();
+    }
+
+    RoundStats runRound() throws InterruptedException {
+        long[] latencies = new long[requestsPerRound];
+        AtomicInteger slot = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> running = new ArrayList<>(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            running.add(workers.submit(() -> {
+                int i;
+                while ((i = slot.getAndIncrement()) < requestsPerRound) {
+                    latencies[i] = send(targets.get(Math.floorMod(next.getAndIncrement(), targets.size())), errors);
+                }
+            }));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Warm-up traffic worker failed", e.getCause());
+            }
+        }
+
+        Arrays.sort(latencies);
+        return new RoundStats(requestsPerRound, errors.get(), percentileMs(latencies, 0.50), percentileMs(latencies, 0.99));
+    }
+
+    private long send(URI target, AtomicInteger errors) {
+        HttpRequest request = HttpRequest.newBuilder(target).timeout(REQUEST_TIMEOUT).GET().build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            }
+        } catch (IOException e) {
+            errors.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.incrementAndGet();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -14,9 +14,38 @@ CREATE TABLE IF NOT EXISTS trips (
     updated_at TIMESTAMP NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+-- > 0 for trips whose seats are split over trip_inventory_shards; available_seats is then the unallocated pool
+ALTER TABLE trips ADD COLUMN IF NOT EXISTS inventory_shards INTEGER NOT NULL DEFAULT 0;
+
+-- Seat inventory of a sharded trip: bookings lock one shard row instead of the trip row.
+-- Free seats of such a trip = trips.available_seats + SUM(available_seats) of its shards
+CREATE TABLE IF NOT EXISTS trip_inventory_shards (
     id UUID PRIMARY KEY,
     trip_id UUID NOT NULL,
+    shard_no INTEGER NOT NULL,
+    available_seats INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    UNIQUE (trip_id, shard_no)
+);
+
+-- > 0 for trips that sell specific seats from trip_seat_maps, laid out in rows of this many seats
+ALTER TABLE trips ADD COLUMN IF NOT EXISTS seats_per_row INTEGER NOT NULL DEFAULT 0;
+
+-- Seat map of a trip: one bit per seat (max_capacity bits), seat n is bit n - 1 from the left, 1 = taken.
+-- Bookings and releases update it in the statement / transaction that already holds the trip row lock
+CREATE TABLE IF NOT EXISTS trip_seat_maps (
+    trip_id UUID PRIMARY KEY,
+    taken BIT VARYING NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Range-partitioned by created_at (monthly partitions + default are created by BookingPartitionMaintainer).
+-- Lookups by id cannot be pruned (id says nothing about created_at) and probe the primary key of every
+-- partition, so BookingPartitionMaintainer caps the partition count (app.bookings.partitions.max-partitions).
+-- Existing non-partitioned tables are left alone; see scripts/migrate-bookings-to-partitioned.sql
+CREATE TABLE IF NOT EXISTS bookings (
+    id UUID NOT NULL,
+    trip_id UUID NOT NULL,
     user_id UUID NOT NULL,
     num_seats INTEGER NOT NULL,
     state VARCHAR(50) NOT NULL,
@@ -27,8 +56,77 @@ CREATE TABLE IF NOT EXISTS bookings (
     refund_amount NUMERIC(10,2),
     cancelled_at TIMESTAMP,
     idempotency_key VARCHAR(255),
-    updated_at TIMESTAMP NOT NULL
-);
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Seats held on a trip with a seat map (1-based, see trip_seat_maps); NULL = seat count only
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS seat_numbers INTEGER[];
 
 CREATE INDEX IF NOT EXISTS idx_bookings_trip_id ON bookings(trip_id);
-CREATE INDEX IF NOT EXISTS idx_bookings_state ON bookings(state);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_bookings_state ON bookings(state);
+-- A user's history newest first (GET /users/{userId}/bookings keyset pages); id breaks created_at ties
+CREATE INDEX IF NOT EXISTS idx_bookings_user_created ON bookings(user_id, created_at DESC, id DESC);
+
+-- Terminal bookings of completed trips, moved out of bookings by BookingArchiver
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id UUID PRIMARY KEY,
+    trip_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    num_seats INTEGER NOT NULL,
+    state VARCHAR(50) NOT NULL,
+    price_at_booking NUMERIC(10,2) NOT NULL,
+    refund_amount NUMERIC(10,2),
+    payment_reference VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    cancelled_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_trip_id ON bookings_archive(trip_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_created_at ON bookings_archive(created_at);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_user_created ON bookings_archive(user_id, created_at DESC, id DESC);
+
+-- One row per operator-cancelled trip; TripCancellationService cancels its bookings in chunks
+CREATE TABLE IF NOT EXISTS trip_cancellation_jobs (
+    trip_id UUID PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    total_bookings INTEGER NOT NULL,
+    cancelled_bookings INTEGER NOT NULL,
+    refunded_total NUMERIC(14,2) NOT NULL,
+    cancelled_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    last_error TEXT
+);
+
+-- Queue of users waiting for seats on a sold-out trip, served in seq order by WaitlistService
+CREATE TABLE IF NOT EXISTS trip_waitlist (
+    id UUID PRIMARY KEY,
+    seq BIGINT GENERATED ALWAYS AS IDENTITY,
+    trip_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    num_seats INTEGER NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    booking_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    promoted_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_trip_waitlist_waiting ON trip_waitlist(trip_id, seq) WHERE status = 'WAITING';
+CREATE UNIQUE INDEX IF NOT EXISTS uq_trip_waitlist_waiting_user ON trip_waitlist(trip_id, user_id) WHERE status = 'WAITING';
+
+-- Idempotency-Key outcomes of booking create / cancel, replayed by IdempotencyService until expires_at.
+-- idempotency_key is the client's key scoped by the calling user (see IdempotencyService)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key TEXT PRIMARY KEY,
+    operation VARCHAR(50) NOT NULL,
+    request_fingerprint TEXT NOT NULL,
+    booking_id UUID,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
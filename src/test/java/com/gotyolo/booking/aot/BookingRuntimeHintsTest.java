@@ -0,0 +1,40 @@
+package com.gotyolo.booking.aot;
+
+import com.gotyolo.booking.dto.TripImportResponse;
+import com.gotyolo.booking.dto.TripResponse;
+import com.gotyolo.booking.entity.Trip;
+import com.gotyolo.booking.enums.TripStatus;
+import com.gotyolo.booking.interfaces.ExpiredBookingInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    BookingRuntimeHintsTest() {
+        new BookingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entitiesAndDtoGraphAreReflectable() throws NoSuchFieldException {
+        assertTrue(RuntimeHintsPredicates.reflection().onFieldAccess(Trip.class.getDeclaredField("availableSeats")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TripResponse.class).test(hints));
+        // reached only through TripResponse / TripImportResponse components
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TripStatus.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TripImportResponse.RowError.class).test(hints));
+    }
+
+    @Test
+    void projectionProxiesAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ExpiredBookingInfo.class, TargetAware.class,
+                SpringProxy.class, Advised.class, DecoratingProxy.class).test(hints));
+    }
+}
@@ -0,0 +1,131 @@
+package com.gotyolo.booking.audit;
+
+import com.gotyolo.booking.enums.BookingState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    // Header plus room for 10 records, so 25 appends roll twice
+    private static final long SMALL_SEGMENT = JournalFormat.HEADER_SIZE + 10L * JournalFormat.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsRollAcrossSegmentsAndReadBackInOrder() throws IOException {
+        AuditJournal journal = open();
+        UUID tripId = UUID.randomUUID();
+        List<UUID> bookings = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            UUID bookingId = UUID.randomUUID();
+            bookings.add(bookingId);
+            journal.record(AuditEventType.CREATED, bookingId, tripId, UUID.randomUUID(), 2, new BigDecimal("99.50"));
+        }
+        journal.record(AuditEventType.CONFIRMED, bookings.get(0), tripId, null, null, null);
+        journal.record(AuditEventType.EXPIRED, bookings.get(1), tripId, null, 2, null);
+        journal.record(AuditEventType.TRIP_CANCELLED, null, tripId, null, null, null);
+        journal.close();
+
+        List<AuditRecord> records = new ArrayList<>();
+        JournalReplay replay = new JournalReplay();
+        AuditJournalReader.ReadResult result = new AuditJournalReader(directory).read(record -> {
+            records.add(record);
+            replay.accept(record);
+        });
+
+        assertTrue(result.intact());
+        assertEquals(3, result.segments());
+        assertEquals(28, result.records());
+        assertEquals(1, result.firstSequence());
+        assertEquals(28, result.lastSequence());
+        assertEquals(9950, records.get(0).amountCents());
+        assertEquals(bookings.get(24), records.get(24).bookingId());
+
+        assertEquals(25, replay.bookings().size());
+        assertEquals(0, replay.invalidTransitions());
+        assertEquals(BookingState.EXPIRED, replay.bookings().get(bookings.get(1)).state());
+        // The trip cancellation took the confirmed and the still pending bookings
+        assertEquals(BookingState.CANCELLED, replay.bookings().get(bookings.get(0)).state());
+        assertEquals(BookingState.CANCELLED, replay.bookings().get(bookings.get(24)).state());
+    }
+
+    @Test
+    void reopenContinuesTheSequenceAndClearsATornTail() throws IOException {
+        AuditJournal journal = open();
+        for (int i = 0; i < 3; i++) {
+            journal.record(AuditEventType.CREATED, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, BigDecimal.TEN);
+        }
+        journal.close();
+        Path segment = AuditJournal.segmentFiles(directory).get(0);
+        corruptRecord(segment, 2);
+
+        AuditJournalReader.ReadResult torn = new AuditJournalReader(directory).read(record -> { });
+        assertTrue(torn.tornTail());
+        assertTrue(torn.intact());
+        assertEquals(2, torn.records());
+
+        journal = open();
+        assertEquals(2, journal.lastSequence());
+        journal.record(AuditEventType.CREATED, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, BigDecimal.TEN);
+        journal.close();
+
+        AuditJournalReader.ReadResult reopened = new AuditJournalReader(directory).read(record -> { });
+        assertTrue(reopened.intact());
+        assertFalse(reopened.tornTail());
+        assertEquals(3, reopened.lastSequence());
+    }
+
+    @Test
+    void corruptionBeforeTheTailIsReportedAsDamage() throws IOException {
+        AuditJournal journal = open();
+        for (int i = 0; i < 5; i++) {
+            journal.record(AuditEventType.CREATED, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, BigDecimal.ONE);
+        }
+        journal.close();
+        corruptRecord(AuditJournal.segmentFiles(directory).get(0), 1);
+
+        AuditJournalReader.ReadResult result = new AuditJournalReader(directory).read(record -> { });
+
+        assertFalse(result.intact());
+        assertEquals(List.of("audit-00000000000000000001.journal: slot 1"), result.damaged());
+        assertEquals(4, result.records());
+        assertEquals(1, result.sequenceGaps());
+    }
+
+    private AuditJournal open() throws IOException {
+        AuditJournal journal = new AuditJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", DataSize.ofBytes(SMALL_SEGMENT));
+        ReflectionTestUtils.setField(journal, "fsyncPolicy", FsyncPolicy.SYNC);
+        ReflectionTestUtils.setField(journal, "groupFsyncIntervalMs", 10L);
+        journal.open();
+        return journal;
+    }
+
+    // Flips one byte of the record's tripId, leaving its type code in place
+    private static void corruptRecord(Path segment, int slot) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = JournalFormat.HEADER_SIZE + (long) slot * JournalFormat.RECORD_SIZE + 40;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) ~b.get(0));
+            channel.write(b.rewind(), position);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.gotyolo.booking.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseShardKeysTest {
+
+    @Test
+    void newIdsPointBackToTheirShard() {
+        for (int shard = 0; shard < 5; shard++) {
+            UUID tripId = DatabaseShardKeys.newTripId(shard, 5);
+            UUID bookingId = DatabaseShardKeys.newBookingId(shard);
+
+            assertEquals(shard, DatabaseShardKeys.shardOfTrip(tripId, 5));
+            assertEquals(shard, DatabaseShardKeys.shardOfBooking(bookingId, 5));
+            assertEquals(4, bookingId.version());
+        }
+    }
+
+    @Test
+    void tripsSpreadOverShardsAndForeignBookingIdsFallBackToShardZero() {
+        int[] counts = new int[4];
+        for (int i = 0; i < 4000; i++) {
+            counts[DatabaseShardKeys.shardOfTrip(UUID.randomUUID(), 4)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800, "uneven trip spread: " + count);
+        }
+
+        assertEquals(0, DatabaseShardKeys.shardOfBooking(DatabaseShardKeys.newBookingId(200), 4));
+        assertEquals(0, DatabaseShardKeys.shardOfTrip(UUID.randomUUID(), 1));
+    }
+}
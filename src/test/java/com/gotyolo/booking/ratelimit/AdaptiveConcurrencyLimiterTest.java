@@ -0,0 +1,72 @@
+package com.gotyolo.booking.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(),
+            true, 10, 2, 100, 0.8, 2.0, 0.2, 600, 10);
+
+    @Test
+    void bookingsAreShedBeforeWebhooksAndCancellations() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        }
+
+        assertFalse(limiter.tryAcquire(AdmissionPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+        assertFalse(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+
+        assertEquals(1, limiter.getSnapshot().rejectedNormal());
+        assertEquals(1, limiter.getSnapshot().rejectedCritical());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+        int initial = limiter.getSnapshot().limit();
+        runSaturated(200, FAST);
+        int grown = limiter.getSnapshot().limit();
+        assertTrue(grown > initial, "limit should grow at steady latency: " + grown);
+
+        runSaturated(50, SLOW);
+        int shrunk = limiter.getSnapshot().limit();
+        assertTrue(shrunk < grown, "limit should shrink once latency rises: " + shrunk);
+    }
+
+    @Test
+    void idleTrafficDoesNotRaiseTheLimit() {
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.CRITICAL));
+            limiter.release(FAST);
+        }
+
+        assertEquals(10, limiter.getSnapshot().limit());
+    }
+
+    // Keeps the limiter fully used, completing one request per admitted one
+    private void runSaturated(int samples, long latency) {
+        int held = 0;
+        while (limiter.tryAcquire(AdmissionPriority.CRITICAL)) {
+            held++;
+        }
+        for (int i = 0; i < samples; i++) {
+            limiter.release(latency);
+            held--;
+            while (limiter.tryAcquire(AdmissionPriority.CRITICAL)) {
+                held++;
+            }
+        }
+        for (; held > 0; held--) {
+            limiter.release(-1);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gotyolo.booking.ratelimit;
+
+import com.gotyolo.booking.dto.RateLimitSettings;
+import com.gotyolo.booking.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final String USER = "7b0a4a4e-4a0c-4d39-9c2f-3f1f6c3a2b10";
+
+    private final RateLimiter rateLimiter = new RateLimiter(new MockEnvironment()
+            .withProperty("app.rate-limit.book.requests-per-second", "0.1")
+            .withProperty("app.rate-limit.book.burst", "3"),
+            new SimpleMeterRegistry(), 1000);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, "10.0.0.1");
+        }
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, "10.0.0.1"));
+        assertTrue(e.getRetryAfterSeconds() >= 9 && e.getRetryAfterSeconds() <= 10);
+    }
+
+    @Test
+    void keysByUserThenAddressAndPerEndpoint() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, "10.0.0.1");
+        }
+
+        assertDoesNotThrow(() -> rateLimiter.acquire(RateLimitedEndpoint.BOOK, null, "10.0.0.1"));
+        assertDoesNotThrow(() -> rateLimiter.acquire(RateLimitedEndpoint.CANCEL, USER, "10.0.0.1"));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        for (int i = 0; i < 200; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, null);
+                    allowed.incrementAndGet();
+                } catch (RateLimitExceededException | InterruptedException ignored) {
+                    // expected for all but the burst
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, allowed.get());
+    }
+
+    @Test
+    void updatedLimitAppliesToExistingBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, null);
+        }
+
+        rateLimiter.updateLimit(RateLimitedEndpoint.BOOK, new RateLimitSettings(false, 0.1, 3));
+        assertDoesNotThrow(() -> rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, null));
+
+        rateLimiter.updateLimit(RateLimitedEndpoint.BOOK, new RateLimitSettings(true, 0.1, 3));
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(RateLimitedEndpoint.BOOK, USER, null));
+    }
+}
@@ -0,0 +1,76 @@
+package com.gotyolo.booking.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void multiSeatClaimAcrossWordsIsAllOrNothing() {
+        SeatMap map = new SeatMap(200, 4);
+        assertTrue(map.claim(new int[]{64, 65, 130}, 3));
+
+        // 65 is taken: 63 and 129 must not stay claimed
+        assertFalse(map.claim(new int[]{63, 65, 129}, 3));
+        assertFalse(map.isTaken(63));
+        assertFalse(map.isTaken(129));
+        assertEquals(197, map.freeSeats());
+
+        map.release(new int[]{64, 65, 130}, 3);
+        assertEquals(200, map.freeSeats());
+    }
+
+    @Test
+    void claimBestPicksSmallestAdjacentRunInARow() {
+        // Rows of 4: row 1 has one free seat, row 2 a pair (7, 8), row 3 is empty
+        SeatMap map = SeatMap.fromBits("111011000000", 4);
+        int[] seats = new int[2];
+
+        assertTrue(map.claimBest(2, seats));
+        assertArrayEquals(new int[]{7, 8}, seats);
+    }
+
+    @Test
+    void claimBestFallsBackToLowestFreeSeats() {
+        SeatMap map = SeatMap.fromBits("01011010", 4);
+        int[] seats = new int[3];
+
+        assertTrue(map.claimBest(3, seats));
+        assertArrayEquals(new int[]{1, 3, 6}, seats);
+        assertFalse(map.claimBest(2, new int[2]));
+    }
+
+    @Test
+    void concurrentClaimsNeverShareASeat() throws InterruptedException {
+        SeatMap map = new SeatMap(500, 5);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger claimedSeats = new AtomicInteger();
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                int[] seats = new int[3];
+                try {
+                    start.await();
+                    if (map.claimBest(3, seats)) {
+                        claimedSeats.addAndGet(3);
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500 - claimedSeats.get(), map.freeSeats());
+        assertTrue(claimedSeats.get() >= 498);
+    }
+}
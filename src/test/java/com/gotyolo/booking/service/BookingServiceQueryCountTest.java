@@ -0,0 +1,295 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.BookingResponse;
+import com.gotyolo.booking.dto.CreateBookingRequest;
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.dto.TripCancellationResponse;
+import com.gotyolo.booking.dto.UserBookingPageResponse;
+import com.gotyolo.booking.dto.WaitlistEntryResponse;
+import com.gotyolo.booking.dto.WebhookRequest;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.enums.TripCancellationStatus;
+import com.gotyolo.booking.enums.WaitlistStatus;
+import com.gotyolo.booking.exception.ConflictException;
+import com.gotyolo.booking.utils.BookingHistoryCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip budget per booking endpoint, counted as JDBC statements Hibernate prepares.
+ * Raising a budget here should be a deliberate decision.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.trips.cancellation.chunk-size=1"  // one booking per chunk, so trip cancellation takes several
+})
+class BookingServiceQueryCountTest {
+
+    private static final long CREATE_BUDGET = 3;   // lock trip, update trip, insert booking
+    private static final long SHARDED_CREATE_BUDGET = 2;  // take seats from a shard, insert booking
+    private static final long WEBHOOK_BUDGET = 1;  // guarded transition CTE
+    private static final long FAILED_WEBHOOK_BUDGET = 2;  // guarded transition + seat release CTE, waitlist promotion
+    private static final long CANCEL_BUDGET = 2;   // guarded cancel + refund + seat release CTE, waitlist promotion
+    private static final long READ_BUDGET = 2;     // booking row, trip row (shard total in a subquery)
+    private static final long HISTORY_PAGE_BUDGET = 1;  // bookings joined with their trips
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripCancellationService tripCancellationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID tripId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tripId = tripService.createTrip(new CreateTripRequest(
+                "Query budget", "Goa",
+                LocalDateTime.now().plusDays(30), LocalDateTime.now().plusDays(35),
+                new BigDecimal("1000.00"), 10, 7, 10, true)).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE request_fingerprint LIKE ?", "%" + tripId + "%");
+        jdbcTemplate.update("DELETE FROM bookings WHERE trip_id = ?", tripId);
+        jdbcTemplate.update("DELETE FROM trip_waitlist WHERE trip_id = ?", tripId);
+        jdbcTemplate.update("DELETE FROM trip_cancellation_jobs WHERE trip_id = ?", tripId);
+        jdbcTemplate.update("DELETE FROM trip_inventory_shards WHERE trip_id = ?", tripId);
+        jdbcTemplate.update("DELETE FROM trips WHERE id = ?", tripId);
+    }
+
+    @Test
+    void createBookingStaysWithinBudget() {
+        statistics.clear();
+        book(2);
+
+        assertEquals(CREATE_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(8, availableSeats());
+    }
+
+    @Test
+    void shardedTripBookingStaysWithinBudgetWithoutTripLock() {
+        tripService.reshardInventory(tripId, 4);
+
+        statistics.clear();
+        book(2);
+
+        assertEquals(SHARDED_CREATE_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(0, availableSeats());
+        assertEquals(8, tripService.getTripDetails(tripId).availableSeats());
+    }
+
+    @Test
+    void successfulWebhookIsSingleStatement() {
+        BookingResponse booking = book(2);
+
+        statistics.clear();
+        bookingService.processPaymentWebhook(webhook(booking, "success"));
+
+        assertEquals(WEBHOOK_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(BookingState.CONFIRMED, bookingService.getBooking(booking.id()).state());
+        assertEquals(8, availableSeats());
+    }
+
+    @Test
+    void failedWebhookReleasesSeatsWithinBudget() {
+        BookingResponse booking = book(2);
+
+        statistics.clear();
+        bookingService.processPaymentWebhook(webhook(booking, "failed"));
+
+        assertEquals(FAILED_WEBHOOK_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(BookingState.EXPIRED, bookingService.getBooking(booking.id()).state());
+        assertEquals(10, availableSeats());
+    }
+
+    @Test
+    void duplicateFailedWebhookDoesNotReleaseSeatsTwice() {
+        BookingResponse booking = book(2);
+        WebhookRequest failed = webhook(booking, "failed");
+        bookingService.processPaymentWebhook(failed);
+
+        statistics.clear();
+        bookingService.processPaymentWebhook(failed);
+
+        assertEquals(WEBHOOK_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(10, availableSeats());
+    }
+
+    @Test
+    void cancelConfirmedBookingStaysWithinBudget() {
+        BookingResponse booking = book(2);
+        bookingService.processPaymentWebhook(webhook(booking, "success"));
+
+        statistics.clear();
+        BookingResponse cancelled = bookingService.cancelBooking(booking.id());
+
+        assertEquals(CANCEL_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(BookingState.CANCELLED, cancelled.state());
+        assertEquals(0, new BigDecimal("1800.00").compareTo(cancelled.refundAmount()));
+        assertNotNull(cancelled.cancelledAt());
+        assertEquals(10, availableSeats());
+    }
+
+    @Test
+    void cancellingTwiceIsRejectedWithoutReleasingSeats() {
+        BookingResponse booking = book(2);
+        bookingService.cancelBooking(booking.id());
+
+        assertThrows(ConflictException.class, () -> bookingService.cancelBooking(booking.id()));
+        assertEquals(10, availableSeats());
+    }
+
+    @Test
+    void retriedBookingWithIdempotencyKeyReplaysWithoutStatements() {
+        CreateBookingRequest request = new CreateBookingRequest(UUID.randomUUID().toString(), 2);
+        String key = UUID.randomUUID().toString();
+        BookingResponse first = bookingService.createBooking(tripId, request, key);
+
+        statistics.clear();
+        BookingResponse retried = bookingService.createBooking(tripId, request, key);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(first, retried);
+        assertEquals(8, availableSeats());
+    }
+
+    @Test
+    void readsSelectResponsesWithoutLoadingEntities() {
+        BookingResponse booking = book(2);
+
+        statistics.clear();
+        BookingResponse read = bookingService.getBooking(booking.id());
+
+        assertEquals(8, tripService.getTripDetails(tripId).availableSeats());
+        assertEquals(READ_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(booking.userId(), read.userId());
+        assertEquals(BookingState.PENDING_PAYMENT, read.state());
+    }
+
+    @Test
+    void userBookingHistoryPagesWithOneStatementEach() {
+        String userId = UUID.randomUUID().toString();
+        for (int i = 0; i < 3; i++) {
+            bookingService.createBooking(tripId, new CreateBookingRequest(userId, 1));
+        }
+        UUID user = UUID.fromString(userId);
+
+        statistics.clear();
+        UserBookingPageResponse first = bookingService.toUserBookingPage(
+                bookingService.getUserBookings(user, Set.of(), null, 2), 2);
+
+        assertEquals(HISTORY_PAGE_BUDGET, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, first.bookings().size());
+        assertEquals("Query budget", first.bookings().get(0).tripTitle());
+        assertFalse(first.bookings().get(0).createdAt().isBefore(first.bookings().get(1).createdAt()));
+
+        UserBookingPageResponse second = bookingService.toUserBookingPage(bookingService.getUserBookings(
+                user, Set.of(BookingState.PENDING_PAYMENT), BookingHistoryCursor.decode(first.nextCursor()), 2), 2);
+
+        assertEquals(1, second.bookings().size());
+        assertNull(second.nextCursor());
+        assertFalse(first.bookings().contains(second.bookings().get(0)));
+        assertTrue(bookingService.getUserBookings(user, Set.of(BookingState.CONFIRMED), null, 2).isEmpty());
+    }
+
+    @Test
+    void tripCancellationRefundsReleasesSeatsAndDequeuesWaitlist() throws InterruptedException {
+        BookingResponse confirmed = book(2);
+        bookingService.processPaymentWebhook(webhook(confirmed, "success"));
+        BookingResponse pending = book(8);
+        WaitlistEntryResponse waiting = waitlistService.joinWaitlist(tripId,
+                new CreateBookingRequest(UUID.randomUUID().toString(), 1));
+        assertEquals(0, availableSeats());
+
+        tripCancellationService.cancelTrip(tripId);
+        TripCancellationResponse job = awaitCancellation();
+
+        assertEquals(TripCancellationStatus.COMPLETED.name(), job.status());
+        assertEquals(2, job.totalBookings());
+        assertEquals(2, job.cancelledBookings());
+        assertEquals(100, job.progressPercent());
+        assertEquals(0, new BigDecimal("1800.00").compareTo(job.refundedTotal()));
+
+        BookingResponse refunded = bookingService.getBooking(confirmed.id());
+        assertEquals(BookingState.CANCELLED, refunded.state());
+        assertEquals(0, new BigDecimal("1800.00").compareTo(refunded.refundAmount()));  // 2000 less the 10% fee
+        BookingResponse unpaid = bookingService.getBooking(pending.id());
+        assertEquals(BookingState.CANCELLED, unpaid.state());
+        assertEquals(0, BigDecimal.ZERO.compareTo(unpaid.refundAmount()));
+
+        assertEquals(10, availableSeats());
+        assertEquals(WaitlistStatus.CANCELLED, waitlistService.getEntry(tripId, waiting.id()).status());
+
+        // Cancelling again returns the finished job without touching the trip
+        assertEquals(job, tripCancellationService.cancelTrip(tripId));
+        assertEquals(10, availableSeats());
+    }
+
+    @Test
+    void tripCancellationCapsReleasedSeatsAtCapacity() throws InterruptedException {
+        book(4);
+        // Seats already handed back by hand; releasing the booking's 4 again must not exceed max_capacity
+        jdbcTemplate.update("UPDATE trips SET available_seats = 9 WHERE id = ?", tripId);
+
+        tripCancellationService.cancelTrip(tripId);
+        TripCancellationResponse job = awaitCancellation();
+
+        assertEquals(1, job.cancelledBookings());
+        assertEquals(10, availableSeats());
+    }
+
+    private TripCancellationResponse awaitCancellation() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        TripCancellationResponse job = tripCancellationService.getCancellation(tripId);
+        while (TripCancellationStatus.RUNNING.name().equals(job.status()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = tripCancellationService.getCancellation(tripId);
+        }
+        return job;
+    }
+
+    private BookingResponse book(int seats) {
+        return bookingService.createBooking(tripId,
+                new CreateBookingRequest(UUID.randomUUID().toString(), seats));
+    }
+
+    private WebhookRequest webhook(BookingResponse booking, String status) {
+        return new WebhookRequest(booking.id().toString(), status, "key-" + booking.id());
+    }
+
+    private int availableSeats() {
+        return jdbcTemplate.queryForObject("SELECT available_seats FROM trips WHERE id = ?", Integer.class, tripId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.gotyolo.booking.service;
+
+import com.gotyolo.booking.dto.CreateTripRequest;
+import com.gotyolo.booking.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripImportCsvTest {
+
+    @Test
+    void quotedFieldsKeepCommasNewlinesAndEscapedQuotes() throws IOException {
+        BufferedReader reader = reader("plain,\"a, b\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext\n");
+        int[] lineNo = {0};
+
+        assertEquals(List.of("plain", "a, b", "say \"hi\"", "two\nlines"), TripImportService.readCsvRecord(reader, lineNo));
+        assertEquals(2, lineNo[0]);
+        assertEquals(List.of("next"), TripImportService.readCsvRecord(reader, lineNo));
+        assertEquals(3, lineNo[0]);
+        assertNull(TripImportService.readCsvRecord(reader, lineNo));
+    }
+
+    @Test
+    void blankLineIsASingleEmptyFieldAndTrailingCommaAddsOne() throws IOException {
+        BufferedReader reader = reader("\na,\n");
+        int[] lineNo = {0};
+
+        assertEquals(List.of(""), TripImportService.readCsvRecord(reader, lineNo));
+        assertEquals(List.of("a", ""), TripImportService.readCsvRecord(reader, lineNo));
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        BufferedReader reader = reader("\"never closed\nstill open\n");
+
+        assertThrows(ValidationException.class, () -> TripImportService.readCsvRecord(reader, new int[]{0}));
+    }
+
+    @Test
+    void headerMustNameEveryRequiredColumn() {
+        assertThrows(ValidationException.class, () -> TripImportService.csvColumns(null));
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> TripImportService.csvColumns(List.of("title", "destination")));
+        assertTrue(e.getMessage().contains("maxCapacity"), e.getMessage());
+
+        Map<String, Integer> columns = TripImportService.csvColumns(TripImportService.CSV_COLUMNS);
+        assertEquals(0, columns.get(TripImportService.CSV_COLUMNS.get(0)));
+    }
+
+    @Test
+    void shortRowLeavesMissingColumnsNullAndBadValueNamesTheField() {
+        Map<String, Integer> columns = TripImportService.csvColumns(TripImportService.CSV_COLUMNS);
+
+        CreateTripRequest request = TripImportService.csvRequest(List.of(" Alps ", "Chamonix"), columns);
+        assertEquals("Alps", request.title());
+        assertEquals("Chamonix", request.destination());
+        assertNull(request.price());
+        assertNull(request.maxCapacity());
+
+        List<String> fields = new ArrayList<>(Collections.nCopies(columns.size(), ""));
+        fields.set(columns.get("price"), "12.50");
+        fields.set(columns.get("maxCapacity"), "lots");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TripImportService.csvRequest(fields, columns));
+        assertEquals("maxCapacity: invalid value 'lots'", e.getMessage());
+
+        fields.set(columns.get("maxCapacity"), "40");
+        assertEquals(new BigDecimal("12.50"), TripImportService.csvRequest(fields, columns).price());
+    }
+
+    @Test
+    void rejectionsPastTheReportCapAreCountedButNotListed() {
+        TripImportService.ImportRun run = new TripImportService.ImportRun(2);
+
+        run.reject(2, "first");
+        run.reject(5, "second");
+        run.reject(9, "third");
+
+        assertEquals(3, run.rejected());
+        assertEquals(2, run.errors().size());
+        assertEquals(5, run.errors().get(1).line());
+    }
+
+    private static BufferedReader reader(String csv) {
+        return new BufferedReader(new StringReader(csv));
+    }
+}
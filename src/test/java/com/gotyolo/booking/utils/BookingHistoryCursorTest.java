@@ -0,0 +1,69 @@
+package com.gotyolo.booking.utils;
+
+import com.gotyolo.booking.dto.UserBookingResponse;
+import com.gotyolo.booking.enums.BookingState;
+import com.gotyolo.booking.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingHistoryCursorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        BookingHistoryCursor cursor = new BookingHistoryCursor(CREATED, UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"), encoded);
+        assertEquals(cursor, BookingHistoryCursor.decode(encoded));
+        assertEquals(cursor, BookingHistoryCursor.decode(" " + encoded + " "));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(BookingHistoryCursor.decode(null));
+        assertNull(BookingHistoryCursor.decode(""));
+    }
+
+    @Test
+    void cursorsThisClassDidNotEncodeAreRejected() {
+        for (String bad : List.of("not base64!", encode("no separator"), encode("yesterday|" + UUID.randomUUID()),
+                encode(CREATED + "|not-a-uuid"))) {
+            assertThrows(ValidationException.class, () -> BookingHistoryCursor.decode(bad), bad);
+        }
+    }
+
+    @Test
+    void newestFirstBreaksTimestampTiesByUnsignedIdDescending() {
+        UUID low = new UUID(0x7fffffffffffffffL, 0);
+        UUID high = new UUID(0x8000000000000000L, 0);  // negative as a signed long, larger as a Postgres uuid
+        UserBookingResponse older = booking(UUID.randomUUID(), CREATED.minusSeconds(1));
+        UserBookingResponse tieLow = booking(low, CREATED);
+        UserBookingResponse tieHigh = booking(high, CREATED);
+
+        List<UserBookingResponse> sorted = List.of(older, tieLow, tieHigh).stream()
+                .sorted(BookingHistoryCursor.NEWEST_FIRST)
+                .toList();
+
+        assertEquals(List.of(tieHigh, tieLow, older), sorted);
+        assertEquals(new BookingHistoryCursor(CREATED, low), BookingHistoryCursor.after(sorted.get(1)));
+    }
+
+    private static UserBookingResponse booking(UUID id, LocalDateTime createdAt) {
+        return new UserBookingResponse(id, UUID.randomUUID(), "Trip", "Somewhere", null, null, null, 1,
+                BookingState.CONFIRMED, null, createdAt, null, null, null, null);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}